@@ -69,4 +69,54 @@ public class DatabaseConfig {
         return password;
     }
 
-}
\ No newline at end of file
+    /**
+     * Повертає URL репліки бази даних лише для читання (звіти та перегляд даних).
+     * Властивість необов'язкова: якщо її не задано, усі запити виконуються на основній БД.
+     *
+     * @return URL репліки або null, якщо репліку не налаштовано.
+     */
+    public static String getReplicaUrl() {
+        String url = properties.getProperty("db.replica.url");
+        return (url == null || url.trim().isEmpty()) ? null : url.trim();
+    }
+
+    /**
+     * Повертає ім'я користувача для підключення до репліки.
+     *
+     * @return Значення 'db.replica.username' або, якщо його не задано, 'db.username'.
+     */
+    public static String getReplicaUsername() {
+        return properties.getProperty("db.replica.username", properties.getProperty("db.username"));
+    }
+
+    /**
+     * Повертає пароль для підключення до репліки.
+     *
+     * @return Значення 'db.replica.password' або, якщо його не задано, 'db.password'.
+     */
+    public static String getReplicaPassword() {
+        return properties.getProperty("db.replica.password", properties.getProperty("db.password"));
+    }
+
+    /**
+     * Повертає цілочисельне значення довільної властивості конфігурації.
+     *
+     * @param key Ключ властивості.
+     * @param defaultValue Значення за замовчуванням, якщо властивість відсутня або некоректна.
+     * @return Значення властивості або {@code defaultValue}.
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            logger.debug("Властивість '{}' не знайдена у файлі '{}'. Використовується значення за замовчуванням: {}", key, PROPERTIES_FILE, defaultValue);
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Некоректне значення властивості '{}': '{}'. Використовується значення за замовчуванням: {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+}
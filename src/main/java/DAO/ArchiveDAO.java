@@ -0,0 +1,162 @@
+package DAO;
+
+import DB.DatabaseConnectionManager;
+import Models.Enums.TicketStatus;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO для перенесення завершених рейсів та їхніх квитків в архівні таблиці
+ * ({@code flights_archive}, {@code tickets_archive}).
+ * <p>
+ * Завершеними вважаються рейси зі статусом {@code ARRIVED} або {@code CANCELLED}. Кожен виклик
+ * {@link #archiveBatch(LocalDateTime, int)} переносить обмежену кількість рейсів в одній транзакції,
+ * тож блокування рядків тримаються недовго і не заважають роботі кас. Архівні рядки читають
+ * {@link TicketDAO#getTicketsByPassengerId(long)} та {@link DailyRouteSalesDAO#rebuild}.
+ * </p>
+ */
+public class ArchiveDAO {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final String FLIGHT_ARCHIVE_COLUMNS = "id, route_id, departure_date_time, arrival_date_time, total_seats, bus_model, price_per_seat, status, version";
+    static final String TICKET_ARCHIVE_COLUMNS = "id, flight_id, passenger_id, seat_number, booking_date_time, purchase_date_time, booking_expiry_date_time, price_paid, status, version, " +
+            "sale_route_id, sale_benefit_type";
+
+    private final TicketStatusCounters statusCounters;
+
+    /**
+     * Конструктор за замовчуванням.
+     */
+    public ArchiveDAO() {
+        this(TicketStatusCounters.getInstance());
+    }
+
+    /**
+     * Конструктор для тестування.
+     * @param statusCounters Лічильники квитків за статусами, з яких віднімаються архівовані квитки.
+     */
+    ArchiveDAO(TicketStatusCounters statusCounters) {
+        this.statusCounters = statusCounters;
+    }
+
+    /**
+     * Переносить в архів до {@code batchSize} завершених рейсів, що прибули раніше {@code cutoff},
+     * разом з усіма їхніми квитками, в одній транзакції.
+     * <p>
+     * Рейси вибираються з блокуванням ({@code FOR UPDATE}) у порядку ідентифікаторів. Після фіксації
+     * транзакції кількості архівованих квитків віднімаються від {@link TicketStatusCounters}; транзакція
+     * виконується як локальна зміна ({@link TicketStatusCounters#beginLocalUpdate()}), тож звіряння
+     * лічильників, запит якого перетнувся з нею, не врахує архівовані квитки двічі.
+     * </p>
+     * @param cutoff Межа: архівуються рейси з часом прибуття раніше цієї дати.
+     * @param batchSize Максимальна кількість рейсів у транзакції.
+     * @return Кількість архівованих рейсів; значення менше за {@code batchSize} означає, що рейсів для архівації більше немає.
+     * @throws SQLException якщо виникає помилка доступу до бази даних (транзакцію відкочено).
+     * @throws IllegalArgumentException якщо {@code cutoff} є null або {@code batchSize} не додатний.
+     */
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) throws SQLException {
+        if (cutoff == null || batchSize <= 0) {
+            throw new IllegalArgumentException("Некоректні параметри архівації: межа " + cutoff + ", розмір пакета " + batchSize);
+        }
+        String selectSql = "SELECT id FROM flights WHERE status IN ('ARRIVED', 'CANCELLED') AND arrival_date_time < ? " +
+                "ORDER BY id LIMIT ? FOR UPDATE";
+        logger.debug("Виконується SQL-запит вибору рейсів для архівації: {}", selectSql);
+
+        TicketStatusCounters.LocalUpdate localUpdate = statusCounters.beginLocalUpdate();
+        Connection conn = null;
+        try {
+            conn = DatabaseConnectionManager.getConnection();
+            conn.setAutoCommit(false);
+            List<Long> flightIds = new ArrayList<>();
+            try (PreparedStatement select = conn.prepareStatement(selectSql)) {
+                select.setTimestamp(1, Timestamp.valueOf(cutoff));
+                select.setInt(2, batchSize);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        flightIds.add(rs.getLong(1));
+                    }
+                }
+            }
+            if (flightIds.isEmpty()) {
+                conn.commit();
+                logger.debug("Рейсів для архівації, що прибули раніше {}, немає.", cutoff);
+                return 0;
+            }
+
+            String placeholders = String.join(", ", Collections.nCopies(flightIds.size(), "?"));
+            Map<TicketStatus, Integer> archivedTickets = countTicketsByStatus(conn, flightIds, placeholders);
+            executeForFlights(conn, "INSERT INTO flights_archive (" + FLIGHT_ARCHIVE_COLUMNS + ") SELECT " + FLIGHT_ARCHIVE_COLUMNS +
+                    " FROM flights WHERE id IN (" + placeholders + ")", flightIds);
+            executeForFlights(conn, "INSERT INTO tickets_archive (" + TICKET_ARCHIVE_COLUMNS + ") SELECT " + TICKET_ARCHIVE_COLUMNS +
+                    " FROM tickets WHERE flight_id IN (" + placeholders + ")", flightIds);
+            int tickets = executeForFlights(conn, "DELETE FROM tickets WHERE flight_id IN (" + placeholders + ")", flightIds);
+            int flights = executeForFlights(conn, "DELETE FROM flights WHERE id IN (" + placeholders + ")", flightIds);
+            conn.commit();
+
+            archivedTickets.forEach(statusCounters::recordArchived);
+            logger.info("Архівовано {} рейсів та {} квитків (прибуття раніше {}).", flights, tickets, cutoff);
+            return flights;
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException exRollback) {
+                    logger.error("Помилка при відкаті транзакції: {}", exRollback.getMessage(), exRollback);
+                }
+            }
+            logger.error("Помилка при архівації рейсів, що прибули раніше {}. Транзакцію відкочено.", cutoff, e);
+            throw e;
+        } finally {
+            localUpdate.close();
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Помилка при закритті з'єднання: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static Map<TicketStatus, Integer> countTicketsByStatus(Connection conn, List<Long> flightIds, String placeholders) throws SQLException {
+        String sql = "SELECT status, COUNT(*) FROM tickets WHERE flight_id IN (" + placeholders + ") GROUP BY status";
+        Map<TicketStatus, Integer> counts = new EnumMap<>(TicketStatus.class);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            bindFlightIds(pstmt, flightIds);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String statusStr = rs.getString(1);
+                    try {
+                        counts.put(TicketStatus.valueOf(statusStr), rs.getInt(2));
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Невідомий статус квитка '{}' серед квитків, що архівуються.", statusStr);
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static int executeForFlights(Connection conn, String sql, List<Long> flightIds) throws SQLException {
+        logger.trace("Виконується SQL-запит архівації: {}", sql);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            bindFlightIds(pstmt, flightIds);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    private static void bindFlightIds(PreparedStatement pstmt, List<Long> flightIds) throws SQLException {
+        for (int i = 0; i < flightIds.size(); i++) {
+            pstmt.setLong(i + 1, flightIds.get(i));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package DAO;
+
+import DB.DatabaseConnectionManager;
+import Models.ChangeLogEntry;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DAO для читання журналу змін ({@code change_log}).
+ * <p>
+ * Записи в журнал додають тригери бази даних (див. {@code db/migration/V3__change_log.sql}) у тій самій
+ * транзакції, що й зміна сутності. Читання виконується діапазонним запитом за первинним ключем
+ * {@code seq}, тож його вартість залежить лише від кількості нових записів, а не від розміру таблиць.
+ * </p>
+ */
+public class ChangeLogDAO {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    /**
+     * Повертає найбільший порядковий номер у журналі змін.
+     * @return Останній {@code seq} або 0, якщо журнал порожній.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public long getLatestSequence() throws SQLException {
+        String sql = "SELECT COALESCE(MAX(seq), 0) FROM change_log";
+        logger.debug("Виконується SQL-запит: {}", sql);
+
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            long latest = rs.next() ? rs.getLong(1) : 0;
+            logger.debug("Останній номер у журналі змін: {}", latest);
+            return latest;
+        } catch (SQLException e) {
+            logger.error("Помилка при отриманні останнього номера журналу змін.", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Повертає записи журналу з номером, більшим за {@code afterSeq}, а також записи з номерами
+     * {@code gapSeqs} — пропусками, що могли з'явитися через транзакції, які ще не були зафіксовані
+     * під час попереднього читання.
+     * @param afterSeq Останній прочитаний номер.
+     * @param gapSeqs Номери пропущених записів, які потрібно перевірити повторно (може бути порожнім).
+     * @param limit Максимальна кількість записів.
+     * @return Записи, впорядковані за номером.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     * @throws IllegalArgumentException якщо {@code limit} не є позитивним.
+     */
+    public List<ChangeLogEntry> getChangesAfter(long afterSeq, Collection<Long> gapSeqs, int limit) throws SQLException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Ліміт має бути позитивним.");
+        }
+        Collection<Long> gaps = gapSeqs == null ? Collections.emptyList() : gapSeqs;
+        StringBuilder sql = new StringBuilder(
+                "SELECT seq, entity_type, entity_id, change_type, flight_id, new_status, changed_at FROM change_log WHERE seq > ?");
+        if (!gaps.isEmpty()) {
+            sql.append(" OR seq IN (").append(String.join(", ", Collections.nCopies(gaps.size(), "?"))).append(")");
+        }
+        sql.append(" ORDER BY seq LIMIT ?");
+        logger.trace("Виконується SQL-запит: {}", sql);
+
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            pstmt.setLong(index++, afterSeq);
+            for (Long gap : gaps) {
+                pstmt.setLong(index++, gap);
+            }
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ChangeLogEntry entry = mapRowToEntry(rs);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            }
+            if (!entries.isEmpty()) {
+                logger.debug("Отримано {} записів журналу змін після номера {}.", entries.size(), afterSeq);
+            }
+        } catch (SQLException e) {
+            logger.error("Помилка при читанні журналу змін після номера {}.", afterSeq, e);
+            throw e;
+        }
+        return entries;
+    }
+
+    /**
+     * Видаляє записи журналу, старші за вказаний момент.
+     * @param threshold Межа часу; записи з {@code changed_at} раніше неї видаляються.
+     * @return Кількість видалених записів.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public int purgeOlderThan(LocalDateTime threshold) throws SQLException {
+        String sql = "DELETE FROM change_log WHERE changed_at < ?";
+        logger.debug("Виконується SQL-запит: {} з межею {}", sql, threshold);
+
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(threshold));
+            int deleted = pstmt.executeUpdate();
+            logger.info("З журналу змін видалено {} записів, старших за {}.", deleted, threshold);
+            return deleted;
+        } catch (SQLException e) {
+            logger.error("Помилка при очищенні журналу змін до {}.", threshold, e);
+            throw e;
+        }
+    }
+
+    private ChangeLogEntry mapRowToEntry(ResultSet rs) throws SQLException {
+        long seq = rs.getLong("seq");
+        String entityTypeValue = rs.getString("entity_type");
+        ChangeLogEntry.EntityType entityType;
+        try {
+            entityType = ChangeLogEntry.EntityType.valueOf(entityTypeValue);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            logger.warn("Невідомий тип сутності '{}' у записі журналу змін {}. Запис пропущено.", entityTypeValue, seq);
+            return null;
+        }
+        Timestamp changedAt = rs.getTimestamp("changed_at");
+        return new ChangeLogEntry(seq, entityType, rs.getLong("entity_id"), rs.getString("change_type"),
+                rs.getLong("flight_id"), rs.getString("new_status"),
+                changedAt != null ? changedAt.toLocalDateTime() : null);
+    }
+}
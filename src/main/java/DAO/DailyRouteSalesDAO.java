@@ -0,0 +1,193 @@
+package DAO;
+
+import DB.DatabaseConnectionManager;
+import DB.ReadStaleness;
+import Models.Enums.BenefitType;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DAO для денного підсумку продажів ({@code daily_route_sales}).
+ * <p>
+ * Підсумок містить кількість проданих квитків та виручку за кожну дату покупки, маршрут і тип пільги
+ * пасажира. Маршрут і пільга беруться з квитка ({@code sale_route_id}, {@code sale_benefit_type}), куди
+ * вони записуються під час продажу, тож скасування віднімається з тієї ж групи, що й продаж, навіть
+ * якщо рейс перенесено на інший маршрут або пільгу пасажира змінено. Підсумок оновлюється в транзакції зміни статусу квитка ({@link TicketDAO#updateTicketStatus})
+ * та може бути перебудований з таблиць {@code tickets} і {@code tickets_archive} за діапазон дат ({@link #rebuild(LocalDate, LocalDate)}).
+ * Проданими вважаються квитки зі статусом {@code SOLD} або {@code USED} і заповненою датою покупки.
+ * </p>
+ */
+public class DailyRouteSalesDAO {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    static final String APPLY_TICKET_SQL = "INSERT INTO daily_route_sales (sale_date, route_id, benefit_type, tickets_sold, total_amount) " +
+            "SELECT DATE(t.purchase_date_time), t.sale_route_id, t.sale_benefit_type, ?, ? * t.price_paid " +
+            "FROM tickets t WHERE t.id = ? AND t.purchase_date_time IS NOT NULL " +
+            "ON DUPLICATE KEY UPDATE tickets_sold = tickets_sold + VALUES(tickets_sold), total_amount = total_amount + VALUES(total_amount)";
+
+    /**
+     * Додає квиток до підсумку ({@code sign = 1}) або віднімає його ({@code sign = -1}) на з'єднанні
+     * викликаючого коду, тобто в його транзакції. Квиток без дати покупки (наприклад, скасоване
+     * бронювання) підсумок не змінює.
+     * @param conn З'єднання з відкритою транзакцією зміни статусу.
+     * @param ticketId Ідентифікатор квитка.
+     * @param sign 1 для продажу, -1 для скасування проданого квитка.
+     * @return {@code true}, якщо підсумок змінено.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    static boolean applyTicket(Connection conn, long ticketId, int sign) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(APPLY_TICKET_SQL)) {
+            pstmt.setInt(1, sign);
+            pstmt.setInt(2, sign);
+            pstmt.setLong(3, ticketId);
+            boolean applied = pstmt.executeUpdate() > 0;
+            logger.trace("Підсумок продажів для квитка ID {} {} (знак {}).", ticketId, applied ? "оновлено" : "не змінено", sign);
+            return applied;
+        }
+    }
+
+    /**
+     * Перераховує підсумок за діапазон дат з таблиць {@code tickets} і {@code tickets_archive} в одній транзакції.
+     * <p>
+     * Використовується для початкового заповнення та виправлення розбіжностей. Продажі, що
+     * відбуваються під час перебудови того ж дня, чекатимуть на блокування рядків підсумку, тому
+     * перебудову поточного дня краще виконувати в неробочий час.
+     * </p>
+     * @param from Перша дата (включно).
+     * @param to Остання дата (включно).
+     * @return Кількість записаних рядків підсумку.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     * @throws IllegalArgumentException якщо діапазон дат некоректний.
+     */
+    public int rebuild(LocalDate from, LocalDate to) throws SQLException {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Некоректний діапазон дат для перебудови підсумку продажів: " + from + " - " + to);
+        }
+        logger.info("Перебудова підсумку продажів за період {} - {}.", from, to);
+        String deleteSql = "DELETE FROM daily_route_sales WHERE sale_date BETWEEN ? AND ?";
+        String insertSql = "INSERT INTO daily_route_sales (sale_date, route_id, benefit_type, tickets_sold, total_amount) " +
+                "SELECT DATE(s.purchase_date_time), s.sale_route_id, s.sale_benefit_type, COUNT(*), SUM(s.price_paid) " +
+                "FROM (" + soldTicketsSelect("tickets", true) + " UNION ALL " + soldTicketsSelect("tickets_archive", false) + ") s " +
+                "GROUP BY DATE(s.purchase_date_time), s.sale_route_id, s.sale_benefit_type";
+
+        Connection conn = null;
+        try {
+            conn = DatabaseConnectionManager.getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement(deleteSql)) {
+                delete.setDate(1, Date.valueOf(from));
+                delete.setDate(2, Date.valueOf(to));
+                delete.executeUpdate();
+            }
+            int rows;
+            try (PreparedStatement insert = conn.prepareStatement(insertSql)) {
+                Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+                Timestamp end = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+                insert.setTimestamp(1, start);
+                insert.setTimestamp(2, end);
+                insert.setTimestamp(3, end);
+                insert.setTimestamp(4, start);
+                insert.setTimestamp(5, end);
+                rows = insert.executeUpdate();
+            }
+            conn.commit();
+            logger.info("Підсумок продажів за період {} - {} перебудовано: {} рядків.", from, to, rows);
+            return rows;
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException exRollback) {
+                    logger.error("Помилка при відкаті транзакції: {}", exRollback.getMessage(), exRollback);
+                }
+            }
+            logger.error("Помилка при перебудові підсумку продажів за період {} - {}. Транзакцію відкочено.", from, to, e);
+            throw e;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Помилка при закритті з'єднання: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Продані квитки за період з робочої або архівної таблиці квитків.
+     * Для робочої таблиці додається умова {@code booking_date_time < кінець періоду} (квиток бронюється
+     * до покупки), яка відсікає секції {@code tickets} майбутніх місяців бронювання.
+     */
+    private static String soldTicketsSelect(String ticketsTable, boolean pruneByBooking) {
+        return "SELECT t.purchase_date_time, t.price_paid, t.sale_route_id, t.sale_benefit_type " +
+                "FROM " + ticketsTable + " t " +
+                "WHERE t.status IN ('SOLD', 'USED') AND t.purchase_date_time >= ? AND t.purchase_date_time < ?" +
+                (pruneByBooking ? " AND t.booking_date_time < ?" : "");
+    }
+
+    /**
+     * Повертає дату першого продажу (з урахуванням архіву), від якої потрібно заповнювати підсумок.
+     * @return Дата найранішої покупки або порожній Optional, якщо продажів немає.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public Optional<LocalDate> getFirstSaleDate() throws SQLException {
+        String sql = "SELECT MIN(first_sale) FROM (" +
+                "SELECT MIN(purchase_date_time) AS first_sale FROM tickets WHERE purchase_date_time IS NOT NULL UNION ALL " +
+                "SELECT MIN(purchase_date_time) FROM tickets_archive WHERE purchase_date_time IS NOT NULL) s";
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            Timestamp first = rs.next() ? rs.getTimestamp(1) : null;
+            return first == null ? Optional.empty() : Optional.of(first.toLocalDateTime().toLocalDate());
+        } catch (SQLException e) {
+            logger.error("Помилка при отриманні дати першого продажу.", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Повертає виручку за період у розрізі типів пільг пасажирів.
+     * Запит виконується через {@link DatabaseConnectionManager#getReadConnection} (допустиме відставання {@link ReadStaleness#REPORTS}).
+     * @param from Перша дата (включно).
+     * @param to Остання дата (включно).
+     * @return Мапа "тип пільги - виручка"; типи без продажів мають значення {@link BigDecimal#ZERO}.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public Map<BenefitType, BigDecimal> getRevenueByBenefitType(LocalDate from, LocalDate to) throws SQLException {
+        String sql = "SELECT benefit_type, SUM(total_amount) AS total_amount FROM daily_route_sales " +
+                "WHERE sale_date BETWEEN ? AND ? GROUP BY benefit_type";
+        Map<BenefitType, BigDecimal> revenue = new EnumMap<>(BenefitType.class);
+        for (BenefitType type : BenefitType.values()) {
+            revenue.put(type, BigDecimal.ZERO);
+        }
+        try (Connection conn = DatabaseConnectionManager.getReadConnection(ReadStaleness.REPORTS);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(from));
+            pstmt.setDate(2, Date.valueOf(to));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String typeStr = rs.getString("benefit_type");
+                    try {
+                        revenue.put(BenefitType.valueOf(typeStr), rs.getBigDecimal("total_amount"));
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Невідомий тип пільги '{}' у підсумку продажів.", typeStr);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Помилка при отриманні виручки за типами пільг за період {} - {}.", from, to, e);
+            throw e;
+        }
+        return revenue;
+    }
+}
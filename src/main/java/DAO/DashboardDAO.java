@@ -0,0 +1,135 @@
+package DAO;
+
+import DB.DatabaseConnectionManager;
+import DB.ReadStaleness;
+import Models.DashboardSnapshot;
+import Models.Enums.FlightStatus;
+import Models.Ticket;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO для панелі моніторингу.
+ * <p>
+ * Знімок показників збирається трьома агрегованими запитами на одному з'єднанні, кожен з яких
+ * читає лише індекс або невелику кількість рядків: відправлення дня з лічильниками зайнятості
+ * ({@code flights.booked_count}, {@code flights.sold_count}), кількість бронювань, термін яких
+ * спливає ({@code idx_tickets_status_expiry}), та продажі дня з {@code daily_route_sales}. Кількість
+ * квитків за статусами береться з лічильників у пам'яті ({@link TicketStatusCounters}).
+ * </p>
+ */
+public class DashboardDAO {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    static final String DEPARTURES_SQL = "SELECT f.id, f.departure_date_time, f.status, f.total_seats, f.booked_count, f.sold_count, " +
+            "ds.city AS departure_city, ts.city AS destination_city " +
+            "FROM flights f JOIN routes r ON f.route_id = r.id " +
+            "JOIN stops ds ON r.departure_stop_id = ds.id JOIN stops ts ON r.destination_stop_id = ts.id " +
+            "WHERE f.departure_date_time >= ? AND f.departure_date_time < ? ORDER BY f.departure_date_time";
+    // Умова на booking_date_time дублює умову на термін дії броні (Ticket.BOOKING_HOLD_HOURS),
+    // щоб запит читав лише секції tickets за останні місяці бронювання.
+    static final String EXPIRING_BOOKINGS_SQL = "SELECT COUNT(*) FROM tickets " +
+            "WHERE status = 'BOOKED' AND booking_expiry_date_time >= ? AND booking_expiry_date_time < ? " +
+            "AND booking_date_time >= ? AND booking_date_time < ?";
+    static final String SALES_TODAY_SQL = "SELECT COALESCE(SUM(tickets_sold), 0) AS tickets_sold, COALESCE(SUM(total_amount), 0) AS total_amount " +
+            "FROM daily_route_sales WHERE sale_date = ?";
+
+    private final TicketDAO ticketDAO;
+
+    /**
+     * @param ticketDAO DAO квитків, через який заповнюються лічильники статусів при першому зверненні.
+     * @throws IllegalArgumentException якщо {@code ticketDAO} є null.
+     */
+    public DashboardDAO(TicketDAO ticketDAO) {
+        if (ticketDAO == null) {
+            throw new IllegalArgumentException("TicketDAO не може бути null.");
+        }
+        this.ticketDAO = ticketDAO;
+    }
+
+    /**
+     * Збирає знімок показників на момент {@code now}.
+     * Запити виконуються через {@link DatabaseConnectionManager#getReadConnection} (допустиме відставання {@link ReadStaleness#BROWSING}).
+     * @param now Поточний час; день відправлень та продажів визначається за ним.
+     * @param expiryWindowMinutes Вікно попередження про завершення терміну бронювання, хв.
+     * @return Знімок показників.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public DashboardSnapshot loadSnapshot(LocalDateTime now, int expiryWindowMinutes) throws SQLException {
+        long startNanos = System.nanoTime();
+        LocalDate today = now.toLocalDate();
+        List<DashboardSnapshot.Departure> departures = new ArrayList<>();
+        int expiringBookings;
+        int ticketsSoldToday;
+        BigDecimal salesToday;
+
+        try (Connection conn = DatabaseConnectionManager.getReadConnection(ReadStaleness.BROWSING)) {
+            try (PreparedStatement pstmt = conn.prepareStatement(DEPARTURES_SQL)) {
+                pstmt.setTimestamp(1, Timestamp.valueOf(today.atStartOfDay()));
+                pstmt.setTimestamp(2, Timestamp.valueOf(today.plusDays(1).atStartOfDay()));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        departures.add(mapDeparture(rs));
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(EXPIRING_BOOKINGS_SQL)) {
+                pstmt.setTimestamp(1, Timestamp.valueOf(now));
+                pstmt.setTimestamp(2, Timestamp.valueOf(now.plusMinutes(expiryWindowMinutes)));
+                pstmt.setTimestamp(3, Timestamp.valueOf(now.minusHours(Ticket.BOOKING_HOLD_HOURS)));
+                pstmt.setTimestamp(4, Timestamp.valueOf(now.plusMinutes(expiryWindowMinutes)));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    expiringBookings = rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(SALES_TODAY_SQL)) {
+                pstmt.setDate(1, java.sql.Date.valueOf(today));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        ticketsSoldToday = rs.getInt("tickets_sold");
+                        salesToday = rs.getBigDecimal("total_amount");
+                    } else {
+                        ticketsSoldToday = 0;
+                        salesToday = BigDecimal.ZERO;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Помилка при отриманні показників панелі моніторингу.", e);
+            throw e;
+        }
+
+        DashboardSnapshot snapshot = new DashboardSnapshot(departures, expiringBookings, ticketsSoldToday, salesToday,
+                ticketDAO.getTicketCountsByStatus());
+        logger.trace("Показники панелі моніторингу отримано за {} мкс: {} відправлень.",
+                (System.nanoTime() - startNanos) / 1_000, departures.size());
+        return snapshot;
+    }
+
+    private static DashboardSnapshot.Departure mapDeparture(ResultSet rs) throws SQLException {
+        long flightId = rs.getLong("id");
+        String statusStr = rs.getString("status");
+        FlightStatus status;
+        try {
+            status = FlightStatus.valueOf(statusStr);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            logger.warn("Невідомий статус '{}' рейсу ID {} на панелі моніторингу.", statusStr, flightId);
+            status = null;
+        }
+        return new DashboardSnapshot.Departure(
+                flightId,
+                rs.getTimestamp("departure_date_time").toLocalDateTime(),
+                rs.getString("departure_city") + " -> " + rs.getString("destination_city"),
+                status,
+                rs.getInt("total_seats"),
+                rs.getInt("booked_count") + rs.getInt("sold_count"));
+    }
+}
@@ -1,6 +1,9 @@
 package DAO;
 
 import DB.DatabaseConnectionManager;
+import DB.ReadStaleness;
+import Events.EventBus;
+import Events.FlightChanged;
 import Models.Flight;
 import Models.Enums.FlightStatus;
 import Models.Route;
@@ -8,17 +11,27 @@ import Models.Route;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * DAO для роботи з об'єктами Flight (Рейси).
  */
 public class FlightDAO {
     private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final String FLIGHT_COLUMNS = "id, route_id, departure_date_time, arrival_date_time, total_seats, bus_model, price_per_seat, status, version, booked_count, sold_count";
     private final RouteDAO routeDAO;
 
     /**
@@ -52,54 +65,26 @@ public class FlightDAO {
 
     /**
      * Повертає список всіх рейсів з бази даних.
+     * Маршрути рейсів завантажуються одним викликом {@link RouteDAO#getRoutesByIds}.
      * @return Список об'єктів {@link Flight}.
      * @throws SQLException якщо виникає помилка доступу до бази даних.
      */
     public List<Flight> getAllFlights() throws SQLException {
         logger.info("Спроба отримати всі рейси.");
-        List<Flight> flights = new ArrayList<>();
-        String sql = "SELECT id, route_id, departure_date_time, arrival_date_time, total_seats, bus_model, price_per_seat, status FROM flights ORDER BY departure_date_time DESC";
+        List<FlightRow> rows = new ArrayList<>();
+        String sql = "SELECT " + FLIGHT_COLUMNS + " FROM flights ORDER BY departure_date_time DESC";
         logger.debug("Виконується SQL-запит: {}", sql);
 
-        try (Connection conn = DatabaseConnectionManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                long flightId = rs.getLong("id");
-                long routeId = rs.getLong("route_id");
-                Route route = this.routeDAO.getRouteById(routeId)
-                        .orElseThrow(() -> {
-                            String errorMsg = "Маршрут ID " + routeId + " не знайдено для рейсу ID: " + flightId;
-                            logger.warn(errorMsg); // Логування попередження про цілісність даних
-                            return new SQLException(errorMsg);
-                        });
-
-                String statusStr = rs.getString("status");
-                FlightStatus flightStatus;
-                if (statusStr == null) {
-                    String errorMsg = "Статус рейсу є null для рейсу ID " + flightId;
-                    logger.error(errorMsg);
-                    throw new SQLException(errorMsg);
-                }
-                try {
-                    flightStatus = FlightStatus.valueOf(statusStr.toUpperCase());
-                } catch (IllegalArgumentException e) {
-                    String errorMsg = "Недійсний статус '" + statusStr + "' для рейсу ID " + flightId;
-                    logger.error(errorMsg, e);
-                    throw new SQLException(errorMsg, e);
+        List<Flight> flights;
+        try {
+            try (Connection conn = DatabaseConnectionManager.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    rows.add(readFlightRow(rs));
                 }
-
-                flights.add(new Flight(
-                        flightId,
-                        route,
-                        rs.getTimestamp("departure_date_time").toLocalDateTime(),
-                        rs.getTimestamp("arrival_date_time").toLocalDateTime(),
-                        rs.getInt("total_seats"),
-                        flightStatus,
-                        rs.getString("bus_model"),
-                        rs.getBigDecimal("price_per_seat")
-                ));
             }
+            flights = attachRoutes(rows);
             logger.info("Успішно отримано {} рейсів.", flights.size());
         } catch (SQLException e) {
             logger.error("Помилка при отриманні всіх рейсів", e);
@@ -108,6 +93,128 @@ public class FlightDAO {
         return flights;
     }
 
+    /**
+     * Повертає рейси за набором ідентифікаторів одним запитом; маршрути рейсів завантажуються
+     * пакетно через {@link RouteDAO#getRoutesByIds}.
+     * @param ids Ідентифікатори рейсів.
+     * @return Мапа ID рейсу -> {@link Flight}; відсутні в БД рейси до неї не потрапляють.
+     * @throws SQLException якщо виникає помилка доступу до бази даних або маршрут рейсу не знайдено.
+     */
+    public Map<Long, Flight> getFlightsByIds(Collection<Long> ids) throws SQLException {
+        Map<Long, Flight> result = new LinkedHashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        logger.debug("Спроба отримати {} рейсів за ID.", uniqueIds.size());
+        String sql = "SELECT " + FLIGHT_COLUMNS + " FROM flights WHERE id IN (" +
+                String.join(", ", Collections.nCopies(uniqueIds.size(), "?")) + ")";
+
+        List<FlightRow> rows = new ArrayList<>();
+        try {
+            try (Connection conn = DatabaseConnectionManager.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                for (Long id : uniqueIds) {
+                    pstmt.setLong(index++, id);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(readFlightRow(rs));
+                    }
+                }
+            }
+            for (Flight flight : attachRoutes(rows)) {
+                result.put(flight.getId(), flight);
+            }
+        } catch (SQLException e) {
+            logger.error("Помилка при отриманні рейсів за ID {}.", uniqueIds, e);
+            throw e;
+        }
+        logger.debug("Отримано {} з {} запитаних рейсів.", result.size(), uniqueIds.size());
+        return result;
+    }
+
+    /**
+     * Рядок таблиці {@code flights}, прочитаний до завантаження маршрутів.
+     */
+    private static final class FlightRow {
+        private final long id;
+        private final long routeId;
+        private final LocalDateTime departureDateTime;
+        private final LocalDateTime arrivalDateTime;
+        private final int totalSeats;
+        private final FlightStatus status;
+        private final String busModel;
+        private final BigDecimal pricePerSeat;
+        private final long version;
+        private final int bookedCount;
+        private final int soldCount;
+
+        private FlightRow(long id, ResultSet rs, FlightStatus status) throws SQLException {
+            this.id = id;
+            this.routeId = rs.getLong("route_id");
+            this.departureDateTime = rs.getTimestamp("departure_date_time").toLocalDateTime();
+            this.arrivalDateTime = rs.getTimestamp("arrival_date_time").toLocalDateTime();
+            this.totalSeats = rs.getInt("total_seats");
+            this.status = status;
+            this.busModel = rs.getString("bus_model");
+            this.pricePerSeat = rs.getBigDecimal("price_per_seat");
+            this.version = rs.getLong("version");
+            this.bookedCount = rs.getInt("booked_count");
+            this.soldCount = rs.getInt("sold_count");
+        }
+    }
+
+    private static FlightRow readFlightRow(ResultSet rs) throws SQLException {
+        long flightId = rs.getLong("id");
+        String statusStr = rs.getString("status");
+        if (statusStr == null) {
+            String errorMsg = "Статус рейсу є null для рейсу ID " + flightId;
+            logger.error(errorMsg);
+            throw new SQLException(errorMsg);
+        }
+        try {
+            return new FlightRow(flightId, rs, FlightStatus.valueOf(statusStr.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            String errorMsg = "Недійсний статус '" + statusStr + "' для рейсу ID " + flightId;
+            logger.error(errorMsg, e);
+            throw new SQLException(errorMsg, e);
+        }
+    }
+
+    /**
+     * Створює рейси з прочитаних рядків, завантажуючи всі їхні маршрути одним викликом
+     * {@link RouteDAO#getRoutesByIds} (після закриття з'єднання, на якому читалися рейси).
+     * @throws SQLException якщо маршрут рейсу не знайдено.
+     */
+    private List<Flight> attachRoutes(List<FlightRow> rows) throws SQLException {
+        List<Flight> flights = new ArrayList<>(rows.size());
+        if (rows.isEmpty()) {
+            return flights;
+        }
+        Set<Long> routeIds = new LinkedHashSet<>();
+        for (FlightRow row : rows) {
+            routeIds.add(row.routeId);
+        }
+        Map<Long, Route> routes = routeDAO.getRoutesByIds(routeIds);
+        for (FlightRow row : rows) {
+            Route route = routes.get(row.routeId);
+            if (route == null) {
+                String errorMsg = "Маршрут ID " + row.routeId + " не знайдено для рейсу ID: " + row.id;
+                logger.warn(errorMsg); // Логування попередження про цілісність даних
+                throw new SQLException(errorMsg);
+            }
+            Flight flight = new Flight(row.id, route, row.departureDateTime, row.arrivalDateTime,
+                    row.totalSeats, row.status, row.busModel, row.pricePerSeat);
+            flight.setVersion(row.version);
+            flight.setBookedCount(row.bookedCount);
+            flight.setSoldCount(row.soldCount);
+            flights.add(flight);
+        }
+        return flights;
+    }
+
     /**
      * Додає новий рейс до бази даних.
      * @param flight Об'єкт {@link Flight} для додавання.
@@ -135,6 +242,7 @@ public class FlightDAO {
                     if (generatedKeys.next()) {
                         flight.setId(generatedKeys.getLong(1));
                         logger.info("Рейс успішно додано. ID нового рейсу: {}", flight.getId());
+                        EventBus.getInstance().publish(new FlightChanged(flight.getId(), FlightChanged.Kind.CREATED));
                         return true;
                     } else {
                         logger.warn("Рейс додано ({} рядків), але не вдалося отримати згенерований ID.", affectedRows);
@@ -152,14 +260,138 @@ public class FlightDAO {
     }
 
     /**
-     * Оновлює дані існуючого рейсу в базі даних.
-     * @param flight Об'єкт {@link Flight} з оновленими даними.
-     * @return {@code true}, якщо рейс успішно оновлено, {@code false} в іншому випадку.
+     * Додає список рейсів до бази даних однією транзакцією, використовуючи пакетну вставку.
+     * Після успішного виконання кожному рейсу встановлюється згенерований ID.
+     * Якщо будь-який рядок не вдалося вставити, транзакція відкочується повністю.
+     * @param flights Список об'єктів {@link Flight} для додавання.
+     * @return Кількість доданих рейсів.
+     * @throws SQLException якщо виникає помилка доступу до бази даних або не вдалося отримати згенеровані ID.
+     */
+    public int addFlights(List<Flight> flights) throws SQLException {
+        if (flights == null || flights.isEmpty()) {
+            logger.info("Список рейсів для пакетного додавання порожній. Нічого не додано.");
+            return 0;
+        }
+        logger.info("Спроба пакетно додати {} рейсів.", flights.size());
+        String sql = "INSERT INTO flights (route_id, departure_date_time, arrival_date_time, total_seats, bus_model, price_per_seat, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        logger.debug("Виконується пакетний SQL-запит для додавання рейсів: {}", sql);
+
+        Connection conn = null;
+        try {
+            conn = DatabaseConnectionManager.getConnection();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Flight flight : flights) {
+                    pstmt.setLong(1, flight.getRoute().getId());
+                    pstmt.setTimestamp(2, Timestamp.valueOf(flight.getDepartureDateTime()));
+                    pstmt.setTimestamp(3, Timestamp.valueOf(flight.getArrivalDateTime()));
+                    pstmt.setInt(4, flight.getTotalSeats());
+                    pstmt.setString(5, flight.getBusModel());
+                    pstmt.setBigDecimal(6, flight.getPricePerSeat());
+                    pstmt.setString(7, flight.getStatus().name());
+                    pstmt.addBatch();
+                }
+                int[] batchResults = pstmt.executeBatch();
+                for (int i = 0; i < batchResults.length; i++) {
+                    if (batchResults[i] == Statement.EXECUTE_FAILED) {
+                        logger.error("Пакетне додавання рейсів: рядок {} не вдалося вставити.", i);
+                        throw new SQLException("Помилка при пакетному додаванні рейсів: рядок " + i + " не вставлено.");
+                    }
+                }
+
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    int index = 0;
+                    while (generatedKeys.next() && index < flights.size()) {
+                        flights.get(index++).setId(generatedKeys.getLong(1));
+                    }
+                    if (index != flights.size()) {
+                        logger.error("Отримано {} згенерованих ID для {} рейсів.", index, flights.size());
+                        throw new SQLException("Не вдалося отримати згенеровані ID для всіх доданих рейсів.");
+                    }
+                }
+            }
+
+            conn.commit();
+            logger.info("Успішно пакетно додано {} рейсів.", flights.size());
+            for (Flight flight : flights) {
+                EventBus.getInstance().publish(new FlightChanged(flight.getId(), FlightChanged.Kind.CREATED));
+            }
+            return flights.size();
+        } catch (SQLException e) {
+            logger.error("Помилка при пакетному додаванні рейсів. Транзакцію буде відкочено.", e);
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException exRollback) {
+                    logger.error("Помилка при відкаті транзакції: {}", exRollback.getMessage(), exRollback);
+                }
+            }
+            for (Flight flight : flights) {
+                flight.setId(0);
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Помилка при закритті з'єднання: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Повертає час відправлення всіх рейсів маршруту в межах заданого інтервалу одним запитом.
+     * Використовується для виявлення конфліктів перед масовим створенням рейсів за розкладом.
+     * @param routeId Ідентифікатор маршруту.
+     * @param from Початок інтервалу (включно).
+     * @param to Кінець інтервалу (включно).
+     * @return Множина дат та часу відправлення існуючих рейсів.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public Set<LocalDateTime> getDepartureTimesForRoute(long routeId, LocalDateTime from, LocalDateTime to) throws SQLException {
+        logger.info("Спроба отримати час відправлення рейсів маршруту ID {} за період {} - {}.", routeId, from, to);
+        Set<LocalDateTime> departures = new HashSet<>();
+        String sql = "SELECT departure_date_time FROM flights WHERE route_id = ? AND departure_date_time BETWEEN ? AND ?";
+        logger.debug("Виконується SQL-запит: {}", sql);
+
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, routeId);
+            pstmt.setTimestamp(2, Timestamp.valueOf(from));
+            pstmt.setTimestamp(3, Timestamp.valueOf(to));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    departures.add(rs.getTimestamp("departure_date_time").toLocalDateTime());
+                }
+            }
+            logger.info("Знайдено {} існуючих рейсів маршруту ID {} за період {} - {}.", departures.size(), routeId, from, to);
+        } catch (SQLException e) {
+            logger.error("Помилка при отриманні часу відправлення рейсів маршруту ID {}", routeId, e);
+            throw e;
+        }
+        return departures;
+    }
+
+    /**
+     * Оновлює дані існуючого рейсу в базі даних з перевіркою версії запису.
+     * <p>
+     * Оновлення виконується лише якщо версія рядка збігається з {@link Flight#getVersion()},
+     * тобто рейс не змінили з іншого робочого місця після читання. При успіху версія
+     * в об'єкті збільшується.
+     * </p>
+     * @param flight Об'єкт {@link Flight} з оновленими даними та версією, з якою його було прочитано.
+     * @return {@link UpdateResult#UPDATED}, {@link UpdateResult#CONFLICT}, якщо рейс змінено іншим користувачем,
+     *         або {@link UpdateResult#NOT_FOUND}, якщо рейсу не існує.
      * @throws SQLException якщо виникає помилка доступу до бази даних.
      */
-    public boolean updateFlight(Flight flight) throws SQLException {
-        logger.info("Спроба оновити рейс з ID {}.", flight.getId());
-        String sql = "UPDATE flights SET route_id = ?, departure_date_time = ?, arrival_date_time = ?, total_seats = ?, bus_model = ?, price_per_seat = ?, status = ? WHERE id = ?";
+    public UpdateResult updateFlight(Flight flight) throws SQLException {
+        logger.info("Спроба оновити рейс з ID {} (версія {}).", flight.getId(), flight.getVersion());
+        String sql = "UPDATE flights SET route_id = ?, departure_date_time = ?, arrival_date_time = ?, total_seats = ?, bus_model = ?, price_per_seat = ?, status = ?, " +
+                "version = version + 1 WHERE id = ? AND version = ?";
         logger.debug("Виконується SQL-запит для оновлення рейсу: {}", sql);
 
         try (Connection conn = DatabaseConnectionManager.getConnection();
@@ -172,15 +404,28 @@ public class FlightDAO {
             pstmt.setBigDecimal(6, flight.getPricePerSeat());
             pstmt.setString(7, flight.getStatus().name());
             pstmt.setLong(8, flight.getId());
+            pstmt.setLong(9, flight.getVersion());
 
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
+                flight.setVersion(flight.getVersion() + 1);
                 logger.info("Рейс з ID {} успішно оновлено.", flight.getId());
-                return true;
-            } else {
-                logger.warn("Рейс з ID {} не знайдено або не було оновлено (affectedRows = 0).", flight.getId());
-                return false;
+                EventBus.getInstance().publish(new FlightChanged(flight.getId(), FlightChanged.Kind.UPDATED));
+                return UpdateResult.UPDATED;
             }
+            boolean exists;
+            try (PreparedStatement check = conn.prepareStatement("SELECT 1 FROM flights WHERE id = ?")) {
+                check.setLong(1, flight.getId());
+                try (ResultSet rs = check.executeQuery()) {
+                    exists = rs.next();
+                }
+            }
+            if (exists) {
+                logger.warn("Рейс з ID {} змінено іншим користувачем (версія {} застаріла).", flight.getId(), flight.getVersion());
+                return UpdateResult.CONFLICT;
+            }
+            logger.warn("Рейс з ID {} не знайдено або не було оновлено (affectedRows = 0).", flight.getId());
+            return UpdateResult.NOT_FOUND;
         } catch (SQLException e) {
             logger.error("Помилка при оновленні рейсу з ID {}", flight.getId(), e);
             throw e;
@@ -196,7 +441,8 @@ public class FlightDAO {
      */
     public boolean updateFlightStatus(long flightId, FlightStatus status) throws SQLException {
         logger.info("Спроба оновити статус рейсу ID {} на {}", flightId, status);
-        String sql = "UPDATE flights SET status = ? WHERE id = ?";
+        // Версія збільшується, щоб відкрите паралельно редагування рейсу виявило зміну статусу.
+        String sql = "UPDATE flights SET status = ?, version = version + 1 WHERE id = ?";
         logger.debug("Виконується SQL-запит для оновлення статусу рейсу: {}", sql);
 
         try (Connection conn = DatabaseConnectionManager.getConnection();
@@ -207,6 +453,7 @@ public class FlightDAO {
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
                 logger.info("Статус рейсу ID {} успішно оновлено на {}.", flightId, status);
+                EventBus.getInstance().publish(new FlightChanged(flightId, FlightChanged.Kind.STATUS_CHANGED));
                 return true;
             } else {
                 logger.warn("Рейс з ID {} не знайдено або статус не було оновлено (affectedRows = 0).", flightId);
@@ -220,17 +467,20 @@ public class FlightDAO {
 
     /**
      * Повертає кількість зайнятих місць (заброньованих або проданих) для конкретного рейсу.
+     * Значення читається з лічильників {@code booked_count} та {@code sold_count} рядка рейсу
+     * (див. {@code V6__flight_occupancy_counters.sql}), без підрахунку квитків.
+     * Запит виконується через {@link DatabaseConnectionManager#getReadConnection} (допустиме відставання {@link ReadStaleness#REPORTS}).
      * @param flightId Ідентифікатор рейсу.
      * @return Кількість зайнятих місць.
      * @throws SQLException якщо виникає помилка доступу до бази даних.
      */
     public int getOccupiedSeatsCount(long flightId) throws SQLException {
         logger.info("Спроба отримати кількість зайнятих місць для рейсу ID {}.", flightId);
-        String sql = "SELECT COUNT(id) FROM tickets WHERE flight_id = ? AND (status = 'BOOKED' OR status = 'SOLD')";
+        String sql = "SELECT booked_count + sold_count FROM flights WHERE id = ?";
         logger.debug("Виконується SQL-запит: {}", sql);
         int count = 0;
 
-        try (Connection conn = DatabaseConnectionManager.getConnection();
+        try (Connection conn = DatabaseConnectionManager.getReadConnection(ReadStaleness.REPORTS);
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setLong(1, flightId);
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -238,7 +488,6 @@ public class FlightDAO {
                     count = rs.getInt(1);
                     logger.info("Кількість зайнятих місць для рейсу ID {}: {}", flightId, count);
                 } else {
-                    // Це малоймовірно для COUNT(*), але для повноти
                     logger.info("Не знайдено даних про зайняті місця для рейсу ID {}. Повертається 0.", flightId);
                 }
             }
@@ -249,6 +498,82 @@ public class FlightDAO {
         return count;
     }
 
+    /**
+     * Знаходить рейси, лічильники зайнятості яких не збігаються з фактичною кількістю квитків.
+     * Перевіряються лише рейси з відправленням не раніше {@code departingFrom}: лічильники минулих
+     * рейсів більше не змінюються.
+     * @param departingFrom Нижня межа часу відправлення рейсів, що перевіряються.
+     * @return ID рейсів з розбіжністю.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public List<Long> findOccupancyDrift(LocalDateTime departingFrom) throws SQLException {
+        String sql = "SELECT f.id, f.booked_count, f.sold_count, " +
+                "COALESCE(SUM(t.status = 'BOOKED'), 0) AS actual_booked, COALESCE(SUM(t.status = 'SOLD'), 0) AS actual_sold " +
+                "FROM flights f LEFT JOIN tickets t ON t.flight_id = f.id AND t.status IN ('BOOKED', 'SOLD') " +
+                "WHERE f.departure_date_time >= ? " +
+                "GROUP BY f.id, f.booked_count, f.sold_count " +
+                "HAVING f.booked_count <> actual_booked OR f.sold_count <> actual_sold";
+        logger.debug("Виконується SQL-запит перевірки лічильників зайнятості: {}", sql);
+        List<Long> drifted = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(departingFrom));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    long flightId = rs.getLong("id");
+                    logger.warn("Розбіжність лічильників зайнятості рейсу ID {}: заброньовано {} (фактично {}), продано {} (фактично {}).",
+                            flightId, rs.getInt("booked_count"), rs.getInt("actual_booked"), rs.getInt("sold_count"), rs.getInt("actual_sold"));
+                    drifted.add(flightId);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Помилка при перевірці лічильників зайнятості рейсів.", e);
+            throw e;
+        }
+        return drifted;
+    }
+
+    /**
+     * Перераховує лічильники зайнятості вказаних рейсів з таблиці квитків одним пакетом.
+     * Кількість квитків обчислюється в самому {@code UPDATE}, тож результат коректний навіть
+     * якщо квитки змінилися після виявлення розбіжності.
+     * @param flightIds ID рейсів.
+     * @return Кількість оновлених рейсів.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public int recountOccupancy(Collection<Long> flightIds) throws SQLException {
+        if (flightIds == null || flightIds.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE flights SET " +
+                "booked_count = (SELECT COUNT(*) FROM tickets WHERE flight_id = ? AND status = 'BOOKED'), " +
+                "sold_count = (SELECT COUNT(*) FROM tickets WHERE flight_id = ? AND status = 'SOLD') " +
+                "WHERE id = ?";
+        logger.debug("Виконується пакетний SQL-запит перерахунку лічильників зайнятості: {}", sql);
+
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Long flightId : flightIds) {
+                pstmt.setLong(1, flightId);
+                pstmt.setLong(2, flightId);
+                pstmt.setLong(3, flightId);
+                pstmt.addBatch();
+            }
+            int updated = 0;
+            for (int result : pstmt.executeBatch()) {
+                if (result > 0 || result == Statement.SUCCESS_NO_INFO) {
+                    updated++;
+                }
+            }
+            logger.info("Лічильники зайнятості перераховано для {} рейсів.", updated);
+            return updated;
+        } catch (SQLException e) {
+            logger.error("Помилка при перерахунку лічильників зайнятості рейсів {}.", flightIds, e);
+            throw e;
+        }
+    }
+
     /**
      * Повертає рейс за його ідентифікатором.
      * @param id Ідентифікатор рейсу.
@@ -257,7 +582,7 @@ public class FlightDAO {
      */
     public Optional<Flight> getFlightById(long id) throws SQLException {
         logger.info("Спроба отримати рейс за ID: {}", id);
-        String sql = "SELECT id, route_id, departure_date_time, arrival_date_time, total_seats, bus_model, price_per_seat, status FROM flights WHERE id = ?";
+        String sql = "SELECT id, route_id, departure_date_time, arrival_date_time, total_seats, bus_model, price_per_seat, status, version, booked_count, sold_count FROM flights WHERE id = ?";
         logger.debug("Виконується SQL-запит: {}", sql);
 
         try (Connection conn = DatabaseConnectionManager.getConnection();
@@ -298,6 +623,9 @@ public class FlightDAO {
                             rs.getString("bus_model"),
                             rs.getBigDecimal("price_per_seat")
                     );
+                    flight.setVersion(rs.getLong("version"));
+                    flight.setBookedCount(rs.getInt("booked_count"));
+                    flight.setSoldCount(rs.getInt("sold_count"));
                     logger.info("Рейс з ID {} знайдено.", id);
                     return Optional.of(flight);
                 } else {
@@ -312,58 +640,33 @@ public class FlightDAO {
     }
     /**
      * Повертає список рейсів на конкретну дату.
+     * Маршрути рейсів завантажуються одним викликом {@link RouteDAO#getRoutesByIds}.
+     * Запит виконується через {@link DatabaseConnectionManager#getReadConnection} (допустиме відставання {@link ReadStaleness#REPORTS}).
+     * Дата задається діапазоном {@code [date, date + 1)}, щоб запит читав діапазон індексу
+     * {@code idx_flights_departure}, а не обчислював {@code DATE()} для кожного рядка.
      * @param date Дата, на яку потрібно знайти рейси.
      * @return Список об'єктів {@link Flight}.
      * @throws SQLException якщо виникає помилка доступу до бази даних.
      */
     public List<Flight> getFlightsByDate(LocalDate date) throws SQLException {
         logger.info("Спроба отримати рейси на дату: {}", date);
-        List<Flight> flightsOnDate = new ArrayList<>();
-        String sql = "SELECT id, route_id, departure_date_time, arrival_date_time, total_seats, bus_model, price_per_seat, status " +
-                "FROM flights WHERE DATE(departure_date_time) = ? ORDER BY departure_date_time";
+        List<FlightRow> rows = new ArrayList<>();
+        String sql = "SELECT " + FLIGHT_COLUMNS + " FROM flights WHERE departure_date_time >= ? AND departure_date_time < ? ORDER BY departure_date_time";
         logger.debug("Виконується SQL-запит: {}", sql);
 
-        try (Connection conn = DatabaseConnectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setDate(1, java.sql.Date.valueOf(date));
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    long flightId = rs.getLong("id");
-                    long routeId = rs.getLong("route_id");
-                    Route route = this.routeDAO.getRouteById(routeId)
-                            .orElseThrow(() -> {
-                                String errorMsg = "Маршрут ID " + routeId + " не знайдено для рейсу ID: " + flightId;
-                                logger.warn(errorMsg);
-                                return new SQLException(errorMsg);
-                            });
-
-                    String statusStr = rs.getString("status");
-                    FlightStatus flightStatus;
-                    if (statusStr == null) {
-                        String errorMsg = "Статус рейсу є null для рейсу ID " + flightId;
-                        logger.error(errorMsg);
-                        throw new SQLException(errorMsg);
+        List<Flight> flightsOnDate;
+        try {
+            try (Connection conn = DatabaseConnectionManager.getReadConnection(ReadStaleness.REPORTS);
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setTimestamp(1, Timestamp.valueOf(date.atStartOfDay()));
+                pstmt.setTimestamp(2, Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(readFlightRow(rs));
                     }
-                    try {
-                        flightStatus = FlightStatus.valueOf(statusStr.toUpperCase());
-                    } catch (IllegalArgumentException e) {
-                        String errorMsg = "Недійсний статус '" + statusStr + "' для рейсу ID " + flightId;
-                        logger.error(errorMsg, e);
-                        throw new SQLException(errorMsg, e);
-                    }
-
-                    flightsOnDate.add(new Flight(
-                            flightId,
-                            route,
-                            rs.getTimestamp("departure_date_time").toLocalDateTime(),
-                            rs.getTimestamp("arrival_date_time").toLocalDateTime(),
-                            rs.getInt("total_seats"),
-                            flightStatus,
-                            rs.getString("bus_model"),
-                            rs.getBigDecimal("price_per_seat")
-                    ));
                 }
             }
+            flightsOnDate = attachRoutes(rows);
             logger.info("Успішно отримано {} рейсів на дату {}.", flightsOnDate.size(), date);
         } catch (SQLException e) {
             logger.error("Помилка при отриманні рейсів на дату {}: {}", date, e);
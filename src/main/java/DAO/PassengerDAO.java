@@ -1,26 +1,40 @@
 package DAO;
 
 import DB.DatabaseConnectionManager;
+import DB.ReadStaleness;
 import Models.Enums.BenefitType;
 import Models.Passenger;
+import Events.EventBus;
+import Events.PassengerUpdated;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * DAO для роботи з об'єктами Passenger (Пасажири).
  */
 public class PassengerDAO {
     private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final String UPSERT_SQL = "INSERT INTO passengers (full_name, document_number, document_type, phone_number, email, benefit_type) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)";
+    private static final String FIND_BY_ID_SQL = "SELECT id, full_name, document_number, document_type, phone_number, email, benefit_type, version FROM passengers WHERE id = ?";
 
     /**
      * Додає нового пасажира до бази даних.
      * Якщо пасажир з таким документом вже існує, повертає існуючого.
+     * Потребує двох-трьох звернень до бази даних; для нових викликів використовуйте {@link #upsertPassenger(Passenger)}.
      * @param passenger Об'єкт {@link Passenger} для додавання.
      * @return ID доданого або існуючого пасажира.
      * @throws SQLException якщо виникає помилка доступу до бази даних або не вдалося отримати/створити пасажира.
@@ -57,6 +71,7 @@ public class PassengerDAO {
                     if (generatedKeys.next()) {
                         long newId = generatedKeys.getLong(1);
                         logger.info("Нового пасажира успішно додано. ID нового пасажира: {}", newId);
+                        publishPassengerUpdated(newId, passenger);
                         return newId;
                     } else {
                         logger.error("Не вдалося створити пасажира, ключі не згенеровано, хоча affectedRows > 0.");
@@ -86,6 +101,168 @@ public class PassengerDAO {
         }
     }
 
+    /**
+     * Додає пасажира або повертає ID існуючого з тим самим документом одним SQL-запитом.
+     * <p>
+     * Використовує {@code INSERT ... ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)}: при конфлікті
+     * з обмеженням {@code uq_passenger_document} дані існуючого пасажира не змінюються, а його ID
+     * повертається як згенерований ключ. На відміну від {@link #addOrGetPassenger(Passenger)}
+     * потребує одного звернення до бази даних незалежно від того, чи існує пасажир; ще одне читання
+     * потрібне лише для події {@link PassengerUpdated}, яка містить збережені в БД дані, а не вхідні.
+     * </p>
+     * @param passenger Об'єкт {@link Passenger} для додавання.
+     * @return ID доданого або існуючого пасажира.
+     * @throws SQLException якщо виникає помилка доступу до бази даних або не вдалося отримати ID.
+     */
+    public long upsertPassenger(Passenger passenger) throws SQLException {
+        logger.info("Спроба upsert пасажира: Тип документа={}, Номер документа={}",
+                passenger.getDocumentType(), passenger.getDocumentNumber());
+        logger.debug("Виконується SQL-запит для upsert пасажира: {}", UPSERT_SQL);
+
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            setUpsertParameters(pstmt, passenger);
+            pstmt.executeUpdate();
+            long id = 0;
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    id = generatedKeys.getLong(1);
+                }
+            }
+            if (id > 0) {
+                logger.info("Upsert пасажира виконано. ID пасажира: {}", id);
+                publishStoredPassenger(conn, id);
+                return id;
+            }
+            logger.error("Upsert пасажира не повернув ID. Тип документа={}, Номер документа={}",
+                    passenger.getDocumentType(), passenger.getDocumentNumber());
+            throw new SQLException("Не вдалося отримати ID пасажира після upsert.");
+        } catch (SQLException e) {
+            logger.error("Помилка при upsert пасажира: Тип документа={}, Номер документа={}",
+                    passenger.getDocumentType(), passenger.getDocumentNumber(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Додає групу пасажирів (наприклад, для групового бронювання) однією транзакцією.
+     * Існуючі пасажири (за типом і номером документа) не змінюються.
+     * Після пакетного upsert ID та збережені дані усіх пасажирів визначаються одним запитом за документами;
+     * саме ці дані, а не вхідні, публікуються в подіях {@link PassengerUpdated}.
+     * @param passengers Список пасажирів.
+     * @return Список ID у тому ж порядку, що й вхідний список.
+     * @throws SQLException якщо виникає помилка доступу до бази даних (транзакцію буде відкочено).
+     */
+    public List<Long> upsertPassengers(List<Passenger> passengers) throws SQLException {
+        if (passengers == null || passengers.isEmpty()) {
+            logger.info("Список пасажирів для групового upsert порожній.");
+            return new ArrayList<>();
+        }
+        logger.info("Спроба групового upsert {} пасажирів.", passengers.size());
+
+        Map<String, Passenger> uniqueByDocument = new LinkedHashMap<>();
+        for (Passenger passenger : passengers) {
+            uniqueByDocument.putIfAbsent(documentKey(passenger.getDocumentType(), passenger.getDocumentNumber()), passenger);
+        }
+        StringBuilder selectSql = new StringBuilder(
+                "SELECT id, full_name, document_number, document_type, phone_number, email, benefit_type, version " +
+                "FROM passengers WHERE (document_type, document_number) IN (");
+        for (int i = 0; i < uniqueByDocument.size(); i++) {
+            selectSql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        selectSql.append(")");
+        logger.debug("Виконуються SQL-запити групового upsert: {}; {}", UPSERT_SQL, selectSql);
+
+        Connection conn = null;
+        try {
+            conn = DatabaseConnectionManager.getConnection();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+                for (Passenger passenger : uniqueByDocument.values()) {
+                    setUpsertParameters(pstmt, passenger);
+                    pstmt.addBatch();
+                }
+                int[] batchResults = pstmt.executeBatch();
+                for (int i = 0; i < batchResults.length; i++) {
+                    if (batchResults[i] == Statement.EXECUTE_FAILED) {
+                        logger.error("Груповий upsert пасажирів: рядок {} не вдалося виконати.", i);
+                        throw new SQLException("Помилка при груповому upsert пасажирів: рядок " + i + " не виконано.");
+                    }
+                }
+            }
+
+            Map<String, Passenger> storedByDocument = new LinkedHashMap<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(selectSql.toString())) {
+                int index = 1;
+                for (Passenger passenger : uniqueByDocument.values()) {
+                    pstmt.setString(index++, passenger.getDocumentType());
+                    pstmt.setString(index++, passenger.getDocumentNumber());
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Passenger stored = mapRowToPassenger(rs);
+                        storedByDocument.put(documentKey(stored.getDocumentType(), stored.getDocumentNumber()), stored);
+                    }
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(passengers.size());
+            for (Passenger passenger : passengers) {
+                Passenger stored = storedByDocument.get(documentKey(passenger.getDocumentType(), passenger.getDocumentNumber()));
+                if (stored == null) {
+                    logger.error("Після групового upsert не знайдено пасажира: Тип={}, Номер={}",
+                            passenger.getDocumentType(), passenger.getDocumentNumber());
+                    throw new SQLException("Не вдалося визначити ID пасажира з документом " + passenger.getDocumentNumber() + " після групового upsert.");
+                }
+                ids.add(stored.getId());
+            }
+
+            conn.commit();
+            for (Passenger stored : storedByDocument.values()) {
+                EventBus.getInstance().publish(new PassengerUpdated(stored));
+            }
+            logger.info("Груповий upsert {} пасажирів успішно виконано.", passengers.size());
+            return ids;
+        } catch (SQLException e) {
+            logger.error("Помилка при груповому upsert пасажирів. Транзакцію буде відкочено.", e);
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException exRollback) {
+                    logger.error("Помилка при відкаті транзакції: {}", exRollback.getMessage(), exRollback);
+                }
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Помилка при закритті з'єднання: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static void setUpsertParameters(PreparedStatement pstmt, Passenger passenger) throws SQLException {
+        pstmt.setString(1, passenger.getFullName());
+        pstmt.setString(2, passenger.getDocumentNumber());
+        pstmt.setString(3, passenger.getDocumentType());
+        pstmt.setString(4, passenger.getPhoneNumber());
+        pstmt.setString(5, passenger.getEmail());
+        pstmt.setString(6, passenger.getBenefitType().name());
+    }
+
+    /**
+     * Ключ документа для зіставлення результатів з вхідними даними. Регістр та пробіли на краях
+     * ігноруються так само, як їх ігнорує порівняння рядків у MySQL (collation *_ci).
+     */
+    private static String documentKey(String documentType, String documentNumber) {
+        return (documentType.trim() + '\u0000' + documentNumber.trim()).toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Знаходить пасажира за типом та номером документа.
      * @param documentType Тип документа.
@@ -95,7 +272,7 @@ public class PassengerDAO {
      */
     public Optional<Passenger> findByDocument(String documentType, String documentNumber) throws SQLException {
         logger.info("Пошук пасажира за документом: Тип={}, Номер={}", documentType, documentNumber);
-        String sql = "SELECT id, full_name, document_number, document_type, phone_number, email, benefit_type FROM passengers WHERE document_type = ? AND document_number = ?";
+        String sql = "SELECT id, full_name, document_number, document_type, phone_number, email, benefit_type, version FROM passengers WHERE document_type = ? AND document_number = ?";
         logger.debug("Виконується SQL-запит: {}", sql);
 
         try (Connection conn = DatabaseConnectionManager.getConnection();
@@ -126,11 +303,10 @@ public class PassengerDAO {
      */
     public Optional<Passenger> findById(long passengerId) throws SQLException {
         logger.info("Пошук пасажира за ID: {}", passengerId);
-        String sql = "SELECT id, full_name, document_number, document_type, phone_number, email, benefit_type FROM passengers WHERE id = ?";
-        logger.debug("Виконується SQL-запит: {}", sql);
+        logger.debug("Виконується SQL-запит: {}", FIND_BY_ID_SQL);
 
         try (Connection conn = DatabaseConnectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
             pstmt.setLong(1, passengerId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
@@ -148,6 +324,42 @@ public class PassengerDAO {
         }
     }
 
+    /**
+     * Знаходить пасажирів за набором ID одним запитом.
+     * @param passengerIds ID пасажирів.
+     * @return Мапа ID пасажира -> {@link Passenger}; відсутні в БД пасажири до неї не потрапляють.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public Map<Long, Passenger> findByIds(Collection<Long> passengerIds) throws SQLException {
+        Map<Long, Passenger> result = new LinkedHashMap<>();
+        if (passengerIds == null || passengerIds.isEmpty()) {
+            return result;
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(passengerIds);
+        logger.debug("Пошук {} пасажирів за ID.", uniqueIds.size());
+        String sql = "SELECT id, full_name, document_number, document_type, phone_number, email, benefit_type, version FROM passengers WHERE id IN (" +
+                String.join(", ", Collections.nCopies(uniqueIds.size(), "?")) + ")";
+
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Long id : uniqueIds) {
+                pstmt.setLong(index++, id);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Passenger passenger = mapRowToPassenger(rs);
+                    result.put(passenger.getId(), passenger);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Помилка при пошуку пасажирів за ID {}:", uniqueIds, e);
+            throw e;
+        }
+        logger.debug("Знайдено {} з {} запитаних пасажирів.", result.size(), uniqueIds.size());
+        return result;
+    }
+
     /**
      * Повертає список всіх пасажирів з бази даних.
      * @return Список об'єктів {@link Passenger}.
@@ -156,7 +368,7 @@ public class PassengerDAO {
     public List<Passenger> getAllPassengers() throws SQLException {
         logger.info("Спроба отримати всіх пасажирів.");
         List<Passenger> passengers = new ArrayList<>();
-        String sql = "SELECT id, full_name, document_number, document_type, phone_number, email, benefit_type FROM passengers ORDER BY full_name";
+        String sql = "SELECT id, full_name, document_number, document_type, phone_number, email, benefit_type, version FROM passengers ORDER BY full_name";
         logger.debug("Виконується SQL-запит: {}", sql);
 
         try (Connection conn = DatabaseConnectionManager.getConnection();
@@ -174,14 +386,139 @@ public class PassengerDAO {
     }
 
     /**
-     * Оновлює дані існуючого пасажира в базі даних.
-     * @param passenger Об'єкт {@link Passenger} з оновленими даними.
-     * @return {@code true}, якщо пасажира успішно оновлено, {@code false} в іншому випадку.
+     * Повертає сторінку пасажирів з ID, більшим за вказаний, впорядковану за ID (keyset-пагінація).
+     * Використовується для поступового завантаження {@link Services.PassengerLookupIndex}.
+     * @param afterId ID останнього пасажира попередньої сторінки (0 для першої сторінки).
+     * @param limit Максимальна кількість пасажирів на сторінці.
+     * @return Список пасажирів сторінки.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public List<Passenger> getPassengersPage(long afterId, int limit) throws SQLException {
+        logger.debug("Завантаження сторінки пасажирів після ID {} (limit={}).", afterId, limit);
+        List<Passenger> passengers = new ArrayList<>();
+        String sql = "SELECT id, full_name, document_number, document_type, phone_number, email, benefit_type, version FROM passengers WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, afterId);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    passengers.add(mapRowToPassenger(rs));
+                }
+            }
+            logger.debug("Отримано {} пасажирів після ID {}.", passengers.size(), afterId);
+        } catch (SQLException e) {
+            logger.error("Помилка при завантаженні сторінки пасажирів після ID {}.", afterId, e);
+            throw e;
+        }
+        return passengers;
+    }
+
+    /**
+     * Шукає пасажирів за префіксом ПІБ, номера документа, телефону або email з посторінковою видачею.
+     * <p>
+     * Запит складається з UNION окремих префіксних пошуків ({@code LIKE 'запит%'}), кожен з яких
+     * використовує власний індекс (див. {@code db/migration/V2__passenger_search_indexes.sql})
+     * і обмежений {@code offset + limit} рядками, тому час виконання не залежить від розміру таблиці.
+     * Порожній запит повертає сторінку всіх пасажирів за алфавітом.
+     * </p>
+     * Запит виконується через {@link DatabaseConnectionManager#getReadConnection} (допустиме відставання {@link ReadStaleness#BROWSING}).
+     * @param query Рядок пошуку (пробіли на початку та в кінці ігноруються).
+     * @param offset Кількість результатів, які потрібно пропустити.
+     * @param limit Максимальна кількість результатів.
+     * @return Список знайдених пасажирів, впорядкований за ПІБ.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     * @throws IllegalArgumentException якщо {@code offset} від'ємний або {@code limit} не є позитивним.
+     */
+    public List<Passenger> searchPassengers(String query, int offset, int limit) throws SQLException {
+        if (offset < 0 || limit <= 0) {
+            logger.error("Некоректні параметри пагінації пошуку пасажирів: offset={}, limit={}", offset, limit);
+            throw new IllegalArgumentException("Некоректні параметри пагінації: offset має бути >= 0, limit > 0.");
+        }
+        String normalized = query == null ? "" : query.trim();
+        logger.info("Пошук пасажирів за запитом '{}' (offset={}, limit={}).", normalized, offset, limit);
+        String columns = "id, full_name, document_number, document_type, phone_number, email, benefit_type, version";
+        String sql;
+        if (normalized.isEmpty()) {
+            sql = "SELECT " + columns + " FROM passengers ORDER BY full_name, id LIMIT ? OFFSET ?";
+        } else {
+            sql = "SELECT " + columns + " FROM (" +
+                    "(SELECT " + columns + " FROM passengers WHERE full_name LIKE ? ORDER BY full_name, id LIMIT ?) " +
+                    "UNION (SELECT " + columns + " FROM passengers WHERE document_number LIKE ? ORDER BY full_name, id LIMIT ?) " +
+                    "UNION (SELECT " + columns + " FROM passengers WHERE phone_number LIKE ? ORDER BY full_name, id LIMIT ?) " +
+                    "UNION (SELECT " + columns + " FROM passengers WHERE email LIKE ? ORDER BY full_name, id LIMIT ?)" +
+                    ") matches ORDER BY full_name, id LIMIT ? OFFSET ?";
+        }
+        logger.debug("Виконується SQL-запит: {}", sql);
+
+        List<Passenger> passengers = new ArrayList<>();
+        try (Connection conn = DatabaseConnectionManager.getReadConnection(ReadStaleness.BROWSING);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (!normalized.isEmpty()) {
+                String pattern = escapeLike(normalized) + "%";
+                int branchLimit = offset + limit;
+                for (int i = 0; i < 4; i++) {
+                    pstmt.setString(index++, pattern);
+                    pstmt.setInt(index++, branchLimit);
+                }
+            }
+            pstmt.setInt(index++, limit);
+            pstmt.setInt(index, offset);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    passengers.add(mapRowToPassenger(rs));
+                }
+            }
+            logger.info("За запитом '{}' знайдено {} пасажирів.", normalized, passengers.size());
+        } catch (SQLException e) {
+            logger.error("Помилка при пошуку пасажирів за запитом '{}'.", normalized, e);
+            throw e;
+        }
+        return passengers;
+    }
+
+    private static void publishPassengerUpdated(long id, Passenger passenger) {
+        EventBus.getInstance().publish(new PassengerUpdated(new Passenger(id, passenger.getFullName(), passenger.getDocumentNumber(),
+                passenger.getDocumentType(), passenger.getPhoneNumber(), passenger.getEmail(), passenger.getBenefitType())));
+    }
+
+    /**
+     * Публікує {@link PassengerUpdated} з даними пасажира, збереженими в БД. Після upsert існуючого
+     * пасажира його рядок не змінюється, тож вхідні дані можуть відрізнятися від збережених.
+     */
+    private void publishStoredPassenger(Connection conn, long id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
+            pstmt.setLong(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    EventBus.getInstance().publish(new PassengerUpdated(mapRowToPassenger(rs)));
+                }
+            }
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Оновлює дані існуючого пасажира в базі даних з перевіркою версії запису.
+     * <p>
+     * Оновлення виконується лише якщо версія рядка збігається з {@link Passenger#getVersion()},
+     * тобто пасажира не змінили з іншого робочого місця після читання. При успіху версія
+     * в об'єкті збільшується.
+     * </p>
+     * @param passenger Об'єкт {@link Passenger} з оновленими даними та версією, з якою його було прочитано.
+     * @return {@link UpdateResult#UPDATED}, {@link UpdateResult#CONFLICT}, якщо запис змінено іншим користувачем,
+     *         або {@link UpdateResult#NOT_FOUND}, якщо пасажира не існує.
      * @throws SQLException якщо виникає помилка доступу до бази даних.
      */
-    public boolean updatePassenger(Passenger passenger) throws SQLException {
-        logger.info("Спроба оновити пасажира з ID {}.", passenger.getId());
-        String sql = "UPDATE passengers SET full_name = ?, document_number = ?, document_type = ?, phone_number = ?, email = ?, benefit_type = ? WHERE id = ?";
+    public UpdateResult updatePassenger(Passenger passenger) throws SQLException {
+        logger.info("Спроба оновити пасажира з ID {} (версія {}).", passenger.getId(), passenger.getVersion());
+        String sql = "UPDATE passengers SET full_name = ?, document_number = ?, document_type = ?, phone_number = ?, email = ?, benefit_type = ?, " +
+                "version = version + 1 WHERE id = ? AND version = ?";
         logger.debug("Виконується SQL-запит для оновлення пасажира: {}", sql);
 
         try (Connection conn = DatabaseConnectionManager.getConnection();
@@ -193,15 +530,28 @@ public class PassengerDAO {
             pstmt.setString(5, passenger.getEmail());
             pstmt.setString(6, passenger.getBenefitType().name());
             pstmt.setLong(7, passenger.getId());
+            pstmt.setLong(8, passenger.getVersion());
 
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
+                passenger.setVersion(passenger.getVersion() + 1);
                 logger.info("Пасажира з ID {} успішно оновлено.", passenger.getId());
-                return true;
-            } else {
-                logger.warn("Пасажира з ID {} не знайдено або не було оновлено.", passenger.getId());
-                return false;
+                EventBus.getInstance().publish(new PassengerUpdated(passenger));
+                return UpdateResult.UPDATED;
+            }
+            boolean exists;
+            try (PreparedStatement check = conn.prepareStatement("SELECT 1 FROM passengers WHERE id = ?")) {
+                check.setLong(1, passenger.getId());
+                try (ResultSet rs = check.executeQuery()) {
+                    exists = rs.next();
+                }
+            }
+            if (exists) {
+                logger.warn("Пасажира з ID {} змінено іншим користувачем (версія {} застаріла).", passenger.getId(), passenger.getVersion());
+                return UpdateResult.CONFLICT;
             }
+            logger.warn("Пасажира з ID {} не знайдено або не було оновлено.", passenger.getId());
+            return UpdateResult.NOT_FOUND;
         } catch (SQLException e) {
             logger.error("Помилка при оновленні пасажира з ID {}.", passenger.getId(), e);
             throw e;
@@ -219,7 +569,7 @@ public class PassengerDAO {
             benefitType = BenefitType.NONE;
         }
 
-        return new Passenger(
+        Passenger passenger = new Passenger(
                 rs.getLong("id"),
                 rs.getString("full_name"),
                 rs.getString("document_number"),
@@ -228,5 +578,7 @@ public class PassengerDAO {
                 rs.getString("email"),
                 benefitType
         );
+        passenger.setVersion(rs.getLong("version"));
+        return passenger;
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package DAO;
 
 import DB.DatabaseConnectionManager;
+import Events.EventBus;
+import Events.RouteAdded;
 import Models.Route;
 import Models.Stop;
 
@@ -9,11 +11,23 @@ import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class RouteDAO {
     private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final String SQL_ROUTES_WITH_STOPS = "SELECT r.id, r.departure_stop_id, r.destination_stop_id, " +
+            "ds.name AS dep_stop_name, ds.city AS dep_stop_city, ts.name AS dest_stop_name, ts.city AS dest_stop_city " +
+            "FROM routes r LEFT JOIN stops ds ON r.departure_stop_id = ds.id LEFT JOIN stops ts ON r.destination_stop_id = ts.id";
+    private static final String SQL_INTERMEDIATE_STOPS = "SELECT ris.route_id, ris.stop_id, s.name, s.city " +
+            "FROM route_intermediate_stops ris LEFT JOIN stops s ON ris.stop_id = s.id";
     private final StopDAO stopDAO = new StopDAO();
 
 
@@ -53,54 +67,138 @@ public class RouteDAO {
 
     /**
      * Повертає список всіх маршрутів з бази даних.
+     * Маршрути з зупинками відправлення та призначення і проміжні зупинки всіх маршрутів читаються
+     * двома запитами незалежно від кількості маршрутів.
      * @return Список об'єктів {@link Route}.
      * @throws SQLException якщо виникає помилка доступу до бази даних.
      */
     public List<Route> getAllRoutes() throws SQLException {
         logger.info("Спроба отримати всі маршрути.");
-        List<Route> routes = new ArrayList<>();
-        String sqlRoutes = "SELECT id, departure_stop_id, destination_stop_id FROM routes ORDER BY id";
-        logger.debug("Виконується SQL-запит для отримання всіх маршрутів: {}", sqlRoutes);
-
-        try (Connection conn = DatabaseConnectionManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rsRoutes = stmt.executeQuery(sqlRoutes)) {
-
-            while (rsRoutes.next()) {
-                long routeId = rsRoutes.getLong("id");
-                logger.debug("Обробка маршруту ID: {}", routeId);
+        List<Route> routes;
+        try (Connection conn = DatabaseConnectionManager.getConnection()) {
+            routes = new ArrayList<>(loadRoutes(conn, null).values());
+            logger.info("Успішно отримано {} маршрутів.", routes.size());
+        } catch (SQLException e) {
+            logger.error("Помилка при отриманні всіх маршрутів.", e);
+            throw e;
+        }
+        return routes;
+    }
 
-                long departureStopId = rsRoutes.getLong("departure_stop_id");
-                long destinationStopId = rsRoutes.getLong("destination_stop_id");
+    /**
+     * Повертає маршрути за набором ідентифікаторів двома запитами (замість {@link #getRouteById} для кожного рядка).
+     * @param ids Ідентифікатори маршрутів.
+     * @return Мапа ID маршруту -> {@link Route} в порядку ID; відсутні в БД маршрути до неї не потрапляють.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public Map<Long, Route> getRoutesByIds(Collection<Long> ids) throws SQLException {
+        if (ids == null || ids.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        logger.debug("Спроба отримати {} маршрутів за ID.", uniqueIds.size());
+        try (Connection conn = DatabaseConnectionManager.getConnection()) {
+            Map<Long, Route> routes = loadRoutes(conn, uniqueIds);
+            logger.debug("Отримано {} з {} запитаних маршрутів.", routes.size(), uniqueIds.size());
+            return routes;
+        } catch (SQLException e) {
+            logger.error("Помилка при отриманні маршрутів за ID {}.", uniqueIds, e);
+            throw e;
+        }
+    }
 
-                logger.trace("Спроба отримати зупинку відправлення ID: {} для маршруту ID: {}", departureStopId, routeId);
-                Stop departure = stopDAO.getStopById(departureStopId)
-                        .orElseThrow(() -> {
-                            String errorMsg = "Зупинка відправлення ID " + departureStopId + " не знайдена для маршруту ID: " + routeId;
-                            logger.error(errorMsg);
-                            return new SQLException(errorMsg);
-                        });
+    /**
+     * Завантажує маршрути разом із зупинками: перший запит читає маршрути із зупинками відправлення
+     * та призначення, другий — проміжні зупинки всіх знайдених маршрутів.
+     * @param conn Активне з'єднання з БД.
+     * @param routeIds Ідентифікатори маршрутів або {@code null} для всіх маршрутів.
+     * @return Мапа ID маршруту -> {@link Route} в порядку ID.
+     * @throws SQLException якщо виникає помилка SQL або зупинку відправлення чи призначення не знайдено.
+     */
+    private Map<Long, Route> loadRoutes(Connection conn, Collection<Long> routeIds) throws SQLException {
+        String routesSql = SQL_ROUTES_WITH_STOPS
+                + (routeIds != null ? " WHERE r.id IN (" + String.join(", ", Collections.nCopies(routeIds.size(), "?")) + ")" : "")
+                + " ORDER BY r.id";
+        logger.debug("Виконується SQL-запит для отримання маршрутів: {}", routesSql);
 
-                logger.trace("Спроба отримати зупинку призначення ID: {} для маршруту ID: {}", destinationStopId, routeId);
-                Stop destination = stopDAO.getStopById(destinationStopId)
-                        .orElseThrow(() -> {
-                            String errorMsg = "Зупинка призначення ID " + destinationStopId + " не знайдена для маршруту ID: " + routeId;
-                            logger.error(errorMsg);
-                            return new SQLException(errorMsg);
-                        });
-                List<Stop> intermediateStops = getIntermediateStopsForRoute(conn, routeId);
+        Map<Long, Stop[]> endpoints = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(routesSql)) {
+            setIds(pstmt, routeIds);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    long routeId = rs.getLong("id");
+                    logger.trace("Обробка маршруту ID: {}", routeId);
+                    Stop departure = mapJoinedStop(rs, "departure_stop_id", "dep_stop_name", "dep_stop_city");
+                    if (departure == null) {
+                        String errorMsg = "Зупинка відправлення ID " + rs.getLong("departure_stop_id") + " не знайдена для маршруту ID: " + routeId;
+                        logger.error(errorMsg);
+                        throw new SQLException(errorMsg);
+                    }
+                    Stop destination = mapJoinedStop(rs, "destination_stop_id", "dest_stop_name", "dest_stop_city");
+                    if (destination == null) {
+                        String errorMsg = "Зупинка призначення ID " + rs.getLong("destination_stop_id") + " не знайдена для маршруту ID: " + routeId;
+                        logger.error(errorMsg);
+                        throw new SQLException(errorMsg);
+                    }
+                    endpoints.put(routeId, new Stop[]{departure, destination});
+                }
+            }
+        }
+        Map<Long, Route> routes = new LinkedHashMap<>();
+        if (endpoints.isEmpty()) {
+            return routes;
+        }
 
-                routes.add(new Route(routeId, departure, destination, intermediateStops));
-                logger.trace("Маршрут ID {} успішно оброблено та додано до списку.", routeId);
+        Map<Long, List<Stop>> intermediateStops = new HashMap<>();
+        String intermediateSql = SQL_INTERMEDIATE_STOPS
+                + (routeIds != null ? " WHERE ris.route_id IN (" + String.join(", ", Collections.nCopies(endpoints.size(), "?")) + ")" : "")
+                + " ORDER BY ris.route_id, ris.stop_order";
+        logger.debug("Виконується SQL-запит для проміжних зупинок: {}", intermediateSql);
+        try (PreparedStatement pstmt = conn.prepareStatement(intermediateSql)) {
+            setIds(pstmt, routeIds != null ? endpoints.keySet() : null);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    long routeId = rs.getLong("route_id");
+                    Stop stop = mapJoinedStop(rs, "stop_id", "name", "city");
+                    if (stop == null) {
+                        logger.warn("Проміжна зупинка з ID {} для маршруту ID {} не знайдена в таблиці зупинок, але на неї є посилання.", rs.getLong("stop_id"), routeId);
+                        continue;
+                    }
+                    intermediateStops.computeIfAbsent(routeId, k -> new ArrayList<>()).add(stop);
+                }
             }
-            logger.info("Успішно отримано {} маршрутів.", routes.size());
-        } catch (SQLException e) {
-            logger.error("Помилка при отриманні всіх маршрутів.", e);
-            throw e;
+        }
+
+        for (Map.Entry<Long, Stop[]> entry : endpoints.entrySet()) {
+            long routeId = entry.getKey();
+            routes.put(routeId, new Route(routeId, entry.getValue()[0], entry.getValue()[1],
+                    intermediateStops.getOrDefault(routeId, new ArrayList<>())));
         }
         return routes;
     }
 
+    private static void setIds(PreparedStatement pstmt, Collection<Long> ids) throws SQLException {
+        if (ids == null) {
+            return;
+        }
+        int index = 1;
+        for (Long id : ids) {
+            pstmt.setLong(index++, id);
+        }
+    }
+
+    /**
+     * Створює зупинку з полів, приєднаних через LEFT JOIN.
+     * @return Зупинка або {@code null}, якщо рядок зупинки відсутній у таблиці {@code stops}.
+     */
+    private static Stop mapJoinedStop(ResultSet rs, String idColumn, String nameColumn, String cityColumn) throws SQLException {
+        String name = rs.getString(nameColumn);
+        if (name == null) {
+            return null;
+        }
+        return new Stop(rs.getLong(idColumn), name, rs.getString(cityColumn));
+    }
+
     /**
      * Повертає маршрут за його ідентифікатором.
      * @param id Ідентифікатор маршруту.
@@ -239,6 +337,7 @@ public class RouteDAO {
             conn.commit();
             success = true;
             logger.info("Маршрут {} успішно додано до бази даних.", route.getFullRouteDescription());
+            EventBus.getInstance().publish(new RouteAdded(route.getId()));
 
         } catch (SQLException e) {
             logger.error("Помилка SQL при додаванні маршруту: {}", e.getMessage(), e);
@@ -2,6 +2,9 @@
 package DAO;
 
 import DB.DatabaseConnectionManager;
+import DB.ReadStaleness;
+import Events.EventBus;
+import Events.TicketStatusChanged;
 import Models.*;
 import Models.Enums.FlightStatus;
 import Models.Enums.TicketStatus;
@@ -14,16 +17,21 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * DAO для роботи з об'єктами Ticket (Квитки).
  */
 public class TicketDAO {
     private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final String FLIGHT_ID_SQL = "SELECT flight_id FROM tickets WHERE id = ?";
     // Змінено: Видалено final та пряму ініціалізацію
     private FlightDAO flightDAO;
     private PassengerDAO passengerDAO;
@@ -84,7 +92,8 @@ public class TicketDAO {
         String sql = "INSERT INTO tickets (flight_id, passenger_id, seat_number, booking_date_time, booking_expiry_date_time, price_paid, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
         logger.debug("Виконується SQL-запит для додавання квитка: {}", sql);
 
-        try (Connection conn = DatabaseConnectionManager.getConnection();
+        try (TicketStatusCounters.LocalUpdate localUpdate = TicketStatusCounters.getInstance().beginLocalUpdate();
+             Connection conn = DatabaseConnectionManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setLong(1, ticket.getFlight().getId());
             pstmt.setLong(2, ticket.getPassenger().getId());
@@ -104,6 +113,8 @@ public class TicketDAO {
                     if (generatedKeys.next()) {
                         ticket.setId(generatedKeys.getLong(1));
                         logger.info("Квиток успішно додано. ID нового квитка: {}", ticket.getId());
+                        TicketStatusCounters.getInstance().recordCreated(ticket.getStatus());
+                        EventBus.getInstance().publish(new TicketStatusChanged(ticket.getId(), ticket.getFlight().getId(), ticket.getStatus(), true));
                         return true;
                     } else {
                         logger.warn("Квиток додано ({} рядків), але не вдалося отримати згенерований ID. Рейс ID={}, Місце={}",
@@ -117,9 +128,8 @@ public class TicketDAO {
                 return false;
             }
         } catch (SQLException e) {
-            if (e.getSQLState() != null && (e.getSQLState().equals("23000") || e.getSQLState().equals("23505")) &&
-                    e.getMessage() != null && e.getMessage().toLowerCase().contains("uq_ticket_flight_seat")) {
-                logger.warn("Помилка додавання квитка: Місце {} на рейсі {} вже зайняте. Порушення обмеження uq_ticket_flight_seat.",
+            if (isSeatConstraintViolation(e)) {
+                logger.warn("Помилка додавання квитка: Місце {} на рейсі {} вже зайняте. Порушення обмеження унікальності місця.",
                         ticket.getSeatNumber(), ticket.getFlight().getId(), e);
                 return false;
             }
@@ -129,53 +139,367 @@ public class TicketDAO {
         }
     }
 
+    /**
+     * Додає групу квитків (групове бронювання) в одній транзакції за принципом "все або нічого".
+     * <p>
+     * Перед вставкою місця рейсу блокуються запитом {@code SELECT ... FOR UPDATE}; якщо хоча б одне
+     * місце вже має квиток (обмеження {@code uq_ticket_flight_seat}) або повторюється в самому запиті,
+     * транзакція відкочується, жоден квиток не додається, а результат містить перелік конфліктних місць.
+     * Інакше всі квитки вставляються одним пакетом, і кожному присвоюється згенерований ID.
+     * </p>
+     * @param tickets Список квитків для додавання.
+     * @return Результат групового бронювання.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public BatchBookingResult addTicketsBatch(List<Ticket> tickets) throws SQLException {
+        if (tickets == null || tickets.isEmpty()) {
+            logger.info("Список квитків для групового бронювання порожній. Нічого не додано.");
+            return new BatchBookingResult(0, Collections.emptyMap());
+        }
+        logger.info("Спроба групового бронювання {} квитків.", tickets.size());
+
+        Map<Long, Set<String>> requestedSeats = new LinkedHashMap<>();
+        Map<Long, Set<String>> conflicts = new LinkedHashMap<>();
+        for (Ticket ticket : tickets) {
+            if (!requestedSeats.computeIfAbsent(ticket.getFlight().getId(), k -> new LinkedHashSet<>()).add(ticket.getSeatNumber())) {
+                conflicts.computeIfAbsent(ticket.getFlight().getId(), k -> new TreeSet<>()).add(ticket.getSeatNumber());
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            logger.warn("Групове бронювання відхилено: місця повторюються в запиті: {}", conflicts);
+            return new BatchBookingResult(0, conflicts);
+        }
+
+        String sql = "INSERT INTO tickets (flight_id, passenger_id, seat_number, booking_date_time, booking_expiry_date_time, price_paid, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        logger.debug("Виконується пакетний SQL-запит для додавання квитків: {}", sql);
+
+        TicketStatusCounters.LocalUpdate localUpdate = TicketStatusCounters.getInstance().beginLocalUpdate();
+        Connection conn = null;
+        try {
+            conn = DatabaseConnectionManager.getConnection();
+            conn.setAutoCommit(false);
+
+            conflicts = findTakenSeats(conn, requestedSeats, true);
+            if (!conflicts.isEmpty()) {
+                conn.rollback();
+                logger.warn("Групове бронювання відхилено: місця вже зайняті: {}", conflicts);
+                return new BatchBookingResult(0, conflicts);
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Ticket ticket : tickets) {
+                    pstmt.setLong(1, ticket.getFlight().getId());
+                    pstmt.setLong(2, ticket.getPassenger().getId());
+                    pstmt.setString(3, ticket.getSeatNumber());
+                    pstmt.setTimestamp(4, Timestamp.valueOf(ticket.getBookingDateTime()));
+                    if (ticket.getBookingExpiryDateTime() != null) {
+                        pstmt.setTimestamp(5, Timestamp.valueOf(ticket.getBookingExpiryDateTime()));
+                    } else {
+                        pstmt.setNull(5, Types.TIMESTAMP);
+                    }
+                    pstmt.setBigDecimal(6, ticket.getPricePaid());
+                    pstmt.setString(7, ticket.getStatus().name());
+                    pstmt.addBatch();
+                }
+                int[] batchResults = pstmt.executeBatch();
+                for (int i = 0; i < batchResults.length; i++) {
+                    if (batchResults[i] == Statement.EXECUTE_FAILED) {
+                        logger.error("Групове бронювання: квиток {} не вдалося вставити.", i);
+                        throw new SQLException("Помилка при груповому бронюванні: квиток " + i + " не вставлено.");
+                    }
+                }
+
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    int index = 0;
+                    while (generatedKeys.next() && index < tickets.size()) {
+                        tickets.get(index++).setId(generatedKeys.getLong(1));
+                    }
+                    if (index != tickets.size()) {
+                        logger.error("Отримано {} згенерованих ID для {} квитків.", index, tickets.size());
+                        throw new SQLException("Не вдалося отримати згенеровані ID для всіх доданих квитків.");
+                    }
+                }
+            }
+
+            conn.commit();
+            logger.info("Групове бронювання {} квитків успішно виконано.", tickets.size());
+            for (Ticket ticket : tickets) {
+                TicketStatusCounters.getInstance().recordCreated(ticket.getStatus());
+                EventBus.getInstance().publish(new TicketStatusChanged(ticket.getId(), ticket.getFlight().getId(), ticket.getStatus(), true));
+            }
+            return new BatchBookingResult(tickets.size(), Collections.emptyMap());
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException exRollback) {
+                    logger.error("Помилка при відкаті транзакції: {}", exRollback.getMessage(), exRollback);
+                }
+            }
+            for (Ticket ticket : tickets) {
+                ticket.setId(0);
+            }
+            if (isSeatConstraintViolation(e) && conn != null) {
+                // Місце зайняли між перевіркою та вставкою (наприклад, рядок без блокування) - повідомляємо, які саме.
+                Map<Long, Set<String>> raced = findTakenSeats(conn, requestedSeats, false);
+                logger.warn("Групове бронювання відхилено через порушення унікальності місця. Конфліктні місця: {}", raced, e);
+                return new BatchBookingResult(0, raced);
+            }
+            logger.error("Помилка при груповому бронюванні. Транзакцію відкочено.", e);
+            throw e;
+        } finally {
+            localUpdate.close();
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Помилка при закритті з'єднання: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Повертає місця з переданого набору, на які вже існують квитки (будь-якого статусу,
+     * оскільки обмеження {@code uq_ticket_flight_seat} не враховує статус).
+     * Місця читаються з несекціонованої таблиці {@code ticket_seats}, яку підтримують тригери на
+     * {@code tickets}: пошук за унікальним індексом не перебирає секції {@code tickets}.
+     */
+    private Map<Long, Set<String>> findTakenSeats(Connection conn, Map<Long, Set<String>> requestedSeats, boolean lock) throws SQLException {
+        Map<Long, Set<String>> taken = new LinkedHashMap<>();
+        for (Map.Entry<Long, Set<String>> entry : requestedSeats.entrySet()) {
+            String placeholders = String.join(", ", Collections.nCopies(entry.getValue().size(), "?"));
+            String sql = "SELECT seat_number FROM ticket_seats WHERE flight_id = ? AND seat_number IN (" + placeholders + ")"
+                    + (lock ? " FOR UPDATE" : "");
+            logger.debug("Перевірка зайнятих місць рейсу ID {}: {}", entry.getKey(), sql);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                pstmt.setLong(index++, entry.getKey());
+                for (String seat : entry.getValue()) {
+                    pstmt.setString(index++, seat);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        taken.computeIfAbsent(entry.getKey(), k -> new TreeSet<>()).add(rs.getString("seat_number"));
+                    }
+                }
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * @return {@code true}, якщо помилка — порушення унікальності місця на рейсі: обмеження
+     *         {@code uq_ticket_flight_seat} таблиці {@code tickets} або, після секціонування (V10),
+     *         {@code uq_ticket_seats_flight_seat} таблиці {@code ticket_seats}.
+     */
+    private static boolean isSeatConstraintViolation(SQLException e) {
+        if (e.getSQLState() == null || !(e.getSQLState().equals("23000") || e.getSQLState().equals("23505")) || e.getMessage() == null) {
+            return false;
+        }
+        String message = e.getMessage().toLowerCase();
+        return message.contains("uq_ticket_flight_seat") || message.contains("uq_ticket_seats_flight_seat");
+    }
+
     /**
      * Оновлює статус квитка та, опціонально, дату покупки.
+     * <p>
+     * Перехід виконується лише з тих статусів, з яких він дозволений
+     * ({@link TicketStatus#canTransitionTo(TicketStatus)}), умовою в {@code WHERE}, без блокування рядка.
+     * Наприклад, продати можна лише заброньований квиток: якщо інший касир тим часом скасував бронювання,
+     * оновлення не відбудеться і буде повернуто {@link UpdateResult#CONFLICT}.
+     * </p>
+     * <p>
+     * Продаж та скасування в тій самій транзакції оновлюють денний підсумок продажів
+     * ({@link DailyRouteSalesDAO}).
+     * </p>
      * @param ticketId Ідентифікатор квитка.
      * @param newStatus Новий статус квитка.
      * @param purchaseDateTime Дата та час покупки (може бути null, якщо статус не 'SOLD').
-     * @return {@code true}, якщо статус успішно оновлено, {@code false} в іншому випадку.
+     * @return {@link UpdateResult#UPDATED}, {@link UpdateResult#CONFLICT}, якщо поточний статус квитка
+     *         не допускає переходу, або {@link UpdateResult#NOT_FOUND}, якщо квиток не знайдено.
      * @throws SQLException якщо виникає помилка доступу до бази даних.
+     * @throws IllegalArgumentException якщо в {@code newStatus} не можна перейти з жодного статусу.
      */
-    public boolean updateTicketStatus(long ticketId, TicketStatus newStatus, LocalDateTime purchaseDateTime) throws SQLException {
+    public UpdateResult updateTicketStatus(long ticketId, TicketStatus newStatus, LocalDateTime purchaseDateTime) throws SQLException {
         logger.info("Спроба оновити статус квитка ID {} на {}. Дата покупки: {}", ticketId, newStatus, purchaseDateTime);
+        List<TicketStatus> allowedSources = new ArrayList<>();
+        for (TicketStatus status : TicketStatus.values()) {
+            if (status.canTransitionTo(newStatus)) {
+                allowedSources.add(status);
+            }
+        }
+        if (allowedSources.isEmpty()) {
+            logger.error("Перехід квитка ID {} у статус {} не допускається з жодного статусу.", ticketId, newStatus);
+            throw new IllegalArgumentException("Недопустимий новий статус квитка: " + newStatus);
+        }
+        String guard = " WHERE id = ? AND status IN (" + String.join(", ", Collections.nCopies(allowedSources.size(), "?")) + ")";
         String sql;
         if (newStatus == TicketStatus.SOLD && purchaseDateTime != null) {
-            sql = "UPDATE tickets SET status = ?, purchase_date_time = ?, booking_expiry_date_time = NULL WHERE id = ?";
+            // Маршрут і пільга на момент продажу фіксуються в квитку для денного підсумку продажів.
+            sql = "UPDATE tickets SET status = ?, purchase_date_time = ?, booking_expiry_date_time = NULL, " +
+                    "sale_route_id = (SELECT f.route_id FROM flights f WHERE f.id = tickets.flight_id), " +
+                    "sale_benefit_type = (SELECT p.benefit_type FROM passengers p WHERE p.id = tickets.passenger_id), " +
+                    "version = version + 1" + guard;
             logger.debug("SQL для оновлення статусу (SOLD): {}", sql);
         } else if (newStatus == TicketStatus.CANCELLED) {
-            sql = "UPDATE tickets SET status = ?, booking_expiry_date_time = NULL WHERE id = ?";
+            sql = "UPDATE tickets SET status = ?, booking_expiry_date_time = NULL, version = version + 1" + guard;
             logger.debug("SQL для оновлення статусу (CANCELLED): {}", sql);
         } else {
-            sql = "UPDATE tickets SET status = ? WHERE id = ?";
+            sql = "UPDATE tickets SET status = ?, version = version + 1" + guard;
             logger.debug("SQL для оновлення статусу (інший): {}", sql);
         }
 
-        try (Connection conn = DatabaseConnectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, newStatus.name());
-            if (newStatus == TicketStatus.SOLD && purchaseDateTime != null) {
-                pstmt.setTimestamp(2, Timestamp.valueOf(purchaseDateTime));
-                pstmt.setLong(3, ticketId);
-            } else {
-                pstmt.setLong(2, ticketId);
+        // Продаж та скасування змінюють денний підсумок продажів у тій самій транзакції.
+        boolean affectsSales = newStatus == TicketStatus.SOLD || newStatus == TicketStatus.CANCELLED;
+        // Якщо перехід можливий з кількох статусів (скасування), попередній статус для лічильників
+        // читається з блокуванням рядка в тій самій транзакції.
+        boolean needsPreviousStatus = allowedSources.size() > 1;
+        boolean transactional = affectsSales || needsPreviousStatus;
+        TicketStatus previousStatus = needsPreviousStatus ? null : allowedSources.get(0);
+        // Дата продажу, підсумки якої змінюються (для інвалідації кешованих звітів).
+        LocalDate saleDate = newStatus == TicketStatus.SOLD && purchaseDateTime != null ? purchaseDateTime.toLocalDate() : null;
+        long flightId = 0;
+        TicketStatusCounters.LocalUpdate localUpdate = TicketStatusCounters.getInstance().beginLocalUpdate();
+        Connection conn = null;
+        try {
+            conn = DatabaseConnectionManager.getConnection();
+            if (transactional) {
+                conn.setAutoCommit(false);
+            }
+            if (needsPreviousStatus) {
+                LockedTicket locked = lockTicket(conn, ticketId);
+                previousStatus = locked.status;
+                flightId = locked.flightId;
+                if (newStatus == TicketStatus.CANCELLED && locked.purchaseDateTime != null) {
+                    saleDate = locked.purchaseDateTime.toLocalDate();
+                }
+            }
+            int affectedRows;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                pstmt.setString(index++, newStatus.name());
+                if (newStatus == TicketStatus.SOLD && purchaseDateTime != null) {
+                    pstmt.setTimestamp(index++, Timestamp.valueOf(purchaseDateTime));
+                }
+                pstmt.setLong(index++, ticketId);
+                for (TicketStatus source : allowedSources) {
+                    pstmt.setString(index++, source.name());
+                }
+                affectedRows = pstmt.executeUpdate();
             }
-            int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
+                if (!needsPreviousStatus) {
+                    flightId = readFlightId(conn, ticketId);
+                }
+                if (affectsSales) {
+                    DailyRouteSalesDAO.applyTicket(conn, ticketId, newStatus == TicketStatus.SOLD ? 1 : -1);
+                }
+                if (transactional) {
+                    conn.commit();
+                }
+                TicketStatusCounters.getInstance().recordTransition(previousStatus, newStatus);
                 logger.info("Статус квитка ID {} успішно оновлено на {}.", ticketId, newStatus);
-                return true;
-            } else {
-                logger.warn("Квиток з ID {} не знайдено або статус не було оновлено.", ticketId);
-                return false;
+                EventBus.getInstance().publish(new TicketStatusChanged(ticketId, flightId, newStatus, false, saleDate));
+                return UpdateResult.UPDATED;
             }
+            if (transactional) {
+                conn.rollback();
+            }
+            String currentStatus = null;
+            try (PreparedStatement check = conn.prepareStatement("SELECT status FROM tickets WHERE id = ?")) {
+                check.setLong(1, ticketId);
+                try (ResultSet rs = check.executeQuery()) {
+                    if (rs.next()) {
+                        currentStatus = rs.getString("status");
+                    }
+                }
+            }
+            if (currentStatus != null) {
+                logger.warn("Квиток ID {} має статус {}, з якого неможливо перейти в {}. Статус не оновлено.", ticketId, currentStatus, newStatus);
+                return UpdateResult.CONFLICT;
+            }
+            logger.warn("Квиток з ID {} не знайдено або статус не було оновлено.", ticketId);
+            return UpdateResult.NOT_FOUND;
         } catch (SQLException e) {
+            if (conn != null && transactional) {
+                try {
+                    conn.rollback();
+                } catch (SQLException exRollback) {
+                    logger.error("Помилка при відкаті транзакції: {}", exRollback.getMessage(), exRollback);
+                }
+            }
             logger.error("Помилка при оновленні статусу квитка ID {}:", ticketId, e);
             throw e;
+        } finally {
+            localUpdate.close();
+            if (conn != null) {
+                try {
+                    if (transactional) {
+                        conn.setAutoCommit(true);
+                    }
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Помилка при закритті з'єднання: {}", e.getMessage(), e);
+                }
+            }
         }
     }
 
     /**
-     * Повертає список всіх квитків для конкретного пасажира (історія поїздок).
+     * Статус, рейс та дата покупки квитка, прочитані з блокуванням рядка.
+     */
+    private static final class LockedTicket {
+        private final TicketStatus status;
+        private final long flightId;
+        private final LocalDateTime purchaseDateTime;
+
+        private LockedTicket(TicketStatus status, long flightId, LocalDateTime purchaseDateTime) {
+            this.status = status;
+            this.flightId = flightId;
+            this.purchaseDateTime = purchaseDateTime;
+        }
+    }
+
+    private static LockedTicket lockTicket(Connection conn, long ticketId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT status, flight_id, purchase_date_time FROM tickets WHERE id = ? FOR UPDATE")) {
+            pstmt.setLong(1, ticketId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return new LockedTicket(null, 0, null);
+                }
+                String status = rs.getString("status");
+                long flightId = rs.getLong("flight_id");
+                Timestamp purchaseTs = rs.getTimestamp("purchase_date_time");
+                LocalDateTime purchaseDateTime = purchaseTs != null ? purchaseTs.toLocalDateTime() : null;
+                try {
+                    return new LockedTicket(TicketStatus.valueOf(status), flightId, purchaseDateTime);
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    logger.warn("Невідомий статус квитка '{}' для квитка ID {}.", status, ticketId);
+                    return new LockedTicket(null, flightId, purchaseDateTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Читає рейс квитка для події {@link TicketStatusChanged}, щоб підписники (панель рейсів,
+     * мапа місць) оновлювали лише рейс цього квитка.
+     */
+    private static long readFlightId(Connection conn, long ticketId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(FLIGHT_ID_SQL)) {
+            pstmt.setLong(1, ticketId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong("flight_id") : 0;
+            }
+        }
+    }
+
+    /**
+     * Повертає список всіх квитків для конкретного пасажира (історія поїздок), включно з квитками,
+     * перенесеними в архів ({@link ArchiveDAO}).
+     * Запит виконується через {@link DatabaseConnectionManager#getReadConnection} (допустиме відставання {@link ReadStaleness#BROWSING}).
      * @param passengerId Ідентифікатор пасажира.
      * @return Список об'єктів {@link Ticket}.
      * @throws SQLException якщо виникає помилка доступу до бази даних.
@@ -183,17 +507,9 @@ public class TicketDAO {
     public List<Ticket> getTicketsByPassengerId(long passengerId) throws SQLException {
         logger.info("Спроба отримати історію поїздок для пасажира ID: {}", passengerId);
         List<Ticket> tickets = new ArrayList<>();
-        String sql = "SELECT t.id, t.flight_id, t.passenger_id, t.seat_number, t.booking_date_time, t.purchase_date_time, t.booking_expiry_date_time, t.price_paid, t.status, " +
-                "f.departure_date_time AS flight_departure_date_time, f.arrival_date_time AS flight_arrival_date_time, f.total_seats AS flight_total_seats, f.bus_model AS flight_bus_model, f.price_per_seat AS flight_price_per_seat, f.status AS flight_status, " +
-                "r.id AS route_id, r.departure_stop_id, r.destination_stop_id, " +
-                "ds.name AS dep_stop_name, ds.city AS dep_stop_city, " +
-                "as_s.name AS arr_stop_name, as_s.city AS arr_stop_city " +
-                "FROM tickets t " +
-                "JOIN flights f ON t.flight_id = f.id " +
-                "JOIN routes r ON f.route_id = r.id " +
-                "JOIN stops ds ON r.departure_stop_id = ds.id " +
-                "JOIN stops as_s ON r.destination_stop_id = as_s.id " +
-                "WHERE t.passenger_id = ? ORDER BY f.departure_date_time DESC";
+        String sql = passengerHistorySelect("tickets", "flights") + " UNION ALL " +
+                passengerHistorySelect("tickets_archive", "flights_archive") +
+                " ORDER BY flight_departure_date_time DESC";
         logger.debug("Виконується SQL-запит для історії поїздок: {}", sql);
 
         // Тепер this.passengerDAO буде моком у тестах
@@ -204,9 +520,10 @@ public class TicketDAO {
                     return new SQLException(errorMsg);
                 });
 
-        try (Connection conn = DatabaseConnectionManager.getConnection();
+        try (Connection conn = DatabaseConnectionManager.getReadConnection(ReadStaleness.BROWSING);
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setLong(1, passengerId);
+            pstmt.setLong(2, passengerId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
                     logger.trace("Обробка рядка результату для квитка ID: {}", rs.getLong("id"));
@@ -241,8 +558,27 @@ public class TicketDAO {
         return tickets;
     }
 
+    /**
+     * Частина запиту історії поїздок для однієї пари таблиць квитків і рейсів (робочих або архівних).
+     */
+    private static String passengerHistorySelect(String ticketsTable, String flightsTable) {
+        return "SELECT t.id, t.flight_id, t.passenger_id, t.seat_number, t.booking_date_time, t.purchase_date_time, t.booking_expiry_date_time, t.price_paid, t.status, " +
+                "f.departure_date_time AS flight_departure_date_time, f.arrival_date_time AS flight_arrival_date_time, f.total_seats AS flight_total_seats, f.bus_model AS flight_bus_model, f.price_per_seat AS flight_price_per_seat, f.status AS flight_status, " +
+                "r.id AS route_id, r.departure_stop_id, r.destination_stop_id, " +
+                "ds.name AS dep_stop_name, ds.city AS dep_stop_city, " +
+                "as_s.name AS arr_stop_name, as_s.city AS arr_stop_city " +
+                "FROM " + ticketsTable + " t " +
+                "JOIN " + flightsTable + " f ON t.flight_id = f.id " +
+                "JOIN routes r ON f.route_id = r.id " +
+                "JOIN stops ds ON r.departure_stop_id = ds.id " +
+                "JOIN stops as_s ON r.destination_stop_id = as_s.id " +
+                "WHERE t.passenger_id = ?";
+    }
+
     /**
      * Повертає список всіх квитків, опціонально фільтрованих за статусом.
+     * Рейси та пасажири квитків завантажуються пакетно ({@link FlightDAO#getFlightsByIds},
+     * {@link PassengerDAO#findByIds}), тож кількість запитів не залежить від кількості квитків.
      * @param statusFilter Статус для фільтрації (може бути null, щоб отримати всі квитки).
      * @return Список об'єктів {@link Ticket}.
      * @throws SQLException якщо виникає помилка доступу до бази даних.
@@ -263,42 +599,50 @@ public class TicketDAO {
         String sql = sqlBuilder.toString();
         logger.debug("Виконується SQL-запит: {}", sql);
 
-        try (Connection conn = DatabaseConnectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            for (int i = 0; i < params.size(); i++) {
-                pstmt.setObject(i + 1, params.get(i));
+        List<TicketRow> rows = new ArrayList<>();
+        try {
+            try (Connection conn = DatabaseConnectionManager.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new TicketRow(rs));
+                    }
+                }
             }
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    long ticketId = rs.getLong("id");
-                    long fId = rs.getLong("flight_id");
-                    long pId = rs.getLong("passenger_id");
-                    logger.trace("Обробка рядка результату для квитка ID: {}", ticketId);
-                    // Тепер this.flightDAO та this.passengerDAO будуть моками у тестах
-                    Flight flight = this.flightDAO.getFlightById(fId)
-                            .orElseThrow(() -> {
-                                String errorMsg = "Рейс ID " + fId + " не знайдено для квитка ID: " + ticketId;
-                                logger.error(errorMsg);
-                                return new SQLException(errorMsg);
-                            });
-                    Passenger passenger = this.passengerDAO.findById(pId)
-                            .orElseThrow(() -> {
-                                String errorMsg = "Пасажира ID " + pId + " не знайдено для квитка ID: " + ticketId;
-                                logger.error(errorMsg);
-                                return new SQLException(errorMsg);
-                            });
 
-                    Ticket ticket = new Ticket(
-                            ticketId, flight, passenger, rs.getString("seat_number"),
-                            rs.getTimestamp("booking_date_time").toLocalDateTime(),
-                            rs.getBigDecimal("price_paid"), TicketStatus.valueOf(rs.getString("status")));
-                    Timestamp purchaseTs = rs.getTimestamp("purchase_date_time");
-                    if (purchaseTs != null) ticket.setPurchaseDateTime(purchaseTs.toLocalDateTime());
-                    Timestamp expiryTs = rs.getTimestamp("booking_expiry_date_time");
-                    if (expiryTs != null) ticket.setBookingExpiryDateTime(expiryTs.toLocalDateTime());
-                    tickets.add(ticket);
-                    logger.trace("Квиток ID {} додано до загального списку.", ticket.getId());
+            // Рейси та пасажири всіх квитків завантажуються пакетно, а не окремим запитом на кожен квиток.
+            Set<Long> flightIds = new LinkedHashSet<>();
+            Set<Long> passengerIds = new LinkedHashSet<>();
+            for (TicketRow row : rows) {
+                flightIds.add(row.flightId);
+                passengerIds.add(row.passengerId);
+            }
+            Map<Long, Flight> flights = this.flightDAO.getFlightsByIds(flightIds);
+            Map<Long, Passenger> passengers = this.passengerDAO.findByIds(passengerIds);
+
+            for (TicketRow row : rows) {
+                logger.trace("Обробка рядка результату для квитка ID: {}", row.id);
+                Flight flight = flights.get(row.flightId);
+                if (flight == null) {
+                    String errorMsg = "Рейс ID " + row.flightId + " не знайдено для квитка ID: " + row.id;
+                    logger.error(errorMsg);
+                    throw new SQLException(errorMsg);
                 }
+                Passenger passenger = passengers.get(row.passengerId);
+                if (passenger == null) {
+                    String errorMsg = "Пасажира ID " + row.passengerId + " не знайдено для квитка ID: " + row.id;
+                    logger.error(errorMsg);
+                    throw new SQLException(errorMsg);
+                }
+
+                Ticket ticket = new Ticket(row.id, flight, passenger, row.seatNumber, row.bookingDateTime, row.pricePaid, row.status);
+                if (row.purchaseDateTime != null) ticket.setPurchaseDateTime(row.purchaseDateTime);
+                if (row.bookingExpiryDateTime != null) ticket.setBookingExpiryDateTime(row.bookingExpiryDateTime);
+                tickets.add(ticket);
+                logger.trace("Квиток ID {} додано до загального списку.", ticket.getId());
             }
             logger.info("Успішно отримано {} квитків. Фільтр за статусом: {}", tickets.size(), statusFilter != null ? statusFilter.name() : "немає");
         } catch (SQLException e) {
@@ -308,8 +652,40 @@ public class TicketDAO {
         return tickets;
     }
 
+    /**
+     * Рядок таблиці {@code tickets}, прочитаний до пакетного завантаження рейсів і пасажирів.
+     */
+    private static final class TicketRow {
+        private final long id;
+        private final long flightId;
+        private final long passengerId;
+        private final String seatNumber;
+        private final LocalDateTime bookingDateTime;
+        private final LocalDateTime purchaseDateTime;
+        private final LocalDateTime bookingExpiryDateTime;
+        private final BigDecimal pricePaid;
+        private final TicketStatus status;
+
+        private TicketRow(ResultSet rs) throws SQLException {
+            this.id = rs.getLong("id");
+            this.flightId = rs.getLong("flight_id");
+            this.passengerId = rs.getLong("passenger_id");
+            this.seatNumber = rs.getString("seat_number");
+            this.bookingDateTime = rs.getTimestamp("booking_date_time").toLocalDateTime();
+            Timestamp purchaseTs = rs.getTimestamp("purchase_date_time");
+            this.purchaseDateTime = purchaseTs != null ? purchaseTs.toLocalDateTime() : null;
+            Timestamp expiryTs = rs.getTimestamp("booking_expiry_date_time");
+            this.bookingExpiryDateTime = expiryTs != null ? expiryTs.toLocalDateTime() : null;
+            this.pricePaid = rs.getBigDecimal("price_paid");
+            this.status = TicketStatus.valueOf(rs.getString("status"));
+        }
+    }
+
     /**
      * Повертає статистику продажів (сума та кількість) за вказаний період, згруповану по маршрутах.
+     * Дані читаються з денного підсумку {@code daily_route_sales}, тож час запиту залежить від кількості
+     * днів і маршрутів, а не від кількості квитків.
+     * Запит виконується через {@link DatabaseConnectionManager#getReadConnection} (допустиме відставання {@link ReadStaleness#REPORTS}).
      * @param startDate Початкова дата періоду.
      * @param endDate Кінцева дата періоду.
      * @return Мапа, де ключ - назва маршруту, а значення - мапа {"totalSales": BigDecimal, "ticketCount": Integer}.
@@ -318,37 +694,40 @@ public class TicketDAO {
     public Map<String, Map<String, Object>> getSalesByRouteForPeriod(LocalDate startDate, LocalDate endDate) throws SQLException {
         logger.info("Спроба отримати статистику продажів за маршрутами за період: {} - {}", startDate, endDate);
         Map<String, Map<String, Object>> salesData = new HashMap<>();
-        String sql = "SELECT r.id as route_id, SUM(t.price_paid) as total_amount, COUNT(t.id) as tickets_sold " +
-                "FROM tickets t " +
-                "JOIN flights f ON t.flight_id = f.id " +
-                "JOIN routes r ON f.route_id = r.id " +
-                "WHERE t.status = 'SOLD' AND DATE(t.purchase_date_time) BETWEEN ? AND ? " +
-                "GROUP BY r.id";
+        String sql = "SELECT route_id, SUM(total_amount) as total_amount, SUM(tickets_sold) as tickets_sold " +
+                "FROM daily_route_sales " +
+                "WHERE sale_date BETWEEN ? AND ? " +
+                "GROUP BY route_id HAVING SUM(tickets_sold) > 0";
         logger.debug("Виконується SQL-запит для статистики продажів: {}", sql);
 
-        try (Connection conn = DatabaseConnectionManager.getConnection();
+        try (Connection conn = DatabaseConnectionManager.getReadConnection(ReadStaleness.REPORTS);
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setDate(1, java.sql.Date.valueOf(startDate));
             pstmt.setDate(2, java.sql.Date.valueOf(endDate));
+            Map<Long, Map<String, Object>> salesByRouteId = new LinkedHashMap<>();
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    long routeId = rs.getLong("route_id");
-                    // Тепер this.routeDAO буде моком у тестах
-                    Optional<Route> routeOpt = this.routeDAO.getRouteById(routeId);
-                    String routeDescription;
-                    if (routeOpt.isPresent()) {
-                        routeDescription = routeOpt.get().getFullRouteDescription();
-                    } else {
-                        routeDescription = "Невідомий або видалений маршрут (ID: " + routeId + ")";
-                        logger.warn("Маршрут з ID {} не знайдено під час генерації звіту продажів, але для нього є дані.", routeId);
-                    }
-
                     Map<String, Object> data = new HashMap<>();
                     data.put("totalSales", rs.getBigDecimal("total_amount"));
                     data.put("ticketCount", rs.getInt("tickets_sold"));
-                    salesData.put(routeDescription, data);
-                    logger.trace("Додано дані продажів для маршруту '{}': сума {}, кількість {}", routeDescription, data.get("totalSales"), data.get("ticketCount"));
+                    salesByRouteId.put(rs.getLong("route_id"), data);
+                }
+            }
+            // Описи всіх маршрутів звіту завантажуються одним викликом.
+            Map<Long, Route> routes = this.routeDAO.getRoutesByIds(salesByRouteId.keySet());
+            for (Map.Entry<Long, Map<String, Object>> entry : salesByRouteId.entrySet()) {
+                long routeId = entry.getKey();
+                Route route = routes.get(routeId);
+                String routeDescription;
+                if (route != null) {
+                    routeDescription = route.getFullRouteDescription();
+                } else {
+                    routeDescription = "Невідомий або видалений маршрут (ID: " + routeId + ")";
+                    logger.warn("Маршрут з ID {} не знайдено під час генерації звіту продажів, але для нього є дані.", routeId);
                 }
+                Map<String, Object> data = entry.getValue();
+                salesData.put(routeDescription, data);
+                logger.trace("Додано дані продажів для маршруту '{}': сума {}, кількість {}", routeDescription, data.get("totalSales"), data.get("ticketCount"));
             }
             logger.info("Статистику продажів за {} маршрутами отримано для періоду: {} - {}", salesData.size(), startDate, endDate);
         } catch (SQLException e) {
@@ -359,11 +738,73 @@ public class TicketDAO {
     }
 
     /**
-     * Повертає кількість квитків за кожним статусом.
+     * Об'єднує дві статистики продажів у форматі {@link #getSalesByRouteForPeriod} (наприклад, за сусідні періоди):
+     * суми та кількості квитків одного маршруту додаються.
+     * @param first Перша статистика.
+     * @param second Друга статистика.
+     * @return Нова мапа; аргументи не змінюються.
+     */
+    public static Map<String, Map<String, Object>> mergeSalesData(Map<String, Map<String, Object>> first,
+                                                                  Map<String, Map<String, Object>> second) {
+        Map<String, Map<String, Object>> merged = new HashMap<>();
+        for (Map<String, Map<String, Object>> source : List.of(first, second)) {
+            for (Map.Entry<String, Map<String, Object>> entry : source.entrySet()) {
+                Map<String, Object> target = merged.computeIfAbsent(entry.getKey(), k -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("totalSales", BigDecimal.ZERO);
+                    data.put("ticketCount", 0);
+                    return data;
+                });
+                BigDecimal amount = (BigDecimal) entry.getValue().get("totalSales");
+                target.put("totalSales", ((BigDecimal) target.get("totalSales")).add(amount != null ? amount : BigDecimal.ZERO));
+                target.put("ticketCount", (Integer) target.get("ticketCount") + (Integer) entry.getValue().get("ticketCount"));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Повертає кількість квитків за кожним статусом з лічильників у пам'яті ({@link TicketStatusCounters}).
+     * До бази даних звертаються лише виклики, поки лічильники не заповнено: вони повертають кількості,
+     * прочитані з бази, і заповнюють ними лічильники, якщо в цей час квитки не змінювалися локально.
      * @return Мапа, де ключ - {@link TicketStatus}, а значення - кількість квитків.
-     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     * @throws SQLException якщо виникає помилка доступу до бази даних під час заповнення.
      */
     public Map<TicketStatus, Integer> getTicketCountsByStatus() throws SQLException {
+        TicketStatusCounters counters = TicketStatusCounters.getInstance();
+        if (!counters.isSeeded()) {
+            long epoch = counters.reconcileEpoch();
+            Map<TicketStatus, Integer> databaseCounts = countTicketsByStatusInDatabase();
+            // Без заповнення (локальна зміна під час запиту) лічильники містять лише локальні зміни,
+            // тож результатом є кількості з бази, а заповнення повториться наступним викликом.
+            counters.reconcile(epoch, databaseCounts);
+            return databaseCounts;
+        }
+        return counters.toMap();
+    }
+
+    /**
+     * Звіряє лічильники {@link TicketStatusCounters} з фактичною кількістю квитків у базі даних.
+     * Якщо під час запиту в цьому процесі змінювалися квитки, звіряння відкладається до наступного виклику.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public void reconcileStatusCounters() throws SQLException {
+        TicketStatusCounters counters = TicketStatusCounters.getInstance();
+        long epoch = counters.reconcileEpoch();
+        if (epoch < 0) {
+            logger.debug("Виконується локальна зміна квитків. Звіряння лічильників статусів відкладено.");
+            return;
+        }
+        counters.reconcile(epoch, countTicketsByStatusInDatabase());
+    }
+
+    /**
+     * Підраховує квитки за кожним статусом запитом до основної бази даних (без репліки: результат
+     * замінює лічильники {@link TicketStatusCounters}, тож відставання репліки неприпустиме).
+     * @return Мапа, де ключ - {@link TicketStatus}, а значення - кількість квитків.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public Map<TicketStatus, Integer> countTicketsByStatusInDatabase() throws SQLException {
         logger.info("Спроба отримати кількість квитків за статусами.");
         Map<TicketStatus, Integer> statusCounts = new HashMap<>();
         String sql = "SELECT status, COUNT(id) as count FROM tickets GROUP BY status";
@@ -392,4 +833,29 @@ public class TicketDAO {
         logger.info("Кількість квитків за статусами отримана: {}", statusCounts);
         return statusCounts;
     }
-}
\ No newline at end of file
+
+    /**
+     * Результат групового бронювання: кількість доданих квитків або перелік конфліктних місць за рейсами.
+     */
+    public static class BatchBookingResult {
+        private final int bookedCount;
+        private final Map<Long, Set<String>> conflictingSeats;
+
+        public BatchBookingResult(int bookedCount, Map<Long, Set<String>> conflictingSeats) {
+            this.bookedCount = bookedCount;
+            this.conflictingSeats = Collections.unmodifiableMap(new LinkedHashMap<>(conflictingSeats));
+        }
+
+        public boolean isSuccess() { return conflictingSeats.isEmpty(); }
+        public int getBookedCount() { return bookedCount; }
+        public Map<Long, Set<String>> getConflictingSeats() { return conflictingSeats; }
+
+        /**
+         * @param flightId ID рейсу.
+         * @return Конфліктні місця рейсу (може бути порожнім).
+         */
+        public Set<String> getConflictingSeats(long flightId) {
+            return conflictingSeats.getOrDefault(flightId, Collections.emptySet());
+        }
+    }
+}
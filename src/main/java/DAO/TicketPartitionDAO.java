@@ -0,0 +1,232 @@
+package DAO;
+
+import DB.DatabaseConnectionManager;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * DAO для обслуговування секцій таблиці {@code tickets}, секціонованої за місяцем бронювання
+ * ({@code RANGE COLUMNS (booking_date_time)}, міграція V10).
+ * <p>
+ * Секція місяця називається {@code pYYYYMM} і містить бронювання до першого дня наступного місяця.
+ * Остання секція {@value #FUTURE_PARTITION} ({@code MAXVALUE}) приймає бронювання, для місяця яких
+ * секцію ще не створено; нові місячні секції виділяються з неї ({@code REORGANIZE PARTITION}),
+ * що не копіює рядки, поки вона порожня.
+ * </p>
+ * <p>
+ * Усі операції обслуговування виконуються на одному з'єднанні під іменованим блокуванням
+ * ({@link #runLocked(LockedWork)}), тож DDL над секціями одночасно виконує лише одне робоче місце.
+ * </p>
+ */
+public class TicketPartitionDAO {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final String FUTURE_PARTITION = "p_future";
+    static final String MAINTENANCE_LOCK = "bus_station_ticket_partitions";
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("\\w+");
+
+    /**
+     * Секція таблиці {@code tickets}.
+     */
+    public static final class Partition {
+        private final String name;
+        private final LocalDate upperBound;
+
+        /**
+         * @param name Назва секції.
+         * @param upperBound Виключна верхня межа дати бронювання або {@code null} для {@code MAXVALUE}.
+         */
+        public Partition(String name, LocalDate upperBound) {
+            this.name = name;
+            this.upperBound = upperBound;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LocalDate getUpperBound() {
+            return upperBound;
+        }
+
+        @Override
+        public String toString() {
+            return name + " < " + (upperBound != null ? upperBound : "MAXVALUE");
+        }
+    }
+
+    /**
+     * Обслуговування секцій, що виконується під блокуванням {@value #MAINTENANCE_LOCK}.
+     */
+    @FunctionalInterface
+    public interface LockedWork {
+        /**
+         * @param conn З'єднання, що утримує блокування; передається в методи цього DAO.
+         * @return Кількість змінених секцій.
+         * @throws SQLException якщо виникає помилка доступу до бази даних.
+         */
+        int run(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Виконує обслуговування на одному з'єднанні з основною БД під блокуванням {@code GET_LOCK}
+     * {@value #MAINTENANCE_LOCK}. Блокування береться без очікування: якщо його утримує інше робоче
+     * місце, обслуговування пропускається.
+     * @param work Обслуговування секцій.
+     * @return Результат {@code work} або -1, якщо блокування утримує інше робоче місце.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public int runLocked(LockedWork work) throws SQLException {
+        try (Connection conn = DatabaseConnectionManager.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                pstmt.setString(1, MAINTENANCE_LOCK);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next() || rs.getInt(1) != 1) {
+                        return -1;
+                    }
+                }
+            }
+            try {
+                return work.run(conn);
+            } finally {
+                try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    pstmt.setString(1, MAINTENANCE_LOCK);
+                    pstmt.executeQuery().close();
+                } catch (SQLException e) {
+                    logger.warn("Не вдалося зняти блокування обслуговування секцій tickets: {}", e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Помилка при обслуговуванні секцій таблиці tickets.", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Повертає секції таблиці {@code tickets} у порядку зростання меж.
+     * @param conn З'єднання з {@link #runLocked(LockedWork)}.
+     * @return Секції; порожній список, якщо таблиця не секціонована.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public List<Partition> getPartitions(Connection conn) throws SQLException {
+        String sql = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM INFORMATION_SCHEMA.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tickets' AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION";
+        List<Partition> partitions = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                partitions.add(new Partition(rs.getString(1), parseUpperBound(rs.getString(2))));
+            }
+        } catch (SQLException e) {
+            logger.error("Помилка при отриманні секцій таблиці tickets.", e);
+            throw e;
+        }
+        return partitions;
+    }
+
+    /**
+     * Перетворює межу секції з {@code INFORMATION_SCHEMA.PARTITIONS} ({@code '2026-01-01'} або
+     * {@code '2026-01-01 00:00:00'} в лапках, {@code MAXVALUE}) на дату.
+     */
+    static LocalDate parseUpperBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+    }
+
+    /**
+     * @param month Місяць бронювання.
+     * @return Назва секції місяця ({@code pYYYYMM}).
+     */
+    static String partitionName(YearMonth month) {
+        return month.format(PARTITION_NAME_FORMAT);
+    }
+
+    /**
+     * Будує оператор, що виділяє з {@value #FUTURE_PARTITION} секції для переданих місяців.
+     */
+    static String buildAddPartitionsSql(List<YearMonth> months) {
+        StringBuilder sql = new StringBuilder("ALTER TABLE tickets REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (");
+        for (YearMonth month : months) {
+            sql.append("PARTITION ").append(partitionName(month))
+                    .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+        }
+        return sql.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN (MAXVALUE))").toString();
+    }
+
+    /**
+     * Додає секції для переданих місяців (у порядку зростання, після останньої місячної секції).
+     * Викликається лише для порожньої {@value #FUTURE_PARTITION} ({@link #isPartitionEmpty}), інакше
+     * реорганізація копіює її рядки.
+     * @param conn З'єднання з {@link #runLocked(LockedWork)}.
+     * @param months Місяці бронювання.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public void addMonthlyPartitions(Connection conn, List<YearMonth> months) throws SQLException {
+        if (months == null || months.isEmpty()) {
+            return;
+        }
+        String sql = buildAddPartitionsSql(months);
+        logger.debug("Виконується SQL-запит додавання секцій tickets: {}", sql);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+            logger.info("Додано секції tickets для місяців {}.", months);
+        } catch (SQLException e) {
+            logger.error("Помилка при додаванні секцій tickets для місяців {}.", months, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @param conn З'єднання з {@link #runLocked(LockedWork)}.
+     * @param partitionName Назва секції.
+     * @return {@code true}, якщо в секції немає квитків.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public boolean isPartitionEmpty(Connection conn, String partitionName) throws SQLException {
+        String sql = "SELECT 1 FROM tickets PARTITION (" + checkName(partitionName) + ") LIMIT 1";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return !rs.next();
+        } catch (SQLException e) {
+            logger.error("Помилка при перевірці секції tickets {}.", partitionName, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Видаляє секцію разом з її рядками. Викликається лише для порожніх секцій ({@link #isPartitionEmpty}).
+     * @param conn З'єднання з {@link #runLocked(LockedWork)}.
+     * @param partitionName Назва секції.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public void dropPartition(Connection conn, String partitionName) throws SQLException {
+        String sql = "ALTER TABLE tickets DROP PARTITION " + checkName(partitionName);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+            logger.info("Секцію tickets {} видалено.", partitionName);
+        } catch (SQLException e) {
+            logger.error("Помилка при видаленні секції tickets {}.", partitionName, e);
+            throw e;
+        }
+    }
+
+    private static String checkName(String partitionName) {
+        if (partitionName == null || !PARTITION_NAME.matcher(partitionName).matches()) {
+            throw new IllegalArgumentException("Некоректна назва секції: " + partitionName);
+        }
+        return partitionName;
+    }
+}
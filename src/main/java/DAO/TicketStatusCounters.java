@@ -0,0 +1,260 @@
+package DAO;
+
+import Models.Enums.TicketStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Лічильники квитків за статусами в пам'яті.
+ * <p>
+ * Лічильник кожного статусу ({@link LongAdder}, індекс — {@link TicketStatus#ordinal()}) змінюється
+ * {@link TicketDAO} після кожної вставки квитка та зміни його статусу, тож читання не звертається до
+ * бази даних і не конкурує з записами. Зміни, зроблені іншими робочими місцями, потрапляють у
+ * лічильники під час періодичного звіряння з базою ({@link TicketDAO#reconcileStatusCounters()}).
+ * </p>
+ * <p>
+ * Звіряння замінює лічильники значеннями з основної бази даних лише тоді, коли за час запиту
+ * не було локальних змін. Кожна зміна квитків у цьому процесі обгортається в {@link #beginLocalUpdate()}
+ * від запису в базу до відповідного {@code record*}; закриття зміни збільшує лічильник епох.
+ * Якщо під час запиту зміна виконувалася або завершилася (епоха змінилася), результат запиту
+ * відкидається до наступного звіряння, тож зміни не губляться і не враховуються двічі.
+ * </p>
+ */
+public final class TicketStatusCounters {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final TicketStatusCounters INSTANCE = new TicketStatusCounters();
+    static final int DEFAULT_RECONCILE_INTERVAL_SEC = 60;
+
+    private final LongAdder[] counters = new LongAdder[TicketStatus.values().length];
+    /** Записи лічильників беруть спільне блокування, заміна значеннями з бази — виключне. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger localUpdatesInProgress = new AtomicInteger();
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicBoolean reconcileStarted = new AtomicBoolean(false);
+    private volatile boolean seeded = false;
+    private ScheduledExecutorService scheduler;
+
+    TicketStatusCounters() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return Єдиний екземпляр лічильників.
+     */
+    public static TicketStatusCounters getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Локальна зміна квитків, що виконується між {@link #beginLocalUpdate()} та {@link #close()}.
+     */
+    public final class LocalUpdate implements AutoCloseable {
+        private boolean closed;
+
+        private LocalUpdate() {
+        }
+
+        /**
+         * Завершує зміну та збільшує епоху, тож звіряння, запит якого перетнувся з нею, буде відкинуто.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                epoch.incrementAndGet();
+                localUpdatesInProgress.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Починає локальну зміну квитків. Викликається до запису в базу даних, а повернений об'єкт
+     * закривається після відповідного {@code record*} (або після помилки запису).
+     * @return Зміна, яку потрібно закрити.
+     */
+    public LocalUpdate beginLocalUpdate() {
+        localUpdatesInProgress.incrementAndGet();
+        return new LocalUpdate();
+    }
+
+    /**
+     * Враховує новий квиток.
+     * @param status Статус, з яким квиток створено.
+     */
+    public void recordCreated(TicketStatus status) {
+        if (status != null) {
+            lock.readLock().lock();
+            try {
+                counters[status.ordinal()].increment();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Враховує зміну статусу квитка.
+     * @param from Попередній статус ({@code null}, якщо невідомий — тоді різницю виправить звіряння).
+     * @param to Новий статус.
+     */
+    public void recordTransition(TicketStatus from, TicketStatus to) {
+        lock.readLock().lock();
+        try {
+            if (from != null) {
+                counters[from.ordinal()].decrement();
+            }
+            if (to != null) {
+                counters[to.ordinal()].increment();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Віднімає квитки, перенесені в архів ({@link ArchiveDAO}).
+     * @param status Статус архівованих квитків.
+     * @param count Кількість архівованих квитків.
+     */
+    public void recordArchived(TicketStatus status, int count) {
+        if (status != null) {
+            lock.readLock().lock();
+            try {
+                counters[status.ordinal()].add(-count);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * @param status Статус квитка.
+     * @return Поточне значення лічильника.
+     */
+    public long get(TicketStatus status) {
+        return counters[status.ordinal()].sum();
+    }
+
+    /**
+     * Повертає епоху, з якою починається звіряння (читається перед запитом до бази даних).
+     * @return Поточна епоха або {@code -1}, якщо зараз виконується локальна зміна і звіряння слід пропустити.
+     */
+    long reconcileEpoch() {
+        long current = epoch.get();
+        return localUpdatesInProgress.get() == 0 ? current : -1;
+    }
+
+    /**
+     * @return Мапа "статус - кількість" для всіх статусів.
+     */
+    public Map<TicketStatus, Integer> toMap() {
+        Map<TicketStatus, Integer> result = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus status : TicketStatus.values()) {
+            result.put(status, (int) get(status));
+        }
+        return result;
+    }
+
+    /**
+     * @return {@code true}, якщо лічильники хоча б раз звірено з базою даних.
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Замінює лічильники кількостями з бази даних, якщо з початку звіряння не було локальних змін.
+     * @param startEpoch Епоха ({@link #reconcileEpoch()}), прочитана перед запитом до бази.
+     * @param databaseCounts Кількості квитків за статусами з основної бази даних.
+     * @return Сумарна абсолютна розбіжність, яку було виправлено, або {@code -1}, якщо звіряння відкинуто.
+     */
+    long reconcile(long startEpoch, Map<TicketStatus, Integer> databaseCounts) {
+        if (startEpoch < 0) {
+            return -1;
+        }
+        lock.writeLock().lock();
+        try {
+            if (localUpdatesInProgress.get() != 0 || epoch.get() != startEpoch) {
+                logger.debug("Під час звіряння лічильників статусів квитків відбулися локальні зміни. Звіряння відкладено.");
+                return -1;
+            }
+            long totalDrift = 0;
+            for (TicketStatus status : TicketStatus.values()) {
+                LongAdder counter = counters[status.ordinal()];
+                long drift = databaseCounts.getOrDefault(status, 0) - counter.sum();
+                if (drift != 0) {
+                    counter.add(drift);
+                    totalDrift += Math.abs(drift);
+                }
+            }
+            if (seeded && totalDrift > 0) {
+                logger.debug("Лічильники статусів квитків звірено з базою даних: розбіжність {}.", totalDrift);
+            }
+            seeded = true;
+            return totalDrift;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Запускає періодичне звіряння лічильників у фоновому потоці. Повторні виклики ігноруються.
+     * @param ticketDAO DAO, через який виконується звіряння.
+     * @param intervalSeconds Інтервал звіряння в секундах.
+     */
+    public void startReconciliation(TicketDAO ticketDAO, long intervalSeconds) {
+        if (ticketDAO == null || !reconcileStarted.compareAndSet(false, true)) {
+            return;
+        }
+        long interval = intervalSeconds > 0 ? intervalSeconds : DEFAULT_RECONCILE_INTERVAL_SEC;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ticket-status-counters");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                ticketDAO.reconcileStatusCounters();
+            } catch (SQLException e) {
+                logger.warn("Помилка звіряння лічильників статусів квитків. Спроба буде повторена через {} с.", interval, e);
+            } catch (RuntimeException e) {
+                logger.error("Неочікувана помилка звіряння лічильників статусів квитків.", e);
+            }
+        }, 0, interval, TimeUnit.SECONDS);
+        logger.info("Звіряння лічильників статусів квитків запущено з інтервалом {} с.", interval);
+    }
+
+    /**
+     * Зупиняє періодичне звіряння.
+     */
+    public void stopReconciliation() {
+        if (reconcileStarted.compareAndSet(true, false) && scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Скидає лічильники (використовується в тестах).
+     */
+    public void clear() {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+        seeded = false;
+    }
+}
@@ -0,0 +1,30 @@
+package DAO;
+
+/**
+ * Результат оновлення запису з оптимістичним контролем паралельних змін.
+ */
+public enum UpdateResult {
+    /**
+     * Запис успішно оновлено.
+     */
+    UPDATED,
+
+    /**
+     * Запис змінено іншим користувачем після того, як його було прочитано
+     * (версія не збігається), або поточний стан не допускає такої зміни.
+     * Потрібно перечитати запис і повторити зміну.
+     */
+    CONFLICT,
+
+    /**
+     * Запис не знайдено.
+     */
+    NOT_FOUND;
+
+    /**
+     * @return {@code true}, якщо запис оновлено.
+     */
+    public boolean isUpdated() {
+        return this == UPDATED;
+    }
+}
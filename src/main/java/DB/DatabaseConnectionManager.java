@@ -1,20 +1,38 @@
 package DB;
 
 import Config.DatabaseConfig;
+import Diagnostics.ConnectionAcquiredEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Клас-менеджер для управління з'єднаннями з базою даних.
- * Надає метод для отримання активного з'єднання.
+ * Надає метод для отримання активного з'єднання з основною БД ({@link #getConnection()})
+ * та з'єднання для читання звітів і перегляду даних ({@link #getReadConnection(Duration)}),
+ * яке за наявності налаштованої репліки ({@code db.replica.url}) відкривається до неї.
+ * Видані з'єднання інструментуються {@link QueryMetrics}, а кожне отримання з'єднання записується
+ * подією JFR {@link ConnectionAcquiredEvent}.
  */
 public class DatabaseConnectionManager {
 
     private static final Logger logger = LogManager.getLogger("insurance.log");
+    /** Скільки часу після помилки підключення до репліки запити читання виконуються на основній БД. */
+    static final long REPLICA_RETRY_MS = 30_000;
+    /** Скільки часу використовується останнє виміряне відставання репліки без повторної перевірки. */
+    static final long LAG_CHECK_CACHE_MS = 5_000;
+
+    private static volatile long replicaDownUntilMillis = 0;
+    private static volatile long cachedLagSeconds = -1;
+    private static volatile long lagCheckedAtMillis = 0;
+    private static final LongAdder connectionFailures = new LongAdder();
 
     static {
         try {
@@ -39,6 +57,30 @@ public class DatabaseConnectionManager {
      * @throws SQLException якщо виникає помилка під час спроби підключення до бази даних.
      */
     public static Connection getConnection() throws SQLException {
+        ConnectionAcquiredEvent event = new ConnectionAcquiredEvent();
+        event.begin();
+        Connection connection = null;
+        try {
+            connection = openConnection();
+        } finally {
+            commitAcquiredEvent(event, false, connection != null);
+        }
+        return QueryMetrics.instrument(connection);
+    }
+
+    private static void commitAcquiredEvent(ConnectionAcquiredEvent event, boolean readRequest, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.set(QueryMetrics.resolveCaller(), readRequest, success);
+            event.commit();
+        }
+    }
+
+    /**
+     * Відкриває з'єднання з основною БД без інструментування (також для службових запитів
+     * {@link SlowQueryLog}, які не повинні потрапляти в метрики).
+     */
+    static Connection openConnection() throws SQLException {
         logger.debug("Спроба отримати з'єднання з базою даних.");
         String url = DatabaseConfig.getDbUrl();
         String user = DatabaseConfig.getDbUsername();
@@ -63,8 +105,149 @@ public class DatabaseConnectionManager {
             logger.info("З'єднання з базою даних '{}' успішно встановлено для користувача '{}'.", url, user);
             return connection;
         } catch (SQLException e) {
+            connectionFailures.increment();
             logger.error("Помилка підключення до бази даних: URL='{}', Користувач='{}'. Помилка: {}", url, user, e.getMessage(), e);
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Повертає з'єднання для запитів лише на читання (звіти, пошук, перегляд історії).
+     * <p>
+     * Якщо в {@code db.properties} задано {@code db.replica.url}, з'єднання відкривається до репліки,
+     * але лише тоді, коли її відставання від основної БД не перевищує {@code maxStaleness}.
+     * Якщо репліку не налаштовано, вона недоступна або відстає більше допустимого, повертається
+     * з'єднання з основною БД. Після помилки підключення до репліки спроби не повторюються
+     * протягом {@link #REPLICA_RETRY_MS} мс. Запис та читання для бронювання мають використовувати
+     * {@link #getConnection()}.
+     * </p>
+     *
+     * @param maxStaleness Допустиме відставання даних для місця виклику; {@code null} або нуль означає
+     *                     потребу в актуальних даних (завжди основна БД).
+     * @return Об'єкт {@link Connection}; клієнтський код відповідає за його закриття.
+     * @throws SQLException якщо не вдалося підключитися навіть до основної БД.
+     */
+    public static Connection getReadConnection(Duration maxStaleness) throws SQLException {
+        ConnectionAcquiredEvent event = new ConnectionAcquiredEvent();
+        event.begin();
+        Connection connection = null;
+        try {
+            connection = openReadConnection(maxStaleness);
+        } finally {
+            commitAcquiredEvent(event, true, connection != null);
+        }
+        return QueryMetrics.instrument(connection);
+    }
+
+    private static Connection openReadConnection(Duration maxStaleness) throws SQLException {
+        String replicaUrl = DatabaseConfig.getReplicaUrl();
+        if (replicaUrl == null || maxStaleness == null || maxStaleness.isZero() || maxStaleness.isNegative()) {
+            return openConnection();
+        }
+        long now = System.currentTimeMillis();
+        if (now < replicaDownUntilMillis) {
+            logger.trace("Репліка тимчасово недоступна. Запит на читання виконується на основній БД.");
+            return openConnection();
+        }
+
+        Connection replica = null;
+        try {
+            replica = DriverManager.getConnection(replicaUrl, DatabaseConfig.getReplicaUsername(), DatabaseConfig.getReplicaPassword());
+            long lagSeconds = getReplicationLagSeconds(replica, now);
+            if (lagSeconds < 0 || lagSeconds > maxStaleness.getSeconds()) {
+                logger.info("Відставання репліки ({} с) перевищує допустиме ({} с). Запит на читання виконується на основній БД.",
+                        lagSeconds < 0 ? "невідомо" : lagSeconds, maxStaleness.getSeconds());
+                replica.close();
+                return openConnection();
+            }
+            replica.setReadOnly(true);
+            logger.debug("З'єднання з реплікою '{}' встановлено (відставання {} с).", replicaUrl, lagSeconds);
+            return replica;
+        } catch (SQLException e) {
+            replicaDownUntilMillis = now + REPLICA_RETRY_MS;
+            logger.warn("Репліка '{}' недоступна: {}. Запити на читання виконуються на основній БД протягом {} с.",
+                    replicaUrl, e.getMessage(), REPLICA_RETRY_MS / 1000);
+            if (replica != null) {
+                try {
+                    replica.close();
+                } catch (SQLException closeEx) {
+                    logger.debug("Не вдалося закрити з'єднання з реплікою.", closeEx);
+                }
+            }
+            return openConnection();
+        }
+    }
+
+    /**
+     * Повертає відставання репліки в секундах (з кешуванням на {@link #LAG_CHECK_CACHE_MS} мс).
+     * Сервер без налаштованої реплікації (наприклад, копія лише для читання) вважається актуальним.
+     * @return Відставання в секундах або -1, якщо реплікацію зупинено.
+     */
+    private static long getReplicationLagSeconds(Connection replica, long now) throws SQLException {
+        if (now - lagCheckedAtMillis < LAG_CHECK_CACHE_MS) {
+            return cachedLagSeconds;
+        }
+        long lag;
+        try {
+            lag = queryLag(replica, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+        } catch (SQLException e) {
+            // MySQL до 8.0.22 не підтримує SHOW REPLICA STATUS.
+            lag = queryLag(replica, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+        }
+        cachedLagSeconds = lag;
+        lagCheckedAtMillis = now;
+        return lag;
+    }
+
+    private static long queryLag(Connection replica, String sql, String column) throws SQLException {
+        try (Statement stmt = replica.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                return 0;
+            }
+            long lag = rs.getLong(column);
+            return rs.wasNull() ? -1 : lag;
+        }
+    }
+
+    /**
+     * @return Кількість невдалих спроб підключення до основної БД від запуску програми.
+     */
+    public static long getConnectionFailures() {
+        return connectionFailures.sum();
+    }
+
+    /**
+     * @return {@code true}, якщо в {@code db.properties} налаштовано репліку для читання.
+     */
+    public static boolean isReplicaConfigured() {
+        String replicaUrl = DatabaseConfig.getReplicaUrl();
+        return replicaUrl != null && !replicaUrl.trim().isEmpty();
+    }
+
+    /**
+     * @return Скільки секунд запити читання ще виконуватимуться на основній БД після помилки
+     *         підключення до репліки; 0, якщо репліка не вважається недоступною.
+     */
+    public static long getReplicaRetryInSeconds() {
+        long remaining = replicaDownUntilMillis - System.currentTimeMillis();
+        return remaining > 0 ? (remaining + 999) / 1000 : 0;
+    }
+
+    /**
+     * @return Останнє виміряне відставання репліки в секундах або -1, якщо його ще не вимірювали
+     *         чи реплікацію зупинено.
+     */
+    public static long getLastReplicaLagSeconds() {
+        return cachedLagSeconds;
+    }
+
+    /**
+     * Скидає стан маршрутизації читання (використовується в тестах).
+     */
+    static void resetReadRouting() {
+        replicaDownUntilMillis = 0;
+        cachedLagSeconds = -1;
+        lagCheckedAtMillis = 0;
+    }
+}
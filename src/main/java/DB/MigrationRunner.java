@@ -0,0 +1,491 @@
+package DB;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Застосування версійованих міграцій схеми {@code db/migration/V<версія>__<опис>.sql} та перевірка
+ * індексів, на які розраховують запити DAO.
+ * <p>
+ * Застосовані версії записуються в таблицю {@code schema_version}; під час запуску виконуються лише
+ * новіші міграції, по черзі, кожна — оператор за оператором (оператори розділяються {@code ;} у кінці
+ * рядка). У MySQL одночасний запуск з кількох робочих місць виключається блокуванням
+ * {@code GET_LOCK}. Якщо таблиці {@code schema_version} ще немає, а схема вже існує (її створили
+ * та доповнювали скриптами вручну), застосовані версії до {@link #LEGACY_BASELINE_VERSION} визначаються
+ * за ознаками цих міграцій у схемі ({@link #detectLegacyVersion(Connection)}).
+ * </p>
+ * <p>
+ * DDL у MySQL фіксується одразу, тож міграцію, перервану посередині, неможливо відкотити. Тому після
+ * кожного виконаного оператора кількість виконаних операторів записується в {@code schema_version_progress},
+ * і наступний запуск продовжує міграцію з оператора, на якому вона зупинилася. Оператори сеансу
+ * ({@code SET @...}, {@code PREPARE}, {@code DEALLOCATE}) не змінюють схему й виконуються повторно,
+ * щоб наступні оператори мали свої змінні. Тому скрипти вже випущених міграцій не можна змінювати.
+ * Відновлення після помилки:
+ * </p>
+ * <ol>
+ *     <li>у журналі знайти номер оператора, на якому міграцію перервано, та усунути причину помилки
+ *     (наприклад, дублікати даних);</li>
+ *     <li>перезапустити програму: міграція продовжиться з цього оператора;</li>
+ *     <li>лише якщо оператор встиг виконатися, але запис прогресу ні (збій з'єднання між ними), і повторне
+ *     виконання завершується помилкою «вже існує», збільшити вручну {@code statements_applied} рядка цієї
+ *     версії в {@code schema_version_progress} на 1 і перезапустити програму.</li>
+ * </ol>
+ * <p>
+ * {@link #verifyIndexes(Connection)} перевіряє, що для кожного набору стовпців з {@link #EXPECTED_INDEXES}
+ * існує індекс, що починається з цих стовпців, і записує попередження про відсутні індекси.
+ * </p>
+ */
+public class MigrationRunner {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final String MIGRATIONS_LOCATION = "db/migration";
+    /** Остання версія, яка могла бути застосована вручну до появи {@code schema_version}; новіші не розпізнаються. */
+    static final int LEGACY_BASELINE_VERSION = 7;
+    private static final String LOCK_NAME = "bus_station_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern SESSION_STATEMENT = Pattern.compile("(SET\\s+@|PREPARE\\s|DEALLOCATE\\s).*",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /** Набори стовпців (таблиця → ліві префікси індексів), на які розраховують запити DAO. */
+    static final Map<String, List<List<String>>> EXPECTED_INDEXES = new LinkedHashMap<>();
+
+    static {
+        EXPECTED_INDEXES.put("tickets", List.of(
+                List.of("flight_id", "status"),
+                List.of("passenger_id"),
+                List.of("status", "purchase_date_time"),
+                List.of("status", "booking_date_time"),
+                List.of("status", "booking_expiry_date_time"),
+                List.of("purchase_date_time")));
+        EXPECTED_INDEXES.put("flights", List.of(
+                List.of("departure_date_time"),
+                List.of("route_id", "departure_date_time"),
+                List.of("status", "arrival_date_time")));
+        EXPECTED_INDEXES.put("route_intermediate_stops", List.of(
+                List.of("route_id", "stop_order")));
+        EXPECTED_INDEXES.put("passengers", List.of(
+                List.of("document_type", "document_number"),
+                List.of("full_name", "id"),
+                List.of("document_number"),
+                List.of("phone_number"),
+                List.of("email")));
+        EXPECTED_INDEXES.put("change_log", List.of(
+                List.of("changed_at")));
+        EXPECTED_INDEXES.put("daily_route_sales", List.of(
+                List.of("sale_date")));
+        EXPECTED_INDEXES.put("ticket_seats", List.of(
+                List.of("flight_id", "seat_number")));
+        EXPECTED_INDEXES.put("flights_archive", List.of(
+                List.of("departure_date_time")));
+        EXPECTED_INDEXES.put("tickets_archive", List.of(
+                List.of("passenger_id"),
+                List.of("flight_id"),
+                List.of("status", "purchase_date_time")));
+    }
+
+    /**
+     * Міграція схеми однієї версії.
+     */
+    public static final class Migration {
+        private final int version;
+        private final String description;
+        private final List<String> statements;
+
+        public Migration(int version, String description, List<String> statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = List.copyOf(statements);
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+        public List<String> getStatements() { return statements; }
+    }
+
+    private final List<Migration> migrations;
+
+    /**
+     * Створює виконавця для міграцій з classpath ({@value #MIGRATIONS_LOCATION}).
+     */
+    public MigrationRunner() {
+        this(loadMigrations());
+    }
+
+    /**
+     * Конструктор для тестування.
+     * @param migrations Міграції в будь-якому порядку.
+     */
+    MigrationRunner(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::getVersion));
+        this.migrations = sorted;
+    }
+
+    /**
+     * Застосовує нові міграції та перевіряє індекси.
+     * @param conn З'єднання з основною БД.
+     * @return Кількість застосованих міграцій.
+     * @throws SQLException якщо міграцію не вдалося застосувати (наступні міграції не виконуються).
+     */
+    public int migrate(Connection conn) throws SQLException {
+        boolean mysql = conn.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+        if (mysql) {
+            acquireLock(conn);
+        }
+        int applied = 0;
+        try {
+            int current = currentVersion(conn);
+            for (Migration migration : migrations) {
+                if (migration.getVersion() > current) {
+                    apply(conn, migration);
+                    applied++;
+                }
+            }
+        } finally {
+            if (mysql) {
+                releaseLock(conn);
+            }
+        }
+        if (applied > 0) {
+            logger.info("Застосовано міграцій схеми: {}. Поточна версія: V{}.", applied, migrations.get(migrations.size() - 1).getVersion());
+        } else {
+            logger.info("Схема бази даних актуальна (міграцій: {}).", migrations.size());
+        }
+        verifyIndexes(conn);
+        return applied;
+    }
+
+    /**
+     * @return Остання застосована версія; створює {@code schema_version} та {@code schema_version_progress}, якщо їх немає.
+     */
+    int currentVersion(Connection conn) throws SQLException {
+        boolean versionTableExists = tableExists(conn, "schema_version");
+        if (!versionTableExists) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version INT PRIMARY KEY, " +
+                        "description VARCHAR(200) NOT NULL, " +
+                        "installed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            }
+            int legacyVersion = detectLegacyVersion(conn);
+            if (legacyVersion > 0) {
+                logger.warn("Схему створено без журналу міграцій. За ознаками в схемі застосовано міграції до V{} включно.", legacyVersion);
+                for (Migration migration : migrations) {
+                    if (migration.getVersion() <= legacyVersion) {
+                        recordVersion(conn, migration);
+                    }
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version_progress (" +
+                    "version INT PRIMARY KEY, " +
+                    "statements_applied INT NOT NULL)");
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Визначає, до якої версії включно вручну застосовано міграції схеми без журналу {@code schema_version}.
+     * Скрипти застосовувалися по черзі, тож перевірка зупиняється на першій версії, ознак якої в схемі немає.
+     * @return Остання застосована версія (не більше {@link #LEGACY_BASELINE_VERSION}); 0, якщо схеми немає.
+     */
+    static int detectLegacyVersion(Connection conn) throws SQLException {
+        int version = 0;
+        while (version < LEGACY_BASELINE_VERSION && legacyMigrationApplied(conn, version + 1)) {
+            version++;
+        }
+        return version;
+    }
+
+    /**
+     * @return {@code true}, якщо в схемі є об'єкт, який створює міграція цієї версії.
+     */
+    private static boolean legacyMigrationApplied(Connection conn, int version) throws SQLException {
+        switch (version) {
+            case 1:
+                return tableExists(conn, "tickets");
+            case 2:
+                return indexExists(conn, "passengers", List.of("full_name", "id"));
+            case 3:
+                return tableExists(conn, "change_log");
+            case 4:
+                return columnExists(conn, "flights", "version");
+            case 5:
+                return tableExists(conn, "daily_route_sales");
+            case 6:
+                return columnExists(conn, "flights", "booked_count");
+            case 7:
+                return indexExists(conn, "tickets", List.of("status", "booking_expiry_date_time"));
+            default:
+                return false;
+        }
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        int applied = appliedStatements(conn, migration.getVersion());
+        if (applied > 0) {
+            logger.warn("Міграцію схеми V{} було перервано після оператора {} з {}. Застосування продовжується з оператора {}.",
+                    migration.getVersion(), applied, migration.getStatements().size(), applied + 1);
+        } else {
+            logger.info("Застосування міграції схеми V{}: {}.", migration.getVersion(), migration.getDescription());
+        }
+        int index = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.getStatements()) {
+                index++;
+                boolean sessionStatement = isSessionStatement(sql);
+                if (index <= applied && !sessionStatement) {
+                    continue;
+                }
+                stmt.execute(sql);
+                if (!sessionStatement) {
+                    saveProgress(conn, migration.getVersion(), index);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Міграцію V{} перервано на операторі {} з {}: {}", migration.getVersion(), index,
+                    migration.getStatements().size(), e.getMessage(), e);
+            throw new SQLException("Не вдалося застосувати міграцію схеми V" + migration.getVersion() + ": " + e.getMessage(),
+                    e.getSQLState(), e.getErrorCode(), e);
+        }
+        recordVersion(conn, migration);
+        try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM schema_version_progress WHERE version = ?")) {
+            pstmt.setInt(1, migration.getVersion());
+            pstmt.executeUpdate();
+        }
+    }
+
+    static boolean isSessionStatement(String sql) {
+        return SESSION_STATEMENT.matcher(sql).matches();
+    }
+
+    /**
+     * @return Кількість операторів міграції, виконаних до її переривання; 0, якщо міграція не починалася.
+     */
+    private static int appliedStatements(Connection conn, int version) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT statements_applied FROM schema_version_progress WHERE version = ?")) {
+            pstmt.setInt(1, version);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static void saveProgress(Connection conn, int version, int statementsApplied) throws SQLException {
+        try (PreparedStatement update = conn.prepareStatement("UPDATE schema_version_progress SET statements_applied = ? WHERE version = ?")) {
+            update.setInt(1, statementsApplied);
+            update.setInt(2, version);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = conn.prepareStatement("INSERT INTO schema_version_progress (version, statements_applied) VALUES (?, ?)")) {
+            insert.setInt(1, version);
+            insert.setInt(2, statementsApplied);
+            insert.executeUpdate();
+        }
+    }
+
+    private static void recordVersion(Connection conn, Migration migration) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            pstmt.setInt(1, migration.getVersion());
+            pstmt.setString(2, migration.getDescription());
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Не вдалося отримати блокування міграцій схеми за " + LOCK_TIMEOUT_SECONDS + " с.");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.executeQuery().close();
+        } catch (SQLException e) {
+            logger.warn("Не вдалося зняти блокування міграцій схеми: {}", e.getMessage());
+        }
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        for (String name : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet rs = metaData.getTables(conn.getCatalog(), null, name, new String[]{"TABLE"})) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        for (String name : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            for (String columnName : new String[]{column, column.toUpperCase(Locale.ROOT)}) {
+                try (ResultSet rs = metaData.getColumns(conn.getCatalog(), null, name, columnName)) {
+                    if (rs.next()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean indexExists(Connection conn, String table, List<String> columns) throws SQLException {
+        return readIndexColumns(conn, table).stream().anyMatch(indexColumns -> indexColumns.size() >= columns.size()
+                && indexColumns.subList(0, columns.size()).equals(columns));
+    }
+
+    /**
+     * Перевіряє наявність індексів {@link #EXPECTED_INDEXES} і записує попередження про відсутні.
+     * @return Відсутні індекси у вигляді {@code таблиця(стовпець, ...)}; порожній список, якщо всі на місці.
+     * @throws SQLException якщо не вдалося прочитати метадані.
+     */
+    public static List<String> verifyIndexes(Connection conn) throws SQLException {
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, List<List<String>>> table : EXPECTED_INDEXES.entrySet()) {
+            List<List<String>> indexes = readIndexColumns(conn, table.getKey());
+            for (List<String> expected : table.getValue()) {
+                boolean found = indexes.stream().anyMatch(columns -> columns.size() >= expected.size()
+                        && columns.subList(0, expected.size()).equals(expected));
+                if (!found) {
+                    missing.add(table.getKey() + "(" + String.join(", ", expected) + ")");
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            logger.info("Усі очікувані індекси бази даних на місці.");
+        } else {
+            logger.warn("Відсутні індекси, на які розраховують запити DAO (запити можуть читати всю таблицю): {}", missing);
+        }
+        return missing;
+    }
+
+    /**
+     * @return Стовпці кожного індексу таблиці (включно з первинним ключем) у порядку індексу, у нижньому регістрі.
+     */
+    private static List<List<String>> readIndexColumns(Connection conn, String table) throws SQLException {
+        Map<String, TreeMap<Short, String>> columnsByIndex = new LinkedHashMap<>();
+        DatabaseMetaData metaData = conn.getMetaData();
+        for (String name : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet rs = metaData.getIndexInfo(conn.getCatalog(), null, name, false, true)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (indexName != null && column != null) {
+                        columnsByIndex.computeIfAbsent(indexName, k -> new TreeMap<>())
+                                .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (!columnsByIndex.isEmpty()) {
+                break;
+            }
+        }
+        return columnsByIndex.values().stream()
+                .map(columns -> new ArrayList<>(columns.values()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Читає міграції з classpath (каталог або JAR).
+     * @return Міграції, упорядковані за версією.
+     * @throws IllegalStateException якщо каталог міграцій не знайдено або його не вдалося прочитати.
+     */
+    public static List<Migration> loadMigrations() {
+        URL location = MigrationRunner.class.getClassLoader().getResource(MIGRATIONS_LOCATION);
+        if (location == null) {
+            throw new IllegalStateException("Каталог міграцій " + MIGRATIONS_LOCATION + " не знайдено в classpath.");
+        }
+        try {
+            URI uri = location.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try (FileSystem jar = FileSystems.newFileSystem(uri, Collections.emptyMap())) {
+                    return readMigrations(jar.getPath(MIGRATIONS_LOCATION));
+                }
+            }
+            return readMigrations(Paths.get(uri));
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("Не вдалося прочитати міграції " + MIGRATIONS_LOCATION + ".", e);
+        }
+    }
+
+    private static List<Migration> readMigrations(Path directory) throws IOException {
+        List<Migration> result = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path script : files.collect(Collectors.toList())) {
+                Matcher matcher = SCRIPT_NAME.matcher(script.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                try (InputStream in = Files.newInputStream(script)) {
+                    result.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                            splitStatements(new String(in.readAllBytes(), StandardCharsets.UTF_8))));
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(Migration::getVersion));
+        return result;
+    }
+
+    /**
+     * Розбиває скрипт на оператори: коментарі {@code --} відкидаються, оператор закінчується {@code ;}
+     * у кінці рядка.
+     */
+    static List<String> splitStatements(String script) {
+        String withoutComments = script.lines()
+                .filter(line -> !line.trim().startsWith("--"))
+                .collect(Collectors.joining("\n"));
+        List<String> statements = new ArrayList<>();
+        for (String sql : withoutComments.split(";\\s*(\\n|$)")) {
+            if (!sql.isBlank()) {
+                statements.add(sql.trim());
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,732 @@
+package DB;
+
+import Config.DatabaseConfig;
+import Diagnostics.DaoCallEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Інструментування доступу до бази даних: затримки та кількість запитів у розрізі методів DAO
+ * і дій користувача.
+ * <p>
+ * Кожне з'єднання, видане {@link DatabaseConnectionManager}, обгортається проксі, яке рахує
+ * виконані запити ({@code execute*}), прочитані ({@code ResultSet.next()}) та змінені рядки.
+ * Під час отримання з'єднання за стеком викликів визначається метод DAO, від імені якого воно
+ * відкрито (найближчий публічний метод класу з пакету {@code DAO}); час від отримання до закриття
+ * з'єднання вважається затримкою виклику цього методу і потрапляє в гістограму
+ * {@link #HISTOGRAM_BOUNDS_MS}.
+ * </p>
+ * <p>
+ * Дія користувача (наприклад, пошук рейсів) відкриває {@link ActionScope} через
+ * {@link #beginAction(String)}; усі з'єднання, отримані в тому ж потоці до закриття області,
+ * враховуються в ній, а при закритті в журнал записується підсумок на кшталт
+ * «Пошук рейсів: 1 дія, 843 запити, 2,1 с» з методами DAO, що виконали найбільше запитів.
+ * Якщо кількість запитів перевищує {@code db.metrics.action.warn.queries} (за замовчуванням 100),
+ * підсумок записується з рівнем WARN як імовірна проблема N+1.
+ * </p>
+ * <p>
+ * Кожне з'єднання також записується подією JFR {@link DaoCallEvent} (метод, значення параметрів,
+ * запити, рядки, тривалість), якщо подія ввімкнена в активному записі; параметри збираються лише тоді.
+ * Запити, що виконувалися довше за поріг, записуються в журнал повільних запитів {@link SlowQueryLog}.
+ * </p>
+ * <p>
+ * Вимикається властивістю {@code db.metrics.enabled=0}; тоді з'єднання повертаються без обгортки.
+ * </p>
+ */
+public final class QueryMetrics {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    /** Верхні межі інтервалів гістограми затримок, мс; останній інтервал — понад 5000 мс. */
+    static final long[] HISTOGRAM_BOUNDS_MS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+    static final int DEFAULT_ACTION_WARN_QUERIES = 100;
+    private static final int TOP_METHODS_IN_SUMMARY = 3;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final Map<String, MethodStats> STATS_BY_METHOD = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> PUBLIC_METHOD_CACHE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ActionScope> CURRENT_ACTION = new ThreadLocal<>();
+    private static final LongAdder CONNECTIONS_OPENED = new LongAdder();
+    private static final AtomicInteger OPEN_CONNECTIONS = new AtomicInteger();
+
+    private static volatile boolean enabled = DatabaseConfig.getIntProperty("db.metrics.enabled", 1) != 0;
+    private static final int actionWarnQueries = positiveOrDefault(
+            DatabaseConfig.getIntProperty("db.metrics.action.warn.queries", DEFAULT_ACTION_WARN_QUERIES), DEFAULT_ACTION_WARN_QUERIES);
+
+    private QueryMetrics() {
+    }
+
+    private static int positiveOrDefault(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * @return {@code true}, якщо з'єднання інструментуються.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Вмикає або вимикає інструментування нових з'єднань (вже видані з'єднання не змінюються).
+     * @param value Нове значення.
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Обгортає з'єднання проксі, що збирає метрики, і відносить його до методу DAO за стеком викликів.
+     * @param connection З'єднання з драйвера.
+     * @return Інструментоване з'єднання або те саме з'єднання, якщо інструментування вимкнено.
+     */
+    static Connection instrument(Connection connection) {
+        if (!enabled || connection == null) {
+            return connection;
+        }
+        String method = resolveCaller();
+        MethodStats stats = STATS_BY_METHOD.computeIfAbsent(method, MethodStats::new);
+        ActionScope action = CURRENT_ACTION.get();
+        stats.connections.increment();
+        CONNECTIONS_OPENED.increment();
+        OPEN_CONNECTIONS.incrementAndGet();
+        if (action != null) {
+            action.connections.increment();
+        }
+        return (Connection) Proxy.newProxyInstance(QueryMetrics.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection, method, stats, action));
+    }
+
+    /**
+     * Визначає метод DAO, від імені якого отримано з'єднання: найближчий до вершини стеку публічний
+     * метод класу з пакету {@code DAO}, інакше найближчий метод DAO будь-якої видимості, інакше
+     * перший метод поза пакетом {@code DB}.
+     */
+    static String resolveCaller() {
+        return STACK_WALKER.walk(frames -> {
+            String firstDaoFrame = null;
+            String firstOtherFrame = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> declaringClass = frame.getDeclaringClass();
+                String packageName = declaringClass.getPackageName();
+                if ("DAO".equals(packageName)) {
+                    String key = methodKey(declaringClass, frame.getMethodName());
+                    if (isPublicMethod(frame)) {
+                        return key;
+                    }
+                    if (firstDaoFrame == null) {
+                        firstDaoFrame = key;
+                    }
+                } else if (firstOtherFrame == null && !"DB".equals(packageName)) {
+                    firstOtherFrame = methodKey(declaringClass, frame.getMethodName());
+                }
+            }
+            if (firstDaoFrame != null) {
+                return firstDaoFrame;
+            }
+            return firstOtherFrame != null ? firstOtherFrame : "(невідомо)";
+        });
+    }
+
+    private static String methodKey(Class<?> declaringClass, String methodName) {
+        String className = declaringClass.getName();
+        int packageEnd = className.lastIndexOf('.');
+        return (packageEnd >= 0 ? className.substring(packageEnd + 1) : className) + "." + methodName;
+    }
+
+    private static boolean isPublicMethod(StackWalker.StackFrame frame) {
+        Class<?> declaringClass = frame.getDeclaringClass();
+        String cacheKey = declaringClass.getName() + "#" + frame.getMethodName() + frame.getDescriptor();
+        return PUBLIC_METHOD_CACHE.computeIfAbsent(cacheKey, k -> {
+            if (!Modifier.isPublic(declaringClass.getModifiers())) {
+                return false;
+            }
+            try {
+                MethodType type = frame.getMethodType();
+                Method method = declaringClass.getDeclaredMethod(frame.getMethodName(), type.parameterArray());
+                return Modifier.isPublic(method.getModifiers()) && !method.isSynthetic();
+            } catch (NoSuchMethodException | UnsupportedOperationException e) {
+                return false; // Конструктори та статичні ініціалізатори.
+            }
+        });
+    }
+
+    /**
+     * Відкриває область дії користувача в поточному потоці. Області можуть бути вкладеними:
+     * після закриття внутрішньої поточною знову стає зовнішня.
+     * @param name Назва дії для журналу, наприклад «Пошук рейсів».
+     * @return Область, яку слід закрити в try-with-resources.
+     */
+    public static ActionScope beginAction(String name) {
+        ActionScope scope = new ActionScope(name, CURRENT_ACTION.get(), enabled);
+        CURRENT_ACTION.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return Область дії поточного потоку або {@code null}.
+     */
+    public static ActionScope currentAction() {
+        return CURRENT_ACTION.get();
+    }
+
+    /**
+     * Приєднує поточний потік до області дії, відкритої в іншому потоці, щоб з'єднання
+     * пулу фонових задач враховувалися в ній.
+     * @param scope Область дії; {@code null} означає відсутність області.
+     * @return Приєднання, закриття якого відновлює попередню область потоку.
+     */
+    public static Attachment attach(ActionScope scope) {
+        ActionScope previous = CURRENT_ACTION.get();
+        setCurrentAction(scope);
+        return new Attachment(previous);
+    }
+
+    private static void setCurrentAction(ActionScope scope) {
+        if (scope == null) {
+            CURRENT_ACTION.remove();
+        } else {
+            CURRENT_ACTION.set(scope);
+        }
+    }
+
+    /**
+     * @return Знімок статистики всіх методів, упорядкований за сумарним часом (від більшого).
+     */
+    public static List<MethodStats.Snapshot> snapshot() {
+        List<MethodStats.Snapshot> result = new ArrayList<>(STATS_BY_METHOD.size());
+        for (MethodStats stats : STATS_BY_METHOD.values()) {
+            result.add(stats.snapshot());
+        }
+        result.sort(Comparator.comparingLong(MethodStats.Snapshot::getTotalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * @param method Ключ методу у форматі {@code Клас.метод}.
+     * @return Знімок статистики методу або {@code null}, якщо викликів не було.
+     */
+    public static MethodStats.Snapshot snapshot(String method) {
+        MethodStats stats = STATS_BY_METHOD.get(method);
+        return stats != null ? stats.snapshot() : null;
+    }
+
+    /**
+     * @return Кількість інструментованих з'єднань, які ще не закрито.
+     */
+    public static int getOpenConnections() {
+        return OPEN_CONNECTIONS.get();
+    }
+
+    /**
+     * @return Кількість інструментованих з'єднань, виданих від запуску програми.
+     */
+    public static long getConnectionsOpened() {
+        return CONNECTIONS_OPENED.sum();
+    }
+
+    /**
+     * Очищує накопичену статистику методів (використовується в тестах та для скидання лічильників).
+     */
+    public static void reset() {
+        STATS_BY_METHOD.clear();
+    }
+
+    static int bucketIndex(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        for (int i = 0; i < HISTOGRAM_BOUNDS_MS.length; i++) {
+            if (millis < HISTOGRAM_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return HISTOGRAM_BOUNDS_MS.length;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Накопичена статистика одного методу DAO.
+     */
+    public static final class MethodStats {
+        private final String method;
+        private final LongAdder connections = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rowsRead = new LongAdder();
+        private final LongAdder rowsAffected = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder statementNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] histogram = new LongAdder[HISTOGRAM_BOUNDS_MS.length + 1];
+
+        private MethodStats(String method) {
+            this.method = method;
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void recordCall(long nanos) {
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram[bucketIndex(nanos)].increment();
+        }
+
+        Snapshot snapshot() {
+            long[] buckets = new long[histogram.length];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = histogram[i].sum();
+            }
+            return new Snapshot(method, connections.sum(), statements.sum(), rowsRead.sum(), rowsAffected.sum(),
+                    totalNanos.sum(), statementNanos.sum(), maxNanos.get(), buckets);
+        }
+
+        /**
+         * Незмінний знімок статистики методу.
+         */
+        public static final class Snapshot {
+            private final String method;
+            private final long calls;
+            private final long statements;
+            private final long rowsRead;
+            private final long rowsAffected;
+            private final long totalNanos;
+            private final long statementNanos;
+            private final long maxNanos;
+            private final long[] histogram;
+
+            Snapshot(String method, long calls, long statements, long rowsRead, long rowsAffected,
+                     long totalNanos, long statementNanos, long maxNanos, long[] histogram) {
+                this.method = method;
+                this.calls = calls;
+                this.statements = statements;
+                this.rowsRead = rowsRead;
+                this.rowsAffected = rowsAffected;
+                this.totalNanos = totalNanos;
+                this.statementNanos = statementNanos;
+                this.maxNanos = maxNanos;
+                this.histogram = histogram;
+            }
+
+            public String getMethod() { return method; }
+            /** @return Кількість викликів (отриманих з'єднань). */
+            public long getCalls() { return calls; }
+            public long getStatements() { return statements; }
+            public long getRowsRead() { return rowsRead; }
+            public long getRowsAffected() { return rowsAffected; }
+            /** @return Сумарний час утримання з'єднань (закриті з'єднання), нс. */
+            public long getTotalNanos() { return totalNanos; }
+            /** @return Сумарний час виконання запитів, нс. */
+            public long getStatementNanos() { return statementNanos; }
+            public long getMaxNanos() { return maxNanos; }
+            /** @return Кількість викликів в інтервалах {@link #HISTOGRAM_BOUNDS_MS} (останній — понад 5000 мс). */
+            public long[] getHistogram() { return histogram.clone(); }
+
+            /**
+             * @return Середня затримка виклику, мс.
+             */
+            public double getAverageMillis() {
+                long completed = 0;
+                for (long count : histogram) {
+                    completed += count;
+                }
+                return completed > 0 ? totalNanos / 1_000_000.0 / completed : 0.0;
+            }
+
+            /**
+             * Оцінює перцентиль затримки за гістограмою (верхньою межею інтервалу).
+             * @param percentile Перцентиль від 0 до 100.
+             * @return Оцінка, мс; для інтервалу понад 5000 мс — максимальна затримка.
+             */
+            public double getPercentileMillis(double percentile) {
+                long completed = 0;
+                for (long count : histogram) {
+                    completed += count;
+                }
+                if (completed == 0) {
+                    return 0.0;
+                }
+                long rank = (long) Math.ceil(completed * percentile / 100.0);
+                long seen = 0;
+                for (int i = 0; i < HISTOGRAM_BOUNDS_MS.length; i++) {
+                    seen += histogram[i];
+                    if (seen >= rank) {
+                        return HISTOGRAM_BOUNDS_MS[i];
+                    }
+                }
+                return maxNanos / 1_000_000.0;
+            }
+        }
+    }
+
+    /**
+     * Область дії користувача: збирає кількість з'єднань, запитів і рядків, виконаних під час дії.
+     */
+    public static final class ActionScope implements AutoCloseable {
+        private final String name;
+        private final ActionScope previous;
+        private final boolean active;
+        private final long startNanos = System.nanoTime();
+        private final LongAdder connections = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final Map<String, LongAdder> statementsByMethod = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        private ActionScope(String name, ActionScope previous, boolean active) {
+            this.name = name;
+            this.previous = previous;
+            this.active = active;
+        }
+
+        private void recordStatement(String method) {
+            statements.increment();
+            statementsByMethod.computeIfAbsent(method, k -> new LongAdder()).increment();
+        }
+
+        public String getName() { return name; }
+        public long getConnections() { return connections.sum(); }
+        public long getStatements() { return statements.sum(); }
+        public long getRows() { return rows.sum(); }
+
+        /**
+         * Закриває область, відновлює попередню область потоку та записує підсумок у журнал.
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT_ACTION.get() == this) {
+                setCurrentAction(previous);
+            }
+            if (!active) {
+                return;
+            }
+            String summary = summary(System.nanoTime() - startNanos);
+            if (getStatements() > actionWarnQueries) {
+                logger.warn("{} Можлива проблема N+1 (поріг {} запитів).", summary, actionWarnQueries);
+            } else {
+                logger.info(summary);
+            }
+        }
+
+        String summary(long elapsedNanos) {
+            long statementCount = getStatements();
+            StringBuilder sb = new StringBuilder(name).append(": 1 дія, ")
+                    .append(statementCount).append(' ').append(plural(statementCount, "запит", "запити", "запитів")).append(", ")
+                    .append(getConnections()).append(" з'єдн., ")
+                    .append(getRows()).append(" рядк., ")
+                    .append(String.format(Locale.forLanguageTag("uk"), "%.1f с", elapsedNanos / 1_000_000_000.0)).append('.');
+            if (!statementsByMethod.isEmpty()) {
+                sb.append(" Найбільше запитів: ").append(statementsByMethod.entrySet().stream()
+                        .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                        .limit(TOP_METHODS_IN_SUMMARY)
+                        .map(e -> e.getKey() + " ×" + e.getValue().sum())
+                        .collect(Collectors.joining(", "))).append('.');
+            }
+            return sb.toString();
+        }
+
+        private static String plural(long count, String one, String few, String many) {
+            long mod100 = count % 100;
+            long mod10 = count % 10;
+            if (mod10 == 1 && mod100 != 11) {
+                return one;
+            }
+            if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) {
+                return few;
+            }
+            return many;
+        }
+    }
+
+    /**
+     * Приєднання потоку до області дії іншого потоку (див. {@link #attach(ActionScope)}).
+     */
+    public static final class Attachment implements AutoCloseable {
+        private final ActionScope previous;
+
+        private Attachment(ActionScope previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            setCurrentAction(previous);
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final String method;
+        private final MethodStats stats;
+        private final ActionScope action;
+        private final long openedNanos = System.nanoTime();
+        private final DaoCallEvent event = new DaoCallEvent();
+        private final StringBuilder parameters;
+        private long statements;
+        private long rowsRead;
+        private long rowsAffected;
+        private boolean closed;
+
+        ConnectionHandler(Connection target, String method, MethodStats stats, ActionScope action) {
+            this.target = target;
+            this.method = method;
+            this.stats = stats;
+            this.action = action;
+            this.parameters = event.isEnabled() ? new StringBuilder() : null;
+            event.begin();
+        }
+
+        /**
+         * Додає значення параметра запиту до зведення для {@link DaoCallEvent}.
+         */
+        void recordParameter(Object index, String setter, Object value) {
+            if (parameters == null || parameters.length() >= DaoCallEvent.MAX_PARAMETERS_LENGTH) {
+                return;
+            }
+            if (parameters.length() > 0) {
+                parameters.append(", ");
+            }
+            parameters.append(index).append('=').append("setNull".equals(setter) ? "NULL" : String.valueOf(value));
+            if (parameters.length() > DaoCallEvent.MAX_PARAMETERS_LENGTH) {
+                parameters.setLength(DaoCallEvent.MAX_PARAMETERS_LENGTH - 1);
+                parameters.append('…');
+            }
+        }
+
+        private void commitEvent() {
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(method, parameters != null ? parameters.toString() : null, statements, rowsRead, rowsAffected,
+                        action != null ? action.getName() : null);
+                event.commit();
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+            switch (m.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    try {
+                        return invokeTarget(target, m, args);
+                    } finally {
+                        if (!closed) {
+                            closed = true;
+                            OPEN_CONNECTIONS.decrementAndGet();
+                            stats.recordCall(System.nanoTime() - openedNanos);
+                            commitEvent();
+                        }
+                    }
+                default:
+                    Object result = invokeTarget(target, m, args);
+                    if (result instanceof Statement && Statement.class.isAssignableFrom(m.getReturnType())) {
+                        return Proxy.newProxyInstance(QueryMetrics.class.getClassLoader(), new Class<?>[]{m.getReturnType()},
+                                new StatementHandler((Statement) result, (Connection) proxy, this,
+                                        args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null));
+                    }
+                    return result;
+            }
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connectionProxy;
+        private final ConnectionHandler owner;
+        private final String sql;
+        private final SortedMap<Integer, Object> bindValues = new TreeMap<>();
+        private SlowQueryLog.SlowQuery slowQuery;
+
+        StatementHandler(Statement target, Connection connectionProxy, ConnectionHandler owner, String sql) {
+            this.target = target;
+            this.connectionProxy = connectionProxy;
+            this.owner = owner;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+            String name = m.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connectionProxy;
+                case "getResultSet":
+                    return wrapResultSet(invokeTarget(target, m, args), (Statement) proxy);
+                case "clearParameters":
+                    bindValues.clear();
+                    return invokeTarget(target, m, args);
+                case "close":
+                    try {
+                        return invokeTarget(target, m, args);
+                    } finally {
+                        finishSlowQuery();
+                    }
+                default:
+                    if (!name.startsWith("execute")) {
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            if (owner.parameters != null) {
+                                owner.recordParameter(args[0], name, args[1]);
+                            }
+                            if (SlowQueryLog.isEnabled()) {
+                                bindValues.put((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+                            }
+                        }
+                        return invokeTarget(target, m, args);
+                    }
+            }
+            // Повторне виконання закриває результат попереднього, тож його повільний запит уже завершено.
+            finishSlowQuery();
+            long start = System.nanoTime();
+            Object result;
+            long elapsed;
+            try {
+                result = invokeTarget(target, m, args);
+            } finally {
+                elapsed = System.nanoTime() - start;
+                owner.stats.statements.increment();
+                owner.statements++;
+                owner.stats.statementNanos.add(elapsed);
+                if (owner.action != null) {
+                    owner.action.recordStatement(owner.method);
+                }
+            }
+            long affected = 0;
+            if (result instanceof Integer || result instanceof Long) {
+                affected = Math.max(0, ((Number) result).longValue());
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    affected += Math.max(0, count);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    affected += Math.max(0, count);
+                }
+            }
+            owner.stats.rowsAffected.add(affected);
+            owner.rowsAffected += affected;
+            if (SlowQueryLog.isSlow(elapsed)) {
+                recordSlowQuery(args, elapsed, result instanceof ResultSet || Boolean.TRUE.equals(result) ? -1 : affected);
+            }
+            return wrapResultSet(result, (Statement) proxy);
+        }
+
+        /**
+         * Записує в журнал повільний запит останнього виконання (якщо ще не записаний) і звільняє слот
+         * для наступного виконання оператора.
+         */
+        private void finishSlowQuery() {
+            if (slowQuery != null) {
+                SlowQueryLog.record(slowQuery);
+                slowQuery = null;
+            }
+        }
+
+        /**
+         * Фіксує повільний запит. Запит з результатом записується в журнал після закриття
+         * {@link ResultSet} чи оператора, коли відома кількість прочитаних рядків.
+         */
+        private void recordSlowQuery(Object[] args, long elapsed, long rowsAffected) {
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            slowQuery = new SlowQueryLog.SlowQuery(executedSql, new TreeMap<>(bindValues), owner.method,
+                    owner.action != null ? owner.action.getName() : null, elapsed, rowsAffected);
+            if (rowsAffected >= 0) {
+                SlowQueryLog.record(slowQuery);
+            }
+        }
+
+        private Object wrapResultSet(Object result, Statement statementProxy) {
+            if (!(result instanceof ResultSet)) {
+                return result;
+            }
+            return Proxy.newProxyInstance(QueryMetrics.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    new ResultSetHandler((ResultSet) result, statementProxy, owner, slowQuery));
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final Statement statementProxy;
+        private final ConnectionHandler owner;
+        private final SlowQueryLog.SlowQuery slowQuery;
+
+        ResultSetHandler(ResultSet target, Statement statementProxy, ConnectionHandler owner, SlowQueryLog.SlowQuery slowQuery) {
+            this.target = target;
+            this.statementProxy = statementProxy;
+            this.owner = owner;
+            this.slowQuery = slowQuery;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+            switch (m.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getStatement":
+                    return statementProxy;
+                case "next":
+                    Object hasRow = invokeTarget(target, m, args);
+                    if (Boolean.TRUE.equals(hasRow)) {
+                        owner.stats.rowsRead.increment();
+                        owner.rowsRead++;
+                        if (owner.action != null) {
+                            owner.action.rows.increment();
+                        }
+                        if (slowQuery != null) {
+                            slowQuery.rowRead();
+                        }
+                    }
+                    return hasRow;
+                case "close":
+                    try {
+                        return invokeTarget(target, m, args);
+                    } finally {
+                        if (slowQuery != null) {
+                            SlowQueryLog.record(slowQuery);
+                        }
+                    }
+                default:
+                    return invokeTarget(target, m, args);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package DB;
+
+import Config.DatabaseConfig;
+
+import java.time.Duration;
+
+/**
+ * Допустиме відставання даних для різних місць читання
+ * (параметр {@link DatabaseConnectionManager#getReadConnection(Duration)}).
+ * Значення налаштовуються в {@code db.properties}.
+ */
+public final class ReadStaleness {
+    /**
+     * Агреговані звіти (продажі, статуси квитків, завантаженість рейсів).
+     */
+    public static final Duration REPORTS = Duration.ofSeconds(DatabaseConfig.getIntProperty("db.replica.staleness.reports.sec", 300));
+
+    /**
+     * Перегляд даних без подальшого запису: пошук пасажирів, історія поїздок.
+     */
+    public static final Duration BROWSING = Duration.ofSeconds(DatabaseConfig.getIntProperty("db.replica.staleness.browse.sec", 30));
+
+    private ReadStaleness() {
+    }
+}
@@ -0,0 +1,204 @@
+package DB;
+
+import Config.DatabaseConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Журнал повільних запитів ({@code logs/slow-query.log}, логер {@value #LOGGER_NAME}).
+ * <p>
+ * Проксі {@link QueryMetrics} передає сюди кожен запит, виконання якого тривало не менше
+ * {@code db.slow.query.ms} мс (за замовчуванням 500; 0 вимикає журнал). Запис містить SQL, значення
+ * параметрів, кількість прочитаних чи змінених рядків, метод DAO та дію користувача; для запиту
+ * з результатом він робиться після закриття {@link ResultSet}, щоб врахувати всі прочитані рядки.
+ * У {@code log4j2.xml} логер пише через асинхронний appender, тож файл журналу записується у фоновому
+ * потоці, а не в потоці запиту.
+ * </p>
+ * <p>
+ * Якщо {@code db.slow.query.explain=1} (за замовчуванням), для повільних {@code SELECT} у фоновому
+ * потоці виконується {@code EXPLAIN} з тими ж параметрами на окремому неінструментованому з'єднанні
+ * з основною БД, і план записується в той самий журнал. План одного й того ж SQL знімається не частіше
+ * ніж раз на {@value #EXPLAIN_REPEAT_MINUTES} хв; якщо черга фонового потоку заповнена, план пропускається.
+ * </p>
+ */
+public final class SlowQueryLog {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final String LOGGER_NAME = "slow-query.log";
+    private static final Logger slowLogger = LogManager.getLogger(LOGGER_NAME);
+    static final int DEFAULT_THRESHOLD_MS = 500;
+    static final long EXPLAIN_REPEAT_MINUTES = 10;
+    private static final int EXPLAIN_QUEUE_CAPACITY = 16;
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private static volatile long thresholdMillis = Math.max(0, DatabaseConfig.getIntProperty("db.slow.query.ms", DEFAULT_THRESHOLD_MS));
+    private static final boolean explainEnabled = DatabaseConfig.getIntProperty("db.slow.query.explain", 1) != 0;
+    private static final Map<String, Long> lastExplainedAt = new ConcurrentHashMap<>();
+    private static final ExecutorService EXPLAIN_EXECUTOR = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY), r -> {
+        Thread thread = new Thread(r, "slow-query-explain");
+        thread.setDaemon(true);
+        return thread;
+    }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private SlowQueryLog() {
+    }
+
+    /**
+     * @return Поріг тривалості запиту, мс; 0 — журнал вимкнено.
+     */
+    public static long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    /**
+     * Змінює поріг тривалості запиту під час роботи програми.
+     * @param millis Поріг, мс; 0 вимикає журнал.
+     */
+    public static void setThresholdMillis(long millis) {
+        thresholdMillis = Math.max(0, millis);
+        logger.info("Поріг журналу повільних запитів: {} мс.", thresholdMillis);
+    }
+
+    static boolean isEnabled() {
+        return thresholdMillis > 0;
+    }
+
+    static boolean isSlow(long elapsedNanos) {
+        long threshold = thresholdMillis;
+        return threshold > 0 && elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(threshold);
+    }
+
+    /**
+     * Записує повільний запит у журнал (один раз) і за потреби ставить у чергу зняття його плану.
+     */
+    static void record(SlowQuery query) {
+        if (!query.markLogged()) {
+            return;
+        }
+        slowLogger.warn(format(query));
+        if (explainEnabled && isSelect(query.sql) && shouldExplain(query.sql)) {
+            EXPLAIN_EXECUTOR.execute(() -> {
+                try (Connection conn = DatabaseConnectionManager.openConnection()) {
+                    slowLogger.info("План запиту {}:{}{}", query.method, System.lineSeparator(),
+                            String.join(System.lineSeparator(), explain(conn, query)));
+                } catch (SQLException | RuntimeException e) {
+                    slowLogger.info("Не вдалося отримати план запиту {}: {}", query.method, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private static boolean shouldExplain(String sql) {
+        long now = System.currentTimeMillis();
+        Long previous = lastExplainedAt.get(sql);
+        if (previous != null && now - previous < TimeUnit.MINUTES.toMillis(EXPLAIN_REPEAT_MINUTES)) {
+            return false;
+        }
+        lastExplainedAt.put(sql, now);
+        return true;
+    }
+
+    static boolean isSelect(String sql) {
+        return sql != null && sql.stripLeading().regionMatches(true, 0, "SELECT", 0, 6);
+    }
+
+    static String format(SlowQuery query) {
+        String rows = query.rowsAffected >= 0
+                ? "змінено рядків: " + query.rowsAffected
+                : "прочитано рядків: " + query.rowsRead;
+        return String.format(Locale.ROOT, "%d мс, %s, %s, дія: %s | %s | параметри: [%s]",
+                TimeUnit.NANOSECONDS.toMillis(query.elapsedNanos), query.method, rows,
+                query.action != null ? query.action : "-", query.sql.replaceAll("\\s+", " ").trim(),
+                formatParameters(query.parameters));
+    }
+
+    private static String formatParameters(SortedMap<Integer, Object> parameters) {
+        return parameters.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + abbreviate(entry.getValue()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String abbreviate(Object value) {
+        String text = value instanceof String ? "'" + value + "'" : String.valueOf(value);
+        return text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH - 1) + "…" : text;
+    }
+
+    /**
+     * Виконує {@code EXPLAIN} запиту з тими ж значеннями параметрів.
+     * @return Рядки плану у вигляді {@code стовпець=значення, ...}.
+     */
+    static List<String> explain(Connection conn, SlowQuery query) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + query.sql)) {
+            for (Map.Entry<Integer, Object> parameter : query.parameters.entrySet()) {
+                pstmt.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                while (rs.next()) {
+                    List<String> columns = new ArrayList<>();
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        columns.add(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT) + "=" + rs.getString(i));
+                    }
+                    plan.add(String.join(", ", columns));
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Повільний запит, що очікує запису в журнал.
+     */
+    static final class SlowQuery {
+        private final String sql;
+        private final SortedMap<Integer, Object> parameters;
+        private final String method;
+        private final String action;
+        private final long elapsedNanos;
+        private final long rowsAffected;
+        private long rowsRead;
+        private boolean logged;
+
+        /**
+         * @param rowsAffected Кількість змінених рядків або -1 для запиту з результатом.
+         */
+        SlowQuery(String sql, SortedMap<Integer, Object> parameters, String method, String action, long elapsedNanos, long rowsAffected) {
+            this.sql = sql != null ? sql : "";
+            this.parameters = parameters;
+            this.method = method;
+            this.action = action;
+            this.elapsedNanos = elapsedNanos;
+            this.rowsAffected = rowsAffected;
+        }
+
+        void rowRead() {
+            rowsRead++;
+        }
+
+        private synchronized boolean markLogged() {
+            if (logged) {
+                return false;
+            }
+            logged = true;
+            return true;
+        }
+    }
+}
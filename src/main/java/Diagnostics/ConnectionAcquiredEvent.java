@@ -0,0 +1,39 @@
+package Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Подія JFR: отримання з'єднання з БД у {@link DB.DatabaseConnectionManager} (тривалість — час
+ * підключення до сервера).
+ */
+@Name("BusStation.ConnectionAcquired")
+@Label("Отримання з'єднання")
+@Description("Відкриття з'єднання з основною БД або реплікою")
+@Category({"Автовокзал", "База даних"})
+@StackTrace(false)
+public final class ConnectionAcquiredEvent extends Event {
+
+    @Label("Метод")
+    private String method;
+
+    @Label("Читання")
+    @Description("З'єднання запитано для читання (може бути відкрите до репліки)")
+    private boolean readRequest;
+
+    @Label("Успішно")
+    private boolean success;
+
+    /**
+     * Заповнює поля перед {@link #commit()}.
+     */
+    public void set(String method, boolean readRequest, boolean success) {
+        this.method = method;
+        this.readRequest = readRequest;
+        this.success = success;
+    }
+}
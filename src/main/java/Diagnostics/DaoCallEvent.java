@@ -0,0 +1,53 @@
+package Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Подія JFR: виклик методу DAO — від отримання з'єднання до його закриття.
+ * Створюється {@link DB.QueryMetrics} для кожного інструментованого з'єднання.
+ */
+@Name("BusStation.DaoCall")
+@Label("Виклик DAO")
+@Description("Виклик методу DAO: запити, рядки та час утримання з'єднання")
+@Category({"Автовокзал", "База даних"})
+@StackTrace(false)
+public final class DaoCallEvent extends Event {
+    /** Максимальна довжина зведення параметрів запитів. */
+    public static final int MAX_PARAMETERS_LENGTH = 256;
+
+    @Label("Метод")
+    private String method;
+
+    @Label("Параметри")
+    @Description("Значення параметрів запитів (скорочено)")
+    private String parameters;
+
+    @Label("Запити")
+    private long statements;
+
+    @Label("Прочитані рядки")
+    private long rowsRead;
+
+    @Label("Змінені рядки")
+    private long rowsAffected;
+
+    @Label("Дія користувача")
+    private String action;
+
+    /**
+     * Заповнює поля перед {@link #commit()}.
+     */
+    public void set(String method, String parameters, long statements, long rowsRead, long rowsAffected, String action) {
+        this.method = method;
+        this.parameters = parameters;
+        this.statements = statements;
+        this.rowsRead = rowsRead;
+        this.rowsAffected = rowsAffected;
+        this.action = action;
+    }
+}
@@ -0,0 +1,312 @@
+package Diagnostics;
+
+import Config.DatabaseConfig;
+import DB.DatabaseConnectionManager;
+import DB.QueryMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.awt.EventQueue;
+import java.beans.ConstructorProperties;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Сторожовий потік, що вимірює затримку обробки подій у потоці EDT і знаходить місця, де інтерфейс
+ * блокується (наприклад, запитами JDBC з обробників подій).
+ * <p>
+ * Кожні {@code edt.watchdog.check.ms} мс (за замовчуванням 100) потік ставить у чергу EDT «пульс»
+ * і перевіряє, чи виконався попередній. Якщо пульс чекає довше за {@code edt.watchdog.threshold.ms} мс
+ * (за замовчуванням 500), знімається стек EDT разом із назвою дії, що виконується
+ * ({@link UiActions#currentAction()}), і в журнал записується попередження. Коли пульс нарешті
+ * виконується, зависання з його тривалістю зараховується до місця виклику — найближчого до вершини
+ * стеку методу програми. Зведення за місцями виклику повертає {@link #report()}; вимикається
+ * властивістю {@code edt.watchdog.enabled=0}.
+ * </p>
+ */
+public final class EdtWatchdog {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final long DEFAULT_THRESHOLD_MS = 500;
+    static final long DEFAULT_CHECK_INTERVAL_MS = 100;
+    private static final int MAX_LOGGED_FRAMES = 30;
+    private static final String[] PLATFORM_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun.", "com.formdev.", "com.mysql.", "org."};
+    /** Обгортки JDBC програми: проксі {@link QueryMetrics} та менеджер з'єднань лежать між DAO і драйвером. */
+    private static final String[] INFRASTRUCTURE_CLASSES = {QueryMetrics.class.getName(), DatabaseConnectionManager.class.getName()};
+
+    private static final EdtWatchdog INSTANCE = new EdtWatchdog(
+            DatabaseConfig.getIntProperty("edt.watchdog.threshold.ms", (int) DEFAULT_THRESHOLD_MS),
+            DatabaseConfig.getIntProperty("edt.watchdog.check.ms", (int) DEFAULT_CHECK_INTERVAL_MS));
+
+    private final long thresholdMillis;
+    private final long checkIntervalMillis;
+    private final Map<String, CallSiteStats> stallsByCallSite = new ConcurrentHashMap<>();
+    private final LongAdder stallCount = new LongAdder();
+    private final LongAccumulator maxStallNanos = new LongAccumulator(Math::max, 0);
+
+    private ScheduledExecutorService scheduler;
+    private volatile Thread dispatchThread;
+    /** Час постановки в чергу пульсу, що ще не виконався; 0 — такого немає. */
+    private long heartbeatPostedNanos;
+    private PendingStall pendingStall;
+
+    EdtWatchdog(long thresholdMillis, long checkIntervalMillis) {
+        this.thresholdMillis = thresholdMillis > 0 ? thresholdMillis : DEFAULT_THRESHOLD_MS;
+        this.checkIntervalMillis = checkIntervalMillis > 0 ? checkIntervalMillis : DEFAULT_CHECK_INTERVAL_MS;
+    }
+
+    public static EdtWatchdog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Запускає сторожовий потік, якщо його ввімкнено в налаштуваннях. Повторні виклики ігноруються.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        if (DatabaseConfig.getIntProperty("edt.watchdog.enabled", 1) == 0) {
+            logger.info("Контроль зависань потоку EDT вимкнено (edt.watchdog.enabled=0).");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "edt-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                check();
+            } catch (RuntimeException e) {
+                logger.error("Неочікувана помилка контролю зависань потоку EDT.", e);
+            }
+        }, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Контроль зависань потоку EDT запущено (поріг {} мс, перевірка кожні {} мс).", thresholdMillis, checkIntervalMillis);
+    }
+
+    /**
+     * Зупиняє сторожовий потік.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        heartbeatPostedNanos = 0;
+        pendingStall = null;
+    }
+
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Одна перевірка: ставить пульс у чергу EDT або, якщо попередній пульс чекає довше за поріг,
+     * фіксує зависання зі стеком EDT.
+     */
+    synchronized void check() {
+        long now = System.nanoTime();
+        if (heartbeatPostedNanos == 0) {
+            heartbeatPostedNanos = now;
+            EventQueue.invokeLater(this::heartbeat);
+            return;
+        }
+        Thread edt = dispatchThread;
+        if (pendingStall != null || edt == null || now - heartbeatPostedNanos < TimeUnit.MILLISECONDS.toNanos(thresholdMillis)) {
+            return;
+        }
+        StackTraceElement[] stack = edt.getStackTrace();
+        pendingStall = new PendingStall(callSite(stack), UiActions.currentAction(), stack);
+        logger.warn("Потік EDT не обробляє події понад {} мс. Дія: {}. Місце: {}{}{}", thresholdMillis,
+                pendingStall.action != null ? pendingStall.action : "-", pendingStall.callSite,
+                System.lineSeparator(), formatStack(stack));
+    }
+
+    private void heartbeat() {
+        dispatchThread = Thread.currentThread();
+        PendingStall stall;
+        long latencyNanos;
+        synchronized (this) {
+            if (heartbeatPostedNanos == 0) {
+                return;
+            }
+            latencyNanos = System.nanoTime() - heartbeatPostedNanos;
+            heartbeatPostedNanos = 0;
+            stall = pendingStall;
+            pendingStall = null;
+        }
+        if (stall != null) {
+            stallsByCallSite.computeIfAbsent(stall.callSite, CallSiteStats::new).record(latencyNanos, stall);
+            maxStallNanos.accumulate(latencyNanos);
+            stallCount.increment();
+            logger.warn("Потік EDT був заблокований {} мс. Дія: {}. Місце: {}", TimeUnit.NANOSECONDS.toMillis(latencyNanos),
+                    stall.action != null ? stall.action : "-", stall.callSite);
+        }
+    }
+
+    /**
+     * Визначає місце виклику: найближчий до вершини стеку метод програми (поза JDK та бібліотеками,
+     * поза динамічними проксі та обгортками JDBC і поза обгорткою {@link UiActions}), інакше верхній кадр стеку.
+     */
+    static String callSite(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (!isPlatformClass(className) && !isInfrastructureClass(className) && !className.startsWith(UiActions.class.getName())) {
+                return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+            }
+        }
+        return stack.length > 0 ? stack[0].getClassName() + "." + stack[0].getMethodName() : "невідомо";
+    }
+
+    private static boolean isPlatformClass(String className) {
+        for (String prefix : PLATFORM_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInfrastructureClass(String className) {
+        if (className.contains("$Proxy")) {
+            return true;
+        }
+        for (String infrastructureClass : INFRASTRUCTURE_CLASSES) {
+            // Вкладені класи (QueryMetrics$StatementHandler тощо) мають префікс зовнішнього.
+            if (className.equals(infrastructureClass) || className.startsWith(infrastructureClass + "$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String formatStack(StackTraceElement[] stack) {
+        return Arrays.stream(stack)
+                .limit(MAX_LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame)
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    /**
+     * @return Зведення зависань за місцями виклику, упорядковане за сумарною тривалістю (від більшої).
+     */
+    public List<CallSiteStall> report() {
+        List<CallSiteStall> report = new ArrayList<>();
+        for (CallSiteStats stats : stallsByCallSite.values()) {
+            report.add(stats.snapshot());
+        }
+        report.sort(Comparator.comparingLong(CallSiteStall::getTotalMillis).reversed());
+        return report;
+    }
+
+    /**
+     * @return Зведення {@link #report()} у текстовому вигляді, по рядку на місце виклику.
+     */
+    public List<String> formatReport() {
+        return report().stream()
+                .map(s -> String.format(Locale.ROOT, "%s: %d завис., сумарно %d мс, макс. %d мс, остання дія: %s",
+                        s.getCallSite(), s.getStalls(), s.getTotalMillis(), s.getMaxMillis(),
+                        s.getLastAction() != null ? s.getLastAction() : "-"))
+                .collect(Collectors.toList());
+    }
+
+    public long getStallCount() {
+        return stallCount.sum();
+    }
+
+    public long getMaxStallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxStallNanos.get());
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    /**
+     * Скидає накопичене зведення зависань.
+     */
+    public void reset() {
+        stallsByCallSite.clear();
+        stallCount.reset();
+        maxStallNanos.reset();
+    }
+
+    private static final class PendingStall {
+        private final String callSite;
+        private final String action;
+        private final StackTraceElement[] stack;
+
+        PendingStall(String callSite, String action, StackTraceElement[] stack) {
+            this.callSite = callSite;
+            this.action = action;
+            this.stack = stack;
+        }
+    }
+
+    private static final class CallSiteStats {
+        private final String callSite;
+        private final LongAdder stalls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private volatile String lastAction;
+        private volatile StackTraceElement[] lastStack;
+
+        CallSiteStats(String callSite) {
+            this.callSite = callSite;
+        }
+
+        void record(long nanos, PendingStall stall) {
+            stalls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            lastAction = stall.action;
+            lastStack = stall.stack;
+        }
+
+        CallSiteStall snapshot() {
+            StackTraceElement[] stack = lastStack;
+            return new CallSiteStall(callSite, stalls.sum(), TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()),
+                    TimeUnit.NANOSECONDS.toMillis(maxNanos.get()), lastAction, stack != null ? formatStack(stack) : "");
+        }
+    }
+
+    /**
+     * Зависання потоку EDT в одному місці виклику (також тип атрибута MXBean {@code BusStation:type=EdtWatchdog}).
+     */
+    public static final class CallSiteStall {
+        private final String callSite;
+        private final long stalls;
+        private final long totalMillis;
+        private final long maxMillis;
+        private final String lastAction;
+        private final String lastStack;
+
+        @ConstructorProperties({"callSite", "stalls", "totalMillis", "maxMillis", "lastAction", "lastStack"})
+        public CallSiteStall(String callSite, long stalls, long totalMillis, long maxMillis, String lastAction, String lastStack) {
+            this.callSite = callSite;
+            this.stalls = stalls;
+            this.totalMillis = totalMillis;
+            this.maxMillis = maxMillis;
+            this.lastAction = lastAction;
+            this.lastStack = lastStack;
+        }
+
+        public String getCallSite() { return callSite; }
+        public long getStalls() { return stalls; }
+        public long getTotalMillis() { return totalMillis; }
+        public long getMaxMillis() { return maxMillis; }
+        public String getLastAction() { return lastAction; }
+        public String getLastStack() { return lastStack; }
+    }
+}
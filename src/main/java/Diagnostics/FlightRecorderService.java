@@ -0,0 +1,106 @@
+package Diagnostics;
+
+import Config.DatabaseConfig;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Безперервний запис Java Flight Recorder з низькими накладними витратами (налаштування JDK
+ * {@code default}) для аналізу зависань після того, як вони сталися.
+ * <p>
+ * Запис ведеться на диск і зберігає останні {@code jfr.max.age.minutes} хвилин (за замовчуванням 30),
+ * але не більше {@code jfr.max.size.mb} МБ (за замовчуванням 100). Крім подій JDK (GC, блокування,
+ * профілювання потоків) він містить події програми {@link DaoCallEvent}, {@link ConnectionAcquiredEvent}
+ * та {@link UiActionEvent}. Зберегти запис у файл можна через {@link #dump(Path)} (пункт меню
+ * «Діагностика»). Вимикається властивістю {@code jfr.enabled=0}.
+ * </p>
+ */
+public final class FlightRecorderService {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final String RECORDING_NAME = "BusStation";
+    static final int DEFAULT_MAX_AGE_MINUTES = 30;
+    static final int DEFAULT_MAX_SIZE_MB = 100;
+
+    private static Recording recording;
+
+    private FlightRecorderService() {
+    }
+
+    /**
+     * Запускає безперервний запис, якщо його ввімкнено в налаштуваннях і він ще не запущений.
+     * Помилка запуску не заважає роботі програми і лише записується в журнал.
+     * @return {@code true}, якщо запис ведеться.
+     */
+    public static synchronized boolean start() {
+        if (isRunning()) {
+            return true;
+        }
+        if (DatabaseConfig.getIntProperty("jfr.enabled", 1) == 0) {
+            logger.info("Безперервний запис JFR вимкнено (jfr.enabled=0).");
+            return false;
+        }
+        int maxAgeMinutes = positiveOrDefault(DatabaseConfig.getIntProperty("jfr.max.age.minutes", DEFAULT_MAX_AGE_MINUTES), DEFAULT_MAX_AGE_MINUTES);
+        int maxSizeMb = positiveOrDefault(DatabaseConfig.getIntProperty("jfr.max.size.mb", DEFAULT_MAX_SIZE_MB), DEFAULT_MAX_SIZE_MB);
+        try {
+            Recording newRecording = new Recording(Configuration.getConfiguration("default"));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+            newRecording.setMaxSize(maxSizeMb * 1024L * 1024L);
+            newRecording.enable(DaoCallEvent.class);
+            newRecording.enable(ConnectionAcquiredEvent.class);
+            newRecording.enable(UiActionEvent.class);
+            newRecording.start();
+            recording = newRecording;
+            logger.info("Запущено безперервний запис JFR (останні {} хв, до {} МБ).", maxAgeMinutes, maxSizeMb);
+            return true;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            logger.warn("Не вдалося запустити запис JFR: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private static int positiveOrDefault(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * @return {@code true}, якщо безперервний запис ведеться.
+     */
+    public static synchronized boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    /**
+     * Зберігає вміст запису (останні хвилини роботи) у файл {@code .jfr}; запис продовжується.
+     * @param target Файл для збереження.
+     * @throws IllegalStateException якщо запис не ведеться.
+     * @throws IOException якщо не вдалося записати файл.
+     */
+    public static synchronized void dump(Path target) throws IOException {
+        if (!isRunning()) {
+            throw new IllegalStateException("Запис JFR не ведеться.");
+        }
+        recording.dump(target);
+        logger.info("Запис JFR збережено у файл {}.", target);
+    }
+
+    /**
+     * Зупиняє запис і звільняє його дискові буфери.
+     */
+    public static synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            logger.info("Безперервний запис JFR зупинено.");
+        }
+    }
+}
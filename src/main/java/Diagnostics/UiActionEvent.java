@@ -0,0 +1,34 @@
+package Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Подія JFR: виконання обробника дії Swing (див. {@link UiActions#traced}).
+ */
+@Name("BusStation.UiAction")
+@Label("Дія інтерфейсу")
+@Description("Обробник дії панелі чи діалогу, що виконується в потоці EDT")
+@Category({"Автовокзал", "Інтерфейс"})
+@StackTrace(false)
+public final class UiActionEvent extends Event {
+
+    @Label("Дія")
+    private String action;
+
+    @Label("Помилка")
+    @Description("Клас винятку, яким завершився обробник")
+    private String error;
+
+    /**
+     * Заповнює поля перед {@link #commit()}.
+     */
+    public void set(String action, String error) {
+        this.action = action;
+        this.error = error;
+    }
+}
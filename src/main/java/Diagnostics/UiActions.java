@@ -0,0 +1,50 @@
+package Diagnostics;
+
+import java.awt.event.ActionListener;
+
+/**
+ * Обгортки обробників дій Swing для діагностики: кожне виконання записується подією
+ * {@link UiActionEvent}, а назва дії, що виконується, доступна через {@link #currentAction()}.
+ */
+public final class UiActions {
+    private static volatile String currentAction;
+
+    private UiActions() {
+    }
+
+    /**
+     * Обгортає обробник дії.
+     * @param name Назва дії у форматі {@code Клас.метод}, наприклад {@code TicketsPanel.searchFlightsAction}.
+     * @param listener Обробник.
+     * @return Обробник, що записує подію {@link UiActionEvent}.
+     */
+    public static ActionListener traced(String name, ActionListener listener) {
+        return event -> {
+            UiActionEvent jfrEvent = new UiActionEvent();
+            jfrEvent.begin();
+            String previous = currentAction;
+            currentAction = name;
+            String error = null;
+            try {
+                listener.actionPerformed(event);
+            } catch (RuntimeException | Error e) {
+                error = e.getClass().getName();
+                throw e;
+            } finally {
+                currentAction = previous;
+                jfrEvent.end();
+                if (jfrEvent.shouldCommit()) {
+                    jfrEvent.set(name, error);
+                    jfrEvent.commit();
+                }
+            }
+        };
+    }
+
+    /**
+     * @return Назва обробника дії, що зараз виконується в EDT, або {@code null}.
+     */
+    public static String currentAction() {
+        return currentAction;
+    }
+}
@@ -0,0 +1,75 @@
+package Events;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.swing.Timer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Накопичує ключі змінених сутностей (наприклад, ID рейсів) з будь-якого потоку та передає їх
+ * обробнику одним пакетом на EDT не частіше одного разу за вікно {@code delayMs}.
+ * <p>
+ * Серія подій (наприклад, генерація сотень рейсів за розкладом) призводить до одного оновлення UI,
+ * а не до окремого оновлення на кожну подію. Повторні ключі в межах вікна об'єднуються.
+ * </p>
+ * @param <K> Тип ключа.
+ */
+public final class EdtCoalescer<K> {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    private final Set<K> pending = new LinkedHashSet<>();
+    private final Consumer<Set<K>> batchHandler;
+    private final Timer timer;
+
+    /**
+     * @param delayMs Тривалість вікна накопичення в мілісекундах.
+     * @param batchHandler Обробник, що викликається на EDT з накопиченими ключами.
+     */
+    public EdtCoalescer(int delayMs, Consumer<Set<K>> batchHandler) {
+        this.batchHandler = batchHandler;
+        this.timer = new Timer(delayMs, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * Додає ключ до поточного пакета та запускає вікно накопичення, якщо воно ще не запущене.
+     * Може викликатися з будь-якого потоку.
+     * @param key Ключ зміненої сутності.
+     */
+    public void add(K key) {
+        synchronized (pending) {
+            pending.add(key);
+        }
+        // Timer.start() для вже запущеного таймера нічого не робить, тож вікно відраховується від першої події.
+        timer.start();
+    }
+
+    /**
+     * Негайно передає накопичені ключі обробнику (викликається на EDT).
+     */
+    public void flush() {
+        Set<K> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashSet<>(pending);
+            pending.clear();
+        }
+        logger.trace("Застосування пакета з {} змін.", batch.size());
+        batchHandler.accept(batch);
+    }
+
+    /**
+     * Зупиняє таймер та відкидає накопичені ключі.
+     */
+    public void stop() {
+        timer.stop();
+        synchronized (pending) {
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package Events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Базовий клас подій про зміну сутностей, що публікуються DAO після успішного запису в базу даних.
+ * <p>
+ * Події доставляються підписникам асинхронно через {@link EventBus}. Кожна подія є незмінною
+ * та містить лише ідентифікатори й мінімальний набір даних, потрібний для точкового оновлення.
+ * </p>
+ */
+public abstract class EntityChangeEvent {
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+
+    /**
+     * @return Час створення події.
+     */
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
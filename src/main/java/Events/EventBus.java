@@ -0,0 +1,132 @@
+package Events;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Внутрішньопроцесна шина подій про зміну сутностей.
+ * <p>
+ * DAO публікують події після успішного запису, а панелі та кеші підписуються на потрібні типи подій.
+ * Доставка асинхронна: публікація лише ставить подію в чергу, тому не сповільнює запис і не
+ * блокує потік, що його виконав. Усі події доставляються одним фоновим потоком у порядку публікації;
+ * підписники, що оновлюють UI, самі переносять роботу на EDT (див. {@link EdtCoalescer}).
+ * Виняток у підписнику логується і не впливає на інших підписників.
+ * </p>
+ */
+public final class EventBus {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final EventBus INSTANCE = new EventBus();
+
+    private final Map<Class<? extends EntityChangeEvent>, List<Consumer<? super EntityChangeEvent>>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), r -> {
+        Thread thread = new Thread(r, "entity-event-bus");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    EventBus() {
+    }
+
+    /**
+     * @return Єдиний екземпляр шини подій.
+     */
+    public static EventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Підписка на шині. Закриття підписки припиняє доставку подій слухачу.
+     */
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Підписує слухача на події вказаного типу (включно з підтипами).
+     * @param eventType Клас події.
+     * @param listener Слухач, що викликається у фоновому потоці шини.
+     * @param <T> Тип події.
+     * @return Підписка, яку слід закрити, коли слухач більше не потрібен.
+     */
+    public <T extends EntityChangeEvent> Subscription subscribe(Class<T> eventType, Consumer<? super T> listener) {
+        Consumer<? super EntityChangeEvent> adapter = event -> listener.accept(eventType.cast(event));
+        subscribers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(adapter);
+        logger.debug("Додано підписника на події {}.", eventType.getSimpleName());
+        return () -> {
+            List<Consumer<? super EntityChangeEvent>> listeners = subscribers.get(eventType);
+            if (listeners != null && listeners.remove(adapter)) {
+                logger.debug("Підписника на події {} видалено.", eventType.getSimpleName());
+            }
+        };
+    }
+
+    /**
+     * Асинхронно публікує подію всім підписникам.
+     * @param event Подія.
+     */
+    public void publish(EntityChangeEvent event) {
+        if (event == null) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> deliver(event));
+            logger.trace("Подію {} поставлено в чергу доставки.", event);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Не вдалося поставити подію {} в чергу доставки.", event, e);
+        }
+    }
+
+    /**
+     * @return Кількість подій, що очікують доставки.
+     */
+    public int getQueueDepth() {
+        return dispatcher.getQueue().size();
+    }
+
+    void deliver(EntityChangeEvent event) {
+        for (Map.Entry<Class<? extends EntityChangeEvent>, List<Consumer<? super EntityChangeEvent>>> entry : subscribers.entrySet()) {
+            if (!entry.getKey().isInstance(event)) {
+                continue;
+            }
+            for (Consumer<? super EntityChangeEvent> listener : entry.getValue()) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    logger.error("Помилка в підписнику під час обробки події {}.", event, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Очікує, доки будуть доставлені всі події, опубліковані до виклику (використовується в тестах).
+     * @param timeout Максимальний час очікування.
+     * @param unit Одиниця часу.
+     * @return {@code true}, якщо черга спорожніла вчасно.
+     */
+    public boolean awaitDelivery(long timeout, TimeUnit unit) {
+        try {
+            dispatcher.submit(() -> { }).get(timeout, unit);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+}
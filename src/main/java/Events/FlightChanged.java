@@ -0,0 +1,27 @@
+package Events;
+
+/**
+ * Подія: рейс створено, змінено або змінено його статус.
+ */
+public final class FlightChanged extends EntityChangeEvent {
+    /**
+     * Тип зміни рейсу.
+     */
+    public enum Kind { CREATED, UPDATED, STATUS_CHANGED }
+
+    private final long flightId;
+    private final Kind kind;
+
+    public FlightChanged(long flightId, Kind kind) {
+        this.flightId = flightId;
+        this.kind = kind;
+    }
+
+    public long getFlightId() { return flightId; }
+    public Kind getKind() { return kind; }
+
+    @Override
+    public String toString() {
+        return "FlightChanged{flightId=" + flightId + ", kind=" + kind + "}";
+    }
+}
@@ -0,0 +1,35 @@
+package Events;
+
+import Models.Passenger;
+
+/**
+ * Подія: пасажира додано або оновлено. Містить знімок даних пасажира на момент запису.
+ */
+public final class PassengerUpdated extends EntityChangeEvent {
+    private final Passenger passenger;
+
+    public PassengerUpdated(Passenger passenger) {
+        this.passenger = copyOf(passenger);
+    }
+
+    public long getPassengerId() { return passenger.getId(); }
+
+    /**
+     * @return Копію знімка пасажира (підписники можуть вільно її змінювати).
+     */
+    public Passenger getPassenger() {
+        return copyOf(passenger);
+    }
+
+    private static Passenger copyOf(Passenger source) {
+        Passenger copy = new Passenger(source.getId(), source.getFullName(), source.getDocumentNumber(),
+                source.getDocumentType(), source.getPhoneNumber(), source.getEmail(), source.getBenefitType());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "PassengerUpdated{passengerId=" + passenger.getId() + "}";
+    }
+}
@@ -0,0 +1,19 @@
+package Events;
+
+/**
+ * Подія: додано новий маршрут.
+ */
+public final class RouteAdded extends EntityChangeEvent {
+    private final long routeId;
+
+    public RouteAdded(long routeId) {
+        this.routeId = routeId;
+    }
+
+    public long getRouteId() { return routeId; }
+
+    @Override
+    public String toString() {
+        return "RouteAdded{routeId=" + routeId + "}";
+    }
+}
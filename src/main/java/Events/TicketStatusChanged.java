@@ -0,0 +1,53 @@
+package Events;
+
+import Models.Enums.TicketStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Подія: квиток створено (заброньовано) або змінено його статус.
+ */
+public final class TicketStatusChanged extends EntityChangeEvent {
+    private final long ticketId;
+    private final long flightId;
+    private final TicketStatus newStatus;
+    private final boolean created;
+    private final LocalDate saleDate;
+
+    /**
+     * @param ticketId ID квитка.
+     * @param flightId ID рейсу або 0, якщо він невідомий у місці публікації.
+     * @param newStatus Новий статус квитка.
+     * @param created {@code true}, якщо квиток щойно створено.
+     */
+    public TicketStatusChanged(long ticketId, long flightId, TicketStatus newStatus, boolean created) {
+        this(ticketId, flightId, newStatus, created, null);
+    }
+
+    /**
+     * @param ticketId ID квитка.
+     * @param flightId ID рейсу або 0, якщо він невідомий у місці публікації.
+     * @param newStatus Новий статус квитка.
+     * @param created {@code true}, якщо квиток щойно створено.
+     * @param saleDate Дата продажу, яку змінює подія (продаж або скасування проданого квитка), або {@code null}.
+     */
+    public TicketStatusChanged(long ticketId, long flightId, TicketStatus newStatus, boolean created, LocalDate saleDate) {
+        this.ticketId = ticketId;
+        this.flightId = flightId;
+        this.newStatus = newStatus;
+        this.created = created;
+        this.saleDate = saleDate;
+    }
+
+    public long getTicketId() { return ticketId; }
+    public long getFlightId() { return flightId; }
+    public TicketStatus getNewStatus() { return newStatus; }
+    public boolean isCreated() { return created; }
+    public LocalDate getSaleDate() { return saleDate; }
+
+    @Override
+    public String toString() {
+        return "TicketStatusChanged{ticketId=" + ticketId + ", flightId=" + flightId +
+                ", newStatus=" + newStatus + ", created=" + created + ", saleDate=" + saleDate + "}";
+    }
+}
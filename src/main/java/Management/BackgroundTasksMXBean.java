@@ -0,0 +1,16 @@
+package Management;
+
+/**
+ * Черги фонових задач.
+ */
+public interface BackgroundTasksMXBean {
+
+    /** @return Кількість подій шини {@link Events.EventBus}, що очікують доставки. */
+    int getEventBusQueueDepth();
+
+    /** @return Кількість частин звітів, що очікують виконання. */
+    int getReportChunksQueued();
+
+    /** @return Кількість частин звітів, що виконуються. */
+    int getReportChunksRunning();
+}
@@ -0,0 +1,25 @@
+package Management;
+
+import Events.EventBus;
+import Services.ReportEngine;
+
+/**
+ * Реалізація {@link BackgroundTasksMXBean}.
+ */
+final class BackgroundTasksMonitor implements BackgroundTasksMXBean {
+
+    @Override
+    public int getEventBusQueueDepth() {
+        return EventBus.getInstance().getQueueDepth();
+    }
+
+    @Override
+    public int getReportChunksQueued() {
+        return ReportEngine.getQueuedChunks();
+    }
+
+    @Override
+    public int getReportChunksRunning() {
+        return ReportEngine.getRunningChunks();
+    }
+}
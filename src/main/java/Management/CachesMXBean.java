@@ -0,0 +1,31 @@
+package Management;
+
+/**
+ * Кеші в пам'яті: результати звітів, індекс пошуку пасажирів і лічильники статусів квитків.
+ */
+public interface CachesMXBean {
+
+    /** @return Кількість збережених результатів звітів. */
+    int getReportCacheSize();
+
+    long getReportCacheHits();
+
+    long getReportCacheMisses();
+
+    /** @return Частка звернень до кешу звітів, обслужених з кешу (0..1); 0, якщо звернень не було. */
+    double getReportCacheHitRatio();
+
+    /** @return Кількість пасажирів в індексі автозаповнення. */
+    int getPassengerIndexSize();
+
+    /** @return {@code true}, якщо початкове завантаження індексу пасажирів завершено. */
+    boolean isPassengerIndexLoaded();
+
+    /** @return {@code true}, якщо лічильники статусів квитків звірено з БД. */
+    boolean isTicketStatusCountersSeeded();
+
+    /**
+     * Очищує кеш звітів і перезавантажує індекс пасажирів у фоновому потоці.
+     */
+    void clearCaches();
+}
@@ -0,0 +1,74 @@
+package Management;
+
+import DAO.PassengerDAO;
+import DAO.TicketStatusCounters;
+import Services.PassengerLookupIndex;
+import Services.ReportResultCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Реалізація {@link CachesMXBean}.
+ */
+final class CachesMonitor implements CachesMXBean {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    private final PassengerDAO passengerDAO;
+
+    CachesMonitor() {
+        this(new PassengerDAO());
+    }
+
+    /**
+     * @param passengerDAO DAO для перезавантаження індексу пасажирів.
+     */
+    CachesMonitor(PassengerDAO passengerDAO) {
+        this.passengerDAO = passengerDAO;
+    }
+
+    @Override
+    public int getReportCacheSize() {
+        return ReportResultCache.getInstance().size();
+    }
+
+    @Override
+    public long getReportCacheHits() {
+        return ReportResultCache.getInstance().getHits();
+    }
+
+    @Override
+    public long getReportCacheMisses() {
+        return ReportResultCache.getInstance().getMisses();
+    }
+
+    @Override
+    public double getReportCacheHitRatio() {
+        long hits = getReportCacheHits();
+        long total = hits + getReportCacheMisses();
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+
+    @Override
+    public int getPassengerIndexSize() {
+        return PassengerLookupIndex.getInstance().size();
+    }
+
+    @Override
+    public boolean isPassengerIndexLoaded() {
+        return PassengerLookupIndex.getInstance().isLoaded();
+    }
+
+    @Override
+    public boolean isTicketStatusCountersSeeded() {
+        return TicketStatusCounters.getInstance().isSeeded();
+    }
+
+    @Override
+    public void clearCaches() {
+        logger.info("Очищення кешів за запитом через JMX.");
+        ReportResultCache.getInstance().invalidateAll();
+        PassengerLookupIndex index = PassengerLookupIndex.getInstance();
+        index.clear();
+        index.startBackgroundLoad(passengerDAO);
+    }
+}
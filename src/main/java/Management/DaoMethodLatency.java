@@ -0,0 +1,43 @@
+package Management;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Затримки та обсяг роботи одного методу DAO для {@link DaoMetricsMXBean}.
+ */
+public final class DaoMethodLatency {
+    private final String method;
+    private final long calls;
+    private final long statements;
+    private final long rowsRead;
+    private final double averageMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    @ConstructorProperties({"method", "calls", "statements", "rowsRead", "averageMillis",
+            "p50Millis", "p95Millis", "p99Millis", "maxMillis"})
+    public DaoMethodLatency(String method, long calls, long statements, long rowsRead, double averageMillis,
+                            double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+        this.method = method;
+        this.calls = calls;
+        this.statements = statements;
+        this.rowsRead = rowsRead;
+        this.averageMillis = averageMillis;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    public String getMethod() { return method; }
+    public long getCalls() { return calls; }
+    public long getStatements() { return statements; }
+    public long getRowsRead() { return rowsRead; }
+    public double getAverageMillis() { return averageMillis; }
+    public double getP50Millis() { return p50Millis; }
+    public double getP95Millis() { return p95Millis; }
+    public double getP99Millis() { return p99Millis; }
+    public double getMaxMillis() { return maxMillis; }
+}
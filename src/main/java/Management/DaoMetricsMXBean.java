@@ -0,0 +1,34 @@
+package Management;
+
+import java.util.List;
+
+/**
+ * Затримки методів DAO, зібрані {@link DB.QueryMetrics}.
+ */
+public interface DaoMetricsMXBean {
+
+    /** @return {@code true}, якщо з'єднання інструментуються. */
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /** @return Поріг журналу повільних запитів, мс; 0 — журнал вимкнено. */
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    /** @return Статистика методів DAO, упорядкована за сумарним часом (від більшого). */
+    List<DaoMethodLatency> getMethods();
+
+    /**
+     * Записує в журнал і повертає методи DAO з найбільшою затримкою (за 95-м перцентилем).
+     * @param limit Кількість методів; непозитивне значення — 10.
+     * @return Рядки звіту, по одному на метод.
+     */
+    String[] dumpSlowQueries(int limit);
+
+    /**
+     * Скидає накопичену статистику методів.
+     */
+    void resetStatistics();
+}
@@ -0,0 +1,78 @@
+package Management;
+
+import DB.QueryMetrics;
+import DB.SlowQueryLog;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Реалізація {@link DaoMetricsMXBean}.
+ */
+final class DaoMetricsMonitor implements DaoMetricsMXBean {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final int DEFAULT_SLOW_QUERIES_LIMIT = 10;
+
+    @Override
+    public boolean isEnabled() {
+        return QueryMetrics.isEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        QueryMetrics.setEnabled(enabled);
+        logger.info("Інструментування запитів DAO {} через JMX.", enabled ? "увімкнено" : "вимкнено");
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return SlowQueryLog.getThresholdMillis();
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long millis) {
+        SlowQueryLog.setThresholdMillis(millis);
+    }
+
+    @Override
+    public List<DaoMethodLatency> getMethods() {
+        List<DaoMethodLatency> result = new ArrayList<>();
+        for (QueryMetrics.MethodStats.Snapshot stats : QueryMetrics.snapshot()) {
+            result.add(toLatency(stats));
+        }
+        return result;
+    }
+
+    static DaoMethodLatency toLatency(QueryMetrics.MethodStats.Snapshot stats) {
+        return new DaoMethodLatency(stats.getMethod(), stats.getCalls(), stats.getStatements(), stats.getRowsRead(),
+                stats.getAverageMillis(), stats.getPercentileMillis(50), stats.getPercentileMillis(95),
+                stats.getPercentileMillis(99), stats.getMaxNanos() / 1_000_000.0);
+    }
+
+    @Override
+    public String[] dumpSlowQueries(int limit) {
+        int count = limit > 0 ? limit : DEFAULT_SLOW_QUERIES_LIMIT;
+        List<DaoMethodLatency> methods = getMethods();
+        methods.sort(Comparator.comparingDouble(DaoMethodLatency::getP95Millis)
+                .thenComparingDouble(DaoMethodLatency::getMaxMillis).reversed());
+        String[] lines = methods.stream()
+                .limit(count)
+                .map(m -> String.format(Locale.ROOT, "%s: %d викл., %d запит., p50 %.0f мс, p95 %.0f мс, p99 %.0f мс, макс. %.1f мс",
+                        m.getMethod(), m.getCalls(), m.getStatements(), m.getP50Millis(), m.getP95Millis(),
+                        m.getP99Millis(), m.getMaxMillis()))
+                .toArray(String[]::new);
+        logger.info("Найповільніші методи DAO (запит через JMX):{}{}", System.lineSeparator(),
+                String.join(System.lineSeparator(), lines));
+        return lines;
+    }
+
+    @Override
+    public void resetStatistics() {
+        QueryMetrics.reset();
+        logger.info("Статистику запитів DAO скинуто через JMX.");
+    }
+}
@@ -0,0 +1,26 @@
+package Management;
+
+/**
+ * Стан з'єднань з базою даних. Пулу з'єднань у програмі немає: кожен виклик DAO відкриває
+ * власне фізичне з'єднання, тому замість розміру пулу показується кількість відкритих з'єднань.
+ */
+public interface DatabaseMXBean {
+
+    /** @return Кількість виданих і ще не закритих з'єднань. */
+    int getOpenConnections();
+
+    /** @return Кількість з'єднань, виданих від запуску програми. */
+    long getConnectionsOpened();
+
+    /** @return Кількість невдалих спроб підключення до основної БД. */
+    long getConnectionFailures();
+
+    /** @return {@code true}, якщо налаштовано репліку для читання. */
+    boolean isReplicaConfigured();
+
+    /** @return Скільки секунд читання ще виконуватиметься на основній БД після помилки репліки. */
+    long getReplicaRetryInSeconds();
+
+    /** @return Останнє виміряне відставання репліки, с; -1, якщо невідомо. */
+    long getReplicaLagSeconds();
+}
@@ -0,0 +1,40 @@
+package Management;
+
+import DB.DatabaseConnectionManager;
+import DB.QueryMetrics;
+
+/**
+ * Реалізація {@link DatabaseMXBean} поверх лічильників {@link QueryMetrics} та {@link DatabaseConnectionManager}.
+ */
+final class DatabaseMonitor implements DatabaseMXBean {
+
+    @Override
+    public int getOpenConnections() {
+        return QueryMetrics.getOpenConnections();
+    }
+
+    @Override
+    public long getConnectionsOpened() {
+        return QueryMetrics.getConnectionsOpened();
+    }
+
+    @Override
+    public long getConnectionFailures() {
+        return DatabaseConnectionManager.getConnectionFailures();
+    }
+
+    @Override
+    public boolean isReplicaConfigured() {
+        return DatabaseConnectionManager.isReplicaConfigured();
+    }
+
+    @Override
+    public long getReplicaRetryInSeconds() {
+        return DatabaseConnectionManager.getReplicaRetryInSeconds();
+    }
+
+    @Override
+    public long getReplicaLagSeconds() {
+        return DatabaseConnectionManager.getLastReplicaLagSeconds();
+    }
+}
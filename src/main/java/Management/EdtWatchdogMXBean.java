@@ -0,0 +1,35 @@
+package Management;
+
+import Diagnostics.EdtWatchdog;
+
+import java.util.List;
+
+/**
+ * Зависання потоку EDT, зафіксовані {@link EdtWatchdog}.
+ */
+public interface EdtWatchdogMXBean {
+
+    /** @return {@code true}, якщо сторожовий потік запущено. */
+    boolean isRunning();
+
+    /** @return Поріг затримки обробки подій, після якого фіксується зависання, мс. */
+    long getThresholdMillis();
+
+    long getStallCount();
+
+    long getMaxStallMillis();
+
+    /** @return Зависання за місцями виклику, упорядковані за сумарною тривалістю (від більшої). */
+    List<EdtWatchdog.CallSiteStall> getStallsByCallSite();
+
+    /**
+     * Записує в журнал і повертає зведення зависань за місцями виклику.
+     * @return Рядки звіту, по одному на місце виклику.
+     */
+    String[] dumpReport();
+
+    /**
+     * Скидає накопичене зведення зависань.
+     */
+    void resetStatistics();
+}
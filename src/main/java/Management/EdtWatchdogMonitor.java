@@ -0,0 +1,53 @@
+package Management;
+
+import Diagnostics.EdtWatchdog;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * Реалізація {@link EdtWatchdogMXBean}.
+ */
+final class EdtWatchdogMonitor implements EdtWatchdogMXBean {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    @Override
+    public boolean isRunning() {
+        return EdtWatchdog.getInstance().isRunning();
+    }
+
+    @Override
+    public long getThresholdMillis() {
+        return EdtWatchdog.getInstance().getThresholdMillis();
+    }
+
+    @Override
+    public long getStallCount() {
+        return EdtWatchdog.getInstance().getStallCount();
+    }
+
+    @Override
+    public long getMaxStallMillis() {
+        return EdtWatchdog.getInstance().getMaxStallMillis();
+    }
+
+    @Override
+    public List<EdtWatchdog.CallSiteStall> getStallsByCallSite() {
+        return EdtWatchdog.getInstance().report();
+    }
+
+    @Override
+    public String[] dumpReport() {
+        String[] lines = EdtWatchdog.getInstance().formatReport().toArray(new String[0]);
+        logger.info("Зависання потоку EDT за місцями виклику (запит через JMX):{}{}", System.lineSeparator(),
+                String.join(System.lineSeparator(), lines));
+        return lines;
+    }
+
+    @Override
+    public void resetStatistics() {
+        EdtWatchdog.getInstance().reset();
+        logger.info("Статистику зависань потоку EDT скинуто через JMX.");
+    }
+}
@@ -0,0 +1,77 @@
+package Management;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Реєстрація MXBean-ів програми в платформному MBean-сервері, щоб стан з'єднань, кешів, затримок DAO,
+ * фонових черг і зависань потоку EDT можна було переглядати через {@code jconsole} (домен {@value #DOMAIN}).
+ * Помилка реєстрації не заважає роботі програми і лише записується в журнал.
+ */
+public final class ManagementBeans {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final String DOMAIN = "BusStation";
+
+    private ManagementBeans() {
+    }
+
+    private static Map<String, Object> beans() {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        beans.put("Database", new DatabaseMonitor());
+        beans.put("Caches", new CachesMonitor());
+        beans.put("DaoMetrics", new DaoMetricsMonitor());
+        beans.put("BackgroundTasks", new BackgroundTasksMonitor());
+        beans.put("EdtWatchdog", new EdtWatchdogMonitor());
+        return beans;
+    }
+
+    static ObjectName objectName(String type) throws JMException {
+        return new ObjectName(DOMAIN + ":type=" + type);
+    }
+
+    /**
+     * Реєструє всі MXBean-и; вже зареєстровані пропускаються.
+     * @return Кількість зареєстрованих цим викликом MXBean-ів.
+     */
+    public static synchronized int registerAll() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        int registered = 0;
+        for (Map.Entry<String, Object> bean : beans().entrySet()) {
+            try {
+                ObjectName name = objectName(bean.getKey());
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(bean.getValue(), name);
+                    registered++;
+                }
+            } catch (JMException e) {
+                logger.warn("Не вдалося зареєструвати MXBean {}.", bean.getKey(), e);
+            }
+        }
+        logger.info("Зареєстровано {} MXBean-ів у домені {}.", registered, DOMAIN);
+        return registered;
+    }
+
+    /**
+     * Знімає з реєстрації всі MXBean-и програми.
+     */
+    public static synchronized void unregisterAll() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (String type : beans().keySet()) {
+            try {
+                ObjectName name = objectName(type);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                logger.warn("Не вдалося зняти з реєстрації MXBean {}.", type, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package Models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запис журналу змін ({@code change_log}), який тригери бази даних додають при кожній зміні
+ * рейсу, квитка, пасажира або маршруту. Використовується для поширення змін між робочими місцями.
+ */
+public final class ChangeLogEntry {
+
+    /**
+     * Тип сутності, до якої відноситься запис журналу.
+     */
+    public enum EntityType { FLIGHT, TICKET, PASSENGER, ROUTE }
+
+    private final long sequence;
+    private final EntityType entityType;
+    private final long entityId;
+    private final String changeType;
+    private final long flightId;
+    private final String newStatus;
+    private final LocalDateTime changedAt;
+
+    /**
+     * @param sequence Порядковий номер запису (зростає монотонно).
+     * @param entityType Тип сутності.
+     * @param entityId ID зміненої сутності.
+     * @param changeType Тип зміни ({@code CREATED}, {@code UPDATED}, {@code STATUS_CHANGED}).
+     * @param flightId ID рейсу (для рейсів та квитків) або 0.
+     * @param newStatus Новий статус (для рейсів та квитків) або {@code null}.
+     * @param changedAt Час зміни.
+     */
+    public ChangeLogEntry(long sequence, EntityType entityType, long entityId, String changeType,
+                          long flightId, String newStatus, LocalDateTime changedAt) {
+        this.sequence = sequence;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+        this.flightId = flightId;
+        this.newStatus = newStatus;
+        this.changedAt = changedAt;
+    }
+
+    public long getSequence() { return sequence; }
+    public EntityType getEntityType() { return entityType; }
+    public long getEntityId() { return entityId; }
+    public String getChangeType() { return changeType; }
+    public long getFlightId() { return flightId; }
+    public String getNewStatus() { return newStatus; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+
+    @Override
+    public String toString() {
+        return "ChangeLogEntry{seq=" + sequence + ", " + entityType + " " + entityId + " " + changeType +
+                (flightId > 0 ? ", flightId=" + flightId : "") +
+                (newStatus != null ? ", status=" + newStatus : "") + "}";
+    }
+}
@@ -0,0 +1,115 @@
+package Models;
+
+import Models.Enums.FlightStatus;
+import Models.Enums.TicketStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Знімок операційних показників для панелі моніторингу: відправлення дня із завантаженістю,
+ * бронювання, термін яких спливає найближчим часом, кількість квитків за статусами та продажі за день.
+ */
+public final class DashboardSnapshot {
+
+    /**
+     * Рядок табло відправлень.
+     */
+    public static final class Departure {
+        private final long flightId;
+        private final LocalDateTime departureDateTime;
+        private final String routeDescription;
+        private final FlightStatus status;
+        private final int totalSeats;
+        private final int occupiedSeats;
+
+        public Departure(long flightId, LocalDateTime departureDateTime, String routeDescription,
+                         FlightStatus status, int totalSeats, int occupiedSeats) {
+            this.flightId = flightId;
+            this.departureDateTime = departureDateTime;
+            this.routeDescription = routeDescription;
+            this.status = status;
+            this.totalSeats = totalSeats;
+            this.occupiedSeats = occupiedSeats;
+        }
+
+        public long getFlightId() { return flightId; }
+        public LocalDateTime getDepartureDateTime() { return departureDateTime; }
+        public String getRouteDescription() { return routeDescription; }
+        public FlightStatus getStatus() { return status; }
+        public int getTotalSeats() { return totalSeats; }
+        public int getOccupiedSeats() { return occupiedSeats; }
+
+        /**
+         * @return Частка зайнятих місць від 0 до 1 (0, якщо кількість місць не задана).
+         */
+        public double getLoadFactor() {
+            return totalSeats > 0 ? (double) occupiedSeats / totalSeats : 0.0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Departure that = (Departure) o;
+            return flightId == that.flightId && totalSeats == that.totalSeats && occupiedSeats == that.occupiedSeats &&
+                    Objects.equals(departureDateTime, that.departureDateTime) &&
+                    Objects.equals(routeDescription, that.routeDescription) && status == that.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(flightId, departureDateTime, routeDescription, status, totalSeats, occupiedSeats);
+        }
+    }
+
+    private final List<Departure> departures;
+    private final int expiringBookings;
+    private final int ticketsSoldToday;
+    private final BigDecimal salesToday;
+    private final Map<TicketStatus, Integer> ticketCountsByStatus;
+
+    /**
+     * @param departures Відправлення дня в порядку часу відправлення.
+     * @param expiringBookings Кількість бронювань, термін яких спливає у вікні попередження.
+     * @param ticketsSoldToday Кількість квитків, проданих за день.
+     * @param salesToday Виручка за день.
+     * @param ticketCountsByStatus Кількість квитків за статусами.
+     */
+    public DashboardSnapshot(List<Departure> departures, int expiringBookings, int ticketsSoldToday,
+                             BigDecimal salesToday, Map<TicketStatus, Integer> ticketCountsByStatus) {
+        this.departures = Collections.unmodifiableList(departures);
+        this.expiringBookings = expiringBookings;
+        this.ticketsSoldToday = ticketsSoldToday;
+        this.salesToday = salesToday != null ? salesToday : BigDecimal.ZERO;
+        Map<TicketStatus, Integer> counts = new EnumMap<>(TicketStatus.class);
+        counts.putAll(ticketCountsByStatus);
+        this.ticketCountsByStatus = Collections.unmodifiableMap(counts);
+    }
+
+    public List<Departure> getDepartures() { return departures; }
+    public int getExpiringBookings() { return expiringBookings; }
+    public int getTicketsSoldToday() { return ticketsSoldToday; }
+    public BigDecimal getSalesToday() { return salesToday; }
+    public Map<TicketStatus, Integer> getTicketCountsByStatus() { return ticketCountsByStatus; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DashboardSnapshot that = (DashboardSnapshot) o;
+        return expiringBookings == that.expiringBookings && ticketsSoldToday == that.ticketsSoldToday &&
+                salesToday.compareTo(that.salesToday) == 0 && departures.equals(that.departures) &&
+                ticketCountsByStatus.equals(that.ticketCountsByStatus);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(departures, expiringBookings, ticketsSoldToday, salesToday.stripTrailingZeros(), ticketCountsByStatus);
+    }
+}
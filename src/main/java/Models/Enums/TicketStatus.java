@@ -63,6 +63,28 @@ public enum TicketStatus {
         return displayName;
     }
 
+    /**
+     * Перевіряє, чи допускається перехід квитка з цього статусу в указаний.
+     * Заброньований квиток можна продати або скасувати, проданий — скасувати (повернення)
+     * або позначити використаним. Скасований та використаний квитки є кінцевими станами.
+     *
+     * @param target Новий статус квитка.
+     * @return {@code true}, якщо перехід дозволений.
+     */
+    public boolean canTransitionTo(TicketStatus target) {
+        if (target == null) {
+            return false;
+        }
+        switch (this) {
+            case BOOKED:
+                return target == SOLD || target == CANCELLED;
+            case SOLD:
+                return target == CANCELLED || target == USED;
+            default:
+                return false;
+        }
+    }
+
     /**
      * Повертає рядкове представлення об'єкта, яке є його відображуваним ім'ям.
      * Перевизначений для зручності відображення та відлагодження.
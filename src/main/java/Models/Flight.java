@@ -40,6 +40,9 @@ public class Flight {
     private FlightStatus status;
     private String busModel;
     private BigDecimal pricePerSeat;
+    private long version;
+    private int bookedCount;
+    private int soldCount;
 
     /**
      * Конструктор для створення нового екземпляра рейсу.
@@ -268,6 +271,69 @@ public class Flight {
         this.pricePerSeat = pricePerSeat;
     }
 
+    /**
+     * Повертає версію запису в базі даних, прочитану разом з даними рейсу.
+     * Використовується для оптимістичного контролю паралельних змін.
+     * @return Версія запису (0 для нового запису).
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Встановлює версію запису в базі даних.
+     * @param version Версія запису.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Повертає кількість заброньованих місць, прочитану з лічильника {@code flights.booked_count}.
+     * @return Кількість заброньованих (ще не оплачених) місць.
+     */
+    public int getBookedCount() {
+        return bookedCount;
+    }
+
+    /**
+     * Встановлює кількість заброньованих місць.
+     * @param bookedCount Кількість заброньованих місць.
+     */
+    public void setBookedCount(int bookedCount) {
+        this.bookedCount = bookedCount;
+    }
+
+    /**
+     * Повертає кількість проданих місць, прочитану з лічильника {@code flights.sold_count}.
+     * @return Кількість проданих місць.
+     */
+    public int getSoldCount() {
+        return soldCount;
+    }
+
+    /**
+     * Встановлює кількість проданих місць.
+     * @param soldCount Кількість проданих місць.
+     */
+    public void setSoldCount(int soldCount) {
+        this.soldCount = soldCount;
+    }
+
+    /**
+     * @return Кількість зайнятих місць (заброньованих та проданих).
+     */
+    public int getOccupiedSeats() {
+        return bookedCount + soldCount;
+    }
+
+    /**
+     * @return Частка зайнятих місць від 0 до 1 (0, якщо кількість місць не задана).
+     */
+    public double getLoadFactor() {
+        return totalSeats > 0 ? (double) getOccupiedSeats() / totalSeats : 0;
+    }
+
     /**
      * Повертає рядкове представлення об'єкта {@code Flight}.
      * Формат: "Рейс [id]: [опис маршруту], Відправлення: [дата/час відправлення], Статус: [відображуване ім'я статусу]".
@@ -23,6 +23,7 @@ public class Passenger {
     private String phoneNumber;
     private String email;
     private BenefitType benefitType;
+    private long version;
 
     /**
      * Конструктор для створення об'єкта Пасажир з усіма необхідними даними.
@@ -202,6 +203,23 @@ public class Passenger {
         logger.info("Зміна типу пільги для пасажира ID {}: з {} на {}", this.id, oldBenefitType, this.benefitType);
     }
 
+    /**
+     * Повертає версію запису в базі даних, прочитану разом з даними пасажира.
+     * Використовується для оптимістичного контролю паралельних змін.
+     * @return Версія запису (0 для нового запису).
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Встановлює версію запису в базі даних.
+     * @param version Версія запису.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     /**
      * Повертає рядкове представлення об'єкта {@code Passenger}.
      * Формат: "ПІБ (ID: id, Док.: ТипДокумента НомерДокумента, Тел: Телефон, Email: Email, Пільга: ТипПільги)".
@@ -0,0 +1,119 @@
+package Models;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Клас, що представляє шаблон регулярного розкладу рейсів.
+ * <p>
+ * Шаблон описує, за яким маршрутом, о котрій годині та в які дні тижня
+ * виконується рейс протягом сезону. На основі шаблону сервіс
+ * {@link Services.ScheduleGenerator} генерує окремі екземпляри {@link Flight}
+ * для кожної дати сезону, що припадає на обрані дні тижня.
+ * </p>
+ *
+ * @see Flight
+ * @see Services.ScheduleGenerator
+ */
+public class ScheduleTemplate {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    private final Route route;
+    private final LocalTime departureTime;
+    private final Duration travelDuration;
+    private final Set<DayOfWeek> daysOfWeek;
+    private final LocalDate seasonStart;
+    private final LocalDate seasonEnd;
+    private final String busModel;
+    private final int totalSeats;
+    private final BigDecimal pricePerSeat;
+
+    /**
+     * Конструктор шаблону розкладу.
+     *
+     * @param route Маршрут рейсів.
+     * @param departureTime Час відправлення (однаковий для всіх дат сезону).
+     * @param travelDuration Тривалість поїздки, з якої обчислюється час прибуття.
+     * @param daysOfWeek Дні тижня, в які виконується рейс.
+     * @param seasonStart Перша дата сезону (включно).
+     * @param seasonEnd Остання дата сезону (включно).
+     * @param busModel Модель автобуса (може бути null).
+     * @param totalSeats Кількість місць в автобусі.
+     * @param pricePerSeat Ціна за місце.
+     * @throws IllegalArgumentException якщо параметри шаблону некоректні.
+     */
+    public ScheduleTemplate(Route route, LocalTime departureTime, Duration travelDuration, Set<DayOfWeek> daysOfWeek,
+                            LocalDate seasonStart, LocalDate seasonEnd, String busModel, int totalSeats, BigDecimal pricePerSeat) {
+        logger.debug("Спроба створити шаблон розкладу для маршруту ID: {}", route != null ? route.getId() : "null");
+
+        if (route == null) {
+            logger.error("Помилка створення ScheduleTemplate: маршрут не може бути null.");
+            throw new IllegalArgumentException("Маршрут (route) не може бути null");
+        }
+        if (departureTime == null) {
+            logger.error("Помилка створення ScheduleTemplate: час відправлення не може бути null.");
+            throw new IllegalArgumentException("Час відправлення (departureTime) не може бути null");
+        }
+        if (travelDuration == null || travelDuration.isZero() || travelDuration.isNegative()) {
+            logger.error("Помилка створення ScheduleTemplate: тривалість поїздки ({}) має бути додатною.", travelDuration);
+            throw new IllegalArgumentException("Тривалість поїздки (travelDuration) має бути додатною");
+        }
+        if (daysOfWeek == null || daysOfWeek.isEmpty()) {
+            logger.error("Помилка створення ScheduleTemplate: не обрано жодного дня тижня.");
+            throw new IllegalArgumentException("Потрібно обрати хоча б один день тижня");
+        }
+        if (seasonStart == null || seasonEnd == null) {
+            logger.error("Помилка створення ScheduleTemplate: дати сезону не можуть бути null.");
+            throw new IllegalArgumentException("Дати сезону не можуть бути null");
+        }
+        if (seasonEnd.isBefore(seasonStart)) {
+            logger.error("Помилка створення ScheduleTemplate: кінець сезону ({}) раніше за початок ({}).", seasonEnd, seasonStart);
+            throw new IllegalArgumentException("Кінець сезону не може бути раніше за його початок");
+        }
+        if (totalSeats <= 0) {
+            logger.error("Помилка створення ScheduleTemplate: кількість місць ({}) має бути позитивною.", totalSeats);
+            throw new IllegalArgumentException("Загальна кількість місць (totalSeats) має бути позитивним числом");
+        }
+        if (pricePerSeat == null || pricePerSeat.compareTo(BigDecimal.ZERO) < 0) {
+            logger.error("Помилка створення ScheduleTemplate: некоректна ціна за місце ({}).", pricePerSeat);
+            throw new IllegalArgumentException("Ціна за місце (pricePerSeat) не може бути null або від'ємною");
+        }
+
+        this.route = route;
+        this.departureTime = departureTime;
+        this.travelDuration = travelDuration;
+        this.daysOfWeek = Collections.unmodifiableSet(EnumSet.copyOf(daysOfWeek));
+        this.seasonStart = seasonStart;
+        this.seasonEnd = seasonEnd;
+        this.busModel = busModel;
+        this.totalSeats = totalSeats;
+        this.pricePerSeat = pricePerSeat;
+        logger.info("Шаблон розкладу створено: маршрут ID={}, {} - {}, дні: {}", route.getId(), seasonStart, seasonEnd, this.daysOfWeek);
+    }
+
+    public Route getRoute() { return route; }
+    public LocalTime getDepartureTime() { return departureTime; }
+    public Duration getTravelDuration() { return travelDuration; }
+    public Set<DayOfWeek> getDaysOfWeek() { return daysOfWeek; }
+    public LocalDate getSeasonStart() { return seasonStart; }
+    public LocalDate getSeasonEnd() { return seasonEnd; }
+    public String getBusModel() { return busModel; }
+    public int getTotalSeats() { return totalSeats; }
+    public BigDecimal getPricePerSeat() { return pricePerSeat; }
+
+    @Override
+    public String toString() {
+        return "Шаблон розкладу: " + route.getFullRouteDescription() +
+                ", " + departureTime + ", дні: " + daysOfWeek +
+                ", сезон: " + seasonStart + " - " + seasonEnd;
+    }
+}
@@ -17,6 +17,11 @@ import java.util.Objects;
  */
 public class Ticket {
     private static final Logger logger = LogManager.getLogger("insurance.log");
+    /**
+     * Термін дії броні, год. Бронювання спливає не пізніше ніж через цей час після створення,
+     * тож запити за терміном дії броні обмежують і дату бронювання (відсікання секцій {@code tickets}).
+     */
+    public static final int BOOKING_HOLD_HOURS = 24;
 
     private long id;
     private Flight flight;
@@ -0,0 +1,246 @@
+package Services;
+
+import Config.DatabaseConfig;
+import DAO.ChangeLogDAO;
+import DAO.PassengerDAO;
+import Events.EntityChangeEvent;
+import Events.EventBus;
+import Events.FlightChanged;
+import Events.PassengerUpdated;
+import Events.RouteAdded;
+import Events.TicketStatusChanged;
+import Models.ChangeLogEntry;
+import Models.Enums.TicketStatus;
+import Models.Passenger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Фоновий опитувач журналу змін ({@code change_log}) для поширення змін між робочими місцями.
+ * <p>
+ * Кожні {@code changelog.poll.interval.ms} мілісекунд виконує один діапазонний запит за первинним
+ * ключем журналу (записи після останнього прочитаного номера) і публікує відповідні події в
+ * {@link EventBus}, тож панелі та кеші (наприклад, {@link PassengerLookupIndex}) оновлюються так само,
+ * як і після локальних змін. Власні зміни робочого місця також повертаються з журналу; підписники
+ * обробляють повторні події ідемпотентно.
+ * </p>
+ * <p>
+ * Номери {@code AUTO_INCREMENT} видаються до фіксації транзакції, тому запис з меншим номером може
+ * стати видимим пізніше за запис з більшим. Пропущені номери запам'ятовуються і перевіряються
+ * повторно протягом {@link #GAP_TIMEOUT_MS} (після цього вважається, що транзакцію було відкочено).
+ * </p>
+ */
+public final class ChangeLogPoller {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final int DEFAULT_INTERVAL_MS = 2000;
+    static final int BATCH_SIZE = 500;
+    static final long GAP_TIMEOUT_MS = 30_000;
+    static final int MAX_TRACKED_GAP = 1000;
+    private static final long PURGE_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final ChangeLogDAO changeLogDAO;
+    private final PassengerDAO passengerDAO;
+    private final EventBus eventBus;
+    private final long intervalMs;
+    private final int retentionHours;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    /** Пропущені номери журналу та момент (мс), коли їх виявлено. */
+    private final Map<Long, Long> gaps = new TreeMap<>();
+    private ScheduledExecutorService scheduler;
+    private long lastSequence = -1;
+    private long lastPurgeMillis = 0;
+
+    /**
+     * Створює опитувач з налаштуваннями з {@code db.properties}.
+     */
+    public ChangeLogPoller() {
+        this(new ChangeLogDAO(), new PassengerDAO(), EventBus.getInstance(),
+                DatabaseConfig.getIntProperty("changelog.poll.interval.ms", DEFAULT_INTERVAL_MS),
+                DatabaseConfig.getIntProperty("changelog.retention.hours", 24));
+    }
+
+    /**
+     * Конструктор для впровадження залежностей (використовується в тестах).
+     * @param changeLogDAO DAO журналу змін.
+     * @param passengerDAO DAO пасажирів (для читання актуальних даних змінених пасажирів).
+     * @param eventBus Шина, в яку публікуються події.
+     * @param intervalMs Інтервал опитування в мілісекундах.
+     * @param retentionHours Скільки годин зберігати записи журналу (0 — не очищувати).
+     */
+    public ChangeLogPoller(ChangeLogDAO changeLogDAO, PassengerDAO passengerDAO, EventBus eventBus,
+                           long intervalMs, int retentionHours) {
+        this.changeLogDAO = changeLogDAO;
+        this.passengerDAO = passengerDAO;
+        this.eventBus = eventBus;
+        this.intervalMs = intervalMs > 0 ? intervalMs : DEFAULT_INTERVAL_MS;
+        this.retentionHours = retentionHours;
+    }
+
+    /**
+     * Запускає періодичне опитування у фоновому потоці. Повторні виклики ігноруються.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "change-log-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pollSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Опитування журналу змін запущено з інтервалом {} мс.", intervalMs);
+    }
+
+    /**
+     * Зупиняє опитування.
+     */
+    public void stop() {
+        if (started.compareAndSet(true, false) && scheduler != null) {
+            scheduler.shutdownNow();
+            logger.info("Опитування журналу змін зупинено.");
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            pollOnce();
+            purgeIfDue();
+        } catch (SQLException e) {
+            logger.warn("Помилка опитування журналу змін. Спроба буде повторена через {} мс.", intervalMs, e);
+        } catch (RuntimeException e) {
+            logger.error("Неочікувана помилка опитування журналу змін.", e);
+        }
+    }
+
+    /**
+     * Виконує одну ітерацію опитування. Перша ітерація лише запам'ятовує поточний кінець журналу,
+     * оскільки панелі на момент запуску вже завантажили актуальні дані.
+     * @return Кількість оброблених записів журналу.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    synchronized int pollOnce() throws SQLException {
+        if (lastSequence < 0) {
+            lastSequence = changeLogDAO.getLatestSequence();
+            logger.debug("Опитування журналу змін починається з номера {}.", lastSequence);
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        List<ChangeLogEntry> entries = changeLogDAO.getChangesAfter(lastSequence, gaps.keySet(), BATCH_SIZE);
+        // Пасажири всієї пачки читаються одним запитом, а не окремо для кожного запису.
+        Set<Long> passengerIds = new LinkedHashSet<>();
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getEntityType() == ChangeLogEntry.EntityType.PASSENGER) {
+                passengerIds.add(entry.getEntityId());
+            }
+        }
+        Map<Long, Passenger> passengers = passengerIds.isEmpty() ? Collections.emptyMap() : passengerDAO.findByIds(passengerIds);
+        for (ChangeLogEntry entry : entries) {
+            long seq = entry.getSequence();
+            if (gaps.remove(seq) == null && seq > lastSequence) {
+                trackGap(lastSequence + 1, seq, now);
+                lastSequence = seq;
+            }
+            publish(entry, passengers);
+        }
+        expireGaps(now);
+        return entries.size();
+    }
+
+    /**
+     * @return Останній прочитаний номер журналу або -1, якщо опитування ще не виконувалося.
+     */
+    synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * @return Кількість пропущених номерів, що очікують повторної перевірки.
+     */
+    synchronized int getPendingGapCount() {
+        return gaps.size();
+    }
+
+    private void trackGap(long fromInclusive, long toExclusive, long now) {
+        if (toExclusive - fromInclusive > MAX_TRACKED_GAP) {
+            // Великий стрибок номерів (наприклад, після перезапуску сервера) не є незафіксованими транзакціями.
+            logger.debug("Пропуск номерів журналу {}..{} занадто великий для відстеження.", fromInclusive, toExclusive - 1);
+            return;
+        }
+        for (long seq = fromInclusive; seq < toExclusive; seq++) {
+            gaps.put(seq, now);
+        }
+    }
+
+    private void expireGaps(long now) {
+        Iterator<Map.Entry<Long, Long>> iterator = gaps.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue() >= GAP_TIMEOUT_MS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void publish(ChangeLogEntry entry, Map<Long, Passenger> passengers) {
+        EntityChangeEvent event = toEvent(entry, passengers);
+        if (event != null) {
+            logger.trace("Зміну з журналу {} опубліковано як {}.", entry, event);
+            eventBus.publish(event);
+        }
+    }
+
+    private EntityChangeEvent toEvent(ChangeLogEntry entry, Map<Long, Passenger> passengers) {
+        switch (entry.getEntityType()) {
+            case FLIGHT:
+                FlightChanged.Kind kind;
+                if ("CREATED".equals(entry.getChangeType())) {
+                    kind = FlightChanged.Kind.CREATED;
+                } else if ("STATUS_CHANGED".equals(entry.getChangeType())) {
+                    kind = FlightChanged.Kind.STATUS_CHANGED;
+                } else {
+                    kind = FlightChanged.Kind.UPDATED;
+                }
+                return new FlightChanged(entry.getEntityId(), kind);
+            case TICKET:
+                TicketStatus status;
+                try {
+                    status = TicketStatus.valueOf(entry.getNewStatus());
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    logger.warn("Невідомий статус квитка '{}' у записі журналу {}.", entry.getNewStatus(), entry.getSequence());
+                    return null;
+                }
+                return new TicketStatusChanged(entry.getEntityId(), entry.getFlightId(), status,
+                        "CREATED".equals(entry.getChangeType()));
+            case PASSENGER:
+                Passenger passenger = passengers.get(entry.getEntityId());
+                return passenger != null ? new PassengerUpdated(passenger) : null;
+            case ROUTE:
+                return new RouteAdded(entry.getEntityId());
+            default:
+                return null;
+        }
+    }
+
+    private void purgeIfDue() throws SQLException {
+        long now = System.currentTimeMillis();
+        if (retentionHours <= 0 || now - lastPurgeMillis < PURGE_INTERVAL_MS) {
+            return;
+        }
+        lastPurgeMillis = now;
+        changeLogDAO.purgeOlderThan(LocalDateTime.now().minusHours(retentionHours));
+    }
+}
@@ -0,0 +1,90 @@
+package Services;
+
+import DAO.DailyRouteSalesDAO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Завдання заповнення та перебудови денного підсумку продажів ({@code daily_route_sales}).
+ * <p>
+ * Перебудовує підсумок помісячно, окремою транзакцією на кожен місяць, щоб не тримати блокування
+ * на весь період. Запускається один раз після міграції {@code V5__daily_route_sales.sql} для
+ * історичних даних, а також за потреби виправити розбіжності:
+ * {@code java Services.DailySalesRollupRebuilder [з_дати [по_дату]]} (дати у форматі {@code yyyy-MM-dd}).
+ * </p>
+ */
+public class DailySalesRollupRebuilder {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    private final DailyRouteSalesDAO dailyRouteSalesDAO;
+
+    /**
+     * Конструктор за замовчуванням.
+     */
+    public DailySalesRollupRebuilder() {
+        this(new DailyRouteSalesDAO());
+    }
+
+    /**
+     * Конструктор для використання з переданим DAO (наприклад, для тестування).
+     * @param dailyRouteSalesDAO DAO денного підсумку продажів.
+     * @throws IllegalArgumentException якщо {@code dailyRouteSalesDAO} є null.
+     */
+    public DailySalesRollupRebuilder(DailyRouteSalesDAO dailyRouteSalesDAO) {
+        if (dailyRouteSalesDAO == null) {
+            throw new IllegalArgumentException("DailyRouteSalesDAO не може бути null.");
+        }
+        this.dailyRouteSalesDAO = dailyRouteSalesDAO;
+    }
+
+    /**
+     * Перебудовує підсумок від дати першого продажу до {@code today}.
+     * @param today Остання дата перебудови (включно).
+     * @return Кількість записаних рядків підсумку.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public int rebuildAll(LocalDate today) throws SQLException {
+        Optional<LocalDate> firstSale = dailyRouteSalesDAO.getFirstSaleDate();
+        if (!firstSale.isPresent()) {
+            logger.info("Продажів немає. Підсумок продажів не потребує заповнення.");
+            return 0;
+        }
+        return rebuild(firstSale.get(), today);
+    }
+
+    /**
+     * Перебудовує підсумок за діапазон дат помісячними частинами.
+     * @param from Перша дата (включно).
+     * @param to Остання дата (включно).
+     * @return Кількість записаних рядків підсумку.
+     * @throws SQLException якщо виникає помилка доступу до бази даних; вже перебудовані місяці залишаються зафіксованими.
+     */
+    public int rebuild(LocalDate from, LocalDate to) throws SQLException {
+        long startNanos = System.nanoTime();
+        int total = 0;
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            LocalDate monthEnd = chunkStart.withDayOfMonth(chunkStart.lengthOfMonth());
+            LocalDate chunkEnd = monthEnd.isAfter(to) ? to : monthEnd;
+            total += dailyRouteSalesDAO.rebuild(chunkStart, chunkEnd);
+            chunkStart = chunkEnd.plusDays(1);
+        }
+        logger.info("Підсумок продажів за період {} - {} перебудовано: {} рядків за {} мс.",
+                from, to, total, (System.nanoTime() - startNanos) / 1_000_000);
+        return total;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        DailySalesRollupRebuilder rebuilder = new DailySalesRollupRebuilder();
+        LocalDate today = LocalDate.now();
+        if (args.length == 0) {
+            rebuilder.rebuildAll(today);
+        } else {
+            rebuilder.rebuild(LocalDate.parse(args[0]), args.length > 1 ? LocalDate.parse(args[1]) : today);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package Services;
+
+import Config.DatabaseConfig;
+import DAO.ArchiveDAO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Фонова архівація завершених рейсів та їхніх квитків.
+ * <p>
+ * Раз на {@code archive.interval.hours} годин переносить рейси зі статусом {@code ARRIVED} або
+ * {@code CANCELLED}, що прибули понад {@code archive.horizon.days} днів тому, в архівні таблиці
+ * ({@link ArchiveDAO}). Рейси переносяться пакетами по {@code archive.batch.size} в окремих
+ * транзакціях з паузою {@code archive.batch.pause.ms} мс між ними, щоб архівація не конкурувала
+ * з продажами за блокування та ресурси бази даних.
+ * </p>
+ */
+public final class FlightArchiver {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final int DEFAULT_HORIZON_DAYS = 180;
+    static final int DEFAULT_BATCH_SIZE = 20;
+    static final int DEFAULT_BATCH_PAUSE_MS = 500;
+    static final int DEFAULT_INTERVAL_HOURS = 24;
+
+    private final ArchiveDAO archiveDAO;
+    private final int horizonDays;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final long intervalHours;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Створює архівацію з налаштуваннями з {@code db.properties}.
+     */
+    public FlightArchiver() {
+        this(new ArchiveDAO(),
+                DatabaseConfig.getIntProperty("archive.horizon.days", DEFAULT_HORIZON_DAYS),
+                DatabaseConfig.getIntProperty("archive.batch.size", DEFAULT_BATCH_SIZE),
+                DatabaseConfig.getIntProperty("archive.batch.pause.ms", DEFAULT_BATCH_PAUSE_MS),
+                DatabaseConfig.getIntProperty("archive.interval.hours", DEFAULT_INTERVAL_HOURS));
+    }
+
+    /**
+     * Конструктор для впровадження залежностей (використовується в тестах).
+     * @param archiveDAO DAO архівації.
+     * @param horizonDays Кількість днів після прибуття, протягом яких рейс залишається в робочих таблицях.
+     * @param batchSize Максимальна кількість рейсів в одній транзакції.
+     * @param batchPauseMillis Пауза між транзакціями, мс.
+     * @param intervalHours Інтервал запуску архівації в годинах.
+     */
+    public FlightArchiver(ArchiveDAO archiveDAO, int horizonDays, int batchSize, long batchPauseMillis, long intervalHours) {
+        this.archiveDAO = archiveDAO;
+        this.horizonDays = horizonDays > 0 ? horizonDays : DEFAULT_HORIZON_DAYS;
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        this.batchPauseMillis = Math.max(0, batchPauseMillis);
+        this.intervalHours = intervalHours > 0 ? intervalHours : DEFAULT_INTERVAL_HOURS;
+    }
+
+    /**
+     * Запускає періодичну архівацію у фоновому потоці, якщо {@code archive.enabled} не дорівнює 0.
+     * Повторні виклики ігноруються.
+     */
+    public void start() {
+        if (DatabaseConfig.getIntProperty("archive.enabled", 1) == 0) {
+            logger.info("Архівацію рейсів вимкнено (archive.enabled=0).");
+            return;
+        }
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "flight-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Перший запуск відкладається, щоб не навантажувати базу під час запуску програми.
+        scheduler.scheduleWithFixedDelay(this::archiveSafely, 1, intervalHours * 60, TimeUnit.MINUTES);
+        logger.info("Архівацію рейсів запущено: горизонт {} дн., пакет {} рейсів, пауза {} мс, інтервал {} год.",
+                horizonDays, batchSize, batchPauseMillis, intervalHours);
+    }
+
+    /**
+     * Зупиняє архівацію. Поточна транзакція завершується, наступні пакети не виконуються.
+     */
+    public void stop() {
+        if (started.compareAndSet(true, false) && scheduler != null) {
+            scheduler.shutdownNow();
+            logger.info("Архівацію рейсів зупинено.");
+        }
+    }
+
+    private void archiveSafely() {
+        try {
+            archive(LocalDateTime.now().minusDays(horizonDays));
+        } catch (SQLException e) {
+            logger.warn("Помилка архівації рейсів. Спроба буде повторена через {} год.", intervalHours, e);
+        } catch (RuntimeException e) {
+            logger.error("Неочікувана помилка архівації рейсів.", e);
+        }
+    }
+
+    /**
+     * Архівує пакетами всі завершені рейси, що прибули раніше {@code cutoff}.
+     * Переривання потоку зупиняє архівацію між пакетами.
+     * @param cutoff Межа часу прибуття.
+     * @return Кількість архівованих рейсів.
+     * @throws SQLException якщо виникає помилка доступу до бази даних (вже зафіксовані пакети залишаються в архіві).
+     */
+    public int archive(LocalDateTime cutoff) throws SQLException {
+        int total = 0;
+        int archived;
+        do {
+            archived = archiveDAO.archiveBatch(cutoff, batchSize);
+            total += archived;
+            if (archived == batchSize && batchPauseMillis > 0) {
+                try {
+                    Thread.sleep(batchPauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.info("Архівацію перервано після {} рейсів.", total);
+                    return total;
+                }
+            }
+        } while (archived == batchSize && !Thread.currentThread().isInterrupted());
+        if (total > 0) {
+            logger.info("Архівацію завершено: {} рейсів, що прибули раніше {}.", total, cutoff);
+        } else {
+            logger.debug("Рейсів для архівації, що прибули раніше {}, немає.", cutoff);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,114 @@
+package Services;
+
+import Config.DatabaseConfig;
+import DAO.FlightDAO;
+import Events.EventBus;
+import Events.FlightChanged;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Фонова перевірка лічильників зайнятості рейсів ({@code flights.booked_count}, {@code flights.sold_count}).
+ * <p>
+ * Лічильники підтримуються тригерами бази даних; ця перевірка раз на {@code occupancy.check.interval.minutes}
+ * хвилин порівнює їх з фактичною кількістю квитків для рейсів від початку вчорашнього дня і
+ * перераховує ті, що розійшлися. Після виправлення публікується {@link FlightChanged}, щоб
+ * таблиці рейсів оновили завантаженість.
+ * </p>
+ */
+public final class OccupancyConsistencyChecker {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final int DEFAULT_INTERVAL_MINUTES = 60;
+
+    private final FlightDAO flightDAO;
+    private final EventBus eventBus;
+    private final long intervalMinutes;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Створює перевірку з налаштуваннями з {@code db.properties}.
+     * @throws SQLException якщо не вдалося ініціалізувати {@link FlightDAO}.
+     */
+    public OccupancyConsistencyChecker() throws SQLException {
+        this(new FlightDAO(), EventBus.getInstance(),
+                DatabaseConfig.getIntProperty("occupancy.check.interval.minutes", DEFAULT_INTERVAL_MINUTES));
+    }
+
+    /**
+     * Конструктор для впровадження залежностей (використовується в тестах).
+     * @param flightDAO DAO рейсів.
+     * @param eventBus Шина, в яку публікуються події про виправлені рейси.
+     * @param intervalMinutes Інтервал перевірки в хвилинах.
+     */
+    public OccupancyConsistencyChecker(FlightDAO flightDAO, EventBus eventBus, long intervalMinutes) {
+        this.flightDAO = flightDAO;
+        this.eventBus = eventBus;
+        this.intervalMinutes = intervalMinutes > 0 ? intervalMinutes : DEFAULT_INTERVAL_MINUTES;
+    }
+
+    /**
+     * Запускає періодичну перевірку у фоновому потоці. Повторні виклики ігноруються.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "occupancy-checker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Перша перевірка відкладається на інтервал, щоб не навантажувати базу під час запуску програми.
+        scheduler.scheduleWithFixedDelay(this::checkSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        logger.info("Перевірку лічильників зайнятості запущено з інтервалом {} хв.", intervalMinutes);
+    }
+
+    /**
+     * Зупиняє перевірку.
+     */
+    public void stop() {
+        if (started.compareAndSet(true, false) && scheduler != null) {
+            scheduler.shutdownNow();
+            logger.info("Перевірку лічильників зайнятості зупинено.");
+        }
+    }
+
+    private void checkSafely() {
+        try {
+            checkAndRepair(LocalDate.now().minusDays(1));
+        } catch (SQLException e) {
+            logger.warn("Помилка перевірки лічильників зайнятості. Спроба буде повторена через {} хв.", intervalMinutes, e);
+        } catch (RuntimeException e) {
+            logger.error("Неочікувана помилка перевірки лічильників зайнятості.", e);
+        }
+    }
+
+    /**
+     * Знаходить та виправляє розбіжності лічильників для рейсів з відправленням від {@code fromDate}.
+     * @param fromDate Перша дата відправлення рейсів, що перевіряються.
+     * @return Кількість виправлених рейсів.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public int checkAndRepair(LocalDate fromDate) throws SQLException {
+        List<Long> drifted = flightDAO.findOccupancyDrift(fromDate.atStartOfDay());
+        if (drifted.isEmpty()) {
+            logger.debug("Лічильники зайнятості рейсів з {} узгоджені.", fromDate);
+            return 0;
+        }
+        int repaired = flightDAO.recountOccupancy(drifted);
+        logger.warn("Виправлено лічильники зайнятості {} рейсів: {}", repaired, drifted);
+        for (Long flightId : drifted) {
+            eventBus.publish(new FlightChanged(flightId, FlightChanged.Kind.UPDATED));
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,271 @@
+package Services;
+
+import DAO.PassengerDAO;
+import Events.EventBus;
+import Events.PassengerUpdated;
+import Models.Passenger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Індекс пасажирів у пам'яті для миттєвого автозаповнення даних пасажира.
+ * <p>
+ * Зберігає впорядковані мапи нормалізованих ключів (номер документа, цифри телефону,
+ * ПІБ та окремі слова ПІБ) до ідентифікаторів пасажирів. Пошук за префіксом виконується
+ * як діапазонний запит {@link NavigableMap#subMap} без звернень до бази даних.
+ * Читання не блокуються; оновлення (рідкісні) серіалізуються.
+ * </p>
+ * <p>
+ * Індекс заповнюється поступово сторінками через {@link PassengerDAO#getPassengersPage(long, int)}
+ * у фоновому потоці та підтримується актуальним подіями {@link PassengerUpdated}, які DAO
+ * публікує в {@link EventBus} після додавання або оновлення пасажира.
+ * </p>
+ */
+public final class PassengerLookupIndex {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final PassengerLookupIndex INSTANCE = new PassengerLookupIndex();
+    static final int LOAD_PAGE_SIZE = 5000;
+
+    static {
+        EventBus.getInstance().subscribe(PassengerUpdated.class, event -> INSTANCE.put(event.getPassenger()));
+    }
+
+    private final Map<Long, Passenger> passengersById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> byDocument = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> byPhone = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> byName = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean loadStarted = new AtomicBoolean(false);
+    private volatile boolean loaded = false;
+
+    PassengerLookupIndex() {
+    }
+
+    /**
+     * @return Єдиний екземпляр індексу.
+     */
+    public static PassengerLookupIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Запускає фонове поступове завантаження індексу, якщо воно ще не запускалося.
+     * Повторні виклики ігноруються.
+     * @param passengerDAO DAO, з якого читаються сторінки пасажирів.
+     */
+    public void startBackgroundLoad(PassengerDAO passengerDAO) {
+        if (passengerDAO == null || !loadStarted.compareAndSet(false, true)) {
+            return;
+        }
+        Thread loader = new Thread(() -> {
+            try {
+                loadIncrementally(passengerDAO, LOAD_PAGE_SIZE);
+            } catch (SQLException e) {
+                logger.error("Помилка фонового завантаження індексу пасажирів. Автозаповнення працюватиме з частковими даними.", e);
+                loadStarted.set(false);
+            }
+        }, "passenger-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Завантажує всіх пасажирів сторінками за зростанням ID (keyset-пагінація).
+     * Кожна сторінка стає доступною для пошуку одразу після завантаження.
+     * @param passengerDAO DAO для читання пасажирів.
+     * @param pageSize Розмір сторінки.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public void loadIncrementally(PassengerDAO passengerDAO, int pageSize) throws SQLException {
+        long startNanos = System.nanoTime();
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            List<Passenger> page = passengerDAO.getPassengersPage(lastId, pageSize);
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            for (Passenger passenger : page) {
+                put(passenger);
+                lastId = Math.max(lastId, passenger.getId());
+            }
+            total += page.size();
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        loaded = true;
+        logger.info("Індекс пасажирів завантажено: {} записів за {} мс.", total, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Додає пасажира до індексу або оновлює його ключі, якщо він вже проіндексований.
+     * @param passenger Пасажир з присвоєним ID.
+     */
+    public void put(Passenger passenger) {
+        if (passenger == null || passenger.getId() <= 0) {
+            return;
+        }
+        // Зберігається знімок: об'єкт, переданий ззовні, може бути змінений до виклику оновлення,
+        // і тоді старі ключі неможливо було б видалити.
+        Passenger snapshot = new Passenger(passenger.getId(), passenger.getFullName(), passenger.getDocumentNumber(),
+                passenger.getDocumentType(), passenger.getPhoneNumber(), passenger.getEmail(), passenger.getBenefitType());
+        synchronized (this) {
+            Passenger previous = passengersById.put(snapshot.getId(), snapshot);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(snapshot);
+        }
+        logger.trace("Пасажира ID {} додано/оновлено в індексі.", passenger.getId());
+    }
+
+    /**
+     * Видаляє пасажира з індексу.
+     * @param passengerId ID пасажира.
+     */
+    public void remove(long passengerId) {
+        synchronized (this) {
+            Passenger previous = passengersById.remove(passengerId);
+            if (previous != null) {
+                unindex(previous);
+            }
+        }
+    }
+
+    /**
+     * Повертає пасажирів, у яких номер документа, телефон, ПІБ або одне зі слів ПІБ
+     * починається з введеного тексту. Спочатку йдуть збіги за документом, потім за телефоном, потім за ПІБ.
+     * @param input Введений текст.
+     * @param limit Максимальна кількість результатів.
+     * @return Список підказок (може бути порожнім).
+     */
+    public List<Passenger> suggest(String input, int limit) {
+        if (input == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Map<Long, Passenger> result = new LinkedHashMap<>();
+        collect(byDocument, normalizeDocument(input), result, limit);
+        String phone = normalizePhone(input);
+        if (phone.length() >= 3) {
+            collect(byPhone, phone, result, limit);
+        }
+        collect(byName, normalizeName(input), result, limit);
+        return new ArrayList<>(result.values());
+    }
+
+    /**
+     * @return Кількість проіндексованих пасажирів.
+     */
+    public int size() {
+        return passengersById.size();
+    }
+
+    /**
+     * @return {@code true}, якщо початкове завантаження завершено.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Очищує індекс (використовується в тестах).
+     */
+    public synchronized void clear() {
+        passengersById.clear();
+        byDocument.clear();
+        byPhone.clear();
+        byName.clear();
+        loaded = false;
+        loadStarted.set(false);
+    }
+
+    private void collect(ConcurrentSkipListMap<String, Set<Long>> map, String prefix, Map<Long, Passenger> result, int limit) {
+        if (prefix.length() < 2 || result.size() >= limit) {
+            return;
+        }
+        for (Set<Long> ids : map.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            for (Long id : ids) {
+                Passenger passenger = passengersById.get(id);
+                if (passenger != null) {
+                    result.putIfAbsent(id, passenger);
+                    if (result.size() >= limit) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void index(Passenger passenger) {
+        long id = passenger.getId();
+        addKey(byDocument, normalizeDocument(passenger.getDocumentNumber()), id);
+        addKey(byPhone, normalizePhone(passenger.getPhoneNumber()), id);
+        for (String key : nameKeys(passenger.getFullName())) {
+            addKey(byName, key, id);
+        }
+    }
+
+    private void unindex(Passenger passenger) {
+        long id = passenger.getId();
+        removeKey(byDocument, normalizeDocument(passenger.getDocumentNumber()), id);
+        removeKey(byPhone, normalizePhone(passenger.getPhoneNumber()), id);
+        for (String key : nameKeys(passenger.getFullName())) {
+            removeKey(byName, key, id);
+        }
+    }
+
+    private static void addKey(ConcurrentSkipListMap<String, Set<Long>> map, String key, long id) {
+        if (!key.isEmpty()) {
+            map.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static void removeKey(ConcurrentSkipListMap<String, Set<Long>> map, String key, long id) {
+        if (!key.isEmpty()) {
+            map.computeIfPresent(key, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static List<String> nameKeys(String fullName) {
+        String normalized = normalizeName(fullName);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        String[] words = normalized.split(" ");
+        for (int i = 1; i < words.length; i++) {
+            keys.add(String.join(" ", Arrays.copyOfRange(words, i, words.length)));
+        }
+        return keys;
+    }
+
+    static String normalizeDocument(String value) {
+        return value == null ? "" : value.replaceAll("[\\s-]", "").toUpperCase(Locale.ROOT);
+    }
+
+    static String normalizePhone(String value) {
+        return value == null ? "" : value.replaceAll("\\D", "");
+    }
+
+    static String normalizeName(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
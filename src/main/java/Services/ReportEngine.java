@@ -0,0 +1,251 @@
+package Services;
+
+import Config.DatabaseConfig;
+import DB.QueryMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+
+/**
+ * Виконавець звітів за період.
+ * <p>
+ * Діапазон дат ділиться на календарні місяці, які запитуються паралельно — кожна частина
+ * у власному з'єднанні з базою даних. Часткові результати об'єднуються в міру надходження і
+ * передаються слухачу, тож звіт за кілька років з'являється поступово. Кількість одночасних
+ * частин обмежена {@code report.parallelism} (за замовчуванням 2), щоб звіти не забирали
+ * з'єднання та ресурси бази даних у продажу квитків.
+ * </p>
+ * <p>
+ * Панелі звітів використовують спільний екземпляр ({@link #getInstance()}), тож обмеження паралельності
+ * діє на весь процес, а потоки виконавця не накопичуються з кожною створеною панеллю.
+ * </p>
+ */
+public class ReportEngine {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final int DEFAULT_PARALLELISM = 2;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * Запит однієї частини звіту.
+     * @param <T> Тип часткового результату.
+     */
+    @FunctionalInterface
+    public interface ChunkQuery<T> {
+        T query(LocalDate from, LocalDate to) throws SQLException;
+    }
+
+    /**
+     * Слухач проміжних результатів.
+     * @param <T> Тип результату.
+     */
+    @FunctionalInterface
+    public interface ProgressListener<T> {
+        /**
+         * @param merged Об'єднаний результат усіх завершених частин.
+         * @param completedChunks Кількість завершених частин.
+         * @param totalChunks Загальна кількість частин.
+         */
+        void onPartialResult(T merged, int completedChunks, int totalChunks);
+    }
+
+    /**
+     * Частина діапазону дат (обидві межі включно).
+     */
+    public static final class DateChunk {
+        private final LocalDate from;
+        private final LocalDate to;
+
+        DateChunk(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        public LocalDate getTo() {
+            return to;
+        }
+
+        @Override
+        public String toString() {
+            return from + " - " + to;
+        }
+    }
+
+    /** Виконавці всіх незупинених екземплярів (для моніторингу черги частин звітів). */
+    private static final Set<ThreadPoolExecutor> EXECUTORS = ConcurrentHashMap.newKeySet();
+
+    private final int parallelism;
+    private final ThreadPoolExecutor executor;
+
+    private static final class SharedHolder {
+        private static final ReportEngine INSTANCE = new ReportEngine();
+    }
+
+    /**
+     * @return Спільний виконавець звітів процесу з паралельністю з {@code db.properties}; його не слід зупиняти.
+     */
+    public static ReportEngine getInstance() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Створює виконавець з паралельністю з {@code db.properties}.
+     */
+    public ReportEngine() {
+        this(DatabaseConfig.getIntProperty("report.parallelism", DEFAULT_PARALLELISM));
+    }
+
+    /**
+     * @param parallelism Максимальна кількість одночасних запитів частин звіту.
+     */
+    public ReportEngine(int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+        this.executor = new ThreadPoolExecutor(this.parallelism, this.parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "report-engine-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        EXECUTORS.add(executor);
+    }
+
+    /**
+     * @return Кількість частин звітів, що очікують виконання, в усіх екземплярах.
+     */
+    public static int getQueuedChunks() {
+        int queued = 0;
+        for (ThreadPoolExecutor pool : EXECUTORS) {
+            queued += pool.getQueue().size();
+        }
+        return queued;
+    }
+
+    /**
+     * @return Кількість частин звітів, що виконуються, в усіх екземплярах.
+     */
+    public static int getRunningChunks() {
+        int running = 0;
+        for (ThreadPoolExecutor pool : EXECUTORS) {
+            running += pool.getActiveCount();
+        }
+        return running;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Ділить діапазон дат на календарні місяці.
+     * @param from Перша дата (включно).
+     * @param to Остання дата (включно).
+     * @return Частини в хронологічному порядку; порожній список, якщо {@code from} пізніше {@code to}.
+     */
+    public static List<DateChunk> splitByMonth(LocalDate from, LocalDate to) {
+        List<DateChunk> chunks = new ArrayList<>();
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            LocalDate monthEnd = chunkStart.withDayOfMonth(chunkStart.lengthOfMonth());
+            LocalDate chunkEnd = monthEnd.isAfter(to) ? to : monthEnd;
+            chunks.add(new DateChunk(chunkStart, chunkEnd));
+            chunkStart = chunkEnd.plusDays(1);
+        }
+        return chunks;
+    }
+
+    /**
+     * Виконує звіт за період частинами та об'єднує результати.
+     * <p>
+     * Метод блокує потік, що викликає (наприклад, {@code SwingWorker.doInBackground}). Переривання
+     * цього потоку скасовує частини, які ще не завершилися.
+     * </p>
+     * @param from Перша дата (включно).
+     * @param to Остання дата (включно).
+     * @param identity Порожній результат.
+     * @param chunkQuery Запит однієї частини.
+     * @param merger Об'єднання двох результатів; не повинно змінювати аргументи.
+     * @param listener Слухач проміжних результатів (може бути {@code null}); викликається в потоці, що викликає.
+     * @param <T> Тип результату.
+     * @return Об'єднаний результат за весь період.
+     * @throws SQLException якщо запит будь-якої частини завершився помилкою; решта частин скасовується.
+     * @throws InterruptedException якщо потік перервано (звіт скасовано).
+     */
+    public <T> T run(LocalDate from, LocalDate to, T identity, ChunkQuery<T> chunkQuery, BinaryOperator<T> merger,
+                     ProgressListener<T> listener) throws SQLException, InterruptedException {
+        List<DateChunk> chunks = splitByMonth(from, to);
+        logger.info("Звіт за період {} - {}: {} частин, паралельність {}.", from, to, chunks.size(), parallelism);
+        long startNanos = System.nanoTime();
+
+        CompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futures = new ArrayList<>(chunks.size());
+        // Запити частин враховуються в області дії користувача, з якої запущено звіт.
+        QueryMetrics.ActionScope action = QueryMetrics.currentAction();
+        for (DateChunk chunk : chunks) {
+            futures.add(completionService.submit(() -> {
+                try (QueryMetrics.Attachment ignored = QueryMetrics.attach(action)) {
+                    return chunkQuery.query(chunk.getFrom(), chunk.getTo());
+                }
+            }));
+        }
+
+        T merged = identity;
+        try {
+            for (int completed = 1; completed <= chunks.size(); completed++) {
+                T partial = completionService.take().get();
+                merged = merger.apply(merged, partial);
+                if (listener != null) {
+                    listener.onPartialResult(merged, completed, chunks.size());
+                }
+            }
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Помилка виконання частини звіту.", cause);
+        } catch (InterruptedException | CancellationException e) {
+            cancelAll(futures);
+            logger.info("Звіт за період {} - {} скасовано.", from, to);
+            throw e instanceof InterruptedException ? (InterruptedException) e : new InterruptedException("Звіт скасовано.");
+        }
+        logger.info("Звіт за період {} - {} виконано за {} мс.", from, to, (System.nanoTime() - startNanos) / 1_000_000);
+        return merged;
+    }
+
+    private static void cancelAll(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Зупиняє потоки виконавця; частини, що виконуються, перериваються.
+     */
+    public void shutdown() {
+        EXECUTORS.remove(executor);
+        executor.shutdownNow();
+    }
+}
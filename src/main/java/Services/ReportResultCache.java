@@ -0,0 +1,245 @@
+package Services;
+
+import Config.DatabaseConfig;
+import Events.EventBus;
+import Events.FlightChanged;
+import Events.TicketStatusChanged;
+import Models.Enums.TicketStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кеш результатів звітів у пам'яті.
+ * <p>
+ * Ключ запису — тип звіту та нормалізовані параметри ({@link #key(String, Object...)}). Разом з
+ * результатом зберігається версія даних, яку звіт охоплює; якщо на момент читання версія інша,
+ * запис вважається застарілим. Версії ведуться так:
+ * </p>
+ * <ul>
+ *     <li>для звітів продажів — окремо для кожного місяця дати продажу ({@link #salesVersion}); подія
+ *     {@link TicketStatusChanged} з датою продажу збільшує версію місяця цієї дати, а без неї (наприклад,
+ *     зміни з інших робочих місць) — версію поточного місяця для продажу або версію всіх місяців для
+ *     скасування, оскільки повернення віднімається з місяця покупки. Тому звіти за закриті минулі місяці
+ *     залишаються в кеші, доки їх не витіснить обмеження розміру;</li>
+ *     <li>для звітів зайнятості рейсів — одна версія ({@link #occupancyVersion()}), яку збільшує будь-яка
+ *     зміна квитка чи рейсу.</li>
+ * </ul>
+ * <p>
+ * Кількість записів обмежена {@code report.cache.max.entries} (за замовчуванням 32); при переповненні
+ * витісняється запис, який найдовше не читали.
+ * </p>
+ * <p>
+ * Версії змінюються подіями основної БД, а запити звітів читають репліку, що може відставати на
+ * {@code db.replica.staleness.reports.sec} секунд. Результат, прочитаний з репліки, міг не містити змін
+ * уже врахованої версії й залишався б у кеші як актуальний, тому при налаштованій репліці
+ * ({@code db.replica.url}) результати не зберігаються.
+ * </p>
+ */
+public final class ReportResultCache {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final int DEFAULT_MAX_ENTRIES = 32;
+    private static final ReportResultCache INSTANCE =
+            new ReportResultCache(DatabaseConfig.getIntProperty("report.cache.max.entries", DEFAULT_MAX_ENTRIES),
+                    DatabaseConfig.getReplicaUrl() != null);
+
+    static {
+        EventBus.getInstance().subscribe(TicketStatusChanged.class, INSTANCE::onTicketChanged);
+        EventBus.getInstance().subscribe(FlightChanged.class, event -> INSTANCE.occupancyVersion.incrementAndGet());
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final Object value;
+
+        private Entry(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    private final int maxEntries;
+    private final boolean readsFromReplica;
+    private final Map<String, Entry> entries;
+    private final Map<YearMonth, AtomicLong> salesMonthVersions = new ConcurrentHashMap<>();
+    /** Версія, спільна для всіх місяців продажів: скасування з невідомою датою покупки. */
+    private final AtomicLong allSalesVersion = new AtomicLong();
+    private final AtomicLong occupancyVersion = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    ReportResultCache(int maxEntries) {
+        this(maxEntries, false);
+    }
+
+    ReportResultCache(int maxEntries, boolean readsFromReplica) {
+        this.maxEntries = maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+        this.readsFromReplica = readsFromReplica;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ReportResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return Єдиний екземпляр кешу.
+     */
+    public static ReportResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Формує ключ запису з типу звіту та параметрів.
+     * @param reportType Тип звіту.
+     * @param params Параметри звіту (дати тощо); використовується їх {@code toString()}.
+     * @return Ключ кешу.
+     */
+    public static String key(String reportType, Object... params) {
+        StringJoiner joiner = new StringJoiner("|");
+        joiner.add(reportType);
+        for (Object param : params) {
+            joiner.add(String.valueOf(param));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Повертає збережений результат, якщо він створений для тієї самої версії даних.
+     * @param key Ключ ({@link #key(String, Object...)}).
+     * @param version Поточна версія даних, які охоплює звіт.
+     * @param type Тип результату.
+     * @param <T> Тип результату.
+     * @return Результат або {@code null}, якщо запису немає або він застарів.
+     */
+    public synchronized <T> T get(String key, long version, Class<T> type) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.version != version || !type.isInstance(entry.value)) {
+            entries.remove(key);
+            misses.increment();
+            logger.debug("Запис кешу звітів '{}' застарів (версія {} замість {}).", key, entry.version, version);
+            return null;
+        }
+        hits.increment();
+        logger.debug("Результат звіту '{}' взято з кешу.", key);
+        return type.cast(entry.value);
+    }
+
+    /**
+     * Зберігає результат звіту.
+     * @param key Ключ ({@link #key(String, Object...)}).
+     * @param version Версія даних, прочитана до виконання запитів звіту; якщо дані змінилися під
+     *                час виконання, запис буде застарілим одразу.
+     * @param value Результат; не повинен змінюватися після збереження.
+     */
+    public synchronized void put(String key, long version, Object value) {
+        if (readsFromReplica) {
+            logger.debug("Результат звіту '{}' прочитано з репліки й не кешується.", key);
+            return;
+        }
+        entries.put(key, new Entry(version, value));
+    }
+
+    /**
+     * Повертає версію продажів за діапазон дат. Версія змінюється, лише якщо змінилися продажі
+     * хоча б одного місяця діапазону.
+     * @param from Перша дата (включно).
+     * @param to Остання дата (включно).
+     * @return Версія даних.
+     */
+    public long salesVersion(LocalDate from, LocalDate to) {
+        // Версії місяців лише зростають, тож їх сума змінюється тоді й лише тоді, коли змінилася хоча б одна.
+        long version = allSalesVersion.get();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            AtomicLong monthVersion = salesMonthVersions.get(month);
+            if (monthVersion != null) {
+                version += monthVersion.get();
+            }
+        }
+        return version;
+    }
+
+    /**
+     * @return Версія даних про зайнятість рейсів.
+     */
+    public long occupancyVersion() {
+        return occupancyVersion.get();
+    }
+
+    /**
+     * Позначає продажі місяця дати {@code saleDate} зміненими.
+     * @param saleDate Дата продажу.
+     */
+    public void invalidateSales(LocalDate saleDate) {
+        salesMonthVersions.computeIfAbsent(YearMonth.from(saleDate), m -> new AtomicLong()).incrementAndGet();
+    }
+
+    void onTicketChanged(TicketStatusChanged event) {
+        occupancyVersion.incrementAndGet();
+        if (event.getSaleDate() != null) {
+            invalidateSales(event.getSaleDate());
+        } else if (event.getNewStatus() == TicketStatus.CANCELLED) {
+            // Дата продажу невідома (зміна з іншого робочого місця), а скасування проданого квитка
+            // віднімається з місяця його покупки, який може бути будь-яким.
+            allSalesVersion.incrementAndGet();
+        } else if (event.getNewStatus() == TicketStatus.SOLD) {
+            // Дата продажу невідома: новий продаж припадає на поточний місяць.
+            invalidateSales(LocalDate.now());
+        }
+    }
+
+    /**
+     * @return Кількість записів у кеші.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return Кількість звернень, результат яких взято з кешу.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Кількість звернень без запису або із застарілим записом.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Видаляє всі збережені результати. Версії даних не змінюються, тож звіти, що виконуються,
+     * можуть зберегти свої результати як звичайно.
+     */
+    public synchronized void invalidateAll() {
+        int removed = entries.size();
+        entries.clear();
+        logger.info("Кеш результатів звітів очищено ({} записів).", removed);
+    }
+
+    /**
+     * Очищує кеш (використовується в тестах).
+     */
+    public synchronized void clear() {
+        entries.clear();
+        salesMonthVersions.clear();
+        occupancyVersion.set(0);
+        hits.reset();
+        misses.reset();
+    }
+}
@@ -0,0 +1,144 @@
+package Services;
+
+import DAO.FlightDAO;
+import Models.Enums.FlightStatus;
+import Models.Flight;
+import Models.ScheduleTemplate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Сервіс для генерації рейсів за шаблоном регулярного розкладу.
+ * <p>
+ * Розгортає {@link ScheduleTemplate} у список окремих рейсів, одним запитом
+ * перевіряє конфлікти з уже існуючими рейсами того ж маршруту та часу
+ * і додає решту рейсів однією пакетною транзакцією через {@link FlightDAO#addFlights(List)}.
+ * </p>
+ */
+public class ScheduleGenerator {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+
+    private final FlightDAO flightDAO;
+
+    /**
+     * Конструктор за замовчуванням.
+     * @throws SQLException якщо не вдалося ініціалізувати {@link FlightDAO}.
+     */
+    public ScheduleGenerator() throws SQLException {
+        this(new FlightDAO());
+    }
+
+    /**
+     * Конструктор для використання з переданим DAO (наприклад, для тестування).
+     * @param flightDAO DAO для роботи з рейсами.
+     * @throws IllegalArgumentException якщо {@code flightDAO} є null.
+     */
+    public ScheduleGenerator(FlightDAO flightDAO) {
+        if (flightDAO == null) {
+            logger.fatal("Спроба створити ScheduleGenerator з null FlightDAO.");
+            throw new IllegalArgumentException("FlightDAO не може бути null.");
+        }
+        this.flightDAO = flightDAO;
+    }
+
+    /**
+     * Розгортає шаблон у список рейсів (без звернення до бази даних).
+     * Рейс створюється для кожної дати сезону, день тижня якої входить до шаблону.
+     * @param template Шаблон розкладу.
+     * @return Список нових рейсів зі статусом {@link FlightStatus#PLANNED} та ID = 0.
+     */
+    public List<Flight> expand(ScheduleTemplate template) {
+        List<Flight> flights = new ArrayList<>();
+        for (LocalDate date = template.getSeasonStart(); !date.isAfter(template.getSeasonEnd()); date = date.plusDays(1)) {
+            if (!template.getDaysOfWeek().contains(date.getDayOfWeek())) {
+                continue;
+            }
+            LocalDateTime departure = LocalDateTime.of(date, template.getDepartureTime());
+            flights.add(new Flight(0, template.getRoute(), departure, departure.plus(template.getTravelDuration()),
+                    template.getTotalSeats(), FlightStatus.PLANNED, template.getBusModel(), template.getPricePerSeat()));
+        }
+        logger.debug("Шаблон розгорнуто у {} рейсів.", flights.size());
+        return flights;
+    }
+
+    /**
+     * Формує попередній перегляд генерації: розгортає шаблон та відокремлює рейси,
+     * що конфліктують з існуючими, не додаючи нічого до бази даних.
+     * @param template Шаблон розкладу.
+     * @return Результат із рейсами, які будуть створені, та пропущеними конфліктами.
+     * @throws SQLException якщо виникає помилка при перевірці конфліктів.
+     */
+    public GenerationResult preview(ScheduleTemplate template) throws SQLException {
+        List<Flight> candidates = expand(template);
+        List<Flight> toCreate = new ArrayList<>();
+        List<LocalDateTime> conflicts = new ArrayList<>();
+        if (candidates.isEmpty()) {
+            logger.info("Шаблон розкладу не містить жодної дати для генерації: {}", template);
+            return new GenerationResult(toCreate, conflicts);
+        }
+
+        Set<LocalDateTime> existing = flightDAO.getDepartureTimesForRoute(template.getRoute().getId(),
+                candidates.get(0).getDepartureDateTime(), candidates.get(candidates.size() - 1).getDepartureDateTime());
+        for (Flight flight : candidates) {
+            if (existing.contains(flight.getDepartureDateTime())) {
+                conflicts.add(flight.getDepartureDateTime());
+            } else {
+                toCreate.add(flight);
+            }
+        }
+        logger.info("Попередній перегляд розкладу: {} рейсів до створення, {} конфліктів.", toCreate.size(), conflicts.size());
+        return new GenerationResult(toCreate, conflicts);
+    }
+
+    /**
+     * Генерує рейси за шаблоном та додає до бази даних ті, що не конфліктують з існуючими.
+     * @param template Шаблон розкладу.
+     * @return Результат із створеними рейсами (з присвоєними ID) та пропущеними конфліктами.
+     * @throws SQLException якщо виникає помилка доступу до бази даних (транзакцію буде відкочено).
+     */
+    public GenerationResult generate(ScheduleTemplate template) throws SQLException {
+        logger.info("Генерація рейсів за шаблоном: {}", template);
+        GenerationResult result = preview(template);
+        if (!result.getCreatedFlights().isEmpty()) {
+            flightDAO.addFlights(result.getCreatedFlights());
+        }
+        logger.info("Генерацію розкладу завершено: створено {}, пропущено {}.",
+                result.getCreatedFlights().size(), result.getSkippedConflicts().size());
+        return result;
+    }
+
+    /**
+     * Результат генерації рейсів за шаблоном.
+     */
+    public static class GenerationResult {
+        private final List<Flight> createdFlights;
+        private final List<LocalDateTime> skippedConflicts;
+
+        GenerationResult(List<Flight> createdFlights, List<LocalDateTime> skippedConflicts) {
+            this.createdFlights = Collections.unmodifiableList(createdFlights);
+            this.skippedConflicts = Collections.unmodifiableList(skippedConflicts);
+        }
+
+        /**
+         * @return Рейси, що були (або будуть, для попереднього перегляду) створені.
+         */
+        public List<Flight> getCreatedFlights() {
+            return createdFlights;
+        }
+
+        /**
+         * @return Дати та час відправлення, пропущені через конфлікт з існуючими рейсами.
+         */
+        public List<LocalDateTime> getSkippedConflicts() {
+            return skippedConflicts;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package Services;
+
+import Config.DatabaseConfig;
+import DAO.TicketPartitionDAO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Фонове обслуговування секцій таблиці {@code tickets} ({@link TicketPartitionDAO}).
+ * <p>
+ * Раз на {@code tickets.partition.check.hours} годин додає секції на поточний та
+ * {@code tickets.partition.months.ahead} наступних місяців, щоб нові бронювання не потрапляли
+ * в секцію {@code p_future}, і видаляє секції, старші за {@code tickets.partition.retention.months}
+ * місяців. Секція видаляється лише тоді, коли вона порожня, тобто всі її квитки вже перенесено
+ * в архів ({@link FlightArchiver}); інакше вона залишається до наступної перевірки.
+ * Якщо таблиця {@code tickets} не секціонована, обслуговування нічого не робить.
+ * </p>
+ * <p>
+ * Секції на поточний та три наступні місяці створює міграція V10, тож перша перевірка відкладається
+ * на {@code tickets.partition.initial.delay.minutes} хвилин з випадковим зсувом у межах того ж інтервалу,
+ * і робочі місця, запущені одночасно, не виконують DDL при старті. Перевірка виконується під
+ * іменованим блокуванням ({@link TicketPartitionDAO#runLocked}); робоче місце, що не отримало
+ * блокування, її пропускає.
+ * </p>
+ */
+public final class TicketPartitionMaintainer {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    static final int DEFAULT_MONTHS_AHEAD = 3;
+    static final int DEFAULT_RETENTION_MONTHS = 12;
+    static final int DEFAULT_INTERVAL_HOURS = 24;
+    static final int DEFAULT_INITIAL_DELAY_MINUTES = 30;
+
+    private final TicketPartitionDAO partitionDAO;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final long intervalHours;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Створює обслуговування з налаштуваннями з {@code db.properties}.
+     */
+    public TicketPartitionMaintainer() {
+        this(new TicketPartitionDAO(),
+                DatabaseConfig.getIntProperty("tickets.partition.months.ahead", DEFAULT_MONTHS_AHEAD),
+                DatabaseConfig.getIntProperty("tickets.partition.retention.months", DEFAULT_RETENTION_MONTHS),
+                DatabaseConfig.getIntProperty("tickets.partition.check.hours", DEFAULT_INTERVAL_HOURS));
+    }
+
+    /**
+     * Конструктор для впровадження залежностей (використовується в тестах).
+     * @param partitionDAO DAO секцій квитків.
+     * @param monthsAhead Кількість наступних місяців, для яких секції створюються заздалегідь.
+     * @param retentionMonths Вік секції в місяцях, після якого порожня секція видаляється.
+     * @param intervalHours Інтервал перевірки в годинах.
+     */
+    public TicketPartitionMaintainer(TicketPartitionDAO partitionDAO, int monthsAhead, int retentionMonths, long intervalHours) {
+        this.partitionDAO = partitionDAO;
+        this.monthsAhead = monthsAhead >= 0 ? monthsAhead : DEFAULT_MONTHS_AHEAD;
+        this.retentionMonths = retentionMonths > 0 ? retentionMonths : DEFAULT_RETENTION_MONTHS;
+        this.intervalHours = intervalHours > 0 ? intervalHours : DEFAULT_INTERVAL_HOURS;
+    }
+
+    /**
+     * Запускає періодичне обслуговування у фоновому потоці, якщо
+     * {@code tickets.partition.maintenance.enabled} не дорівнює 0. Повторні виклики ігноруються.
+     */
+    public void start() {
+        if (DatabaseConfig.getIntProperty("tickets.partition.maintenance.enabled", 1) == 0) {
+            logger.info("Обслуговування секцій tickets вимкнено (tickets.partition.maintenance.enabled=0).");
+            return;
+        }
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ticket-partition-maintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long initialDelayMinutes = Math.max(0, DatabaseConfig.getIntProperty("tickets.partition.initial.delay.minutes",
+                DEFAULT_INITIAL_DELAY_MINUTES));
+        long initialDelaySeconds = TimeUnit.MINUTES.toSeconds(initialDelayMinutes)
+                + ThreadLocalRandom.current().nextLong(TimeUnit.MINUTES.toSeconds(initialDelayMinutes) + 1);
+        scheduler.scheduleWithFixedDelay(this::maintainSafely, initialDelaySeconds, TimeUnit.HOURS.toSeconds(intervalHours), TimeUnit.SECONDS);
+        logger.info("Обслуговування секцій tickets запущено: {} міс. наперед, зберігання {} міс., інтервал {} год., перша перевірка через {} с.",
+                monthsAhead, retentionMonths, intervalHours, initialDelaySeconds);
+    }
+
+    /**
+     * Зупиняє обслуговування.
+     */
+    public void stop() {
+        if (started.compareAndSet(true, false) && scheduler != null) {
+            scheduler.shutdownNow();
+            logger.info("Обслуговування секцій tickets зупинено.");
+        }
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain(LocalDate.now());
+        } catch (SQLException e) {
+            logger.warn("Помилка обслуговування секцій tickets. Спроба буде повторена через {} год.", intervalHours, e);
+        } catch (RuntimeException e) {
+            logger.error("Неочікувана помилка обслуговування секцій tickets.", e);
+        }
+    }
+
+    /**
+     * Додає відсутні секції до місяця {@code today + monthsAhead} включно та видаляє порожні прострочені секції.
+     * Нічого не робить, якщо обслуговування саме виконує інше робоче місце.
+     * @param today Поточна дата.
+     * @return Кількість доданих та видалених секцій.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    public int maintain(LocalDate today) throws SQLException {
+        int changes = partitionDAO.runLocked(conn -> maintain(conn, today));
+        if (changes < 0) {
+            logger.info("Секції tickets обслуговує інше робоче місце. Перевірку пропущено.");
+            return 0;
+        }
+        return changes;
+    }
+
+    private int maintain(Connection conn, LocalDate today) throws SQLException {
+        List<TicketPartitionDAO.Partition> partitions = partitionDAO.getPartitions(conn);
+        if (partitions.isEmpty()) {
+            logger.debug("Таблиця tickets не секціонована. Обслуговування секцій пропущено.");
+            return 0;
+        }
+        int changes = 0;
+        TicketPartitionDAO.Partition last = partitions.get(partitions.size() - 1);
+        if (last.getUpperBound() != null) {
+            logger.warn("Остання секція tickets не має межі MAXVALUE ({}). Нові секції не додаються.", last);
+        } else {
+            List<YearMonth> months = monthsToAdd(partitions, today, monthsAhead);
+            if (!months.isEmpty()) {
+                if (partitionDAO.isPartitionEmpty(conn, last.getName())) {
+                    partitionDAO.addMonthlyPartitions(conn, months);
+                    changes += months.size();
+                } else {
+                    // Реорганізація непорожньої секції копіює всі її рядки під блокуванням таблиці.
+                    logger.warn("Секція tickets {} містить квитки. Секції для місяців {} слід додати вручну у вікні обслуговування.",
+                            last.getName(), months);
+                }
+            }
+        }
+        for (TicketPartitionDAO.Partition partition : expiredPartitions(partitions, today, retentionMonths)) {
+            if (partitionDAO.isPartitionEmpty(conn, partition.getName())) {
+                partitionDAO.dropPartition(conn, partition.getName());
+                changes++;
+            } else {
+                logger.info("Секція tickets {} старша за {} міс., але ще містить квитки. Видалення відкладено до архівації.",
+                        partition, retentionMonths);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Місяці від останньої місячної секції до {@code today + monthsAhead} включно, для яких немає секцій.
+     */
+    static List<YearMonth> monthsToAdd(List<TicketPartitionDAO.Partition> partitions, LocalDate today, int monthsAhead) {
+        LocalDate lastBound = null;
+        for (TicketPartitionDAO.Partition partition : partitions) {
+            if (partition.getUpperBound() != null && (lastBound == null || partition.getUpperBound().isAfter(lastBound))) {
+                lastBound = partition.getUpperBound();
+            }
+        }
+        YearMonth target = YearMonth.from(today).plusMonths(monthsAhead);
+        List<YearMonth> months = new ArrayList<>();
+        YearMonth month = lastBound != null ? YearMonth.from(lastBound) : YearMonth.from(today);
+        // Межа, що не є першим днем місяця, вже покриває частину місяця; секція цього місяця її продовжує.
+        for (; !month.isAfter(target); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * Секції з верхньою межею не пізніше першого дня місяця {@code today - retentionMonths}.
+     */
+    static List<TicketPartitionDAO.Partition> expiredPartitions(List<TicketPartitionDAO.Partition> partitions, LocalDate today, int retentionMonths) {
+        LocalDate cutoff = YearMonth.from(today).minusMonths(retentionMonths).atDay(1);
+        List<TicketPartitionDAO.Partition> expired = new ArrayList<>();
+        for (TicketPartitionDAO.Partition partition : partitions) {
+            if (partition.getUpperBound() != null && !partition.getUpperBound().isAfter(cutoff)) {
+                expired.add(partition);
+            }
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,453 @@
+package Services;
+
+import Config.DatabaseConfig;
+import DAO.FlightDAO;
+import DAO.RouteDAO;
+import DAO.StopDAO;
+import Models.Enums.FlightStatus;
+import Models.Flight;
+import Models.Route;
+import Models.Stop;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Сервіс масового імпорту розкладу рейсів з CSV-файлу.
+ * <p>
+ * Перший рядок файлу - заголовок з назвами колонок (порядок довільний, роздільник {@code ,} або {@code ;}).
+ * Обов'язкові колонки: {@code route}, {@code departure}, {@code arrival}, {@code total_seats}, {@code price_per_seat};
+ * необов'язкові: {@code bus_model}, {@code status}. Маршрут задається ланцюжком міст або назв зупинок
+ * через {@code ->} (наприклад, {@code Київ -> Житомир -> Львів}), дати - у форматі {@code РРРР-ММ-ДД ГГ:ХХ}.
+ * </p>
+ * <p>
+ * Назви маршрутів розв'язуються за довідником у пам'яті, побудованим один раз з
+ * {@link StopDAO#getAllStops()} та {@link RouteDAO#getAllRoutes()}. Рядки валідуються паралельно,
+ * після чого коректні рейси додаються пакетами розміром {@code import.batch.size} (з {@code db.properties}),
+ * кожен пакет - окремою транзакцією. Помилки фіксуються по рядках у {@link ImportReport}.
+ * </p>
+ */
+public class TimetableImporter {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final DateTimeFormatter INPUT_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String ROUTE_SEPARATOR = "->";
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    static final String COL_ROUTE = "route";
+    static final String COL_DEPARTURE = "departure";
+    static final String COL_ARRIVAL = "arrival";
+    static final String COL_TOTAL_SEATS = "total_seats";
+    static final String COL_BUS_MODEL = "bus_model";
+    static final String COL_PRICE = "price_per_seat";
+    static final String COL_STATUS = "status";
+    private static final List<String> REQUIRED_COLUMNS = List.of(COL_ROUTE, COL_DEPARTURE, COL_ARRIVAL, COL_TOTAL_SEATS, COL_PRICE);
+
+    private final FlightDAO flightDAO;
+    private final RouteDAO routeDAO;
+    private final StopDAO stopDAO;
+    private final int batchSize;
+
+    /**
+     * Конструктор за замовчуванням. Розмір пакета читається з властивості {@code import.batch.size}.
+     * @throws SQLException якщо не вдалося ініціалізувати DAO.
+     */
+    public TimetableImporter() throws SQLException {
+        this(new FlightDAO(), new RouteDAO(), new StopDAO(), DatabaseConfig.getIntProperty("import.batch.size", DEFAULT_BATCH_SIZE));
+    }
+
+    /**
+     * Конструктор для використання з переданими DAO (наприклад, для тестування).
+     * @param flightDAO DAO для роботи з рейсами.
+     * @param routeDAO DAO для роботи з маршрутами.
+     * @param stopDAO DAO для роботи з зупинками.
+     * @param batchSize Кількість рейсів в одному пакеті вставки.
+     * @throws IllegalArgumentException якщо будь-який DAO є null або розмір пакета не є позитивним.
+     */
+    public TimetableImporter(FlightDAO flightDAO, RouteDAO routeDAO, StopDAO stopDAO, int batchSize) {
+        if (flightDAO == null || routeDAO == null || stopDAO == null) {
+            logger.fatal("Спроба створити TimetableImporter з null DAO.");
+            throw new IllegalArgumentException("DAO не можуть бути null.");
+        }
+        if (batchSize <= 0) {
+            logger.error("Некоректний розмір пакета імпорту: {}", batchSize);
+            throw new IllegalArgumentException("Розмір пакета має бути позитивним числом.");
+        }
+        this.flightDAO = flightDAO;
+        this.routeDAO = routeDAO;
+        this.stopDAO = stopDAO;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Імпортує рейси з CSV-файлу у кодуванні UTF-8.
+     * @param path Шлях до файлу.
+     * @return Звіт про імпорт.
+     * @throws IOException якщо не вдалося прочитати файл або відсутні обов'язкові колонки.
+     * @throws SQLException якщо не вдалося завантажити довідники маршрутів та зупинок.
+     */
+    public ImportReport importFromFile(Path path) throws IOException, SQLException {
+        logger.info("Імпорт розкладу з файлу: {}", path);
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return importFromCsv(reader);
+        }
+    }
+
+    /**
+     * Імпортує рейси з CSV-даних.
+     * Помилки окремих рядків (валідація, конфлікти, збій вставки пакета) не перериваються,
+     * а фіксуються у звіті.
+     * @param reader Джерело CSV-даних.
+     * @return Звіт про імпорт.
+     * @throws IOException якщо не вдалося прочитати дані або відсутні обов'язкові колонки.
+     * @throws SQLException якщо не вдалося завантажити довідники маршрутів та зупинок.
+     */
+    public ImportReport importFromCsv(Reader reader) throws IOException, SQLException {
+        long startNanos = System.nanoTime();
+        List<String> lines;
+        try (BufferedReader bufferedReader = new BufferedReader(reader)) {
+            lines = bufferedReader.lines().collect(Collectors.toList());
+        }
+        if (lines.isEmpty()) {
+            logger.warn("CSV-файл порожній. Імпорт не виконано.");
+            throw new IOException("CSV-файл порожній.");
+        }
+
+        String headerLine = stripBom(lines.get(0));
+        char delimiter = headerLine.indexOf(';') >= 0 ? ';' : ',';
+        Map<String, Integer> columns = parseHeader(headerLine, delimiter);
+
+        RouteLookup lookup = new RouteLookup(stopDAO.getAllStops(), routeDAO.getAllRoutes());
+        logger.info("Довідник для імпорту побудовано. Рядків даних: {}, роздільник: '{}'.", lines.size() - 1, delimiter);
+
+        RowResult[] results = IntStream.range(1, lines.size())
+                .parallel()
+                .mapToObj(i -> validateRow(i + 1, lines.get(i), delimiter, columns, lookup))
+                .toArray(RowResult[]::new);
+
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        List<RowResult> valid = new ArrayList<>();
+        int totalRows = 0;
+        Set<String> seenKeys = new HashSet<>();
+        for (RowResult result : results) {
+            if (result == null) {
+                continue;
+            }
+            totalRows++;
+            if (result.error != null) {
+                errors.add(new ImportReport.RowError(result.lineNumber, result.error));
+            } else if (!seenKeys.add(result.flight.getRoute().getId() + "|" + result.flight.getDepartureDateTime())) {
+                errors.add(new ImportReport.RowError(result.lineNumber, "Дублікат рейсу у файлі (той самий маршрут та час відправлення)."));
+            } else {
+                valid.add(result);
+            }
+        }
+
+        valid = removeExistingConflicts(valid, errors);
+        int imported = insertInBatches(valid, errors);
+
+        errors.sort((a, b) -> Integer.compare(a.getLineNumber(), b.getLineNumber()));
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        logger.info("Імпорт розкладу завершено за {} мс: рядків {}, додано {}, помилок {}.", elapsedMillis, totalRows, imported, errors.size());
+        return new ImportReport(totalRows, imported, errors);
+    }
+
+    private Map<String, Integer> parseHeader(String headerLine, char delimiter) throws IOException {
+        List<String> header = parseCsvLine(headerLine, delimiter);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            logger.error("У заголовку CSV відсутні обов'язкові колонки: {}", missing);
+            throw new IOException("У заголовку CSV відсутні обов'язкові колонки: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private RowResult validateRow(int lineNumber, String line, char delimiter, Map<String, Integer> columns, RouteLookup lookup) {
+        if (line.isBlank()) {
+            return null;
+        }
+        List<String> values = parseCsvLine(line, delimiter);
+        try {
+            Route route = lookup.resolve(value(values, columns, COL_ROUTE));
+            LocalDateTime departure = LocalDateTime.parse(value(values, columns, COL_DEPARTURE), INPUT_DATE_TIME_FORMATTER);
+            LocalDateTime arrival = LocalDateTime.parse(value(values, columns, COL_ARRIVAL), INPUT_DATE_TIME_FORMATTER);
+            if (!arrival.isAfter(departure)) {
+                return RowResult.error(lineNumber, "Час прибуття має бути пізніше часу відправлення.");
+            }
+            int totalSeats = Integer.parseInt(value(values, columns, COL_TOTAL_SEATS));
+            BigDecimal price = new BigDecimal(value(values, columns, COL_PRICE).replace(",", "."));
+            String busModel = columns.containsKey(COL_BUS_MODEL) ? value(values, columns, COL_BUS_MODEL) : "";
+            FlightStatus status = columns.containsKey(COL_STATUS) && !value(values, columns, COL_STATUS).isEmpty()
+                    ? parseStatus(value(values, columns, COL_STATUS))
+                    : FlightStatus.PLANNED;
+            return RowResult.ok(lineNumber, new Flight(0, route, departure, arrival, totalSeats, status, busModel, price));
+        } catch (DateTimeParseException e) {
+            return RowResult.error(lineNumber, "Неправильний формат дати/часу '" + e.getParsedString() + "'. Використовуйте РРРР-ММ-ДД ГГ:ХХ.");
+        } catch (NumberFormatException e) {
+            return RowResult.error(lineNumber, "Кількість місць та ціна мають бути числами.");
+        } catch (IllegalArgumentException e) {
+            return RowResult.error(lineNumber, e.getMessage());
+        }
+    }
+
+    private List<RowResult> removeExistingConflicts(List<RowResult> rows, List<ImportReport.RowError> errors) throws SQLException {
+        Map<Long, List<RowResult>> byRoute = rows.stream()
+                .collect(Collectors.groupingBy(r -> r.flight.getRoute().getId(), LinkedHashMap::new, Collectors.toList()));
+        List<RowResult> remaining = new ArrayList<>(rows.size());
+        for (Map.Entry<Long, List<RowResult>> entry : byRoute.entrySet()) {
+            List<RowResult> routeRows = entry.getValue();
+            LocalDateTime from = routeRows.stream().map(r -> r.flight.getDepartureDateTime()).min(LocalDateTime::compareTo).get();
+            LocalDateTime to = routeRows.stream().map(r -> r.flight.getDepartureDateTime()).max(LocalDateTime::compareTo).get();
+            Set<LocalDateTime> existing = flightDAO.getDepartureTimesForRoute(entry.getKey(), from, to);
+            for (RowResult row : routeRows) {
+                if (existing.contains(row.flight.getDepartureDateTime())) {
+                    errors.add(new ImportReport.RowError(row.lineNumber, "Рейс за цим маршрутом та часом відправлення вже існує."));
+                } else {
+                    remaining.add(row);
+                }
+            }
+        }
+        return remaining;
+    }
+
+    private int insertInBatches(List<RowResult> rows, List<ImportReport.RowError> errors) {
+        int imported = 0;
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            List<RowResult> chunk = rows.subList(start, Math.min(start + batchSize, rows.size()));
+            List<Flight> flights = chunk.stream().map(r -> r.flight).collect(Collectors.toList());
+            try {
+                imported += flightDAO.addFlights(flights);
+                logger.debug("Пакет імпорту {}-{} успішно додано.", start, start + chunk.size() - 1);
+            } catch (SQLException e) {
+                logger.error("Помилка вставки пакета імпорту {}-{}. Рядки пакета позначено як помилкові.", start, start + chunk.size() - 1, e);
+                for (RowResult row : chunk) {
+                    errors.add(new ImportReport.RowError(row.lineNumber, "Помилка бази даних при вставці пакета: " + e.getMessage()));
+                }
+            }
+        }
+        return imported;
+    }
+
+    private static FlightStatus parseStatus(String raw) {
+        for (FlightStatus status : FlightStatus.values()) {
+            if (status.name().equalsIgnoreCase(raw) || status.getDisplayName().equalsIgnoreCase(raw)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Невідомий статус рейсу: '" + raw + "'.");
+    }
+
+    private static String value(List<String> values, Map<String, Integer> columns, String column) {
+        int index = columns.get(column);
+        return index < values.size() ? values.get(index).trim() : "";
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /**
+     * Розбирає рядок CSV з урахуванням лапок та подвоєних лапок усередині значення.
+     */
+    static List<String> parseCsvLine(String line, char delimiter) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == delimiter) {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    static String normalizeName(String raw) {
+        return raw.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Незмінний довідник маршрутів у пам'яті. Безпечний для одночасного читання з кількох потоків.
+     */
+    private static final class RouteLookup {
+        private final Map<String, List<Route>> routesByName = new HashMap<>();
+        private final Set<String> stopNames = new HashSet<>();
+
+        RouteLookup(List<Stop> stops, List<Route> routes) {
+            for (Stop stop : stops) {
+                if (stop.getName() != null) stopNames.add(normalizeName(stop.getName()));
+                if (stop.getCity() != null) stopNames.add(normalizeName(stop.getCity()));
+            }
+            for (Route route : routes) {
+                register(route.getFullRouteDescription(), route);
+                List<String> names = new ArrayList<>();
+                names.add(route.getDepartureStop().getName());
+                for (Stop stop : route.getIntermediateStops()) {
+                    names.add(stop.getName());
+                }
+                names.add(route.getDestinationStop().getName());
+                if (!names.contains(null)) {
+                    register(String.join(" " + ROUTE_SEPARATOR + " ", names), route);
+                }
+            }
+        }
+
+        private void register(String name, Route route) {
+            List<Route> list = routesByName.computeIfAbsent(normalizeRoute(name), k -> new ArrayList<>(1));
+            if (!list.contains(route)) {
+                list.add(route);
+            }
+        }
+
+        private static String normalizeRoute(String raw) {
+            return List.of(raw.split(ROUTE_SEPARATOR)).stream()
+                    .map(TimetableImporter::normalizeName)
+                    .collect(Collectors.joining(" " + ROUTE_SEPARATOR + " "));
+        }
+
+        Route resolve(String rawRoute) {
+            if (rawRoute.isEmpty()) {
+                throw new IllegalArgumentException("Маршрут не вказано.");
+            }
+            List<Route> matches = routesByName.get(normalizeRoute(rawRoute));
+            if (matches == null) {
+                for (String part : rawRoute.split(ROUTE_SEPARATOR)) {
+                    if (!stopNames.contains(normalizeName(part))) {
+                        throw new IllegalArgumentException("Невідома зупинка '" + part.trim() + "'.");
+                    }
+                }
+                throw new IllegalArgumentException("Маршрут '" + rawRoute + "' не знайдено.");
+            }
+            if (matches.size() > 1) {
+                throw new IllegalArgumentException("Назва маршруту '" + rawRoute + "' неоднозначна (" + matches.size()
+                        + " маршрути). Вкажіть назви зупинок замість міст.");
+            }
+            return matches.get(0);
+        }
+    }
+
+    private static final class RowResult {
+        final int lineNumber;
+        final Flight flight;
+        final String error;
+
+        private RowResult(int lineNumber, Flight flight, String error) {
+            this.lineNumber = lineNumber;
+            this.flight = flight;
+            this.error = error;
+        }
+
+        static RowResult ok(int lineNumber, Flight flight) {
+            return new RowResult(lineNumber, flight, null);
+        }
+
+        static RowResult error(int lineNumber, String error) {
+            return new RowResult(lineNumber, null, error);
+        }
+    }
+
+    /**
+     * Звіт про результат імпорту розкладу.
+     */
+    public static class ImportReport {
+        private final int totalRows;
+        private final int importedCount;
+        private final List<RowError> errors;
+
+        ImportReport(int totalRows, int importedCount, List<RowError> errors) {
+            this.totalRows = totalRows;
+            this.importedCount = importedCount;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * @return Кількість непорожніх рядків даних у файлі.
+         */
+        public int getTotalRows() {
+            return totalRows;
+        }
+
+        /**
+         * @return Кількість успішно доданих рейсів.
+         */
+        public int getImportedCount() {
+            return importedCount;
+        }
+
+        /**
+         * @return Помилки по рядках, впорядковані за номером рядка.
+         */
+        public List<RowError> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Помилка окремого рядка CSV-файлу.
+         */
+        public static class RowError {
+            private final int lineNumber;
+            private final String message;
+
+            RowError(int lineNumber, String message) {
+                this.lineNumber = lineNumber;
+                this.message = message;
+            }
+
+            /**
+             * @return Номер рядка у файлі (заголовок - рядок 1).
+             */
+            public int getLineNumber() {
+                return lineNumber;
+            }
+
+            public String getMessage() {
+                return message;
+            }
+
+            @Override
+            public String toString() {
+                return "Рядок " + lineNumber + ": " + message;
+            }
+        }
+    }
+}
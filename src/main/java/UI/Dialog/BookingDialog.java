@@ -1,14 +1,18 @@
 package UI.Dialog;
 import DAO.PassengerDAO;
 import DAO.TicketDAO;
+import Diagnostics.UiActions;
 import Models.*;
 import Models.Enums.BenefitType;
 import Models.Enums.TicketStatus;
+import Services.PassengerLookupIndex;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ItemEvent;
@@ -17,6 +21,7 @@ import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -39,6 +44,10 @@ public class BookingDialog extends JDialog {
     private final TicketDAO ticketDAO;
     private boolean bookingConfirmed = false;
 
+    private static final int MAX_AUTOFILL_SUGGESTIONS = 8;
+    private JPopupMenu autofillPopup;
+    private boolean autofillInProgress = false;
+
     // Прапорець для придушення повідомлень під час тестів
     private static final AtomicBoolean suppressMessagesForTesting = new AtomicBoolean(false);
 
@@ -101,6 +110,7 @@ public class BookingDialog extends JDialog {
             return;
         }
 
+        PassengerLookupIndex.getInstance().startBackgroundLoad(passengerDAO);
         initComponents();
         setFlightAndSeatInfo();
 
@@ -168,11 +178,17 @@ public class BookingDialog extends JDialog {
         });
         passengerPanel.add(cmbBenefitType, gbc);
 
+        autofillPopup = new JPopupMenu();
+        autofillPopup.setFocusable(false);
+        attachAutofill(txtFullName);
+        attachAutofill(txtDocumentNumber);
+        attachAutofill(txtPhoneNumber);
+
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         btnConfirmBooking = new JButton("Підтвердити бронювання");
         btnCancel = new JButton("Скасувати");
 
-        btnConfirmBooking.addActionListener(this::confirmBookingAction);
+        btnConfirmBooking.addActionListener(UiActions.traced("BookingDialog.confirmBookingAction", this::confirmBookingAction));
         btnCancel.addActionListener(e -> {
             logger.debug("Натиснуто кнопку 'Скасувати'. Закриття діалогу бронювання.");
             dispose();
@@ -187,6 +203,58 @@ public class BookingDialog extends JDialog {
         logger.debug("Компоненти UI успішно створені та додані до діалогу.");
     }
 
+    private void attachAutofill(JTextField field) {
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { SwingUtilities.invokeLater(() -> showAutofillSuggestions(field)); }
+            @Override public void removeUpdate(DocumentEvent e) { SwingUtilities.invokeLater(() -> showAutofillSuggestions(field)); }
+            @Override public void changedUpdate(DocumentEvent e) { }
+        });
+    }
+
+    /**
+     * Показує підказки пасажирів з {@link PassengerLookupIndex} під полем введення.
+     * Пошук виконується в пам'яті, без звернень до бази даних.
+     * @param field Поле, в якому змінився текст.
+     */
+    private void showAutofillSuggestions(JTextField field) {
+        if (autofillInProgress || !field.isShowing()) {
+            return;
+        }
+        List<Passenger> suggestions = PassengerLookupIndex.getInstance().suggest(field.getText(), MAX_AUTOFILL_SUGGESTIONS);
+        autofillPopup.setVisible(false);
+        autofillPopup.removeAll();
+        if (suggestions.isEmpty()) {
+            return;
+        }
+        logger.trace("Знайдено {} підказок для автозаповнення за '{}'.", suggestions.size(), field.getText());
+        for (Passenger suggestion : suggestions) {
+            JMenuItem item = new JMenuItem(suggestion.getFullName() + " · " + suggestion.getDocumentNumber()
+                    + (suggestion.getPhoneNumber() != null ? " · " + suggestion.getPhoneNumber() : ""));
+            item.addActionListener(e -> fillPassengerFields(suggestion));
+            autofillPopup.add(item);
+        }
+        autofillPopup.show(field, 0, field.getHeight());
+        field.requestFocusInWindow();
+    }
+
+    private void fillPassengerFields(Passenger passenger) {
+        logger.info("Автозаповнення даних пасажира ID: {}", passenger.getId());
+        autofillInProgress = true;
+        try {
+            txtFullName.setText(passenger.getFullName());
+            txtDocumentType.setText(passenger.getDocumentType());
+            txtDocumentNumber.setText(passenger.getDocumentNumber());
+            txtPhoneNumber.setText(passenger.getPhoneNumber() != null ? passenger.getPhoneNumber() : "");
+            txtEmail.setText(passenger.getEmail() != null ? passenger.getEmail() : "");
+            cmbBenefitType.setSelectedItem(passenger.getBenefitType());
+        } finally {
+            // Слухачі документів відкладають показ підказок через invokeLater, тому прапорець знімається
+            // наступною задачею в черзі EDT, вже після них.
+            SwingUtilities.invokeLater(() -> autofillInProgress = false);
+            autofillPopup.setVisible(false);
+        }
+    }
+
     private void setFlightAndSeatInfo() {
         logger.debug("Встановлення інформації про рейс та місце.");
         String routeDesc = (selectedFlight.getRoute() != null) ? selectedFlight.getRoute().getFullRouteDescription() : "N/A";
@@ -217,6 +285,16 @@ public class BookingDialog extends JDialog {
     }
 
     public BigDecimal calculatePriceWithBenefit(BigDecimal basePrice, BenefitType benefitType) {
+        return priceWithBenefit(basePrice, benefitType);
+    }
+
+    /**
+     * Розраховує ціну квитка з урахуванням пільги. Використовується також груповим бронюванням.
+     * @param basePrice Базова ціна місця.
+     * @param benefitType Пільга пасажира.
+     * @return Кінцева ціна.
+     */
+    public static BigDecimal priceWithBenefit(BigDecimal basePrice, BenefitType benefitType) {
         logger.trace("Розрахунок ціни. Базова ціна: {}, Пільга: {}", basePrice, (benefitType != null ? benefitType.getDisplayName() : "null"));
         if (basePrice == null) {
             logger.warn("Базова ціна для розрахунку є null. Повертається 0.");
@@ -266,7 +344,7 @@ public class BookingDialog extends JDialog {
             logger.debug("Створення об'єкта Passenger.");
             Passenger passenger = new Passenger(0, fullName, docNumber, docType, phone, email.isEmpty() ? null : email, benefit);
             logger.debug("Додавання або отримання пасажира з DAO.");
-            long passengerId = passengerDAO.addOrGetPassenger(passenger);
+            long passengerId = passengerDAO.upsertPassenger(passenger);
             passenger.setId(passengerId);
             logger.info("Пасажир успішно оброблений. ID пасажира: {}", passengerId);
 
@@ -274,7 +352,7 @@ public class BookingDialog extends JDialog {
             logger.debug("Розрахована кінцева ціна квитка: {}", finalPrice);
 
             LocalDateTime bookingTime = LocalDateTime.now();
-            LocalDateTime expiryTime = bookingTime.plusHours(24);
+            LocalDateTime expiryTime = bookingTime.plusHours(Ticket.BOOKING_HOLD_HOURS);
             logger.debug("Час бронювання: {}, Термін дії броні: {}", bookingTime, expiryTime);
 
             Ticket newTicket = new Ticket(
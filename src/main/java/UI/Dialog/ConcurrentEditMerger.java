@@ -0,0 +1,53 @@
+package UI.Dialog;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Триточкове злиття полів запису при конфлікті паралельного редагування.
+ * <p>
+ * Для кожного поля порівнюються три значення: прочитане при відкритті діалогу ({@code base}),
+ * введене користувачем ({@code mine}) та поточне в базі даних ({@code theirs}). Якщо поле змінив
+ * лише один з користувачів, береться його значення; якщо обидва змінили його по-різному,
+ * поле вважається конфліктним і залишається значення користувача.
+ * </p>
+ */
+final class ConcurrentEditMerger {
+    private final List<String> conflictingFields = new ArrayList<>();
+
+    /**
+     * @param fieldName Назва поля для повідомлення користувачу.
+     * @param base Значення на момент відкриття діалогу.
+     * @param mine Значення, введене користувачем.
+     * @param theirs Поточне значення в базі даних.
+     * @param <T> Тип значення.
+     * @return Значення поля після злиття.
+     */
+    <T> T merge(String fieldName, T base, T mine, T theirs) {
+        if (same(mine, base)) {
+            return theirs;
+        }
+        if (!same(theirs, base) && !same(theirs, mine)) {
+            conflictingFields.add(fieldName);
+        }
+        return mine;
+    }
+
+    boolean hasConflicts() {
+        return !conflictingFields.isEmpty();
+    }
+
+    List<String> getConflictingFields() {
+        return Collections.unmodifiableList(conflictingFields);
+    }
+
+    private static boolean same(Object a, Object b) {
+        if (a instanceof BigDecimal && b instanceof BigDecimal) {
+            return ((BigDecimal) a).compareTo((BigDecimal) b) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+}
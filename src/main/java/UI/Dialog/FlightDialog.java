@@ -2,6 +2,8 @@ package UI.Dialog;
 
 import DAO.FlightDAO;
 import DAO.RouteDAO;
+import DAO.UpdateResult;
+import Diagnostics.UiActions;
 import Models.Flight;
 import Models.Enums.FlightStatus;
 import Models.Route;
@@ -19,6 +21,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean; // Додано для прапорця
 
 /**
@@ -35,6 +38,8 @@ public class FlightDialog extends JDialog {
     private JButton btnCancel; // Зроблено полем
 
     private Flight currentFlight;
+    /** Знімок рейсу на момент відкриття діалогу (база для злиття при конфлікті паралельного редагування). */
+    private Flight originalFlight;
     private final FlightDAO flightDAO;
     private final RouteDAO routeDAO;
     private boolean saved = false;
@@ -102,6 +107,7 @@ public class FlightDialog extends JDialog {
         this.flightDAO = flightDAO;
         this.routeDAO = routeDAO;
         this.currentFlight = flightToEdit;
+        this.originalFlight = flightToEdit != null ? copyOf(flightToEdit) : null;
 
         initComponents();
         loadRoutesIntoComboBox();
@@ -203,7 +209,7 @@ public class FlightDialog extends JDialog {
         btnSave = new JButton("Зберегти");
         btnCancel = new JButton("Скасувати");
 
-        btnSave.addActionListener(this::saveFlightAction);
+        btnSave.addActionListener(UiActions.traced("FlightDialog.saveFlightAction", this::saveFlightAction));
         btnCancel.addActionListener(e -> {
             logger.debug("Натиснуто кнопку 'Скасувати'. Закриття FlightDialog.");
             dispose();
@@ -377,13 +383,17 @@ public class FlightDialog extends JDialog {
                 currentFlight.setPricePerSeat(pricePerSeat);
                 currentFlight.setStatus(status);
                 logger.debug("Об'єкт рейсу ID: {} підготовлено до оновлення.", currentFlight.getId());
-                if (flightDAO.updateFlight(currentFlight)) {
+                UpdateResult result = flightDAO.updateFlight(currentFlight);
+                if (result == UpdateResult.CONFLICT) {
+                    result = mergeWithLatestAndRetry();
+                }
+                if (result == UpdateResult.UPDATED) {
                     saved = true;
                     logger.info("Рейс ID: {} успішно оновлено.", currentFlight.getId());
                     dispose();
-                } else {
-                    logger.warn("Не вдалося оновити рейс ID: {} (flightDAO.updateFlight повернув false).", currentFlight.getId());
-                    showDialogMessage(this, "Не вдалося оновити рейс (DAO повернув false).", "Помилка збереження", JOptionPane.ERROR_MESSAGE);
+                } else if (result == UpdateResult.NOT_FOUND) {
+                    logger.warn("Не вдалося оновити рейс ID: {} (рейс не знайдено).", currentFlight.getId());
+                    showDialogMessage(this, "Не вдалося оновити рейс: рейс не знайдено в базі даних.", "Помилка збереження", JOptionPane.ERROR_MESSAGE);
                 }
             }
         } catch (SQLException ex) {
@@ -405,6 +415,77 @@ public class FlightDialog extends JDialog {
         }
     }
 
+    /**
+     * Обробляє конфлікт паралельного редагування: перечитує рейс з бази даних та зливає зміни
+     * користувача зі змінами, зробленими іншим користувачем. Якщо однакові поля не змінювалися обома,
+     * злиті дані зберігаються повторно; інакше поля діалогу оновлюються і користувач отримує
+     * перелік конфліктних полів для перевірки.
+     * @return Результат повторного збереження або {@link UpdateResult#CONFLICT}, якщо потрібне рішення користувача.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    private UpdateResult mergeWithLatestAndRetry() throws SQLException {
+        logger.info("Рейс ID: {} змінено іншим користувачем. Перечитування та злиття змін.", currentFlight.getId());
+        Optional<Flight> latestOpt = flightDAO.getFlightById(currentFlight.getId());
+        if (!latestOpt.isPresent()) {
+            return UpdateResult.NOT_FOUND;
+        }
+        Flight latest = latestOpt.get();
+        Flight base = originalFlight != null ? originalFlight : latest;
+
+        ConcurrentEditMerger merger = new ConcurrentEditMerger();
+        long routeId = merger.merge("Маршрут", base.getRoute().getId(), currentFlight.getRoute().getId(), latest.getRoute().getId());
+        Route route = routeId == currentFlight.getRoute().getId() ? currentFlight.getRoute() : latest.getRoute();
+        LocalDateTime departure = merger.merge("Відправлення", base.getDepartureDateTime(), currentFlight.getDepartureDateTime(), latest.getDepartureDateTime());
+        LocalDateTime arrival = merger.merge("Прибуття", base.getArrivalDateTime(), currentFlight.getArrivalDateTime(), latest.getArrivalDateTime());
+        int totalSeats = merger.merge("Кількість місць", base.getTotalSeats(), currentFlight.getTotalSeats(), latest.getTotalSeats());
+        String busModel = merger.merge("Модель автобуса", nullToEmpty(base.getBusModel()), nullToEmpty(currentFlight.getBusModel()), nullToEmpty(latest.getBusModel()));
+        BigDecimal price = merger.merge("Ціна", base.getPricePerSeat(), currentFlight.getPricePerSeat(), latest.getPricePerSeat());
+        FlightStatus status = merger.merge("Статус", base.getStatus(), currentFlight.getStatus(), latest.getStatus());
+
+        currentFlight.setRoute(route);
+        currentFlight.setDepartureDateTime(departure);
+        currentFlight.setArrivalDateTime(arrival);
+        currentFlight.setTotalSeats(totalSeats);
+        currentFlight.setBusModel(busModel);
+        currentFlight.setPricePerSeat(price);
+        currentFlight.setStatus(status);
+        currentFlight.setVersion(latest.getVersion());
+        originalFlight = latest;
+
+        if (merger.hasConflicts()) {
+            logger.warn("Конфлікт паралельного редагування рейсу ID: {}. Поля: {}", currentFlight.getId(), merger.getConflictingFields());
+            populateFields(currentFlight);
+            showDialogMessage(this,
+                    "Рейс змінено іншим користувачем під час редагування.\n" +
+                            "Ті самі поля змінено обома: " + String.join(", ", merger.getConflictingFields()) + ".\n" +
+                            "Інші зміни об'єднано. Перевірте значення та натисніть 'Зберегти' ще раз.",
+                    "Конфлікт редагування", JOptionPane.WARNING_MESSAGE);
+            return UpdateResult.CONFLICT;
+        }
+
+        logger.info("Зміни рейсу ID: {} об'єднано зі змінами іншого користувача. Повторне збереження.", currentFlight.getId());
+        UpdateResult retry = flightDAO.updateFlight(currentFlight);
+        if (retry == UpdateResult.CONFLICT) {
+            populateFields(currentFlight);
+            showDialogMessage(this, "Рейс знову змінено іншим користувачем. Перевірте значення та збережіть ще раз.",
+                    "Конфлікт редагування", JOptionPane.WARNING_MESSAGE);
+        }
+        return retry;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static Flight copyOf(Flight flight) {
+        Flight copy = new Flight(flight.getId(), flight.getRoute(), flight.getDepartureDateTime(), flight.getArrivalDateTime(),
+                flight.getTotalSeats(), flight.getStatus(), flight.getBusModel(), flight.getPricePerSeat());
+        copy.setVersion(flight.getVersion());
+        copy.setBookedCount(flight.getBookedCount());
+        copy.setSoldCount(flight.getSoldCount());
+        return copy;
+    }
+
     public boolean isSaved() {
         logger.trace("Перевірка статусу збереження: {}", saved);
         return saved;
@@ -0,0 +1,297 @@
+package UI.Dialog;
+
+import DAO.PassengerDAO;
+import DAO.TicketDAO;
+import Diagnostics.UiActions;
+import Models.Flight;
+import Models.Passenger;
+import Models.Ticket;
+import Models.Enums.BenefitType;
+import Models.Enums.TicketStatus;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.text.NumberFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Діалогове вікно для групового бронювання кількох місць на один рейс.
+ * <p>
+ * Кожному обраному місцю відповідає рядок таблиці з даними пасажира. Пасажири зберігаються
+ * одним груповим upsert, а квитки - однією транзакцією через {@link TicketDAO#addTicketsBatch(List)}:
+ * якщо хоча б одне місце вже зайняте, не бронюється жодне, а конфліктні місця підсвічуються в таблиці,
+ * щоб їх можна було замінити та повторити спробу.
+ * </p>
+ */
+public class GroupBookingDialog extends JDialog {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final DateTimeFormatter DIALOG_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    static final int COL_SEAT = 0;
+    static final int COL_FULL_NAME = 1;
+    static final int COL_DOCUMENT_TYPE = 2;
+    static final int COL_DOCUMENT_NUMBER = 3;
+    static final int COL_PHONE = 4;
+    static final int COL_EMAIL = 5;
+    static final int COL_BENEFIT = 6;
+    private static final String[] COLUMN_NAMES = {"Місце", "ПІБ", "Тип документа", "Номер документа", "Телефон", "Email", "Пільга"};
+
+    private final Flight selectedFlight;
+    private final List<String> selectedSeats;
+    private final PassengerDAO passengerDAO;
+    private final TicketDAO ticketDAO;
+
+    private JTable passengersTable;
+    private DefaultTableModel passengersTableModel;
+    private JLabel lblFlightInfo, lblTotalPrice;
+    private JButton btnConfirmBooking, btnCancel;
+
+    private boolean bookingConfirmed = false;
+    private Set<String> conflictingSeats = Collections.emptySet();
+
+    private static final AtomicBoolean suppressMessagesForTesting = new AtomicBoolean(false);
+
+    /**
+     * Встановлює режим придушення повідомлень JOptionPane для тестування.
+     * УВАГА: Використовуйте тільки в тестовому середовищі!
+     * @param suppress true, щоб придушити повідомлення, false - щоб показувати.
+     */
+    public static void setSuppressMessagesForTesting(boolean suppress) {
+        suppressMessagesForTesting.set(suppress);
+        if (suppress) {
+            logger.warn("УВАГА: Повідомлення JOptionPane придушені для тестування в GroupBookingDialog!");
+        } else {
+            logger.info("Режим придушення повідомлень JOptionPane вимкнено в GroupBookingDialog.");
+        }
+    }
+
+    private void showDialogMessage(Component parentComponent, Object message, String title, int messageType) {
+        if (!suppressMessagesForTesting.get()) {
+            JOptionPane.showMessageDialog(parentComponent, message, title, messageType);
+        } else {
+            logger.info("JOptionPane придушено (тестовий режим): Титул='{}', Повідомлення='{}', Тип={}", title, message, messageType);
+        }
+    }
+
+    /**
+     * Конструктор діалогу групового бронювання.
+     * @param owner Батьківське вікно.
+     * @param flight Обраний рейс.
+     * @param seats Обрані місця.
+     * @param passengerDAO DAO для пасажирів.
+     * @param ticketDAO DAO для квитків.
+     */
+    public GroupBookingDialog(Frame owner, Flight flight, List<String> seats, PassengerDAO passengerDAO, TicketDAO ticketDAO) {
+        super(owner, "Групове бронювання квитків", true);
+        logger.info("Ініціалізація діалогу групового бронювання для рейсу ID: {}, місць: {}",
+                (flight != null ? flight.getId() : "N/A"), (seats != null ? seats.size() : 0));
+
+        this.selectedFlight = flight;
+        this.selectedSeats = seats != null ? new ArrayList<>(seats) : Collections.emptyList();
+        this.passengerDAO = passengerDAO;
+        this.ticketDAO = ticketDAO;
+
+        if (flight == null || selectedSeats.isEmpty() || passengerDAO == null || ticketDAO == null) {
+            logger.error("Критична помилка: Один з параметрів конструктора GroupBookingDialog є null або порожній.");
+            SwingUtilities.invokeLater(() -> {
+                showDialogMessage(owner, "Помилка ініціалізації діалогу. Недостатньо даних.", "Критична помилка", JOptionPane.ERROR_MESSAGE);
+                dispose();
+            });
+            return;
+        }
+
+        initComponents();
+        pack();
+        setLocationRelativeTo(owner);
+        setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        logger.debug("Діалог групового бронювання успішно ініціалізовано.");
+    }
+
+    private void initComponents() {
+        setLayout(new BorderLayout(10, 10));
+        ((JPanel) getContentPane()).setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel infoPanel = new JPanel(new GridLayout(0, 1, 5, 5));
+        infoPanel.setBorder(BorderFactory.createTitledBorder("Інформація про рейс"));
+        String routeDesc = (selectedFlight.getRoute() != null) ? selectedFlight.getRoute().getFullRouteDescription() : "N/A";
+        lblFlightInfo = new JLabel(String.format("Рейс: %s (%s - %s), місць: %d",
+                routeDesc,
+                selectedFlight.getDepartureDateTime().format(DIALOG_DATE_TIME_FORMATTER),
+                selectedFlight.getArrivalDateTime().format(DIALOG_DATE_TIME_FORMATTER),
+                selectedSeats.size()));
+        lblTotalPrice = new JLabel();
+        infoPanel.add(lblFlightInfo);
+        infoPanel.add(lblTotalPrice);
+
+        passengersTableModel = new DefaultTableModel(COLUMN_NAMES, 0) {
+            @Override
+            public Class<?> getColumnClass(int columnIndex) {
+                return columnIndex == COL_BENEFIT ? BenefitType.class : String.class;
+            }
+        };
+        for (String seat : selectedSeats) {
+            passengersTableModel.addRow(new Object[]{seat, "", "", "", "", "", BenefitType.NONE});
+        }
+        passengersTableModel.addTableModelListener(e -> updateTotalPrice());
+
+        passengersTable = new JTable(passengersTableModel);
+        passengersTable.setName("groupPassengersTable");
+        passengersTable.setFillsViewportHeight(true);
+        passengersTable.putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+        JComboBox<BenefitType> benefitEditor = new JComboBox<>(BenefitType.values());
+        passengersTable.getColumnModel().getColumn(COL_BENEFIT).setCellEditor(new DefaultCellEditor(benefitEditor));
+        passengersTable.setDefaultRenderer(Object.class, new ConflictAwareRenderer());
+        passengersTable.setDefaultRenderer(String.class, new ConflictAwareRenderer());
+        passengersTable.setDefaultRenderer(BenefitType.class, new ConflictAwareRenderer());
+        passengersTable.getColumnModel().getColumn(COL_SEAT).setPreferredWidth(50);
+        passengersTable.getColumnModel().getColumn(COL_FULL_NAME).setPreferredWidth(200);
+        JScrollPane scrollPane = new JScrollPane(passengersTable);
+        scrollPane.setPreferredSize(new Dimension(850, Math.min(400, 60 + selectedSeats.size() * 20)));
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        btnConfirmBooking = new JButton("Підтвердити групове бронювання");
+        btnConfirmBooking.setName("btnConfirmGroupBooking");
+        btnCancel = new JButton("Скасувати");
+        btnConfirmBooking.addActionListener(UiActions.traced("GroupBookingDialog.confirmBookingAction", this::confirmBookingAction));
+        btnCancel.addActionListener(e -> {
+            logger.debug("Натиснуто кнопку 'Скасувати'. Закриття діалогу групового бронювання.");
+            dispose();
+        });
+        buttonPanel.add(btnConfirmBooking);
+        buttonPanel.add(btnCancel);
+
+        add(infoPanel, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+        updateTotalPrice();
+    }
+
+    private void updateTotalPrice() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int row = 0; row < passengersTableModel.getRowCount(); row++) {
+            total = total.add(BookingDialog.priceWithBenefit(selectedFlight.getPricePerSeat(), benefitAt(row)));
+        }
+        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("uk", "UA"));
+        lblTotalPrice.setText("Загальна сума до сплати: " + currencyFormat.format(total));
+    }
+
+    private BenefitType benefitAt(int row) {
+        Object value = passengersTableModel.getValueAt(row, COL_BENEFIT);
+        return value instanceof BenefitType ? (BenefitType) value : BenefitType.NONE;
+    }
+
+    private String textAt(int row, int column) {
+        Object value = passengersTableModel.getValueAt(row, column);
+        return value == null ? "" : value.toString().trim();
+    }
+
+    void confirmBookingAction(ActionEvent event) {
+        logger.info("Спроба підтвердити групове бронювання {} місць на рейс ID {}.", passengersTableModel.getRowCount(), selectedFlight.getId());
+        if (passengersTable.isEditing()) {
+            passengersTable.getCellEditor().stopCellEditing();
+        }
+
+        List<Passenger> passengers = new ArrayList<>();
+        List<String> seats = new ArrayList<>();
+        for (int row = 0; row < passengersTableModel.getRowCount(); row++) {
+            String seat = textAt(row, COL_SEAT);
+            String fullName = textAt(row, COL_FULL_NAME);
+            String docType = textAt(row, COL_DOCUMENT_TYPE);
+            String docNumber = textAt(row, COL_DOCUMENT_NUMBER);
+            String phone = textAt(row, COL_PHONE);
+            String email = textAt(row, COL_EMAIL);
+            if (seat.isEmpty() || fullName.isEmpty() || docType.isEmpty() || docNumber.isEmpty() || phone.isEmpty()) {
+                logger.warn("Помилка валідації групового бронювання: рядок {} заповнено не повністю.", row + 1);
+                showDialogMessage(this, "Рядок " + (row + 1) + ": заповніть Місце, ПІБ, Тип та Номер документа, Телефон.",
+                        "Помилка валідації", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            passengers.add(new Passenger(0, fullName, docNumber, docType, phone, email.isEmpty() ? null : email, benefitAt(row)));
+            seats.add(seat);
+        }
+
+        try {
+            List<Long> passengerIds = passengerDAO.upsertPassengers(passengers);
+            LocalDateTime bookingTime = LocalDateTime.now();
+            LocalDateTime expiryTime = bookingTime.plusHours(Ticket.BOOKING_HOLD_HOURS);
+            List<Ticket> tickets = new ArrayList<>();
+            for (int i = 0; i < passengers.size(); i++) {
+                Passenger passenger = passengers.get(i);
+                passenger.setId(passengerIds.get(i));
+                Ticket ticket = new Ticket(0, selectedFlight, passenger, seats.get(i), bookingTime,
+                        BookingDialog.priceWithBenefit(selectedFlight.getPricePerSeat(), passenger.getBenefitType()), TicketStatus.BOOKED);
+                ticket.setBookingExpiryDateTime(expiryTime);
+                tickets.add(ticket);
+            }
+
+            TicketDAO.BatchBookingResult result = ticketDAO.addTicketsBatch(tickets);
+            if (result.isSuccess()) {
+                bookingConfirmed = true;
+                conflictingSeats = Collections.emptySet();
+                logger.info("Групове бронювання успішне: {} квитків на рейс ID {}.", result.getBookedCount(), selectedFlight.getId());
+                showDialogMessage(this, "Успішно заброньовано місць: " + result.getBookedCount() +
+                                "\nТермін дії броні: " + expiryTime.format(DIALOG_DATE_TIME_FORMATTER),
+                        "Бронювання успішне", JOptionPane.INFORMATION_MESSAGE);
+                dispose();
+            } else {
+                conflictingSeats = result.getConflictingSeats(selectedFlight.getId());
+                passengersTable.repaint();
+                logger.warn("Групове бронювання відхилено. Конфліктні місця: {}", conflictingSeats);
+                showDialogMessage(this, "Жодне місце не заброньовано. Вже зайняті або повторюються місця: " +
+                                String.join(", ", conflictingSeats) + ".\nЗамініть підсвічені місця та повторіть спробу.",
+                        "Конфлікт місць", JOptionPane.WARNING_MESSAGE);
+            }
+        } catch (SQLException ex) {
+            logger.error("Помилка бази даних під час групового бронювання. Рейс ID: {}", selectedFlight.getId(), ex);
+            showDialogMessage(this, "Помилка під час взаємодії з базою даних: " + ex.getMessage(),
+                    "Помилка бази даних", JOptionPane.ERROR_MESSAGE);
+        } catch (Exception exGeneral) {
+            logger.error("Непередбачена помилка під час групового бронювання. Рейс ID: {}", selectedFlight.getId(), exGeneral);
+            showDialogMessage(this, "Сталася непередбачена помилка: " + exGeneral.getMessage(),
+                    "Внутрішня помилка", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Рендерер, що підсвічує рядки з конфліктними місцями після невдалої спроби бронювання.
+     */
+    private class ConflictAwareRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+            Object display = value instanceof BenefitType ? ((BenefitType) value).getDisplayName() : value;
+            Component c = super.getTableCellRendererComponent(table, display, isSelected, hasFocus, row, column);
+            int modelRow = table.convertRowIndexToModel(row);
+            boolean conflict = conflictingSeats.contains(textAt(modelRow, COL_SEAT));
+            if (!isSelected) {
+                c.setBackground(conflict ? new Color(255, 205, 205) : table.getBackground());
+            }
+            return c;
+        }
+    }
+
+    public boolean isBookingConfirmed() {
+        return bookingConfirmed;
+    }
+
+    public Set<String> getConflictingSeats() { return conflictingSeats; }
+    public JTable getPassengersTable() { return passengersTable; }
+    public DefaultTableModel getPassengersTableModel() { return passengersTableModel; }
+    public JLabel getLblTotalPrice() { return lblTotalPrice; }
+    public JButton getBtnConfirmBooking() { return btnConfirmBooking; }
+    public JButton getBtnCancel() { return btnCancel; }
+}
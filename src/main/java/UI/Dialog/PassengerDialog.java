@@ -1,6 +1,8 @@
 package UI.Dialog;
 
 import DAO.PassengerDAO;
+import DAO.UpdateResult;
+import Diagnostics.UiActions;
 import Models.Passenger;
 import Models.Enums.BenefitType;
 
@@ -11,6 +13,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -24,6 +27,8 @@ public class PassengerDialog extends JDialog {
     private static final Logger logger = LogManager.getLogger("insurance.log");
 
     private Passenger currentPassenger;
+    /** Знімок пасажира на момент відкриття діалогу (база для злиття при конфлікті паралельного редагування). */
+    private Passenger originalPassenger;
     private PassengerDAO passengerDAO;
     private boolean saved = false;
 
@@ -94,6 +99,7 @@ public class PassengerDialog extends JDialog {
         }
 
         this.currentPassenger = passenger;
+        this.originalPassenger = copyOf(passenger);
         this.passengerDAO = passengerDAO;
 
         initComponents();
@@ -154,7 +160,7 @@ public class PassengerDialog extends JDialog {
         btnSave = new JButton("Зберегти"); // Ініціалізація поля класу
         btnCancel = new JButton("Скасувати"); // Ініціалізація поля класу
 
-        btnSave.addActionListener(this::savePassengerAction);
+        btnSave.addActionListener(UiActions.traced("PassengerDialog.savePassengerAction", this::savePassengerAction));
         btnCancel.addActionListener(e -> {
             logger.debug("Натиснуто кнопку 'Скасувати'. Закриття PassengerDialog.");
             dispose();
@@ -231,12 +237,16 @@ public class PassengerDialog extends JDialog {
 
         try {
             logger.debug("Спроба оновити дані пасажира в базі даних.");
-            if (passengerDAO.updatePassenger(currentPassenger)) {
+            UpdateResult result = passengerDAO.updatePassenger(currentPassenger);
+            if (result == UpdateResult.CONFLICT) {
+                result = mergeWithLatestAndRetry();
+            }
+            if (result == UpdateResult.UPDATED) {
                 saved = true;
                 logger.info("Дані пасажира ID: {} успішно оновлено.", currentPassenger.getId());
                 dispose();
-            } else {
-                logger.warn("Не вдалося оновити дані пасажира ID: {} в базі даних (DAO повернув false).", currentPassenger.getId());
+            } else if (result == UpdateResult.NOT_FOUND) {
+                logger.warn("Не вдалося оновити дані пасажира ID: {} в базі даних (пасажира не знайдено).", currentPassenger.getId());
                 showDialogMessage(this, "Не вдалося оновити дані пасажира в базі даних.", "Помилка збереження", JOptionPane.ERROR_MESSAGE);
             }
         } catch (SQLException ex) {
@@ -251,6 +261,61 @@ public class PassengerDialog extends JDialog {
         }
     }
 
+    /**
+     * Обробляє конфлікт паралельного редагування: перечитує пасажира з бази даних та зливає зміни
+     * користувача зі змінами, зробленими іншим користувачем. Якщо однакові поля не змінювалися обома,
+     * злиті дані зберігаються повторно; інакше поля форми оновлюються і користувач отримує
+     * перелік конфліктних полів для перевірки.
+     * @return Результат повторного збереження або {@link UpdateResult#CONFLICT}, якщо потрібне рішення користувача.
+     * @throws SQLException якщо виникає помилка доступу до бази даних.
+     */
+    private UpdateResult mergeWithLatestAndRetry() throws SQLException {
+        logger.info("Пасажира ID: {} змінено іншим користувачем. Перечитування та злиття змін.", currentPassenger.getId());
+        Optional<Passenger> latestOpt = passengerDAO.findById(currentPassenger.getId());
+        if (!latestOpt.isPresent()) {
+            return UpdateResult.NOT_FOUND;
+        }
+        Passenger latest = latestOpt.get();
+        Passenger base = originalPassenger;
+
+        ConcurrentEditMerger merger = new ConcurrentEditMerger();
+        currentPassenger.setFullName(merger.merge("ПІБ", base.getFullName(), currentPassenger.getFullName(), latest.getFullName()));
+        currentPassenger.setDocumentType(merger.merge("Тип документа", base.getDocumentType(), currentPassenger.getDocumentType(), latest.getDocumentType()));
+        currentPassenger.setDocumentNumber(merger.merge("Номер документа", base.getDocumentNumber(), currentPassenger.getDocumentNumber(), latest.getDocumentNumber()));
+        currentPassenger.setPhoneNumber(merger.merge("Телефон", base.getPhoneNumber(), currentPassenger.getPhoneNumber(), latest.getPhoneNumber()));
+        currentPassenger.setEmail(merger.merge("Email", base.getEmail(), currentPassenger.getEmail(), latest.getEmail()));
+        currentPassenger.setBenefitType(merger.merge("Пільга", base.getBenefitType(), currentPassenger.getBenefitType(), latest.getBenefitType()));
+        currentPassenger.setVersion(latest.getVersion());
+        originalPassenger = latest;
+
+        if (merger.hasConflicts()) {
+            logger.warn("Конфлікт паралельного редагування пасажира ID: {}. Поля: {}", currentPassenger.getId(), merger.getConflictingFields());
+            populateFields();
+            showDialogMessage(this,
+                    "Дані пасажира змінено іншим користувачем під час редагування.\n" +
+                            "Ті самі поля змінено обома: " + String.join(", ", merger.getConflictingFields()) + ".\n" +
+                            "Інші зміни об'єднано. Перевірте значення та натисніть 'Зберегти' ще раз.",
+                    "Конфлікт редагування", JOptionPane.WARNING_MESSAGE);
+            return UpdateResult.CONFLICT;
+        }
+
+        logger.info("Зміни пасажира ID: {} об'єднано зі змінами іншого користувача. Повторне збереження.", currentPassenger.getId());
+        UpdateResult retry = passengerDAO.updatePassenger(currentPassenger);
+        if (retry == UpdateResult.CONFLICT) {
+            populateFields();
+            showDialogMessage(this, "Дані пасажира знову змінено іншим користувачем. Перевірте значення та збережіть ще раз.",
+                    "Конфлікт редагування", JOptionPane.WARNING_MESSAGE);
+        }
+        return retry;
+    }
+
+    private static Passenger copyOf(Passenger passenger) {
+        Passenger copy = new Passenger(passenger.getId(), passenger.getFullName(), passenger.getDocumentNumber(),
+                passenger.getDocumentType(), passenger.getPhoneNumber(), passenger.getEmail(), passenger.getBenefitType());
+        copy.setVersion(passenger.getVersion());
+        return copy;
+    }
+
     /**
      * Перевіряє, чи були успішно збережені зміни в діалоговому вікні.
      *
@@ -1,6 +1,7 @@
 package UI.Dialog;
 
 import DAO.StopDAO;
+import Diagnostics.UiActions;
 import Models.Route;
 import Models.Stop;
 
@@ -157,10 +158,10 @@ public class RouteCreationDialog extends JDialog {
         btnMoveUp = new JButton("Вгору");
         btnMoveDown = new JButton("Вниз");
 
-        btnAddStop.addActionListener(this::addIntermediateStopAction);
-        btnRemoveStop.addActionListener(this::removeIntermediateStopAction);
-        btnMoveUp.addActionListener(this::moveStopUpAction);
-        btnMoveDown.addActionListener(this::moveStopDownAction);
+        btnAddStop.addActionListener(UiActions.traced("RouteCreationDialog.addIntermediateStopAction", this::addIntermediateStopAction));
+        btnRemoveStop.addActionListener(UiActions.traced("RouteCreationDialog.removeIntermediateStopAction", this::removeIntermediateStopAction));
+        btnMoveUp.addActionListener(UiActions.traced("RouteCreationDialog.moveStopUpAction", this::moveStopUpAction));
+        btnMoveDown.addActionListener(UiActions.traced("RouteCreationDialog.moveStopDownAction", this::moveStopDownAction));
 
         intermediateControlsPanel.add(btnAddStop);
         intermediateControlsPanel.add(btnRemoveStop);
@@ -178,7 +179,7 @@ public class RouteCreationDialog extends JDialog {
         btnSave = new JButton("Зберегти маршрут");
         btnCancel = new JButton("Скасувати");
 
-        btnSave.addActionListener(this::saveRouteAction);
+        btnSave.addActionListener(UiActions.traced("RouteCreationDialog.saveRouteAction", this::saveRouteAction));
         btnCancel.addActionListener(e -> {
             logger.debug("Створення маршруту скасовано користувачем.");
             saved = false;
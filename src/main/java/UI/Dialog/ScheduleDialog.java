@@ -0,0 +1,297 @@
+package UI.Dialog;
+
+import DAO.FlightDAO;
+import DAO.RouteDAO;
+import Diagnostics.UiActions;
+import Models.Route;
+import Models.ScheduleTemplate;
+import Services.ScheduleGenerator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Діалогове вікно для генерації рейсів за шаблоном регулярного розкладу.
+ * Дозволяє задати маршрут, час відправлення, дні тижня та сезон,
+ * після чого рейси створюються однією пакетною транзакцією.
+ */
+public class ScheduleDialog extends JDialog {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final DateTimeFormatter INPUT_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter INPUT_TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final String[] DAY_LABELS = {"Пн", "Вт", "Ср", "Чт", "Пт", "Сб", "Нд"};
+
+    private JTextField txtDepartureTime, txtTravelDuration, txtSeasonStart, txtSeasonEnd, txtTotalSeats, txtBusModel, txtPricePerSeat;
+    private JComboBox<Route> cmbRoute;
+    private final Map<DayOfWeek, JCheckBox> dayCheckBoxes = new EnumMap<>(DayOfWeek.class);
+    private JButton btnGenerate;
+    private JButton btnCancel;
+
+    private final RouteDAO routeDAO;
+    private final ScheduleGenerator scheduleGenerator;
+    private boolean saved = false;
+
+    private static final AtomicBoolean suppressMessagesForTesting = new AtomicBoolean(false);
+
+    /**
+     * Встановлює режим придушення повідомлень JOptionPane для тестування.
+     * УВАГА: Використовуйте тільки в тестовому середовищі!
+     * @param suppress true, щоб придушити повідомлення, false - щоб показувати.
+     */
+    public static void setSuppressMessagesForTesting(boolean suppress) {
+        suppressMessagesForTesting.set(suppress);
+        if (suppress) {
+            logger.warn("УВАГА: Повідомлення JOptionPane придушені для тестування в ScheduleDialog!");
+        } else {
+            logger.info("Режим придушення повідомлень JOptionPane вимкнено в ScheduleDialog.");
+        }
+    }
+
+    private void showDialogMessage(Component parentComponent, Object message, String title, int messageType) {
+        if (!suppressMessagesForTesting.get()) {
+            JOptionPane.showMessageDialog(parentComponent, message, title, messageType);
+        } else {
+            String typeStr = "";
+            switch (messageType) {
+                case JOptionPane.ERROR_MESSAGE: typeStr = "ERROR"; break;
+                case JOptionPane.INFORMATION_MESSAGE: typeStr = "INFORMATION"; break;
+                case JOptionPane.WARNING_MESSAGE: typeStr = "WARNING"; break;
+                case JOptionPane.QUESTION_MESSAGE: typeStr = "QUESTION"; break;
+                default: typeStr = "UNKNOWN (" + messageType + ")"; break;
+            }
+            logger.info("ScheduleDialog JOptionPane придушено (тестовий режим): Титул='{}', Повідомлення='{}', Тип={}", title, message, typeStr);
+        }
+    }
+
+    /**
+     * Конструктор діалогового вікна.
+     * @param owner Батьківське вікно.
+     * @param flightDAO DAO для роботи з рейсами.
+     * @param routeDAO DAO для роботи з маршрутами (для завантаження списку).
+     * @throws IllegalArgumentException якщо flightDAO або routeDAO є null.
+     */
+    public ScheduleDialog(Frame owner, FlightDAO flightDAO, RouteDAO routeDAO) {
+        super(owner, "Генерація розкладу", true);
+        logger.info("Ініціалізація діалогу ScheduleDialog.");
+
+        if (flightDAO == null) {
+            logger.fatal("Критична помилка: FlightDAO є null при ініціалізації ScheduleDialog.");
+            throw new IllegalArgumentException("FlightDAO не може бути null.");
+        }
+        if (routeDAO == null) {
+            logger.fatal("Критична помилка: RouteDAO є null при ініціалізації ScheduleDialog.");
+            throw new IllegalArgumentException("RouteDAO не може бути null.");
+        }
+
+        this.routeDAO = routeDAO;
+        this.scheduleGenerator = new ScheduleGenerator(flightDAO);
+
+        initComponents();
+        loadRoutesIntoComboBox();
+
+        pack();
+        setLocationRelativeTo(owner);
+        setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        logger.debug("Діалог ScheduleDialog успішно ініціалізовано.");
+    }
+
+    private void initComponents() {
+        logger.debug("Ініціалізація компонентів UI для ScheduleDialog.");
+        setLayout(new BorderLayout(10, 10));
+        ((JPanel) getContentPane()).setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        JPanel formPanel = new JPanel(new GridBagLayout());
+        formPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.anchor = GridBagConstraints.WEST;
+
+        int row = 0;
+        gbc.gridx = 0; gbc.gridy = row; formPanel.add(new JLabel("Маршрут:"), gbc);
+        gbc.gridx = 1;
+        cmbRoute = new JComboBox<>();
+        cmbRoute.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (value instanceof Route) {
+                    setText(((Route) value).getFullRouteDescription());
+                } else if (value == null && index == -1) {
+                    setText("Оберіть маршрут...");
+                }
+                return this;
+            }
+        });
+        formPanel.add(cmbRoute, gbc);
+
+        txtDepartureTime = addField(formPanel, gbc, ++row, "Час відправлення (ГГ:ХХ):", 6);
+        txtTravelDuration = addField(formPanel, gbc, ++row, "Тривалість поїздки (хв):", 6);
+
+        gbc.gridx = 0; gbc.gridy = ++row; formPanel.add(new JLabel("Дні тижня:"), gbc);
+        gbc.gridx = 1;
+        JPanel daysPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 2, 0));
+        for (DayOfWeek day : DayOfWeek.values()) {
+            JCheckBox checkBox = new JCheckBox(DAY_LABELS[day.getValue() - 1]);
+            checkBox.setName("chkDay" + day.name());
+            dayCheckBoxes.put(day, checkBox);
+            daysPanel.add(checkBox);
+        }
+        formPanel.add(daysPanel, gbc);
+
+        txtSeasonStart = addField(formPanel, gbc, ++row, "Початок сезону (РРРР-ММ-ДД):", 10);
+        txtSeasonEnd = addField(formPanel, gbc, ++row, "Кінець сезону (РРРР-ММ-ДД):", 10);
+        txtTotalSeats = addField(formPanel, gbc, ++row, "Кількість місць:", 5);
+        txtBusModel = addField(formPanel, gbc, ++row, "Модель автобуса:", 15);
+        txtPricePerSeat = addField(formPanel, gbc, ++row, "Ціна за місце (грн):", 8);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        btnGenerate = new JButton("Згенерувати");
+        btnCancel = new JButton("Скасувати");
+        btnGenerate.addActionListener(UiActions.traced("ScheduleDialog.generateAction", this::generateAction));
+        btnCancel.addActionListener(e -> {
+            logger.debug("Натиснуто кнопку 'Скасувати'. Закриття ScheduleDialog.");
+            dispose();
+        });
+        buttonPanel.add(btnGenerate);
+        buttonPanel.add(btnCancel);
+
+        add(formPanel, BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+        logger.debug("Компоненти UI для ScheduleDialog успішно створені та додані.");
+    }
+
+    private JTextField addField(JPanel formPanel, GridBagConstraints gbc, int row, String label, int columns) {
+        gbc.gridx = 0; gbc.gridy = row; formPanel.add(new JLabel(label), gbc);
+        gbc.gridx = 1;
+        JTextField field = new JTextField(columns);
+        formPanel.add(field, gbc);
+        return field;
+    }
+
+    private void loadRoutesIntoComboBox() {
+        logger.debug("Завантаження маршрутів у JComboBox.");
+        try {
+            List<Route> routes = routeDAO.getAllRoutes();
+            cmbRoute.removeAllItems();
+            if (routes == null || routes.isEmpty()) {
+                logger.warn("Список маршрутів порожній або null. Генерація розкладу неможлива.");
+                cmbRoute.setEnabled(false);
+                btnGenerate.setEnabled(false);
+                showDialogMessage(this, "Список маршрутів порожній. Додайте маршрути перед генерацією розкладу.", "Увага", JOptionPane.WARNING_MESSAGE);
+            } else {
+                for (Route route : routes) {
+                    cmbRoute.addItem(route);
+                }
+                logger.info("Успішно завантажено {} маршрутів у JComboBox.", routes.size());
+            }
+        } catch (SQLException e) {
+            logger.error("Помилка завантаження маршрутів для JComboBox.", e);
+            showDialogMessage(this, "Не вдалося завантажити список маршрутів: " + e.getMessage(), "Помилка бази даних", JOptionPane.ERROR_MESSAGE);
+            cmbRoute.setEnabled(false);
+            btnGenerate.setEnabled(false);
+        }
+    }
+
+    private void generateAction(ActionEvent event) {
+        logger.info("Спроба згенерувати рейси за шаблоном розкладу.");
+        Route selectedRoute = (Route) cmbRoute.getSelectedItem();
+        if (selectedRoute == null) {
+            logger.warn("Валідація не пройдена: маршрут не обрано.");
+            showDialogMessage(this, "Будь ласка, оберіть маршрут.", "Помилка валідації", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        dayCheckBoxes.forEach((day, checkBox) -> {
+            if (checkBox.isSelected()) {
+                days.add(day);
+            }
+        });
+        if (days.isEmpty()) {
+            logger.warn("Валідація не пройдена: не обрано жодного дня тижня.");
+            showDialogMessage(this, "Оберіть хоча б один день тижня.", "Помилка валідації", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        ScheduleTemplate template;
+        try {
+            LocalTime departureTime = LocalTime.parse(txtDepartureTime.getText().trim(), INPUT_TIME_FORMATTER);
+            Duration travelDuration = Duration.ofMinutes(Long.parseLong(txtTravelDuration.getText().trim()));
+            LocalDate seasonStart = LocalDate.parse(txtSeasonStart.getText().trim(), INPUT_DATE_FORMATTER);
+            LocalDate seasonEnd = LocalDate.parse(txtSeasonEnd.getText().trim(), INPUT_DATE_FORMATTER);
+            int totalSeats = Integer.parseInt(txtTotalSeats.getText().trim());
+            BigDecimal pricePerSeat = new BigDecimal(txtPricePerSeat.getText().trim().replace(",", "."));
+            template = new ScheduleTemplate(selectedRoute, departureTime, travelDuration, days, seasonStart, seasonEnd,
+                    txtBusModel.getText().trim(), totalSeats, pricePerSeat);
+        } catch (DateTimeParseException e) {
+            logger.warn("Помилка валідації: неправильний формат дати або часу.", e);
+            showDialogMessage(this, "Неправильний формат дати або часу. Використовуйте РРРР-ММ-ДД та ГГ:ХХ.", "Помилка валідації", JOptionPane.ERROR_MESSAGE);
+            return;
+        } catch (NumberFormatException e) {
+            logger.warn("Помилка валідації: неправильний числовий формат.", e);
+            showDialogMessage(this, "Тривалість, кількість місць та ціна мають бути числами.", "Помилка валідації", JOptionPane.ERROR_MESSAGE);
+            return;
+        } catch (IllegalArgumentException e) {
+            logger.warn("Помилка валідації шаблону розкладу: {}", e.getMessage());
+            showDialogMessage(this, "Помилка валідації даних: " + e.getMessage(), "Помилка валідації", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        try {
+            ScheduleGenerator.GenerationResult result = scheduleGenerator.generate(template);
+            saved = !result.getCreatedFlights().isEmpty();
+            StringBuilder message = new StringBuilder("Створено рейсів: ").append(result.getCreatedFlights().size());
+            if (!result.getSkippedConflicts().isEmpty()) {
+                message.append("\nПропущено через конфлікт з існуючими рейсами: ").append(result.getSkippedConflicts().size());
+            }
+            logger.info("Генерацію розкладу завершено. {}", message);
+            showDialogMessage(this, message.toString(), "Генерацію завершено", JOptionPane.INFORMATION_MESSAGE);
+            dispose();
+        } catch (SQLException ex) {
+            logger.error("Помилка бази даних при генерації розкладу.", ex);
+            showDialogMessage(this, "Помилка під час взаємодії з базою даних: " + ex.getMessage() + "\nЖодного рейсу не створено.",
+                    "Помилка бази даних", JOptionPane.ERROR_MESSAGE);
+        } catch (Exception exGeneral) {
+            logger.error("Непередбачена помилка при генерації розкладу.", exGeneral);
+            showDialogMessage(this, "Сталася непередбачена помилка: " + exGeneral.getMessage(), "Внутрішня помилка", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    public boolean isSaved() {
+        logger.trace("Перевірка статусу збереження: {}", saved);
+        return saved;
+    }
+
+    // Геттери для компонентів UI
+    public JComboBox<Route> getCmbRoute() { return cmbRoute; }
+    public JTextField getTxtDepartureTime() { return txtDepartureTime; }
+    public JTextField getTxtTravelDuration() { return txtTravelDuration; }
+    public JTextField getTxtSeasonStart() { return txtSeasonStart; }
+    public JTextField getTxtSeasonEnd() { return txtSeasonEnd; }
+    public JTextField getTxtTotalSeats() { return txtTotalSeats; }
+    public JTextField getTxtBusModel() { return txtBusModel; }
+    public JTextField getTxtPricePerSeat() { return txtPricePerSeat; }
+    public JCheckBox getDayCheckBox(DayOfWeek day) { return dayCheckBoxes.get(day); }
+    public JButton getBtnGenerate() { return btnGenerate; }
+    public JButton getBtnCancel() { return btnCancel; }
+}
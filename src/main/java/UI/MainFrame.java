@@ -1,18 +1,37 @@
 package UI;
 
+import UI.Panel.DashboardPanel;
 import UI.Panel.FlightsPanel;
 import UI.Panel.PassengersPanel;
 import UI.Panel.ReportsPanel;
 import UI.Panel.TicketsPanel;
+import Config.DatabaseConfig;
+import DAO.PassengerDAO;
+import DAO.TicketDAO;
+import DAO.TicketStatusCounters;
 import DB.DatabaseConnectionManager;
+import DB.MigrationRunner;
+import Diagnostics.EdtWatchdog;
+import Diagnostics.FlightRecorderService;
+import Diagnostics.UiActions;
+import Management.ManagementBeans;
+import Services.ChangeLogPoller;
+import Services.FlightArchiver;
+import Services.OccupancyConsistencyChecker;
+import Services.PassengerLookupIndex;
+import Services.TicketPartitionMaintainer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -78,13 +97,57 @@ public class MainFrame extends JFrame {
         tabbedPane.addTab("Звітність", createIcon("/icons/report.png"), reportsPanel, "Перегляд звітів та статистики");
         logger.info("Вкладку 'Звітність' додано.");
 
+        logger.debug("Створення DashboardPanel...");
+        DashboardPanel dashboardPanel = new DashboardPanel();
+        tabbedPane.addTab("Моніторинг", createIcon("/icons/dashboard.png"), dashboardPanel, "Відправлення, бронювання та продажі за сьогодні в реальному часі");
+        logger.info("Вкладку 'Моніторинг' додано.");
+
         add(tabbedPane);
+        setJMenuBar(createMenuBar());
         pack();
         setMinimumSize(new Dimension(800, 600));
         setLocationRelativeTo(null);
         logger.info("Головне вікно програми успішно налаштовано.");
     }
 
+    private JMenuBar createMenuBar() {
+        JMenuBar menuBar = new JMenuBar();
+        JMenu diagnosticsMenu = new JMenu("Діагностика");
+        diagnosticsMenu.setName("diagnosticsMenu");
+        JMenuItem dumpRecordingItem = new JMenuItem("Зберегти запис JFR...");
+        dumpRecordingItem.setName("dumpRecordingItem");
+        dumpRecordingItem.addActionListener(UiActions.traced("MainFrame.dumpRecordingAction", e -> dumpRecordingAction()));
+        diagnosticsMenu.add(dumpRecordingItem);
+        menuBar.add(diagnosticsMenu);
+        return menuBar;
+    }
+
+    /**
+     * Зберігає безперервний запис JFR (останні хвилини роботи) у вибраний користувачем файл,
+     * щоб зависання можна було проаналізувати в JDK Mission Control.
+     */
+    private void dumpRecordingAction() {
+        if (!FlightRecorderService.isRunning()) {
+            showDialogMessage(this, "Запис JFR не ведеться. Увімкніть його властивістю jfr.enabled=1 у 'db.properties' та перезапустіть програму.",
+                    "Діагностика", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Зберегти запис JFR");
+        chooser.setSelectedFile(new File("bus-station-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File target = chooser.getSelectedFile();
+        try {
+            FlightRecorderService.dump(target.toPath());
+            showDialogMessage(this, "Запис JFR збережено у файл:\n" + target.getAbsolutePath(), "Діагностика", JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException | IllegalStateException ex) {
+            logger.error("Не вдалося зберегти запис JFR у файл {}.", target, ex);
+            showDialogMessage(this, "Не вдалося зберегти запис JFR: " + ex.getMessage(), "Помилка", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     public ImageIcon createIcon(String path) {
         logger.trace("Спроба завантажити іконку за шляхом: {}", path);
         java.net.URL imgURL = getClass().getResource(path);
@@ -132,7 +195,7 @@ public class MainFrame extends JFrame {
                 return false;
             }
             logger.info("Підключення до БД успішне.");
-            return true;
+            return migrateSchema(conn);
         } catch (SQLException ex) {
             logger.fatal("Критична помилка підключення до бази даних.", ex);
             if (!suppressMessagesForTesting.get()) {
@@ -146,12 +209,74 @@ public class MainFrame extends JFrame {
     }
 
 
+    /**
+     * Застосовує нові міграції схеми ({@code db.migration.enabled=1}, за замовчуванням) і перевіряє
+     * наявність індексів, на які розраховують запити DAO. Якщо міграції вимкнено, лише перевіряє індекси.
+     * @return {@code false}, якщо міграцію не вдалося застосувати.
+     */
+    private static boolean migrateSchema(Connection conn) {
+        try {
+            if (DatabaseConfig.getIntProperty("db.migration.enabled", 1) != 0) {
+                new MigrationRunner().migrate(conn);
+            } else {
+                logger.info("Автоматичні міграції схеми вимкнено (db.migration.enabled=0).");
+                MigrationRunner.verifyIndexes(conn);
+            }
+            return true;
+        } catch (SQLException ex) {
+            logger.fatal("Критична помилка оновлення схеми бази даних.", ex);
+            if (!suppressMessagesForTesting.get()) {
+                JOptionPane.showMessageDialog(null,
+                        "Не вдалося оновити схему бази даних: " + ex.getMessage() + "\n" +
+                                "Програма не може продовжити роботу. Перевірте консоль для деталей.",
+                        "Критична помилка БД", JOptionPane.ERROR_MESSAGE);
+            }
+            return false;
+        }
+    }
+
     static void createAndShowGUI() {
         if (!checkDatabaseConnection()) {
             System.exit(1);
             return;
         }
 
+        logger.debug("Реєстрація MXBean-ів для моніторингу через JMX.");
+        ManagementBeans.registerAll();
+
+        logger.debug("Запуск безперервного запису JFR.");
+        FlightRecorderService.start();
+
+        logger.debug("Запуск контролю зависань потоку EDT.");
+        EdtWatchdog.getInstance().start();
+
+        logger.debug("Запуск фонового завантаження індексу пасажирів.");
+        PassengerLookupIndex.getInstance().startBackgroundLoad(new PassengerDAO());
+
+        logger.debug("Запуск опитування журналу змін інших робочих місць.");
+        new ChangeLogPoller().start();
+
+        logger.debug("Запуск фонової перевірки лічильників зайнятості рейсів.");
+        try {
+            new OccupancyConsistencyChecker().start();
+        } catch (SQLException e) {
+            logger.warn("Не вдалося запустити перевірку лічильників зайнятості рейсів.", e);
+        }
+
+        logger.debug("Запуск фонової архівації завершених рейсів.");
+        new FlightArchiver().start();
+
+        logger.debug("Запуск обслуговування секцій таблиці квитків.");
+        new TicketPartitionMaintainer().start();
+
+        logger.debug("Запуск звіряння лічильників статусів квитків.");
+        try {
+            TicketStatusCounters.getInstance().startReconciliation(new TicketDAO(),
+                    DatabaseConfig.getIntProperty("ticket.counters.reconcile.sec", 60));
+        } catch (SQLException e) {
+            logger.warn("Не вдалося запустити звіряння лічильників статусів квитків.", e);
+        }
+
         logger.debug("Створення екземпляра MainFrame.");
         MainFrame mainFrameInstance = new MainFrame();
         mainFrameInstance.setVisible(true);
@@ -4,6 +4,7 @@ import Models.Flight;
 import Models.Passenger;
 import Models.Route;
 import Models.Ticket;
+import Models.Enums.TicketStatus;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -80,6 +81,43 @@ public class BookingsTableModel extends AbstractTableModel {
         }
     }
 
+    /**
+     * Змінює статус квитка з вказаним ID, якщо він відображається в таблиці.
+     *
+     * @param ticketId ID квитка.
+     * @param newStatus новий статус.
+     * @return {@code true}, якщо квиток знайдено та рядок оновлено.
+     */
+    public boolean updateTicketStatus(long ticketId, TicketStatus newStatus) {
+        for (int row = 0; row < tickets.size(); row++) {
+            Ticket ticket = tickets.get(row);
+            if (ticket.getId() == ticketId) {
+                ticket.setStatus(newStatus);
+                fireTableRowsUpdated(row, row);
+                logger.trace("Статус квитка ID {} у рядку {} оновлено на {}.", ticketId, row, newStatus);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Видаляє квиток з вказаним ID з таблиці (наприклад, якщо він більше не відповідає фільтру).
+     *
+     * @param ticketId ID квитка.
+     * @return {@code true}, якщо рядок видалено.
+     */
+    public boolean removeTicket(long ticketId) {
+        for (int row = 0; row < tickets.size(); row++) {
+            if (tickets.get(row).getId() == ticketId) {
+                tickets.remove(row);
+                fireTableRowsDeleted(row, row);
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Повертає об'єкт {@link Ticket} за вказаним індексом рядка.
      *
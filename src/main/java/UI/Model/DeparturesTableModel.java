@@ -0,0 +1,112 @@
+package UI.Model;
+
+import Models.DashboardSnapshot;
+import Models.Enums.FlightStatus;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.swing.table.AbstractTableModel;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Модель даних для табло відправлень дня на панелі моніторингу.
+ * Рядки оновлюються лише тоді, коли їх дані змінилися, тож періодичне оновлення без змін
+ * не перемальовує таблицю.
+ */
+public class DeparturesTableModel extends AbstractTableModel {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private List<DashboardSnapshot.Departure> departures = new ArrayList<>();
+    private final String[] columnNames = {"Відправлення", "Маршрут", "Статус", "Місць", "Зайнято", "Завантаженість, %"};
+
+    /**
+     * Замінює рядки табло. Якщо кількість рядків не змінилася, сповіщення надсилаються лише для
+     * змінених рядків.
+     * @param newDepartures Відправлення дня.
+     * @return Кількість змінених рядків (0, якщо табло не змінилося).
+     */
+    public int setDepartures(List<DashboardSnapshot.Departure> newDepartures) {
+        List<DashboardSnapshot.Departure> updated = newDepartures != null ? new ArrayList<>(newDepartures) : new ArrayList<>();
+        if (updated.size() != departures.size()) {
+            departures = updated;
+            fireTableDataChanged();
+            logger.trace("Табло відправлень оновлено повністю: {} рядків.", updated.size());
+            return updated.size();
+        }
+        int changed = 0;
+        for (int row = 0; row < updated.size(); row++) {
+            if (!updated.get(row).equals(departures.get(row))) {
+                departures.set(row, updated.get(row));
+                fireTableRowsUpdated(row, row);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param rowIndex Індекс рядка.
+     * @return Відправлення або {@code null}, якщо індекс недійсний.
+     */
+    public DashboardSnapshot.Departure getDepartureAt(int rowIndex) {
+        return rowIndex >= 0 && rowIndex < departures.size() ? departures.get(rowIndex) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return departures.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return column >= 0 && column < columnNames.length ? columnNames[column] : "";
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        switch (columnIndex) {
+            case 3: // Місць
+            case 4: // Зайнято
+                return Integer.class;
+            case 5: // Завантаженість
+                return Double.class;
+            default:
+                return String.class;
+        }
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        DashboardSnapshot.Departure departure = getDepartureAt(rowIndex);
+        if (departure == null) {
+            logger.error("Недійсний індекс рядка {} при запиті значення для табло відправлень. Кількість рядків: {}", rowIndex, departures.size());
+            return null;
+        }
+        switch (columnIndex) {
+            case 0:
+                return departure.getDepartureDateTime() != null ? departure.getDepartureDateTime().format(TIME_FORMATTER) : "-";
+            case 1:
+                return departure.getRouteDescription();
+            case 2:
+                FlightStatus status = departure.getStatus();
+                return status != null ? status.getDisplayName() : "Статус невідомий";
+            case 3:
+                return departure.getTotalSeats();
+            case 4:
+                return departure.getOccupiedSeats();
+            case 5:
+                return Math.round(departure.getLoadFactor() * 1000) / 10.0;
+            default:
+                return null;
+        }
+    }
+}
@@ -22,7 +22,7 @@ public class FlightsTableModel extends AbstractTableModel {
     private static final DateTimeFormatter TABLE_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     private List<Flight> flights;
-    private final String[] columnNames = {"ID", "Маршрут", "Відправлення", "Прибуття", "Місць", "Автобус", "Ціна", "Статус"};
+    private final String[] columnNames = {"ID", "Маршрут", "Відправлення", "Прибуття", "Місць", "Автобус", "Ціна", "Статус", "Завантаженість, %"};
 
 
     public FlightsTableModel(List<Flight> flights) {
@@ -52,6 +52,45 @@ public class FlightsTableModel extends AbstractTableModel {
         fireTableDataChanged();
     }
 
+    /**
+     * Замінює рейс з тим самим ID новою версією або додає його в кінець таблиці.
+     * Оновлюється лише відповідний рядок, без перемальовування всієї таблиці.
+     *
+     * @param flight Актуальна версія рейсу.
+     * @param addIfMissing {@code true}, щоб додати рейс, якщо його ще немає в таблиці.
+     * @return {@code true}, якщо таблицю змінено.
+     */
+    public boolean upsertFlight(Flight flight, boolean addIfMissing) {
+        if (flight == null) {
+            return false;
+        }
+        for (int row = 0; row < flights.size(); row++) {
+            if (flights.get(row).getId() == flight.getId()) {
+                flights.set(row, flight);
+                fireTableRowsUpdated(row, row);
+                logger.trace("Рядок {} таблиці рейсів оновлено (рейс ID {}).", row, flight.getId());
+                return true;
+            }
+        }
+        if (addIfMissing) {
+            flights.add(flight);
+            fireTableRowsInserted(flights.size() - 1, flights.size() - 1);
+            logger.trace("Рейс ID {} додано до таблиці рейсів.", flight.getId());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Перевіряє, чи є рейс із вказаним ID у таблиці.
+     *
+     * @param flightId ID рейсу.
+     * @return {@code true}, якщо рейс відображається.
+     */
+    public boolean containsFlight(long flightId) {
+        return flights.stream().anyMatch(f -> f.getId() == flightId);
+    }
+
     /**
      * Повертає об'єкт рейсу за індексом рядка.
      *
@@ -97,6 +136,8 @@ public class FlightsTableModel extends AbstractTableModel {
                 return Integer.class;
             case 6: // Ціна
                 return BigDecimal.class;
+            case 8: // Завантаженість
+                return Double.class;
             default:
                 return String.class;
         }
@@ -134,6 +175,8 @@ public class FlightsTableModel extends AbstractTableModel {
                 case 7: // Статус
                     FlightStatus status = flight.getStatus();
                     return (status != null && status.getDisplayName() != null) ? status.getDisplayName() : "Статус невідомий";
+                case 8: // Завантаженість (з лічильників рейсу, без підрахунку квитків)
+                    return Math.round(flight.getLoadFactor() * 1000) / 10.0;
                 default:
                     logger.warn("Запит значення для невідомого індексу стовпця для рейсів: {} (рядок {})", columnIndex, rowIndex);
                     return "НЕВІДОМИЙ СТОВПЕЦЬ";
@@ -67,6 +67,28 @@ public class PassengersTableModel extends AbstractTableModel {
         fireTableDataChanged();
     }
 
+    /**
+     * Замінює пасажира з тим самим ID новою версією, якщо він відображається в таблиці.
+     *
+     * @param passenger актуальна версія пасажира.
+     * @return {@code true}, якщо рядок оновлено.
+     */
+    public boolean updatePassenger(Passenger passenger) {
+        if (passenger == null) {
+            return false;
+        }
+        for (int row = 0; row < passengers.size(); row++) {
+            Passenger current = passengers.get(row);
+            if (current != null && current.getId() == passenger.getId()) {
+                passengers.set(row, passenger);
+                fireTableRowsUpdated(row, row);
+                logger.trace("Рядок {} таблиці пасажирів оновлено (пасажир ID {}).", row, passenger.getId());
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Повертає об'єкт {@link Passenger} за вказаним індексом рядка.
      *
@@ -1,6 +1,11 @@
 package UI.Panel;
 
 import DAO.TicketDAO;
+import DAO.UpdateResult;
+import Diagnostics.UiActions;
+import Events.EdtCoalescer;
+import Events.EventBus;
+import Events.TicketStatusChanged;
 import Models.Enums.FlightStatus;
 import Models.Enums.TicketStatus;
 import Models.Ticket;
@@ -19,6 +24,9 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Панель для управління бронюваннями та продажем квитків.
@@ -38,6 +46,11 @@ public class BookingsManagementPanel extends JPanel {
 
     private final TicketDAO ticketDAO;
 
+    private static final int EVENT_COALESCE_MS = 200;
+    private final Map<Long, TicketStatusChanged> pendingTicketEvents = new ConcurrentHashMap<>();
+    private final EdtCoalescer<Long> ticketChanges = new EdtCoalescer<>(EVENT_COALESCE_MS, this::applyTicketChanges);
+    private EventBus.Subscription ticketChangedSubscription;
+
     /**
      * Конструктор панелі управління бронюваннями.
      * Ініціалізує DAO, компоненти UI та завантажує початкові дані.
@@ -146,8 +159,8 @@ public class BookingsManagementPanel extends JPanel {
         btnCancelBookingTicket = new JButton("Скасувати бронювання/квиток");
         btnCancelBookingTicket.setName("btnCancelBookingTicket");
 
-        btnSellTicket.addActionListener(this::sellTicketAction);
-        btnCancelBookingTicket.addActionListener(this::cancelTicketAction);
+        btnSellTicket.addActionListener(UiActions.traced("BookingsManagementPanel.sellTicketAction", this::sellTicketAction));
+        btnCancelBookingTicket.addActionListener(UiActions.traced("BookingsManagementPanel.cancelTicketAction", this::cancelTicketAction));
 
         bookingsTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
@@ -232,6 +245,55 @@ public class BookingsManagementPanel extends JPanel {
         updateButtonStates();
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (ticketChangedSubscription == null) {
+            ticketChangedSubscription = EventBus.getInstance().subscribe(TicketStatusChanged.class, event -> {
+                pendingTicketEvents.put(event.getTicketId(), event);
+                ticketChanges.add(event.getTicketId());
+            });
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (ticketChangedSubscription != null) {
+            ticketChangedSubscription.close();
+            ticketChangedSubscription = null;
+        }
+        ticketChanges.stop();
+        pendingTicketEvents.clear();
+        super.removeNotify();
+    }
+
+    /**
+     * Застосовує накопичені зміни статусів квитків до таблиці без повного перезавантаження.
+     * Таблиця перезавантажується лише тоді, коли з'явилися квитки, яких у ній ще немає.
+     * @param ticketIds ID квитків, змінених з моменту попереднього оновлення.
+     */
+    private void applyTicketChanges(Set<Long> ticketIds) {
+        TicketStatus filterStatus = (TicketStatus) cmbStatusFilter.getSelectedItem();
+        boolean reloadNeeded = false;
+        for (Long ticketId : ticketIds) {
+            TicketStatusChanged event = pendingTicketEvents.remove(ticketId);
+            if (event == null) {
+                continue;
+            }
+            if (filterStatus != null && event.getNewStatus() != filterStatus) {
+                bookingsTableModel.removeTicket(ticketId);
+            } else if (!bookingsTableModel.updateTicketStatus(ticketId, event.getNewStatus())) {
+                reloadNeeded = true;
+            }
+        }
+        logger.debug("Застосовано зміни {} квитків. Потрібне перезавантаження: {}", ticketIds.size(), reloadNeeded);
+        if (reloadNeeded) {
+            loadBookingsData(filterStatus);
+        } else {
+            updateButtonStates();
+        }
+    }
+
     /**
      * Обробляє дію продажу обраного квитка.
      * @param e Об'єкт події {@link ActionEvent}.
@@ -261,10 +323,13 @@ public class BookingsManagementPanel extends JPanel {
             if (confirmation == JOptionPane.YES_OPTION) {
                 logger.debug("Користувач підтвердив продаж квитка ID: {}", ticketToSell.getId());
                 try {
-                    if (ticketDAO.updateTicketStatus(ticketToSell.getId(), TicketStatus.SOLD, LocalDateTime.now())) {
+                    UpdateResult result = ticketDAO.updateTicketStatus(ticketToSell.getId(), TicketStatus.SOLD, LocalDateTime.now());
+                    if (result == UpdateResult.UPDATED) {
                         logger.info("Квиток ID: {} успішно продано.", ticketToSell.getId());
                         JOptionPane.showMessageDialog(this, "Квиток успішно продано.", "Успіх", JOptionPane.INFORMATION_MESSAGE);
                         loadBookingsData((TicketStatus) cmbStatusFilter.getSelectedItem());
+                    } else if (result == UpdateResult.CONFLICT) {
+                        handleStatusConflict(ticketToSell.getId(), "продати квиток");
                     } else {
                         handleGenericException("Не вдалося продати квиток (операція DAO не вдалася).", new SQLException("DAO returned false for ticket sale."));
                     }
@@ -336,10 +401,13 @@ public class BookingsManagementPanel extends JPanel {
             if (confirmation == JOptionPane.YES_OPTION) {
                 logger.debug("Користувач підтвердив скасування {} ID: {}", actionType, ticketToCancel.getId());
                 try {
-                    if (ticketDAO.updateTicketStatus(ticketToCancel.getId(), TicketStatus.CANCELLED, null)) {
+                    UpdateResult result = ticketDAO.updateTicketStatus(ticketToCancel.getId(), TicketStatus.CANCELLED, null);
+                    if (result == UpdateResult.UPDATED) {
                         logger.info("{} ID: {} успішно скасовано.", actionType.substring(0, 1).toUpperCase() + actionType.substring(1), ticketToCancel.getId());
                         JOptionPane.showMessageDialog(this, actionType.substring(0, 1).toUpperCase() + actionType.substring(1) + " успішно скасовано.", "Успіх", JOptionPane.INFORMATION_MESSAGE);
                         loadBookingsData((TicketStatus) cmbStatusFilter.getSelectedItem());
+                    } else if (result == UpdateResult.CONFLICT) {
+                        handleStatusConflict(ticketToCancel.getId(), "скасувати " + actionType);
                     } else {
                         handleGenericException("Не вдалося скасувати " + actionType + " (операція DAO не вдалася).", new SQLException("DAO returned false for ticket cancellation."));
                     }
@@ -361,6 +429,20 @@ public class BookingsManagementPanel extends JPanel {
         }
     }
 
+    /**
+     * Повідомляє, що статус квитка змінено з іншого робочого місця, та перезавантажує список.
+     * @param ticketId ID квитка.
+     * @param action Опис дії, яку не вдалося виконати.
+     */
+    private void handleStatusConflict(long ticketId, String action) {
+        logger.warn("Не вдалося {} ID: {} — статус квитка вже змінено іншим користувачем.", action, ticketId);
+        if (this.isShowing()) {
+            JOptionPane.showMessageDialog(this, "Не вдалося " + action + ": статус квитка ID " + ticketId +
+                    " вже змінено на іншому робочому місці.\nСписок бронювань оновлено.", "Конфлікт змін", JOptionPane.WARNING_MESSAGE);
+        }
+        loadBookingsData((TicketStatus) cmbStatusFilter.getSelectedItem());
+    }
+
     private void handleSqlException(String userMessage, SQLException e) {
         logger.error("{}: {}", userMessage, e.getMessage(), e);
         if (this.isShowing()) {
@@ -0,0 +1,251 @@
+package UI.Panel;
+
+import Config.DatabaseConfig;
+import DAO.DashboardDAO;
+import DAO.TicketDAO;
+import Events.EdtCoalescer;
+import Events.EntityChangeEvent;
+import Events.EventBus;
+import Events.FlightChanged;
+import Events.TicketStatusChanged;
+import Models.DashboardSnapshot;
+import Models.Enums.TicketStatus;
+import UI.Model.DeparturesTableModel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.TitledBorder;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.text.NumberFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Панель оперативного моніторингу: відправлення дня із завантаженістю, бронювання, термін яких
+ * спливає, кількість квитків за статусами та продажі за день.
+ * <p>
+ * Показники оновлюються кожні {@code dashboard.refresh.sec} секунд (за замовчуванням 5) одним
+ * знімком {@link DashboardDAO#loadSnapshot}, а також не пізніше ніж через секунду після змін
+ * квитків чи рейсів. Оновлення виконується у фоновому потоці і лише тоді, коли вкладка видима;
+ * наступне оновлення не запускається, поки не завершилося попереднє. Якщо знімок не змінився,
+ * компоненти не перемальовуються.
+ * </p>
+ */
+public class DashboardPanel extends JPanel {
+    private static final Logger logger = LogManager.getLogger("insurance.log");
+    private static final NumberFormat CURRENCY_FORMATTER = NumberFormat.getCurrencyInstance(new Locale("uk", "UA"));
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+    static final int DEFAULT_REFRESH_SECONDS = 5;
+    static final int DEFAULT_EXPIRY_WINDOW_MINUTES = 30;
+    private static final int EVENT_COALESCE_MS = 1000;
+
+    private final DashboardDAO dashboardDAO;
+    private final int expiryWindowMinutes;
+    private final Timer refreshTimer;
+    private final EdtCoalescer<Class<? extends EntityChangeEvent>> dataChanges = new EdtCoalescer<>(EVENT_COALESCE_MS, this::onDataChanged);
+    private final List<EventBus.Subscription> subscriptions = new ArrayList<>();
+
+    private final DeparturesTableModel departuresTableModel = new DeparturesTableModel();
+    private final Map<TicketStatus, JLabel> statusLabels = new EnumMap<>(TicketStatus.class);
+    private JLabel lblSalesToday;
+    private JLabel lblTicketsSoldToday;
+    private JLabel lblExpiringBookings;
+    private JLabel lblLastUpdated;
+
+    private SwingWorker<DashboardSnapshot, Void> refreshWorker;
+    private DashboardSnapshot lastSnapshot;
+
+    /**
+     * Конструктор панелі моніторингу з налаштуваннями з {@code db.properties}.
+     * @throws RuntimeException якщо не вдалося ініціалізувати {@link TicketDAO}.
+     */
+    public DashboardPanel() {
+        this(createDashboardDAOInternal(),
+                DatabaseConfig.getIntProperty("dashboard.refresh.sec", DEFAULT_REFRESH_SECONDS),
+                DatabaseConfig.getIntProperty("dashboard.expiry.window.minutes", DEFAULT_EXPIRY_WINDOW_MINUTES));
+    }
+
+    private static DashboardDAO createDashboardDAOInternal() {
+        try {
+            return new DashboardDAO(new TicketDAO());
+        } catch (Exception e) {
+            throw new RuntimeException("Не вдалося ініціалізувати DashboardDAO", e);
+        }
+    }
+
+    /**
+     * Конструктор для тестування та ін'єкції залежностей.
+     * @param dashboardDAO DAO показників.
+     * @param refreshSeconds Інтервал періодичного оновлення, с.
+     * @param expiryWindowMinutes Вікно попередження про завершення терміну бронювання, хв.
+     * @throws IllegalArgumentException якщо {@code dashboardDAO} є null.
+     */
+    public DashboardPanel(DashboardDAO dashboardDAO, int refreshSeconds, int expiryWindowMinutes) {
+        if (dashboardDAO == null) {
+            logger.fatal("DashboardDAO не може бути null при створенні DashboardPanel.");
+            throw new IllegalArgumentException("DashboardDAO не може бути null.");
+        }
+        this.dashboardDAO = dashboardDAO;
+        this.expiryWindowMinutes = expiryWindowMinutes > 0 ? expiryWindowMinutes : DEFAULT_EXPIRY_WINDOW_MINUTES;
+        int refreshMs = (refreshSeconds > 0 ? refreshSeconds : DEFAULT_REFRESH_SECONDS) * 1000;
+        this.refreshTimer = new Timer(refreshMs, e -> refresh());
+
+        setLayout(new BorderLayout(10, 10));
+        setBorder(new EmptyBorder(10, 10, 10, 10));
+        initComponents();
+        // Після переходу на вкладку показники оновлюються одразу, не чекаючи таймера.
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing()) {
+                refresh();
+            }
+        });
+        logger.info("DashboardPanel успішно ініціалізовано (оновлення кожні {} мс).", refreshMs);
+    }
+
+    private void initComponents() {
+        JTable departuresTable = new JTable(departuresTableModel);
+        departuresTable.setName("departuresTable");
+        departuresTable.setFillsViewportHeight(true);
+        JScrollPane departuresScrollPane = new JScrollPane(departuresTable);
+        departuresScrollPane.setBorder(new TitledBorder("Відправлення сьогодні"));
+        add(departuresScrollPane, BorderLayout.CENTER);
+
+        JPanel summaryPanel = new JPanel();
+        summaryPanel.setLayout(new BoxLayout(summaryPanel, BoxLayout.Y_AXIS));
+
+        JPanel salesPanel = new JPanel(new GridLayout(0, 2, 10, 4));
+        salesPanel.setBorder(new TitledBorder("Продажі за день"));
+        lblSalesToday = addValueRow(salesPanel, "Виручка:", "lblSalesToday");
+        lblTicketsSoldToday = addValueRow(salesPanel, "Продано квитків:", "lblTicketsSoldToday");
+        summaryPanel.add(salesPanel);
+
+        JPanel bookingsPanel = new JPanel(new GridLayout(0, 2, 10, 4));
+        bookingsPanel.setBorder(new TitledBorder("Бронювання"));
+        lblExpiringBookings = addValueRow(bookingsPanel, "Спливають за " + expiryWindowMinutes + " хв:", "lblExpiringBookings");
+        summaryPanel.add(bookingsPanel);
+
+        JPanel statusPanel = new JPanel(new GridLayout(0, 2, 10, 4));
+        statusPanel.setBorder(new TitledBorder("Квитки за статусами"));
+        for (TicketStatus status : TicketStatus.values()) {
+            statusLabels.put(status, addValueRow(statusPanel, status.getDisplayName() + ":", "lblStatus" + status.name()));
+        }
+        summaryPanel.add(statusPanel);
+
+        lblLastUpdated = new JLabel("Оновлення...");
+        lblLastUpdated.setName("lblLastUpdated");
+        summaryPanel.add(lblLastUpdated);
+
+        JPanel eastPanel = new JPanel(new BorderLayout());
+        eastPanel.add(summaryPanel, BorderLayout.NORTH);
+        add(eastPanel, BorderLayout.EAST);
+    }
+
+    private static JLabel addValueRow(JPanel panel, String caption, String name) {
+        panel.add(new JLabel(caption));
+        JLabel value = new JLabel("-");
+        value.setName(name);
+        value.setHorizontalAlignment(SwingConstants.RIGHT);
+        panel.add(value);
+        return value;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (subscriptions.isEmpty()) {
+            subscriptions.add(EventBus.getInstance().subscribe(TicketStatusChanged.class, event -> dataChanges.add(TicketStatusChanged.class)));
+            subscriptions.add(EventBus.getInstance().subscribe(FlightChanged.class, event -> dataChanges.add(FlightChanged.class)));
+        }
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        subscriptions.forEach(EventBus.Subscription::close);
+        subscriptions.clear();
+        dataChanges.stop();
+        if (refreshWorker != null) {
+            refreshWorker.cancel(true);
+            refreshWorker = null;
+        }
+        super.removeNotify();
+    }
+
+    private void onDataChanged(Set<Class<? extends EntityChangeEvent>> changedTypes) {
+        logger.trace("Дані змінилися ({}). Позачергове оновлення панелі моніторингу.", changedTypes);
+        refresh();
+    }
+
+    /**
+     * Запускає фонове оновлення показників, якщо панель видима і попереднє оновлення завершилося.
+     */
+    void refresh() {
+        if (!isShowing() || refreshWorker != null) {
+            return;
+        }
+        refreshWorker = new SwingWorker<DashboardSnapshot, Void>() {
+            @Override
+            protected DashboardSnapshot doInBackground() throws Exception {
+                return dashboardDAO.loadSnapshot(LocalDateTime.now(), expiryWindowMinutes);
+            }
+
+            @Override
+            protected void done() {
+                if (refreshWorker != this) {
+                    return;
+                }
+                refreshWorker = null;
+                try {
+                    applySnapshot(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    logger.warn("Не вдалося оновити панель моніторингу: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), e.getCause());
+                    lblLastUpdated.setText("Помилка оновлення о " + LocalDateTime.now().format(TIME_FORMATTER));
+                }
+            }
+        };
+        refreshWorker.execute();
+    }
+
+    /**
+     * Показує знімок показників. Якщо він не змінився з попереднього оновлення, змінюється лише час оновлення.
+     * @param snapshot Знімок показників.
+     */
+    void applySnapshot(DashboardSnapshot snapshot) {
+        lblLastUpdated.setText("Оновлено о " + LocalDateTime.now().format(TIME_FORMATTER));
+        if (snapshot.equals(lastSnapshot)) {
+            return;
+        }
+        lastSnapshot = snapshot;
+        departuresTableModel.setDepartures(snapshot.getDepartures());
+        setTextIfChanged(lblSalesToday, CURRENCY_FORMATTER.format(snapshot.getSalesToday()));
+        setTextIfChanged(lblTicketsSoldToday, String.valueOf(snapshot.getTicketsSoldToday()));
+        setTextIfChanged(lblExpiringBookings, String.valueOf(snapshot.getExpiringBookings()));
+        for (Map.Entry<TicketStatus, JLabel> entry : statusLabels.entrySet()) {
+            setTextIfChanged(entry.getValue(), String.valueOf(snapshot.getTicketCountsByStatus().getOrDefault(entry.getKey(), 0)));
+        }
+    }
+
+    private static void setTextIfChanged(JLabel label, String text) {
+        if (!text.equals(label.getText())) {
+            label.setText(text);
+        }
+    }
+
+    DeparturesTableModel getDeparturesTableModel() {
+        return departuresTableModel;
+    }
+}
@@ -1,13 +1,22 @@
 package UI.Panel;
 
+import Config.DatabaseConfig;
 import DAO.FlightDAO;
 import DAO.RouteDAO;
 import DAO.StopDAO;
+import DB.QueryMetrics;
+import Diagnostics.UiActions;
+import Events.EdtCoalescer;
+import Events.EventBus;
+import Events.FlightChanged;
+import Events.TicketStatusChanged;
 import Models.Flight;
 import Models.Enums.FlightStatus;
 import Models.Route;
+import Services.TimetableImporter;
 import UI.Dialog.FlightDialog;
 import UI.Dialog.RouteCreationDialog;
+import UI.Dialog.ScheduleDialog;
 import UI.Model.FlightsTableModel;
 
 import org.apache.logging.log4j.LogManager;
@@ -15,14 +24,19 @@ import org.apache.logging.log4j.Logger;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -37,13 +51,22 @@ public class FlightsPanel extends JPanel {
 
     private JTable flightsTable;
     private FlightsTableModel flightsTableModel;
-    private JButton btnAddFlight, btnEditFlight, btnCancelFlight, btnRefreshFlights, btnAddNewRoute;
+    private JButton btnAddFlight, btnEditFlight, btnCancelFlight, btnRefreshFlights, btnAddNewRoute, btnGenerateSchedule, btnImportCsv;
 
     private final FlightDAO flightDAO;
     private final RouteDAO routeDAO;
     private final StopDAO stopDAO;
 
 
+    private static final int IMPORT_REPORT_MAX_ERRORS = 100;
+    private static final int EVENT_COALESCE_MS = 200;
+    /** Якщо за одне вікно змінилося більше рейсів, таблиця перезавантажується повністю одним запитом. */
+    private static final int MAX_TARGETED_FLIGHT_UPDATES = 50;
+
+    private final EdtCoalescer<Long> flightChanges = new EdtCoalescer<>(EVENT_COALESCE_MS, this::applyFlightChanges);
+    private EventBus.Subscription flightChangedSubscription;
+    private EventBus.Subscription ticketChangedSubscription;
+
     private static final AtomicBoolean suppressMessagesForTesting = new AtomicBoolean(false);
 
     /**
@@ -226,21 +249,29 @@ public class FlightsPanel extends JPanel {
         btnRefreshFlights.setName("btnRefreshFlights");
         btnAddNewRoute = new JButton("Створити маршрут");
         btnAddNewRoute.setName("btnAddNewRoute");
-
-        btnAddFlight.addActionListener(this::addFlightAction);
-        btnEditFlight.addActionListener(this::editFlightAction);
-        btnCancelFlight.addActionListener(this::cancelFlightAction);
+        btnGenerateSchedule = new JButton("Згенерувати розклад");
+        btnGenerateSchedule.setName("btnGenerateSchedule");
+        btnImportCsv = new JButton("Імпорт CSV");
+        btnImportCsv.setName("btnImportCsv");
+
+        btnAddFlight.addActionListener(UiActions.traced("FlightsPanel.addFlightAction", this::addFlightAction));
+        btnEditFlight.addActionListener(UiActions.traced("FlightsPanel.editFlightAction", this::editFlightAction));
+        btnCancelFlight.addActionListener(UiActions.traced("FlightsPanel.cancelFlightAction", this::cancelFlightAction));
         btnRefreshFlights.addActionListener(e -> {
             logger.info("Натиснуто кнопку 'Оновити список' рейсів.");
             loadFlightsData();
         });
-        btnAddNewRoute.addActionListener(this::addNewRouteAction);
+        btnAddNewRoute.addActionListener(UiActions.traced("FlightsPanel.addNewRouteAction", this::addNewRouteAction));
+        btnGenerateSchedule.addActionListener(UiActions.traced("FlightsPanel.generateScheduleAction", this::generateScheduleAction));
+        btnImportCsv.addActionListener(UiActions.traced("FlightsPanel.importCsvAction", this::importCsvAction));
 
         buttonPanel.add(btnAddFlight);
         buttonPanel.add(btnEditFlight);
         buttonPanel.add(btnCancelFlight);
         buttonPanel.add(btnRefreshFlights);
         buttonPanel.add(btnAddNewRoute);
+        buttonPanel.add(btnGenerateSchedule);
+        buttonPanel.add(btnImportCsv);
 
         add(buttonPanel, BorderLayout.SOUTH);
         logger.debug("Компоненти UI для FlightsPanel успішно створені та додані.");
@@ -248,7 +279,7 @@ public class FlightsPanel extends JPanel {
 
     public void loadFlightsData() {
         logger.info("Завантаження даних про рейси.");
-        try {
+        try (QueryMetrics.ActionScope action = QueryMetrics.beginAction("Завантаження рейсів")) {
             List<Flight> flights = flightDAO.getAllFlights();
             flightsTableModel.setFlights(flights != null ? flights : new ArrayList<>());
             logger.info("Успішно завантажено {} рейсів.", (flights != null ? flights.size() : 0));
@@ -259,6 +290,72 @@ public class FlightsPanel extends JPanel {
         }
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (flightChangedSubscription == null) {
+            flightChangedSubscription = EventBus.getInstance().subscribe(FlightChanged.class, event -> flightChanges.add(event.getFlightId()));
+        }
+        if (ticketChangedSubscription == null) {
+            // Бронювання та продаж змінюють лічильники зайнятості рейсу, що відображаються в таблиці.
+            ticketChangedSubscription = EventBus.getInstance().subscribe(TicketStatusChanged.class, event -> {
+                if (event.getFlightId() > 0) {
+                    flightChanges.add(event.getFlightId());
+                }
+            });
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (flightChangedSubscription != null) {
+            flightChangedSubscription.close();
+            flightChangedSubscription = null;
+        }
+        if (ticketChangedSubscription != null) {
+            ticketChangedSubscription.close();
+            ticketChangedSubscription = null;
+        }
+        flightChanges.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Точково оновлює рядки змінених рейсів (викликається на EDT з накопиченими ID).
+     * Рейси читаються одним запитом ({@link FlightDAO#getFlightsByIds}) у фоновому потоці,
+     * а таблиця оновлюється після його завершення на EDT.
+     * @param flightIds ID рейсів, змінених з моменту попереднього оновлення.
+     */
+    private void applyFlightChanges(Set<Long> flightIds) {
+        if (flightIds.size() > MAX_TARGETED_FLIGHT_UPDATES) {
+            logger.info("Змінено {} рейсів. Повне оновлення таблиці рейсів.", flightIds.size());
+            loadFlightsData();
+            return;
+        }
+        logger.debug("Точкове оновлення {} рейсів у таблиці: {}", flightIds.size(), flightIds);
+        new SwingWorker<Map<Long, Flight>, Void>() {
+            @Override
+            protected Map<Long, Flight> doInBackground() throws Exception {
+                return flightDAO.getFlightsByIds(flightIds);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    for (Flight flight : get().values()) {
+                        flightsTableModel.upsertFlight(flight, true);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Точкове оновлення рейсів {} перервано.", flightIds, ex);
+                } catch (ExecutionException ex) {
+                    logger.warn("Не вдалося точково оновити рейси {}. Дані буде оновлено під час наступного перезавантаження.",
+                            flightIds, ex.getCause());
+                }
+            }
+        }.execute();
+    }
+
     private Frame getOwnerFrame() {
         Window topLevelAncestor = SwingUtilities.getWindowAncestor(this);
         if (topLevelAncestor instanceof Frame) {
@@ -297,6 +394,79 @@ public class FlightsPanel extends JPanel {
         }
     }
 
+    private void generateScheduleAction(ActionEvent e) {
+        logger.info("Натиснуто кнопку 'Згенерувати розклад'. Відкриття ScheduleDialog.");
+        ScheduleDialog dialog = new ScheduleDialog(getOwnerFrame(), flightDAO, routeDAO);
+        dialog.setVisible(true);
+        if (dialog.isSaved()) {
+            logger.info("Рейси за розкладом було згенеровано. Оновлення списку рейсів.");
+            loadFlightsData();
+        } else {
+            logger.debug("Генерацію розкладу було скасовано або не створено жодного рейсу.");
+        }
+    }
+
+    private void importCsvAction(ActionEvent e) {
+        logger.info("Натиснуто кнопку 'Імпорт CSV'.");
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Оберіть CSV-файл розкладу");
+        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV-файли (*.csv)", "csv"));
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            logger.debug("Вибір файлу для імпорту скасовано.");
+            return;
+        }
+        Path path = fileChooser.getSelectedFile().toPath();
+        btnImportCsv.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        new SwingWorker<TimetableImporter.ImportReport, Void>() {
+            @Override
+            protected TimetableImporter.ImportReport doInBackground() throws Exception {
+                return new TimetableImporter(flightDAO, routeDAO, stopDAO,
+                        DatabaseConfig.getIntProperty("import.batch.size", 1000)).importFromFile(path);
+            }
+
+            @Override
+            protected void done() {
+                btnImportCsv.setEnabled(true);
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    showImportReport(get());
+                    loadFlightsData();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Імпорт розкладу перервано.", ex);
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof SQLException) {
+                        handleSqlException("Не вдалося імпортувати розклад", (SQLException) cause);
+                    } else {
+                        handleGenericException("Не вдалося імпортувати розклад", cause instanceof Exception ? (Exception) cause : ex);
+                    }
+                }
+            }
+        }.execute();
+    }
+
+    private void showImportReport(TimetableImporter.ImportReport report) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Рядків у файлі: ").append(report.getTotalRows())
+                .append("\nДодано рейсів: ").append(report.getImportedCount())
+                .append("\nРядків з помилками: ").append(report.getErrors().size());
+        if (!report.getErrors().isEmpty()) {
+            sb.append("\n");
+            report.getErrors().stream().limit(IMPORT_REPORT_MAX_ERRORS).forEach(err -> sb.append("\n").append(err));
+            if (report.getErrors().size() > IMPORT_REPORT_MAX_ERRORS) {
+                sb.append("\n... та ще ").append(report.getErrors().size() - IMPORT_REPORT_MAX_ERRORS).append(" (див. журнал).");
+                report.getErrors().forEach(err -> logger.warn("Імпорт розкладу: {}", err));
+            }
+        }
+        JTextArea textArea = new JTextArea(sb.toString(), 15, 60);
+        textArea.setEditable(false);
+        showDialogMessage(this, new JScrollPane(textArea), "Результат імпорту",
+                report.getErrors().isEmpty() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+    }
+
     private void editFlightAction(ActionEvent e) {
         logger.debug("Натиснуто кнопку 'Редагувати рейс'.");
         int selectedRowView = flightsTable.getSelectedRow();
@@ -435,4 +605,6 @@ public class FlightsPanel extends JPanel {
     public JButton getBtnCancelFlight() { return btnCancelFlight; }
     public JButton getBtnRefreshFlights() { return btnRefreshFlights; }
     public JButton getBtnAddNewRoute() { return btnAddNewRoute; }
+    public JButton getBtnGenerateSchedule() { return btnGenerateSchedule; }
+    public JButton getBtnImportCsv() { return btnImportCsv; }
 }
\ No newline at end of file
@@ -2,6 +2,11 @@ package UI.Panel;
 
 import DAO.PassengerDAO;
 import DAO.TicketDAO;
+import DB.QueryMetrics;
+import Diagnostics.UiActions;
+import Events.EdtCoalescer;
+import Events.EventBus;
+import Events.PassengerUpdated;
 import Models.Passenger;
 import Models.Ticket;
 import UI.Dialog.PassengerDialog;
@@ -11,6 +16,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
@@ -20,6 +27,9 @@ import java.awt.event.MouseEvent;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Панель для управління даними пасажирів та перегляду їхньої історії поїздок.
@@ -34,11 +44,22 @@ public class PassengersPanel extends JPanel {
     private PassengersTableModel passengersTableModel;
     private JTable historyTable;
     private PassengerHistoryTableModel historyTableModel;
-    private JButton btnEditPassenger, btnRefreshPassengers;
+    private JButton btnEditPassenger, btnRefreshPassengers, btnSearchPassengers, btnLoadMorePassengers;
+    private JTextField txtSearchPassengers;
+    private Timer searchDebounceTimer;
+    private final List<Passenger> loadedPassengers = new ArrayList<>();
+
+    static final int SEARCH_PAGE_SIZE = 50;
+    private static final int SEARCH_DEBOUNCE_MS = 300;
 
     private final PassengerDAO passengerDAO;
     private final TicketDAO ticketDAO;
 
+    private static final int EVENT_COALESCE_MS = 200;
+    private final Map<Long, Passenger> pendingPassengerUpdates = new ConcurrentHashMap<>();
+    private final EdtCoalescer<Long> passengerChanges = new EdtCoalescer<>(EVENT_COALESCE_MS, this::applyPassengerChanges);
+    private EventBus.Subscription passengerUpdatedSubscription;
+
     /**
      * Конструктор панелі управління пасажирами для використання в програмі.
      * Ініціалізує DAO через new, компоненти UI та завантажує початкові дані про пасажирів.
@@ -113,6 +134,33 @@ public class PassengersPanel extends JPanel {
         JPanel passengerListPanel = new JPanel(new BorderLayout(5, 5));
         passengerListPanel.setBorder(BorderFactory.createTitledBorder("Список пасажирів"));
 
+        JPanel searchPanel = new JPanel(new BorderLayout(5, 5));
+        searchPanel.add(new JLabel("Пошук (ПІБ, документ, телефон, email):"), BorderLayout.WEST);
+        txtSearchPassengers = new JTextField();
+        txtSearchPassengers.setName("txtSearchPassengers");
+        searchPanel.add(txtSearchPassengers, BorderLayout.CENTER);
+        btnSearchPassengers = new JButton("Знайти");
+        btnSearchPassengers.setName("btnSearchPassengers");
+        searchPanel.add(btnSearchPassengers, BorderLayout.EAST);
+        passengerListPanel.add(searchPanel, BorderLayout.NORTH);
+
+        searchDebounceTimer = new Timer(SEARCH_DEBOUNCE_MS, e -> loadPassengersData());
+        searchDebounceTimer.setRepeats(false);
+        txtSearchPassengers.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { searchDebounceTimer.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { searchDebounceTimer.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { searchDebounceTimer.restart(); }
+        });
+        txtSearchPassengers.addActionListener(e -> {
+            searchDebounceTimer.stop();
+            loadPassengersData();
+        });
+        btnSearchPassengers.addActionListener(e -> {
+            logger.info("Натиснуто кнопку 'Знайти' пасажирів.");
+            searchDebounceTimer.stop();
+            loadPassengersData();
+        });
+
         passengersTableModel = new PassengersTableModel(new ArrayList<>());
         passengersTable = new JTable(passengersTableModel);
         passengersTable.setName("passengersTable");
@@ -170,7 +218,15 @@ public class PassengersPanel extends JPanel {
         btnRefreshPassengers = new JButton("Оновити список");
         btnRefreshPassengers.setName("btnRefreshPassengers");
 
-        btnEditPassenger.addActionListener(this::editPassengerAction);
+        btnLoadMorePassengers = new JButton("Показати ще");
+        btnLoadMorePassengers.setName("btnLoadMorePassengers");
+        btnLoadMorePassengers.setEnabled(false);
+
+        btnEditPassenger.addActionListener(UiActions.traced("PassengersPanel.editPassengerAction", this::editPassengerAction));
+        btnLoadMorePassengers.addActionListener(e -> {
+            logger.info("Натиснуто кнопку 'Показати ще' пасажирів.");
+            loadMorePassengers();
+        });
         btnRefreshPassengers.addActionListener(e -> {
             logger.info("Натиснуто кнопку 'Оновити список' пасажирів.");
             loadPassengersData();
@@ -178,6 +234,7 @@ public class PassengersPanel extends JPanel {
 
         passengerButtonsPanel.add(btnEditPassenger);
         passengerButtonsPanel.add(btnRefreshPassengers);
+        passengerButtonsPanel.add(btnLoadMorePassengers);
         passengerListPanel.add(passengerButtonsPanel, BorderLayout.SOUTH);
 
         JPanel historyPanel = new JPanel(new BorderLayout(5, 5));
@@ -291,17 +348,64 @@ public class PassengersPanel extends JPanel {
         }
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (passengerUpdatedSubscription == null) {
+            passengerUpdatedSubscription = EventBus.getInstance().subscribe(PassengerUpdated.class, event -> {
+                pendingPassengerUpdates.put(event.getPassengerId(), event.getPassenger());
+                passengerChanges.add(event.getPassengerId());
+            });
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (passengerUpdatedSubscription != null) {
+            passengerUpdatedSubscription.close();
+            passengerUpdatedSubscription = null;
+        }
+        passengerChanges.stop();
+        pendingPassengerUpdates.clear();
+        super.removeNotify();
+    }
+
+    /**
+     * Оновлює рядки змінених пасажирів, якщо вони є серед завантажених результатів пошуку.
+     * @param passengerIds ID пасажирів, змінених з моменту попереднього оновлення.
+     */
+    private void applyPassengerChanges(Set<Long> passengerIds) {
+        for (Long passengerId : passengerIds) {
+            Passenger updated = pendingPassengerUpdates.remove(passengerId);
+            if (updated == null) {
+                continue;
+            }
+            for (int i = 0; i < loadedPassengers.size(); i++) {
+                if (loadedPassengers.get(i).getId() == passengerId) {
+                    loadedPassengers.set(i, updated);
+                    passengersTableModel.updatePassenger(updated);
+                    break;
+                }
+            }
+        }
+    }
+
     /**
      * Завантажує або оновлює список пасажирів у таблиці.
-     * Дані отримуються з {@link PassengerDAO}. У випадку помилки,
-     * виводиться повідомлення користувачу. Якщо жоден пасажир не обраний після оновлення,
-     * таблиця історії поїздок очищується.
+     * Показується перша сторінка ({@value #SEARCH_PAGE_SIZE} записів) результатів пошуку
+     * за поточним текстом у полі пошуку; порожній запит показує пасажирів за алфавітом.
+     * У випадку помилки виводиться повідомлення користувачу. Якщо жоден пасажир не обраний
+     * після оновлення, таблиця історії поїздок очищується.
      */
     private void loadPassengersData() {
-        logger.info("Завантаження даних про пасажирів.");
-        try {
-            List<Passenger> passengers = passengerDAO.getAllPassengers();
-            passengersTableModel.setPassengers(passengers);
+        String query = txtSearchPassengers.getText();
+        logger.info("Завантаження даних про пасажирів за запитом '{}'.", query);
+        try (QueryMetrics.ActionScope action = QueryMetrics.beginAction("Пошук пасажирів")) {
+            List<Passenger> passengers = passengerDAO.searchPassengers(query, 0, SEARCH_PAGE_SIZE);
+            loadedPassengers.clear();
+            loadedPassengers.addAll(passengers);
+            passengersTableModel.setPassengers(new ArrayList<>(loadedPassengers));
+            btnLoadMorePassengers.setEnabled(passengers.size() == SEARCH_PAGE_SIZE);
             logger.info("Успішно завантажено {} пасажирів.", passengers.size());
             if (passengersTable.getSelectedRow() == -1 && historyTableModel != null) {
                 logger.debug("Жоден пасажир не вибраний, очищення таблиці історії.");
@@ -314,6 +418,26 @@ public class PassengersPanel extends JPanel {
         }
     }
 
+    /**
+     * Довантажує наступну сторінку результатів пошуку та додає її в кінець таблиці.
+     */
+    private void loadMorePassengers() {
+        String query = txtSearchPassengers.getText();
+        int offset = loadedPassengers.size();
+        logger.info("Довантаження пасажирів за запитом '{}' з позиції {}.", query, offset);
+        try {
+            List<Passenger> passengers = passengerDAO.searchPassengers(query, offset, SEARCH_PAGE_SIZE);
+            loadedPassengers.addAll(passengers);
+            passengersTableModel.setPassengers(new ArrayList<>(loadedPassengers));
+            btnLoadMorePassengers.setEnabled(passengers.size() == SEARCH_PAGE_SIZE);
+            logger.info("Довантажено {} пасажирів. Всього у таблиці: {}.", passengers.size(), loadedPassengers.size());
+        } catch (SQLException e) {
+            handleSqlException("Помилка завантаження списку пасажирів", e);
+        } catch (Exception e) {
+            handleGenericException("Непередбачена помилка при завантаженні списку пасажирів", e);
+        }
+    }
+
     /**
      * Завантажує історію поїздок для вказаного пасажира та відображає її в таблиці історії.
      * Дані отримуються з {@link TicketDAO}. У випадку помилки,
@@ -2,8 +2,17 @@ package UI.Panel;
 
 import DAO.FlightDAO;
 import DAO.TicketDAO;
+import DB.QueryMetrics;
+import Diagnostics.UiActions;
+import Events.EdtCoalescer;
+import Events.EntityChangeEvent;
+import Events.EventBus;
+import Events.FlightChanged;
+import Events.TicketStatusChanged;
 import Models.Flight;
 import Models.Enums.TicketStatus;
+import Services.ReportEngine;
+import Services.ReportResultCache;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,6 +23,7 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.awt.event.HierarchyEvent;
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.text.NumberFormat;
@@ -23,7 +33,13 @@ import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Панель для генерації та відображення звітів у системі автовокзалу.
@@ -35,6 +51,10 @@ import java.util.ArrayList;
  *     <li>Завантаженість рейсів на конкретну дату.</li>
  *     <li>Статистика квитків за їх статусами.</li>
  * </ul>
+ * Звіт продажів формується у фоновому потоці через {@link ReportEngine}: період ділиться на місяці,
+ * проміжні результати показуються в міру надходження, а формування можна скасувати.
+ * Результати звітів продажів та завантаженості зберігаються в {@link ReportResultCache}, тож повторне
+ * формування з тими самими параметрами без змін даних не звертається до бази даних.
  */
 public class ReportsPanel extends JPanel {
     private static final Logger logger = LogManager.getLogger("insurance.log");
@@ -45,12 +65,22 @@ public class ReportsPanel extends JPanel {
     private JComboBox<String> cmbReportType;
     private JPanel parametersPanel;
     private JButton btnGenerateReport;
+    private JButton btnCancelReport;
     private JTextArea reportTextArea;
     private JTable reportTable; // Зберігаємо посилання на таблицю
     private JScrollPane reportScrollPane;
 
     private final TicketDAO ticketDAO;
     private final FlightDAO flightDAO;
+    private final ReportEngine reportEngine;
+    private SwingWorker<Map<String, Map<String, Object>>, SalesReportProgress> salesReportWorker;
+
+    private static final int EVENT_COALESCE_MS = 1000;
+    private final EdtCoalescer<Class<? extends EntityChangeEvent>> dataChanges = new EdtCoalescer<>(EVENT_COALESCE_MS, this::onDataChanged);
+    private final List<EventBus.Subscription> subscriptions = new ArrayList<>();
+    private String lastGeneratedReport;
+    /** Дані змінилися, поки вкладка звітів була прихована; звіт переформовується при її показі. */
+    private boolean reportStale;
 
     private JTextField txtStartDate, txtEndDate, txtReportDate;
 
@@ -90,6 +120,17 @@ public class ReportsPanel extends JPanel {
      * @throws IllegalArgumentException якщо будь-який з наданих DAO є null.
      */
     public ReportsPanel(TicketDAO ticketDAO, FlightDAO flightDAO) {
+        this(ticketDAO, flightDAO, ReportEngine.getInstance());
+    }
+
+    /**
+     * Конструктор панелі звітів з переданим виконавцем звітів за період.
+     * @param ticketDAO DAO для роботи з квитками.
+     * @param flightDAO DAO для роботи з рейсами.
+     * @param reportEngine Виконавець звітів за період.
+     * @throws IllegalArgumentException якщо будь-який з наданих DAO є null.
+     */
+    public ReportsPanel(TicketDAO ticketDAO, FlightDAO flightDAO, ReportEngine reportEngine) {
         logger.info("Ініціалізація ReportsPanel з наданими DAO.");
         if (ticketDAO == null || flightDAO == null) {
             String missingDAO = (ticketDAO == null ? "TicketDAO" : "") + (flightDAO == null ? (ticketDAO == null ? " та " : "") + "FlightDAO" : "");
@@ -102,12 +143,19 @@ public class ReportsPanel extends JPanel {
         }
         this.ticketDAO = ticketDAO;
         this.flightDAO = flightDAO;
+        this.reportEngine = reportEngine != null ? reportEngine : ReportEngine.getInstance();
         logger.debug("TicketDAO та FlightDAO успішно присвоєні.");
 
         setLayout(new BorderLayout(10, 10));
         setBorder(new EmptyBorder(10, 10, 10, 10));
 
         initComponents();
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing() && reportStale) {
+                reportStale = false;
+                regenerateLastReport("вкладку звітів відкрито після змін даних");
+            }
+        });
         logger.info("ReportsPanel успішно ініціалізовано.");
     }
 
@@ -128,15 +176,21 @@ public class ReportsPanel extends JPanel {
                 "Статистика по статусах квитків"
         });
         cmbReportType.setName("cmbReportType");
-        cmbReportType.addActionListener(this::onReportTypeChange);
+        cmbReportType.addActionListener(UiActions.traced("ReportsPanel.onReportTypeChange", this::onReportTypeChange));
         reportSelectionPanel.add(cmbReportType);
 
         btnGenerateReport = new JButton("Сформувати звіт");
         btnGenerateReport.setName("btnGenerateReport");
         btnGenerateReport.setEnabled(false);
-        btnGenerateReport.addActionListener(this::generateReportAction);
+        btnGenerateReport.addActionListener(UiActions.traced("ReportsPanel.generateReportAction", this::generateReportAction));
         reportSelectionPanel.add(btnGenerateReport);
 
+        btnCancelReport = new JButton("Скасувати");
+        btnCancelReport.setName("btnCancelReport");
+        btnCancelReport.setEnabled(false);
+        btnCancelReport.addActionListener(e -> cancelRunningReport());
+        reportSelectionPanel.add(btnCancelReport);
+
         topPanel.add(reportSelectionPanel, BorderLayout.NORTH);
 
         parametersPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
@@ -205,6 +259,46 @@ public class ReportsPanel extends JPanel {
         logger.trace("Панель параметрів оновлено.");
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (subscriptions.isEmpty()) {
+            subscriptions.add(EventBus.getInstance().subscribe(TicketStatusChanged.class, event -> dataChanges.add(TicketStatusChanged.class)));
+            subscriptions.add(EventBus.getInstance().subscribe(FlightChanged.class, event -> dataChanges.add(FlightChanged.class)));
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        cancelRunningReport();
+        subscriptions.forEach(EventBus.Subscription::close);
+        subscriptions.clear();
+        dataChanges.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Переформовує показаний звіт після змін квитків або рейсів. Серія змін (наприклад, групове
+     * бронювання) об'єднується в одне переформування. Поки вкладка звітів прихована, звіт лише
+     * позначається застарілим і переформовується один раз при її показі.
+     * @param changedTypes Типи подій, що надійшли з моменту попереднього оновлення.
+     */
+    private void onDataChanged(Set<Class<? extends EntityChangeEvent>> changedTypes) {
+        if (!isShowing()) {
+            reportStale = lastGeneratedReport != null;
+            return;
+        }
+        regenerateLastReport("дані змінилися " + changedTypes);
+    }
+
+    private void regenerateLastReport(String reason) {
+        if (lastGeneratedReport == null || !lastGeneratedReport.equals(cmbReportType.getSelectedItem())) {
+            return;
+        }
+        logger.info("Переформування звіту '{}': {}.", lastGeneratedReport, reason);
+        generateReportAction(null);
+    }
+
     /**
      * Обробник події натискання кнопки "Сформувати звіт".
      * @param e Об'єкт події {@link ActionEvent}.
@@ -219,6 +313,7 @@ public class ReportsPanel extends JPanel {
             return;
         }
 
+        cancelRunningReport();
         reportTextArea.setText("");
 
         if (reportTable != null && reportScrollPane.getViewport().getView() == reportTable) {
@@ -248,6 +343,7 @@ public class ReportsPanel extends JPanel {
                     logger.warn("Обрано непідтримуваний тип звіту: '{}'", selectedReport);
                     reportTextArea.setText("Тип звіту не підтримується.");
             }
+            lastGeneratedReport = selectedReport;
         } catch (DateTimeParseException ex) {
             logger.warn("Помилка формату дати при генерації звіту '{}'. Введені дати: Start='{}', End='{}', ReportDate='{}'.",
                     selectedReport,
@@ -264,11 +360,11 @@ public class ReportsPanel extends JPanel {
     }
 
     /**
-     * Генерує звіт про продажі за маршрутами за вказаний період.
-     * @throws SQLException Якщо виникає помилка при доступі до бази даних.
+     * Перевіряє параметри та запускає формування звіту про продажі за маршрутами за вказаний період.
+     * Помилки доступу до бази даних обробляються після завершення фонового формування.
      * @throws DateTimeParseException Якщо введено некоректний формат дати.
      */
-    private void generateSalesByRouteReport() throws SQLException, DateTimeParseException {
+    private void generateSalesByRouteReport() throws DateTimeParseException {
         if (txtStartDate == null || txtEndDate == null) {
             logger.error("Поля дат для звіту 'Продажі за маршрутами' не ініціалізовані.");
             JOptionPane.showMessageDialog(this, "Помилка: поля для вводу дат не знайдено.", "Внутрішня помилка", JOptionPane.ERROR_MESSAGE);
@@ -284,22 +380,128 @@ public class ReportsPanel extends JPanel {
             return;
         }
 
-        Map<String, Map<String, Object>> salesData = ticketDAO.getSalesByRouteForPeriod(startDate, endDate);
-        logger.debug("Отримано {} записів для звіту продажів.", salesData.size());
+        ReportResultCache cache = ReportResultCache.getInstance();
+        String cacheKey = ReportResultCache.key("SALES_BY_ROUTE", startDate, endDate);
+        long dataVersion = cache.salesVersion(startDate, endDate);
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> cached = cache.get(cacheKey, dataVersion, Map.class);
+        if (cached != null) {
+            logger.info("Звіт продажів за маршрутами за період з {} по {} взято з кешу.", startDate, endDate);
+            showSalesReport(startDate, endDate, cached, 0, 0);
+            return;
+        }
+        startSalesReportWorker(startDate, endDate, cacheKey, dataVersion);
+    }
+
+    /**
+     * Запускає формування звіту продажів у фоновому потоці. Проміжні результати показуються
+     * після кожного завершеного місяця періоду.
+     * @param startDate Початкова дата періоду.
+     * @param endDate Кінцева дата періоду.
+     * @param cacheKey Ключ, під яким результат зберігається в {@link ReportResultCache}.
+     * @param dataVersion Версія даних, прочитана до запуску запитів.
+     */
+    private void startSalesReportWorker(LocalDate startDate, LocalDate endDate, String cacheKey, long dataVersion) {
+        final String reportName = (String) cmbReportType.getSelectedItem();
+        reportTextArea.setText("Формування звіту...\n");
+        reportScrollPane.setViewportView(reportTextArea);
+
+        salesReportWorker = new SwingWorker<Map<String, Map<String, Object>>, SalesReportProgress>() {
+            @Override
+            protected Map<String, Map<String, Object>> doInBackground() throws Exception {
+                try (QueryMetrics.ActionScope action = QueryMetrics.beginAction("Звіт '" + reportName + "'")) {
+                    return reportEngine.run(startDate, endDate, new HashMap<>(),
+                            ticketDAO::getSalesByRouteForPeriod, TicketDAO::mergeSalesData,
+                            (merged, completed, total) -> publish(new SalesReportProgress(merged, completed, total)));
+                }
+            }
+
+            @Override
+            protected void process(List<SalesReportProgress> chunks) {
+                if (isCancelled() || salesReportWorker != this) {
+                    return;
+                }
+                SalesReportProgress latest = chunks.get(chunks.size() - 1);
+                if (latest.completedChunks < latest.totalChunks) {
+                    showSalesReport(startDate, endDate, latest.salesData, latest.completedChunks, latest.totalChunks);
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (salesReportWorker != this) {
+                    return;
+                }
+                salesReportWorker = null;
+                btnCancelReport.setEnabled(false);
+                try {
+                    Map<String, Map<String, Object>> salesData = Collections.unmodifiableMap(get());
+                    ReportResultCache.getInstance().put(cacheKey, dataVersion, salesData);
+                    showSalesReport(startDate, endDate, salesData, 0, 0);
+                } catch (CancellationException ex) {
+                    logger.info("Формування звіту продажів за маршрутами скасовано користувачем.");
+                    reportTextArea.setText("Формування звіту скасовано.\n");
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof SQLException) {
+                        handleSqlException("Помилка при генерації звіту '" + reportName + "'", (SQLException) cause);
+                    } else {
+                        handleGenericException("Непередбачена помилка при генерації звіту '" + reportName + "'",
+                                cause instanceof Exception ? (Exception) cause : ex);
+                    }
+                }
+            }
+        };
+        btnCancelReport.setEnabled(true);
+        salesReportWorker.execute();
+    }
+
+    /**
+     * Скасовує звіт, що формується у фоновому потоці (якщо такий є).
+     */
+    private void cancelRunningReport() {
+        SwingWorker<?, ?> worker = salesReportWorker;
+        if (worker != null) {
+            salesReportWorker = null;
+            worker.cancel(true);
+            btnCancelReport.setEnabled(false);
+            reportTextArea.setText("Формування звіту скасовано.\n");
+            logger.info("Формування звіту продажів за маршрутами скасовано.");
+        }
+    }
+
+    /**
+     * Відображає звіт продажів за маршрутами.
+     * @param salesData Статистика продажів (повна або за вже оброблені місяці).
+     * @param completedChunks Кількість оброблених місяців; 0 для остаточного звіту.
+     * @param totalChunks Загальна кількість місяців періоду; 0 для остаточного звіту.
+     */
+    private void showSalesReport(LocalDate startDate, LocalDate endDate, Map<String, Map<String, Object>> salesData,
+                                 int completedChunks, int totalChunks) {
+        boolean partial = completedChunks < totalChunks;
+        logger.debug("Отримано {} записів для звіту продажів{}.", salesData.size(), partial ? " (проміжний результат)" : "");
 
         StringBuilder sb = new StringBuilder();
         sb.append("Звіт: Продажі за маршрутами\n");
         sb.append("Період: з ").append(startDate.format(DATE_FORMATTER)).append(" по ").append(endDate.format(DATE_FORMATTER)).append("\n");
+        if (partial) {
+            sb.append("Оброблено місяців: ").append(completedChunks).append(" з ").append(totalChunks).append("...\n");
+        }
         sb.append("-----------------------------------------------------------------\n");
         if (salesData.isEmpty()) {
-            sb.append("За вказаний період продажів не знайдено.\n");
-            logger.info("Продажів за маршрутами за вказаний період не знайдено.");
+            sb.append(partial ? "Продажів поки не знайдено.\n" : "За вказаний період продажів не знайдено.\n");
+            if (!partial) {
+                logger.info("Продажів за маршрутами за вказаний період не знайдено.");
+            }
         } else {
             sb.append(String.format("%-40s | %15s | %10s\n", "Маршрут", "Сума продажів", "К-ть квитків"));
             sb.append("-----------------------------------------------------------------\n");
             BigDecimal totalSalesOverall = BigDecimal.ZERO;
             int totalTicketsOverall = 0;
-            for (Map.Entry<String, Map<String, Object>> entry : salesData.entrySet()) {
+            // Рядки впорядковано за назвою маршруту, щоб проміжні результати не переставлялися між оновленнями.
+            for (Map.Entry<String, Map<String, Object>> entry : new TreeMap<>(salesData).entrySet()) {
                 String routeName = entry.getKey();
                 BigDecimal totalAmount = (BigDecimal) entry.getValue().get("totalSales");
                 int ticketCount = (Integer) entry.getValue().get("ticketCount");
@@ -309,14 +511,31 @@ public class ReportsPanel extends JPanel {
             }
             sb.append("-----------------------------------------------------------------\n");
             sb.append(String.format("%-40s | %15s | %10d\n", "Всього:", CURRENCY_FORMATTER.format(totalSalesOverall), totalTicketsOverall));
-            logger.info("Звіт продажів за маршрутами сформовано. Загальна сума: {}, Загальна к-ть квитків: {}",
-                    CURRENCY_FORMATTER.format(totalSalesOverall), totalTicketsOverall);
+            if (!partial) {
+                logger.info("Звіт продажів за маршрутами сформовано. Загальна сума: {}, Загальна к-ть квитків: {}",
+                        CURRENCY_FORMATTER.format(totalSalesOverall), totalTicketsOverall);
+            }
         }
         sb.append("-----------------------------------------------------------------\n");
         reportTextArea.setText(sb.toString());
         reportScrollPane.setViewportView(reportTextArea);
     }
 
+    /**
+     * Проміжний результат звіту продажів, що передається з фонового потоку в EDT.
+     */
+    private static final class SalesReportProgress {
+        private final Map<String, Map<String, Object>> salesData;
+        private final int completedChunks;
+        private final int totalChunks;
+
+        private SalesReportProgress(Map<String, Map<String, Object>> salesData, int completedChunks, int totalChunks) {
+            this.salesData = salesData;
+            this.completedChunks = completedChunks;
+            this.totalChunks = totalChunks;
+        }
+    }
+
     /**
      * Генерує звіт про завантаженість рейсів на вказану дату.
      * @throws SQLException Якщо виникає помилка при доступі до бази даних.
@@ -331,7 +550,19 @@ public class ReportsPanel extends JPanel {
         LocalDate reportDate = LocalDate.parse(txtReportDate.getText().trim(), DATE_FORMATTER);
         logger.info("Генерація звіту завантаженості рейсів на дату: {}", reportDate);
 
-        List<Flight> flights = flightDAO.getFlightsByDate(reportDate);
+        ReportResultCache cache = ReportResultCache.getInstance();
+        String cacheKey = ReportResultCache.key("FLIGHT_LOAD", reportDate);
+        long dataVersion = cache.occupancyVersion();
+        @SuppressWarnings("unchecked")
+        List<Flight> flights = cache.get(cacheKey, dataVersion, List.class);
+        if (flights == null) {
+            try (QueryMetrics.ActionScope action = QueryMetrics.beginAction("Звіт завантаженості рейсів")) {
+                flights = Collections.unmodifiableList(new ArrayList<>(flightDAO.getFlightsByDate(reportDate)));
+            }
+            cache.put(cacheKey, dataVersion, flights);
+        } else {
+            logger.info("Дані звіту завантаженості рейсів на дату {} взято з кешу.", reportDate);
+        }
         logger.debug("Знайдено {} рейсів на дату {}.", flights.size(), reportDate);
 
         String[] columnNames = {"ID Рейсу", "Маршрут", "Відправлення", "Місць всього", "Зайнято", "Завантаженість (%)"};
@@ -352,14 +583,9 @@ public class ReportsPanel extends JPanel {
             Object[][] data = new Object[flights.size()][columnNames.length];
             for (int i = 0; i < flights.size(); i++) {
                 Flight flight = flights.get(i);
-                int occupiedSeats = 0;
-                try {
-                    occupiedSeats = flightDAO.getOccupiedSeatsCount(flight.getId());
-                } catch (SQLException sqlEx) {
-                    logger.error("Помилка отримання кількості зайнятих місць для рейсу ID: {}", flight.getId(), sqlEx);
-
-                }
-                double loadPercentage = (flight.getTotalSeats() > 0) ? ((double) occupiedSeats / flight.getTotalSeats()) * 100 : 0;
+                // Лічильники зайнятості читаються разом з рейсом, тож окремий запит на кожен рейс не потрібен.
+                int occupiedSeats = flight.getOccupiedSeats();
+                double loadPercentage = flight.getLoadFactor() * 100;
 
                 data[i][0] = flight.getId();
                 data[i][1] = (flight.getRoute() != null && flight.getRoute().getFullRouteDescription() != null) ? flight.getRoute().getFullRouteDescription() : "Маршрут не вказано";
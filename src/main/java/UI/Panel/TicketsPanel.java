@@ -1,10 +1,17 @@
 package UI.Panel;
 
 import DAO.*;
+import DB.QueryMetrics;
+import Diagnostics.UiActions;
+import Events.EdtCoalescer;
+import Events.EventBus;
+import Events.FlightChanged;
+import Events.TicketStatusChanged;
 import Models.Flight;
 import Models.Enums.FlightStatus;
 import Models.Stop;
 import UI.Dialog.BookingDialog;
+import UI.Dialog.GroupBookingDialog;
 import UI.Model.FlightsTableModel;
 
 import org.apache.logging.log4j.LogManager;
@@ -21,6 +28,8 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -43,6 +52,7 @@ public class TicketsPanel extends JPanel {
     private JList<String> listAvailableSeats;
     private DefaultListModel<String> availableSeatsModel;
     private JButton btnBookTicket;
+    private JButton btnGroupBooking;
     private JLabel lblSelectedFlightInfo;
 
     private final FlightDAO flightDAO;
@@ -52,6 +62,12 @@ public class TicketsPanel extends JPanel {
 
     private Flight selectedFlightForBooking;
 
+    private static final int EVENT_COALESCE_MS = 200;
+    /** Ключ {@code 0} у {@link #seatChanges} означає зміну квитка на невідомому рейсі. */
+    private final EdtCoalescer<Long> seatChanges = new EdtCoalescer<>(EVENT_COALESCE_MS, this::applySeatChanges);
+    private final EdtCoalescer<Long> flightChanges = new EdtCoalescer<>(EVENT_COALESCE_MS, this::applyFlightChanges);
+    private final List<EventBus.Subscription> subscriptions = new ArrayList<>();
+
     public TicketsPanel(FlightDAO flightDAO, StopDAO stopDAO, TicketDAO ticketDAO, PassengerDAO passengerDAO) {
         logger.info("Ініціалізація TicketsPanel з наданими DAO.");
         try {
@@ -132,7 +148,7 @@ public class TicketsPanel extends JPanel {
 
         btnSearchFlights = new JButton("Знайти рейси");
         btnSearchFlights.setName("btnSearchFlights");
-        btnSearchFlights.addActionListener(this::searchFlightsAction);
+        btnSearchFlights.addActionListener(UiActions.traced("TicketsPanel.searchFlightsAction", this::searchFlightsAction));
         searchPanel.add(btnSearchFlights);
 
         add(searchPanel, BorderLayout.NORTH);
@@ -199,7 +215,7 @@ public class TicketsPanel extends JPanel {
         availableSeatsModel = new DefaultListModel<>();
         listAvailableSeats = new JList<>(availableSeatsModel);
         listAvailableSeats.setName("listAvailableSeats");
-        listAvailableSeats.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        listAvailableSeats.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         listAvailableSeats.setLayoutOrientation(JList.HORIZONTAL_WRAP);
         listAvailableSeats.setVisibleRowCount(-1);
         JScrollPane seatsScrollPane = new JScrollPane(listAvailableSeats);
@@ -209,18 +225,26 @@ public class TicketsPanel extends JPanel {
         btnBookTicket = new JButton("Забронювати обране місце");
         btnBookTicket.setEnabled(false);
         btnBookTicket.setName("btnBookTicket");
-        btnBookTicket.addActionListener(this::bookTicketAction);
+        btnBookTicket.addActionListener(UiActions.traced("TicketsPanel.bookTicketAction", this::bookTicketAction));
+        btnGroupBooking = new JButton("Групове бронювання обраних місць");
+        btnGroupBooking.setEnabled(false);
+        btnGroupBooking.setName("btnGroupBooking");
+        btnGroupBooking.addActionListener(UiActions.traced("TicketsPanel.groupBookingAction", this::groupBookingAction));
         listAvailableSeats.addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
-                boolean isSeatSelected = !listAvailableSeats.isSelectionEmpty();
+                int selectedCount = listAvailableSeats.getSelectedIndices().length;
                 boolean isFlightBookable = selectedFlightForBooking != null &&
                         (selectedFlightForBooking.getStatus() == FlightStatus.PLANNED || selectedFlightForBooking.getStatus() == FlightStatus.DELAYED);
-                btnBookTicket.setEnabled(isSeatSelected && isFlightBookable);
-                logger.trace("Зміна вибору місця. Місце вибрано: {}, Рейс доступний для бронювання: {}. Кнопка 'Забронювати': {}",
-                        isSeatSelected, isFlightBookable, btnBookTicket.isEnabled());
+                btnBookTicket.setEnabled(selectedCount == 1 && isFlightBookable);
+                btnGroupBooking.setEnabled(selectedCount > 0 && isFlightBookable);
+                logger.trace("Зміна вибору місць. Вибрано місць: {}, Рейс доступний для бронювання: {}. Кнопка 'Забронювати': {}",
+                        selectedCount, isFlightBookable, btnBookTicket.isEnabled());
             }
         });
-        flightDetailsPanel.add(btnBookTicket, BorderLayout.SOUTH);
+        JPanel bookingButtonsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        bookingButtonsPanel.add(btnBookTicket);
+        bookingButtonsPanel.add(btnGroupBooking);
+        flightDetailsPanel.add(bookingButtonsPanel, BorderLayout.SOUTH);
 
         JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, flightsTableScrollPane, flightDetailsPanel);
         splitPane.setResizeWeight(0.6);
@@ -232,6 +256,72 @@ public class TicketsPanel extends JPanel {
         logger.debug("Компоненти UI для TicketsPanel успішно створені та додані.");
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (subscriptions.isEmpty()) {
+            subscriptions.add(EventBus.getInstance().subscribe(TicketStatusChanged.class, event -> seatChanges.add(event.getFlightId())));
+            subscriptions.add(EventBus.getInstance().subscribe(FlightChanged.class, event -> flightChanges.add(event.getFlightId())));
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        subscriptions.forEach(EventBus.Subscription::close);
+        subscriptions.clear();
+        seatChanges.stop();
+        flightChanges.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Оновлює список вільних місць обраного рейсу, якщо на ньому змінилися квитки,
+     * зберігаючи вибір місць, які залишилися вільними.
+     * @param flightIds ID рейсів зі зміненими квитками (0 - рейс невідомий).
+     */
+    private void applySeatChanges(Set<Long> flightIds) {
+        if (selectedFlightForBooking == null) {
+            return;
+        }
+        if (flightIds.contains(selectedFlightForBooking.getId()) || flightIds.contains(0L)) {
+            logger.debug("Квитки рейсу ID {} змінено. Оновлення списку вільних місць.", selectedFlightForBooking.getId());
+            List<String> previouslySelected = listAvailableSeats.getSelectedValuesList();
+            updateFlightDetailsAndSeats(selectedFlightForBooking);
+            List<Integer> indices = new ArrayList<>();
+            for (String seat : previouslySelected) {
+                int index = availableSeatsModel.indexOf(seat);
+                if (index >= 0) {
+                    indices.add(index);
+                }
+            }
+            listAvailableSeats.setSelectedIndices(indices.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Оновлює рядки змінених рейсів у результатах пошуку (нові рейси до результатів не додаються).
+     * @param flightIds ID змінених рейсів.
+     */
+    private void applyFlightChanges(Set<Long> flightIds) {
+        try {
+            for (Long flightId : flightIds) {
+                if (!flightsResultTableModel.containsFlight(flightId)) {
+                    continue;
+                }
+                Optional<Flight> flight = flightDAO.getFlightById(flightId);
+                if (flight.isPresent()) {
+                    flightsResultTableModel.upsertFlight(flight.get(), false);
+                    if (selectedFlightForBooking != null && selectedFlightForBooking.getId() == flightId) {
+                        selectedFlightForBooking = flight.get();
+                        updateFlightDetailsAndSeats(selectedFlightForBooking);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Не вдалося оновити змінені рейси {} у результатах пошуку.", flightIds, e);
+        }
+    }
+
     /**
      * Завантажує список зупинок з бази даних та заповнює випадаючі списки
      * пунктів відправлення та призначення.
@@ -305,7 +395,7 @@ public class TicketsPanel extends JPanel {
 
         final LocalDate finalDateFilter = dateFilter;
 
-        try {
+        try (QueryMetrics.ActionScope action = QueryMetrics.beginAction("Пошук рейсів")) {
             List<Flight> allFlights = flightDAO.getAllFlights();
             logger.trace("Отримано {} рейсів з DAO перед фільтрацією.", allFlights.size());
             List<Flight> filteredFlights = allFlights.stream()
@@ -339,6 +429,7 @@ public class TicketsPanel extends JPanel {
         lblSelectedFlightInfo.setText("Оберіть рейс зі списку вище для перегляду деталей.");
         availableSeatsModel.clear();
         btnBookTicket.setEnabled(false);
+        btnGroupBooking.setEnabled(false);
         selectedFlightForBooking = null;
     }
 
@@ -369,6 +460,7 @@ public class TicketsPanel extends JPanel {
 
         availableSeatsModel.clear();
         btnBookTicket.setEnabled(false);
+        btnGroupBooking.setEnabled(false);
 
         if (flight.getStatus() != FlightStatus.PLANNED && flight.getStatus() != FlightStatus.DELAYED) {
             String unavailableMsg = " | Бронювання неможливе (рейс не запланований або не відкладений).";
@@ -440,6 +532,36 @@ public class TicketsPanel extends JPanel {
         }
     }
 
+    /**
+     * Обробляє дію групового бронювання.
+     * Відкриває діалогове вікно {@link GroupBookingDialog} для всіх обраних місць; квитки
+     * бронюються однією транзакцією. Після закриття діалогу список доступних місць оновлюється,
+     * оскільки частина місць могла бути зайнята іншими касирами.
+     * @param e Об'єкт події {@link ActionEvent}.
+     */
+    public void groupBookingAction(ActionEvent e) {
+        logger.info("Натиснуто кнопку 'Групове бронювання обраних місць'.");
+        if (selectedFlightForBooking == null || listAvailableSeats.isSelectionEmpty()) {
+            logger.warn("Спроба групового бронювання, але рейс або місця не вибрано.");
+            JOptionPane.showMessageDialog(this, "Будь ласка, оберіть рейс та вільні місця для бронювання.", "Помилка", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (selectedFlightForBooking.getStatus() != FlightStatus.PLANNED && selectedFlightForBooking.getStatus() != FlightStatus.DELAYED) {
+            logger.warn("Спроба групового бронювання на рейс ID {} зі статусом {}.", selectedFlightForBooking.getId(), selectedFlightForBooking.getStatus());
+            JOptionPane.showMessageDialog(this, "Неможливо забронювати квитки на цей рейс. Статус рейсу: " + selectedFlightForBooking.getStatus().getDisplayName(), "Помилка", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        List<String> selectedSeats = listAvailableSeats.getSelectedValuesList();
+        logger.info("Відкриття діалогу групового бронювання для рейсу ID: {}, місць: {}", selectedFlightForBooking.getId(), selectedSeats.size());
+        GroupBookingDialog groupBookingDialog = new GroupBookingDialog((Frame) SwingUtilities.getWindowAncestor(this),
+                selectedFlightForBooking, selectedSeats, passengerDAO, ticketDAO);
+        groupBookingDialog.setVisible(true);
+
+        logger.debug("Діалог групового бронювання закрито (підтверджено: {}). Оновлення деталей рейсу.", groupBookingDialog.isBookingConfirmed());
+        updateFlightDetailsAndSeats(selectedFlightForBooking);
+    }
+
     /**
      * Обробляє винятки типу {@link SQLException}, логує їх та показує повідомлення користувачу.
      * @param userMessage Повідомлення для користувача, що описує контекст помилки.
@@ -0,0 +1,80 @@
+-- Секціонування таблиці tickets за місяцем бронювання (RANGE COLUMNS по booking_date_time).
+-- Запити з умовою на booking_date_time читають лише потрібні секції, а старі секції після
+-- архівації квитків (V9) видаляються цілком, без DELETE по рядках.
+-- Міграція створює секцію p_history для бронювань до початку поточного місяця, секції pYYYYMM на
+-- поточний і три наступні місяці та порожню p_future; далі секції наперед додає та порожні прострочені
+-- видаляє Services.TicketPartitionMaintainer.
+--
+-- Обмеження MySQL для секціонованих таблиць:
+-- * ключ секціонування має входити до кожного унікального ключа, тому первинний ключ стає
+--   (id, booking_date_time), а унікальність місця на рейсі (flight_id, seat_number) більше не може
+--   забезпечуватися індексом tickets;
+-- * секціонована таблиця InnoDB не може мати зовнішніх ключів і на неї не можна посилатися,
+--   тому всі зовнішні ключі tickets видаляються (цілісність забезпечують DAO).
+
+-- Унікальність місця на рейсі переноситься в окрему несекціоновану таблицю. Таблиця та тригери
+-- створюються, поки діє uq_ticket_flight_seat на tickets, тож місце на рейсі перевіряється
+-- без перерви. TicketDAO розпізнає конфлікт місця за назвою будь-якого з двох обмежень.
+CREATE TABLE IF NOT EXISTS ticket_seats (
+    ticket_id   BIGINT      NOT NULL PRIMARY KEY,
+    flight_id   BIGINT      NOT NULL,
+    seat_number VARCHAR(10) NOT NULL,
+    CONSTRAINT uq_ticket_seats_flight_seat UNIQUE (flight_id, seat_number)
+);
+
+-- Помилка вставки в ticket_seats відкочує вставку квитка.
+CREATE TRIGGER trg_tickets_seat_ai AFTER INSERT ON tickets FOR EACH ROW
+    INSERT INTO ticket_seats (ticket_id, flight_id, seat_number)
+    VALUES (NEW.id, NEW.flight_id, NEW.seat_number);
+
+CREATE TRIGGER trg_tickets_seat_au AFTER UPDATE ON tickets FOR EACH ROW
+    UPDATE ticket_seats
+    SET flight_id = NEW.flight_id, seat_number = NEW.seat_number
+    WHERE ticket_id = NEW.id AND (NEW.flight_id <> OLD.flight_id OR NEW.seat_number <> OLD.seat_number);
+
+CREATE TRIGGER trg_tickets_seat_ad AFTER DELETE ON tickets FOR EACH ROW
+    DELETE FROM ticket_seats WHERE ticket_id = OLD.id;
+
+-- Квитки, додані після створення тригерів, уже є в ticket_seats. Решта місць унікальні завдяки
+-- uq_ticket_flight_seat, тож дублікат тут означає розбіжність даних і зупиняє міграцію.
+INSERT INTO ticket_seats (ticket_id, flight_id, seat_number)
+SELECT t.id, t.flight_id, t.seat_number FROM tickets t
+WHERE NOT EXISTS (SELECT 1 FROM ticket_seats s WHERE s.ticket_id = t.id);
+
+-- Назви зовнішніх ключів залежать від того, як створено схему (fk_tickets_flight у V1, згенеровані
+-- сервером tickets_ibfk_N у схемі, створеній вручну), тож вони читаються з information_schema.
+SET @drop_fk_sql = (SELECT CONCAT('ALTER TABLE tickets ',
+        GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`') SEPARATOR ', '))
+    FROM information_schema.REFERENTIAL_CONSTRAINTS
+    WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'tickets');
+
+SET @drop_fk_sql = COALESCE(@drop_fk_sql, 'DO 0');
+
+PREPARE drop_ticket_fks FROM @drop_fk_sql;
+EXECUTE drop_ticket_fks;
+DEALLOCATE PREPARE drop_ticket_fks;
+
+ALTER TABLE tickets
+    DROP INDEX uq_ticket_flight_seat,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, booking_date_time);
+
+-- Межі секцій залежать від дати міграції, тому оператор будується динамічно: уся попередня історія
+-- потрапляє в p_history, а бронювання поточного та наступних місяців — у власні секції.
+SET @month_start = DATE_FORMAT(CURRENT_DATE, '%Y-%m-01');
+
+SET @partition_sql = CONCAT('ALTER TABLE tickets PARTITION BY RANGE COLUMNS (booking_date_time) (',
+    'PARTITION p_history VALUES LESS THAN (''', @month_start, '''), ',
+    'PARTITION p', DATE_FORMAT(@month_start, '%Y%m'),
+    ' VALUES LESS THAN (''', DATE_ADD(@month_start, INTERVAL 1 MONTH), '''), ',
+    'PARTITION p', DATE_FORMAT(DATE_ADD(@month_start, INTERVAL 1 MONTH), '%Y%m'),
+    ' VALUES LESS THAN (''', DATE_ADD(@month_start, INTERVAL 2 MONTH), '''), ',
+    'PARTITION p', DATE_FORMAT(DATE_ADD(@month_start, INTERVAL 2 MONTH), '%Y%m'),
+    ' VALUES LESS THAN (''', DATE_ADD(@month_start, INTERVAL 3 MONTH), '''), ',
+    'PARTITION p', DATE_FORMAT(DATE_ADD(@month_start, INTERVAL 3 MONTH), '%Y%m'),
+    ' VALUES LESS THAN (''', DATE_ADD(@month_start, INTERVAL 4 MONTH), '''), ',
+    'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+
+PREPARE partition_tickets FROM @partition_sql;
+EXECUTE partition_tickets;
+DEALLOCATE PREPARE partition_tickets;
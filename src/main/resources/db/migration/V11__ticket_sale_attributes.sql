@@ -0,0 +1,36 @@
+-- Маршрут рейсу та тип пільги пасажира на момент продажу квитка.
+-- Денний підсумок продажів (daily_route_sales) групується за маршрутом і типом пільги. Якщо брати їх
+-- з flights і passengers під час скасування, то після зміни маршруту рейсу або пільги пасажира
+-- повернення віднімається з іншої групи, ніж продаж. TicketDAO записує обидва значення разом з датою
+-- покупки, а DAO.DailyRouteSalesDAO використовує їх і для продажу, і для скасування, і для перебудови.
+
+ALTER TABLE tickets
+    ADD COLUMN sale_route_id BIGINT NULL,
+    ADD COLUMN sale_benefit_type VARCHAR(30) NULL;
+
+ALTER TABLE tickets_archive
+    ADD COLUMN sale_route_id BIGINT NULL,
+    ADD COLUMN sale_benefit_type VARCHAR(30) NULL;
+
+-- Заповнення нових стовпців не є зміною квитка, але тригер V3 пише рядок журналу змін на кожне оновлення
+-- tickets, і ChangeLogPoller усіх робочих місць розсилав би подію на кожен проданий квиток. Як і для
+-- рейсів у V6, журнал отримує рядок лише тоді, коли змінено статус або версію квитка (усі оновлення
+-- TicketDAO збільшують версію).
+DROP TRIGGER IF EXISTS trg_tickets_change_log_au;
+CREATE TRIGGER trg_tickets_change_log_au AFTER UPDATE ON tickets FOR EACH ROW
+    INSERT INTO change_log (entity_type, entity_id, change_type, flight_id, new_status)
+    SELECT 'TICKET', NEW.id, 'UPDATED', NEW.flight_id, NEW.status FROM DUAL
+    WHERE NEW.version <> OLD.version OR NEW.status <> OLD.status;
+
+-- Квитки, продані до цієї міграції, отримують поточні маршрут і пільгу (так їх досі і рахував підсумок).
+UPDATE tickets t
+    JOIN flights f ON t.flight_id = f.id
+    JOIN passengers p ON t.passenger_id = p.id
+SET t.sale_route_id = f.route_id, t.sale_benefit_type = p.benefit_type
+WHERE t.purchase_date_time IS NOT NULL;
+
+UPDATE tickets_archive t
+    JOIN flights_archive f ON t.flight_id = f.id
+    JOIN passengers p ON t.passenger_id = p.id
+SET t.sale_route_id = f.route_id, t.sale_benefit_type = p.benefit_type
+WHERE t.purchase_date_time IS NOT NULL;
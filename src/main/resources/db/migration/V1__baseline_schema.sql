@@ -0,0 +1,66 @@
+-- Базова схема бази даних bus_station_db (MySQL 8).
+-- Відтворена з запитів DAO-шару; наступні зміни схеми додаються окремими файлами V2, V3, ...
+
+CREATE TABLE IF NOT EXISTS stops (
+    id   BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    city VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS routes (
+    id                  BIGINT AUTO_INCREMENT PRIMARY KEY,
+    departure_stop_id   BIGINT NOT NULL,
+    destination_stop_id BIGINT NOT NULL,
+    CONSTRAINT fk_routes_departure_stop FOREIGN KEY (departure_stop_id) REFERENCES stops (id),
+    CONSTRAINT fk_routes_destination_stop FOREIGN KEY (destination_stop_id) REFERENCES stops (id)
+);
+
+CREATE TABLE IF NOT EXISTS route_intermediate_stops (
+    route_id   BIGINT NOT NULL,
+    stop_id    BIGINT NOT NULL,
+    stop_order INT    NOT NULL,
+    PRIMARY KEY (route_id, stop_order),
+    CONSTRAINT fk_ris_route FOREIGN KEY (route_id) REFERENCES routes (id) ON DELETE CASCADE,
+    CONSTRAINT fk_ris_stop FOREIGN KEY (stop_id) REFERENCES stops (id)
+);
+
+CREATE TABLE IF NOT EXISTS flights (
+    id                  BIGINT AUTO_INCREMENT PRIMARY KEY,
+    route_id            BIGINT         NOT NULL,
+    departure_date_time DATETIME       NOT NULL,
+    arrival_date_time   DATETIME       NOT NULL,
+    total_seats         INT            NOT NULL,
+    bus_model           VARCHAR(100),
+    price_per_seat      DECIMAL(10, 2) NOT NULL,
+    status              VARCHAR(20)    NOT NULL,
+    CONSTRAINT fk_flights_route FOREIGN KEY (route_id) REFERENCES routes (id),
+    INDEX idx_flights_route_departure (route_id, departure_date_time),
+    INDEX idx_flights_departure (departure_date_time)
+);
+
+CREATE TABLE IF NOT EXISTS passengers (
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    full_name       VARCHAR(255) NOT NULL,
+    document_number VARCHAR(50)  NOT NULL,
+    document_type   VARCHAR(100) NOT NULL,
+    phone_number    VARCHAR(30),
+    email           VARCHAR(255),
+    benefit_type    VARCHAR(30)  NOT NULL,
+    CONSTRAINT uq_passenger_document UNIQUE (document_type, document_number)
+);
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id                       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    flight_id                BIGINT         NOT NULL,
+    passenger_id             BIGINT         NOT NULL,
+    seat_number              VARCHAR(10)    NOT NULL,
+    booking_date_time        DATETIME       NOT NULL,
+    purchase_date_time       DATETIME,
+    booking_expiry_date_time DATETIME,
+    price_paid               DECIMAL(10, 2) NOT NULL,
+    status                   VARCHAR(20)    NOT NULL,
+    CONSTRAINT fk_tickets_flight FOREIGN KEY (flight_id) REFERENCES flights (id),
+    CONSTRAINT fk_tickets_passenger FOREIGN KEY (passenger_id) REFERENCES passengers (id),
+    CONSTRAINT uq_ticket_flight_seat UNIQUE (flight_id, seat_number),
+    INDEX idx_tickets_passenger (passenger_id)
+);
@@ -0,0 +1,8 @@
+-- Індекси для серверного пошуку пасажирів (PassengerDAO.searchPassengers).
+-- Кожна гілка UNION-запиту виконує префіксний пошук LIKE 'запит%' по власному індексу;
+-- id додано до індексу імені, щоб сортування ORDER BY full_name, id не потребувало filesort.
+
+CREATE INDEX idx_passengers_full_name ON passengers (full_name, id);
+CREATE INDEX idx_passengers_document_number ON passengers (document_number);
+CREATE INDEX idx_passengers_phone_number ON passengers (phone_number);
+CREATE INDEX idx_passengers_email ON passengers (email);
@@ -0,0 +1,49 @@
+-- Журнал змін для поширення змін між робочими місцями касирів.
+-- Рядки додаються тригерами в тій самій транзакції, що й зміна сутності, тому журнал
+-- охоплює всі записи DAO (включно з пакетними) без додаткових звернень до бази даних.
+-- ChangeLogPoller кожного інтервалу читає лише рядки з seq більшим за останній прочитаний
+-- (діапазонний запит по первинному ключу).
+
+CREATE TABLE IF NOT EXISTS change_log (
+    seq         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(20)  NOT NULL,
+    entity_id   BIGINT       NOT NULL,
+    change_type VARCHAR(20)  NOT NULL,
+    flight_id   BIGINT,
+    new_status  VARCHAR(20),
+    changed_at  TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    INDEX idx_change_log_changed_at (changed_at)
+);
+
+CREATE TRIGGER trg_flights_change_log_ai AFTER INSERT ON flights FOR EACH ROW
+    INSERT INTO change_log (entity_type, entity_id, change_type, flight_id, new_status)
+    VALUES ('FLIGHT', NEW.id, 'CREATED', NEW.id, NEW.status);
+
+CREATE TRIGGER trg_flights_change_log_au AFTER UPDATE ON flights FOR EACH ROW
+    INSERT INTO change_log (entity_type, entity_id, change_type, flight_id, new_status)
+    VALUES ('FLIGHT', NEW.id, IF(NEW.status <> OLD.status, 'STATUS_CHANGED', 'UPDATED'), NEW.id, NEW.status);
+
+CREATE TRIGGER trg_tickets_change_log_ai AFTER INSERT ON tickets FOR EACH ROW
+    INSERT INTO change_log (entity_type, entity_id, change_type, flight_id, new_status)
+    VALUES ('TICKET', NEW.id, 'CREATED', NEW.flight_id, NEW.status);
+
+CREATE TRIGGER trg_tickets_change_log_au AFTER UPDATE ON tickets FOR EACH ROW
+    INSERT INTO change_log (entity_type, entity_id, change_type, flight_id, new_status)
+    VALUES ('TICKET', NEW.id, 'UPDATED', NEW.flight_id, NEW.status);
+
+CREATE TRIGGER trg_passengers_change_log_ai AFTER INSERT ON passengers FOR EACH ROW
+    INSERT INTO change_log (entity_type, entity_id, change_type)
+    VALUES ('PASSENGER', NEW.id, 'CREATED');
+
+-- INSERT ... ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id) (upsert пасажира) запускає тригер
+-- оновлення навіть без фактичних змін, тому рядок журналу пишеться лише при зміні даних.
+CREATE TRIGGER trg_passengers_change_log_au AFTER UPDATE ON passengers FOR EACH ROW
+    INSERT INTO change_log (entity_type, entity_id, change_type)
+    SELECT 'PASSENGER', NEW.id, 'UPDATED' FROM DUAL
+    WHERE NOT (NEW.full_name <=> OLD.full_name AND NEW.document_number <=> OLD.document_number
+        AND NEW.document_type <=> OLD.document_type AND NEW.phone_number <=> OLD.phone_number
+        AND NEW.email <=> OLD.email AND NEW.benefit_type <=> OLD.benefit_type);
+
+CREATE TRIGGER trg_routes_change_log_ai AFTER INSERT ON routes FOR EACH ROW
+    INSERT INTO change_log (entity_type, entity_id, change_type)
+    VALUES ('ROUTE', NEW.id, 'CREATED');
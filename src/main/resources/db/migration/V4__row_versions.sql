@@ -0,0 +1,8 @@
+-- Версії рядків для оптимістичного контролю паралельних змін.
+-- UPDATE виконується з умовою "AND version = ?" та збільшує версію; якщо рядок тим часом
+-- змінило інше робоче місце, оновлення не зачіпає жодного рядка і DAO повертає конфлікт
+-- без блокувань рядків на час редагування.
+
+ALTER TABLE flights    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE passengers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tickets    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
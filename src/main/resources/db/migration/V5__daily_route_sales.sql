@@ -0,0 +1,17 @@
+-- Денний підсумок продажів за маршрутами та типами пільг.
+-- Рядок оновлюється TicketDAO.updateTicketStatus у тій самій транзакції, що й продаж (+1)
+-- або скасування проданого квитка (-1), тому звіт продажів за період читає кілька рядків на день
+-- замість агрегування всієї таблиці tickets. Для заповнення історичних даних та виправлення
+-- розбіжностей використовується Services.DailySalesRollupRebuilder.
+
+CREATE TABLE IF NOT EXISTS daily_route_sales (
+    sale_date    DATE           NOT NULL,
+    route_id     BIGINT         NOT NULL,
+    benefit_type VARCHAR(30)    NOT NULL,
+    tickets_sold INT            NOT NULL DEFAULT 0,
+    total_amount DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (sale_date, route_id, benefit_type)
+);
+
+-- Перебудова підсумку за діапазоном дат вибирає квитки за датою покупки без обгортки DATE().
+CREATE INDEX idx_tickets_purchase_date ON tickets (purchase_date_time);
@@ -0,0 +1,41 @@
+-- Денормалізовані лічильники зайнятості рейсу.
+-- booked_count та sold_count оновлюються тригерами на tickets у тій самій транзакції, що й
+-- вставка квитка чи зміна його статусу, тож завантаженість рейсу читається з рядка flights
+-- без підрахунку квитків. Розбіжності (наприклад, після ручних змін з вимкненими тригерами)
+-- виявляє та виправляє Services.OccupancyConsistencyChecker.
+
+ALTER TABLE flights
+    ADD COLUMN booked_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN sold_count   INT NOT NULL DEFAULT 0;
+
+-- Зміна лічильників не є редагуванням рейсу: журнал змін отримує рядок лише тоді, коли змінено
+-- дані рейсу (версію) або статус. Зміни квитків самі потрапляють у журнал з flight_id.
+DROP TRIGGER IF EXISTS trg_flights_change_log_au;
+CREATE TRIGGER trg_flights_change_log_au AFTER UPDATE ON flights FOR EACH ROW
+    INSERT INTO change_log (entity_type, entity_id, change_type, flight_id, new_status)
+    SELECT 'FLIGHT', NEW.id, IF(NEW.status <> OLD.status, 'STATUS_CHANGED', 'UPDATED'), NEW.id, NEW.status FROM DUAL
+    WHERE NEW.version <> OLD.version OR NEW.status <> OLD.status;
+
+UPDATE flights f
+    LEFT JOIN (SELECT flight_id, SUM(status = 'BOOKED') AS booked, SUM(status = 'SOLD') AS sold
+               FROM tickets WHERE status IN ('BOOKED', 'SOLD') GROUP BY flight_id) c ON c.flight_id = f.id
+SET f.booked_count = COALESCE(c.booked, 0),
+    f.sold_count   = COALESCE(c.sold, 0);
+
+CREATE TRIGGER trg_tickets_occupancy_ai AFTER INSERT ON tickets FOR EACH ROW
+    UPDATE flights
+    SET booked_count = booked_count + (NEW.status = 'BOOKED'),
+        sold_count   = sold_count + (NEW.status = 'SOLD')
+    WHERE id = NEW.flight_id AND NEW.status IN ('BOOKED', 'SOLD');
+
+CREATE TRIGGER trg_tickets_occupancy_au AFTER UPDATE ON tickets FOR EACH ROW
+    UPDATE flights
+    SET booked_count = booked_count + (NEW.status = 'BOOKED') - (OLD.status = 'BOOKED'),
+        sold_count   = sold_count + (NEW.status = 'SOLD') - (OLD.status = 'SOLD')
+    WHERE id = NEW.flight_id AND NEW.status <> OLD.status;
+
+CREATE TRIGGER trg_tickets_occupancy_ad AFTER DELETE ON tickets FOR EACH ROW
+    UPDATE flights
+    SET booked_count = booked_count - (OLD.status = 'BOOKED'),
+        sold_count   = sold_count - (OLD.status = 'SOLD')
+    WHERE id = OLD.flight_id AND OLD.status IN ('BOOKED', 'SOLD');
@@ -0,0 +1,4 @@
+-- Індекс для підрахунку бронювань, термін яких спливає (панель моніторингу, DAO.DashboardDAO):
+-- запит status = 'BOOKED' AND booking_expiry_date_time у вікні читає лише діапазон індексу.
+
+CREATE INDEX idx_tickets_status_expiry ON tickets (status, booking_expiry_date_time);
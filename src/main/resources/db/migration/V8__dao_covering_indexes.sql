@@ -0,0 +1,12 @@
+-- Індекси під запити DAO, яких бракувало в попередніх міграціях
+-- (перелік очікуваних індексів перевіряє DB.MigrationRunner під час запуску).
+
+-- Зайняті місця рейсу (TicketDAO.getOccupiedSeatNumbers) та звіряння лічильників зайнятості
+-- (FlightDAO: COUNT(*) WHERE flight_id = ? AND status = ?): запит читається лише з індексу.
+CREATE INDEX idx_tickets_flight_status ON tickets (flight_id, status, seat_number);
+
+-- Перерахунок денних продажів (status IN ('SOLD', 'USED') AND purchase_date_time у періоді).
+CREATE INDEX idx_tickets_status_purchase ON tickets (status, purchase_date_time);
+
+-- Список квитків із фільтром за статусом, упорядкований за датою бронювання (TicketDAO.getAllTickets).
+CREATE INDEX idx_tickets_status_booking ON tickets (status, booking_date_time);
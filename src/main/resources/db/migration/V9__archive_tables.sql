@@ -0,0 +1,40 @@
+-- Архівні таблиці для завершених рейсів та їхніх квитків.
+-- Services.FlightArchiver переносить рейси зі статусом ARRIVED або CANCELLED, що прибули раніше
+-- за горизонт архівації, разом з квитками невеликими транзакціями (DAO.ArchiveDAO), тож робочі
+-- таблиці flights і tickets містять лише актуальні дані.
+-- Архівні таблиці не мають зовнішніх ключів і тригерів: записи в них лише додаються та читаються
+-- (історія поїздок пасажира, перебудова підсумку продажів).
+
+CREATE TABLE IF NOT EXISTS flights_archive (
+    id                  BIGINT         NOT NULL PRIMARY KEY,
+    route_id            BIGINT         NOT NULL,
+    departure_date_time DATETIME       NOT NULL,
+    arrival_date_time   DATETIME       NOT NULL,
+    total_seats         INT            NOT NULL,
+    bus_model           VARCHAR(100),
+    price_per_seat      DECIMAL(10, 2) NOT NULL,
+    status              VARCHAR(20)    NOT NULL,
+    version             BIGINT         NOT NULL DEFAULT 0,
+    archived_at         TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_flights_archive_departure (departure_date_time)
+);
+
+CREATE TABLE IF NOT EXISTS tickets_archive (
+    id                       BIGINT         NOT NULL PRIMARY KEY,
+    flight_id                BIGINT         NOT NULL,
+    passenger_id             BIGINT         NOT NULL,
+    seat_number              VARCHAR(10)    NOT NULL,
+    booking_date_time        DATETIME       NOT NULL,
+    purchase_date_time       DATETIME,
+    booking_expiry_date_time DATETIME,
+    price_paid               DECIMAL(10, 2) NOT NULL,
+    status                   VARCHAR(20)    NOT NULL,
+    version                  BIGINT         NOT NULL DEFAULT 0,
+    archived_at              TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_tickets_archive_passenger (passenger_id),
+    INDEX idx_tickets_archive_flight (flight_id),
+    INDEX idx_tickets_archive_status_purchase (status, purchase_date_time)
+);
+
+-- Вибір рейсів для архівації (status IN ('ARRIVED', 'CANCELLED') AND arrival_date_time < ?).
+CREATE INDEX idx_flights_status_arrival ON flights (status, arrival_date_time);
@@ -229,4 +229,28 @@ public class DatabaseConfigTest {
 
         testClassLogger.info("testIOExceptionDuringInternalLoadSimulation: Verifying getter behavior when properties are empty, simulating aftermath of SUT's internal load IOException.");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetIntProperty() {
+        simulatePropertiesLoad("import.batch.size=500\nimport.bad=abc");
+
+        assertEquals(500, DatabaseConfig.getIntProperty("import.batch.size", 1000));
+        assertEquals(1000, DatabaseConfig.getIntProperty("import.missing", 1000));
+        assertEquals(7, DatabaseConfig.getIntProperty("import.bad", 7));
+        assertTrue("Invalid value should be reported",
+                listAppender.containsMessage(Level.WARN, "Некоректне значення властивості 'import.bad'"));
+    }
+
+    @Test
+    public void testReplicaPropertiesFallBackToPrimaryCredentials() {
+        simulatePropertiesLoad("db.username=user1\ndb.password=pass1\ndb.replica.url=jdbc:mysql://replica:3306/db1");
+
+        assertEquals("jdbc:mysql://replica:3306/db1", DatabaseConfig.getReplicaUrl());
+        assertEquals("user1", DatabaseConfig.getReplicaUsername());
+        assertEquals("pass1", DatabaseConfig.getReplicaPassword());
+
+        simulatePropertiesLoad("db.username=user1\ndb.replica.url=  \ndb.replica.username=reader");
+        assertNull(DatabaseConfig.getReplicaUrl());
+        assertEquals("reader", DatabaseConfig.getReplicaUsername());
+    }
+}
@@ -0,0 +1,136 @@
+package DAO;
+
+import DB.EmbeddedDatabase;
+import Models.Enums.FlightStatus;
+import Models.Enums.TicketStatus;
+import Models.Ticket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Архівація завершених рейсів на вбудованій БД та читання архівної історії.
+ */
+class ArchiveDAOTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private EmbeddedDatabase db;
+    private TicketStatusCounters counters;
+    private ArchiveDAO archiveDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = EmbeddedDatabase.start();
+        db.execute("INSERT INTO stops (id, name, city) VALUES (1, 'Автовокзал', 'Київ'), (2, 'Автостанція', 'Львів')");
+        db.execute("INSERT INTO routes (id, departure_stop_id, destination_stop_id) VALUES (1, 1, 2), (2, 2, 1)");
+        db.execute("INSERT INTO passengers (id, full_name, document_number, document_type, benefit_type) " +
+                "VALUES (1, 'Іваненко Іван', 'AA123456', 'Паспорт', 'NONE')");
+        // 1, 2 — завершені до межі; 3 — прибув після межі; 4 — не завершений.
+        db.execute("INSERT INTO flights (id, route_id, departure_date_time, arrival_date_time, total_seats, bus_model, price_per_seat, status) VALUES " +
+                "(1, 1, '2022-12-25 08:00:00', '2022-12-25 16:00:00', 50, 'Bus', 400.00, 'ARRIVED'), " +
+                "(2, 1, '2023-01-02 08:00:00', '2023-01-02 16:00:00', 50, 'Bus', 400.00, 'CANCELLED'), " +
+                "(3, 1, '2024-06-01 08:00:00', '2024-06-01 16:00:00', 50, 'Bus', 400.00, 'ARRIVED'), " +
+                "(4, 1, '2023-03-01 08:00:00', '2023-03-01 16:00:00', 50, 'Bus', 400.00, 'PLANNED')");
+        db.execute("INSERT INTO tickets (id, flight_id, passenger_id, seat_number, booking_date_time, purchase_date_time, price_paid, status, " +
+                "sale_route_id, sale_benefit_type) VALUES " +
+                "(1, 1, 1, '1', '2022-12-20 10:00:00', '2022-12-20 10:05:00', 400.00, 'USED', 1, 'NONE'), " +
+                "(2, 2, 1, '1', '2022-12-30 10:00:00', NULL, 400.00, 'CANCELLED', NULL, NULL), " +
+                "(3, 3, 1, '1', '2024-05-20 10:00:00', '2024-05-20 10:05:00', 400.00, 'SOLD', 1, 'NONE'), " +
+                "(4, 4, 1, '1', '2023-02-20 10:00:00', NULL, 400.00, 'BOOKED', NULL, NULL)");
+        counters = new TicketStatusCounters();
+        counters.recordCreated(TicketStatus.USED);
+        counters.recordCreated(TicketStatus.CANCELLED);
+        counters.recordCreated(TicketStatus.SOLD);
+        counters.recordCreated(TicketStatus.BOOKED);
+        archiveDAO = new ArchiveDAO(counters);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.close();
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement stmt = db.connection().createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @Test
+    void archiveBatch_movesClosedFlightsBeforeCutoffWithTheirTickets() throws SQLException {
+        assertEquals(1, archiveDAO.archiveBatch(CUTOFF, 1));
+        assertEquals(1, archiveDAO.archiveBatch(CUTOFF, 1));
+        assertEquals(0, archiveDAO.archiveBatch(CUTOFF, 1));
+
+        assertEquals(2, count("SELECT COUNT(*) FROM flights_archive WHERE id IN (1, 2)"));
+        assertEquals(2, count("SELECT COUNT(*) FROM tickets_archive WHERE id IN (1, 2)"));
+        assertEquals(2, count("SELECT COUNT(*) FROM flights WHERE id IN (3, 4)"));
+        assertEquals(2, count("SELECT COUNT(*) FROM flights"));
+        assertEquals(2, count("SELECT COUNT(*) FROM tickets"));
+        assertEquals(0, counters.get(TicketStatus.USED));
+        assertEquals(0, counters.get(TicketStatus.CANCELLED));
+        assertEquals(1, counters.get(TicketStatus.SOLD));
+        assertEquals(1, counters.get(TicketStatus.BOOKED));
+    }
+
+    @Test
+    void archiveBatch_invalidArguments_throws() {
+        assertThrows(IllegalArgumentException.class, () -> archiveDAO.archiveBatch(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> archiveDAO.archiveBatch(CUTOFF, 0));
+    }
+
+    @Test
+    void getTicketsByPassengerId_includesArchivedHistory() throws SQLException {
+        archiveDAO.archiveBatch(CUTOFF, 10);
+
+        List<Ticket> history = new TicketDAO().getTicketsByPassengerId(1);
+
+        assertEquals(List.of(3L, 4L, 2L, 1L), history.stream().map(Ticket::getId).toList());
+        Ticket archived = history.get(3);
+        assertEquals(TicketStatus.USED, archived.getStatus());
+        assertEquals(FlightStatus.ARRIVED, archived.getFlight().getStatus());
+        assertEquals("Львів", archived.getFlight().getRoute().getDestinationStop().getCity());
+        assertEquals(LocalDateTime.of(2022, 12, 20, 10, 5), archived.getPurchaseDateTime());
+    }
+
+    @Test
+    void dailySalesRebuild_countsArchivedSales() throws SQLException {
+        archiveDAO.archiveBatch(CUTOFF, 10);
+        DailyRouteSalesDAO dailyRouteSalesDAO = new DailyRouteSalesDAO();
+
+        assertEquals(Optional.of(LocalDate.of(2022, 12, 20)), dailyRouteSalesDAO.getFirstSaleDate());
+        assertEquals(2, dailyRouteSalesDAO.rebuild(LocalDate.of(2022, 12, 1), LocalDate.of(2024, 5, 31)));
+        assertEquals(1, count("SELECT COUNT(*) FROM daily_route_sales WHERE sale_date = DATE '2022-12-20'"));
+    }
+
+    @Test
+    void saleBucket_routeAndBenefitChangedAfterSale_refundHitsSaleBucket() throws SQLException {
+        DailyRouteSalesDAO dailyRouteSalesDAO = new DailyRouteSalesDAO();
+        TicketDAO ticketDAO = new TicketDAO();
+        LocalDateTime purchase = LocalDateTime.of(2023, 2, 21, 9, 0);
+
+        assertEquals(UpdateResult.UPDATED, ticketDAO.updateTicketStatus(4, TicketStatus.SOLD, purchase));
+        // Після продажу рейс перенесено на інший маршрут, а пасажир отримав пільгу.
+        db.execute("UPDATE flights SET route_id = 2 WHERE id = 4");
+        db.execute("UPDATE passengers SET benefit_type = 'STUDENT' WHERE id = 1");
+        assertEquals(1, dailyRouteSalesDAO.rebuild(purchase.toLocalDate(), purchase.toLocalDate()));
+        assertEquals(1, count("SELECT tickets_sold FROM daily_route_sales WHERE sale_date = DATE '2023-02-21' AND route_id = 1 AND benefit_type = 'NONE'"));
+
+        assertEquals(UpdateResult.UPDATED, ticketDAO.updateTicketStatus(4, TicketStatus.CANCELLED, null));
+
+        assertEquals(0, count("SELECT tickets_sold FROM daily_route_sales WHERE sale_date = DATE '2023-02-21' AND route_id = 1 AND benefit_type = 'NONE'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM daily_route_sales WHERE sale_date = DATE '2023-02-21'"));
+    }
+}
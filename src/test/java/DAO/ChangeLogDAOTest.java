@@ -0,0 +1,122 @@
+package DAO;
+
+import DB.DatabaseConnectionManager;
+import Models.ChangeLogEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeLogDAOTest {
+
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private Statement mockStatement;
+    @Mock
+    private PreparedStatement mockPreparedStatement;
+    @Mock
+    private ResultSet mockResultSet;
+
+    private ChangeLogDAO changeLogDAO;
+    private MockedStatic<DatabaseConnectionManager> mockedStaticDBManager;
+
+    @BeforeEach
+    void setUp() {
+        mockedStaticDBManager = Mockito.mockStatic(DatabaseConnectionManager.class);
+        mockedStaticDBManager.when(DatabaseConnectionManager::getConnection).thenReturn(mockConnection);
+        changeLogDAO = new ChangeLogDAO();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedStaticDBManager.close();
+    }
+
+    @Test
+    void getLatestSequence_returnsMaxSeq() throws SQLException {
+        when(mockConnection.createStatement()).thenReturn(mockStatement);
+        when(mockStatement.executeQuery(anyString())).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getLong(1)).thenReturn(42L);
+
+        assertEquals(42L, changeLogDAO.getLatestSequence());
+        verify(mockStatement).executeQuery("SELECT COALESCE(MAX(seq), 0) FROM change_log");
+    }
+
+    @Test
+    void getChangesAfter_queriesSeqRangeWithGapsAndMapsRows() throws SQLException {
+        String expectedSql = "SELECT seq, entity_type, entity_id, change_type, flight_id, new_status, changed_at FROM change_log " +
+                "WHERE seq > ? OR seq IN (?, ?) ORDER BY seq LIMIT ?";
+        when(mockConnection.prepareStatement(expectedSql)).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getLong("seq")).thenReturn(8L, 11L);
+        when(mockResultSet.getString("entity_type")).thenReturn("TICKET", "PASSENGER");
+        when(mockResultSet.getLong("entity_id")).thenReturn(100L, 7L);
+        when(mockResultSet.getString("change_type")).thenReturn("CREATED", "UPDATED");
+        when(mockResultSet.getLong("flight_id")).thenReturn(5L, 0L);
+        when(mockResultSet.getString("new_status")).thenReturn("BOOKED", (String) null);
+        when(mockResultSet.getTimestamp("changed_at")).thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 10, 0)));
+
+        List<ChangeLogEntry> entries = changeLogDAO.getChangesAfter(10L, List.of(8L, 9L), 500);
+
+        assertEquals(2, entries.size());
+        ChangeLogEntry ticket = entries.get(0);
+        assertEquals(8L, ticket.getSequence());
+        assertEquals(ChangeLogEntry.EntityType.TICKET, ticket.getEntityType());
+        assertEquals(100L, ticket.getEntityId());
+        assertEquals(5L, ticket.getFlightId());
+        assertEquals("BOOKED", ticket.getNewStatus());
+        assertEquals(ChangeLogEntry.EntityType.PASSENGER, entries.get(1).getEntityType());
+
+        verify(mockPreparedStatement).setLong(1, 10L);
+        verify(mockPreparedStatement).setLong(2, 8L);
+        verify(mockPreparedStatement).setLong(3, 9L);
+        verify(mockPreparedStatement).setInt(4, 500);
+        verify(mockConnection).close();
+    }
+
+    @Test
+    void getChangesAfter_withoutGaps_usesPlainRangeQuery() throws SQLException {
+        String expectedSql = "SELECT seq, entity_type, entity_id, change_type, flight_id, new_status, changed_at FROM change_log " +
+                "WHERE seq > ? ORDER BY seq LIMIT ?";
+        when(mockConnection.prepareStatement(expectedSql)).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
+
+        assertTrue(changeLogDAO.getChangesAfter(3L, Collections.emptyList(), 100).isEmpty());
+        verify(mockPreparedStatement).setInt(2, 100);
+    }
+
+    @Test
+    void getChangesAfter_sqlException_isRethrown() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenThrow(new SQLException("DB down"));
+
+        assertThrows(SQLException.class, () -> changeLogDAO.getChangesAfter(0L, null, 10));
+    }
+
+    @Test
+    void purgeOlderThan_deletesByTimestamp() throws SQLException {
+        LocalDateTime threshold = LocalDateTime.of(2024, 5, 1, 0, 0);
+        when(mockConnection.prepareStatement("DELETE FROM change_log WHERE changed_at < ?")).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(3);
+
+        assertEquals(3, changeLogDAO.purgeOlderThan(threshold));
+        verify(mockPreparedStatement).setTimestamp(1, Timestamp.valueOf(threshold));
+    }
+}
@@ -0,0 +1,130 @@
+package DAO;
+
+import DB.DatabaseConnectionManager;
+import Models.Enums.BenefitType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyRouteSalesDAOTest {
+
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private Statement mockStatement;
+    @Mock
+    private PreparedStatement mockDeleteStatement;
+    @Mock
+    private PreparedStatement mockInsertStatement;
+    @Mock
+    private ResultSet mockResultSet;
+
+    private DailyRouteSalesDAO dailyRouteSalesDAO;
+    private MockedStatic<DatabaseConnectionManager> mockedStaticDBManager;
+
+    @BeforeEach
+    void setUp() {
+        mockedStaticDBManager = Mockito.mockStatic(DatabaseConnectionManager.class);
+        mockedStaticDBManager.when(DatabaseConnectionManager::getConnection).thenReturn(mockConnection);
+        mockedStaticDBManager.when(() -> DatabaseConnectionManager.getReadConnection(any())).thenReturn(mockConnection);
+        dailyRouteSalesDAO = new DailyRouteSalesDAO();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedStaticDBManager.close();
+    }
+
+    @Test
+    void rebuild_replacesRangeInOneTransaction() throws SQLException {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        when(mockConnection.prepareStatement(startsWith("DELETE FROM daily_route_sales"))).thenReturn(mockDeleteStatement);
+        when(mockConnection.prepareStatement(startsWith("INSERT INTO daily_route_sales"))).thenReturn(mockInsertStatement);
+        when(mockInsertStatement.executeUpdate()).thenReturn(42);
+
+        assertEquals(42, dailyRouteSalesDAO.rebuild(from, to));
+
+        InOrder inOrder = inOrder(mockConnection, mockDeleteStatement, mockInsertStatement);
+        inOrder.verify(mockConnection).setAutoCommit(false);
+        inOrder.verify(mockDeleteStatement).executeUpdate();
+        inOrder.verify(mockInsertStatement).executeUpdate();
+        inOrder.verify(mockConnection).commit();
+        verify(mockDeleteStatement).setDate(1, Date.valueOf(from));
+        verify(mockDeleteStatement).setDate(2, Date.valueOf(to));
+        // Верхня межа виключна, щоб умова по purchase_date_time могла використати індекс.
+        verify(mockInsertStatement).setTimestamp(1, Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 0, 0)));
+        verify(mockInsertStatement).setTimestamp(2, Timestamp.valueOf(LocalDateTime.of(2024, 4, 1, 0, 0)));
+        // Верхня межа дати бронювання відсікає секції tickets майбутніх місяців.
+        verify(mockInsertStatement).setTimestamp(3, Timestamp.valueOf(LocalDateTime.of(2024, 4, 1, 0, 0)));
+        // Той самий період для архівних квитків.
+        verify(mockInsertStatement).setTimestamp(4, Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 0, 0)));
+        verify(mockInsertStatement).setTimestamp(5, Timestamp.valueOf(LocalDateTime.of(2024, 4, 1, 0, 0)));
+        verify(mockConnection).setAutoCommit(true);
+        verify(mockConnection).close();
+    }
+
+    @Test
+    void rebuild_insertFails_rollsBackAndRethrows() throws SQLException {
+        when(mockConnection.prepareStatement(startsWith("DELETE FROM daily_route_sales"))).thenReturn(mockDeleteStatement);
+        when(mockConnection.prepareStatement(startsWith("INSERT INTO daily_route_sales"))).thenReturn(mockInsertStatement);
+        when(mockInsertStatement.executeUpdate()).thenThrow(new SQLException("Lock wait timeout"));
+
+        assertThrows(SQLException.class, () -> dailyRouteSalesDAO.rebuild(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 2)));
+
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockConnection).close();
+    }
+
+    @Test
+    void rebuild_invalidRange_throwsWithoutQuery() throws SQLException {
+        assertThrows(IllegalArgumentException.class, () -> dailyRouteSalesDAO.rebuild(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 1)));
+        verify(mockConnection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void getFirstSaleDate_returnsEarliestPurchaseDate() throws SQLException {
+        when(mockConnection.createStatement()).thenReturn(mockStatement);
+        when(mockStatement.executeQuery(anyString())).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getTimestamp(1)).thenReturn(Timestamp.valueOf(LocalDateTime.of(2022, 11, 5, 14, 30)));
+
+        assertEquals(Optional.of(LocalDate.of(2022, 11, 5)), dailyRouteSalesDAO.getFirstSaleDate());
+    }
+
+    @Test
+    void getRevenueByBenefitType_fillsMissingTypesWithZero() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockInsertStatement);
+        when(mockInsertStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getString("benefit_type")).thenReturn(BenefitType.STUDENT.name());
+        when(mockResultSet.getBigDecimal("total_amount")).thenReturn(new BigDecimal("750.00"));
+
+        Map<BenefitType, BigDecimal> revenue = dailyRouteSalesDAO.getRevenueByBenefitType(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        assertEquals(new BigDecimal("750.00"), revenue.get(BenefitType.STUDENT));
+        assertEquals(BigDecimal.ZERO, revenue.get(BenefitType.NONE));
+        assertEquals(BenefitType.values().length, revenue.size());
+    }
+}
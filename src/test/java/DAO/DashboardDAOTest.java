@@ -0,0 +1,131 @@
+package DAO;
+
+import DB.DatabaseConnectionManager;
+import Models.DashboardSnapshot;
+import Models.Enums.FlightStatus;
+import Models.Enums.TicketStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardDAOTest {
+
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private PreparedStatement mockDeparturesStatement;
+    @Mock
+    private PreparedStatement mockExpiringStatement;
+    @Mock
+    private PreparedStatement mockSalesStatement;
+    @Mock
+    private ResultSet mockDeparturesResultSet;
+    @Mock
+    private ResultSet mockExpiringResultSet;
+    @Mock
+    private ResultSet mockSalesResultSet;
+    @Mock
+    private TicketDAO mockTicketDAO;
+
+    private DashboardDAO dashboardDAO;
+    private MockedStatic<DatabaseConnectionManager> mockedStaticDBManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        mockedStaticDBManager = Mockito.mockStatic(DatabaseConnectionManager.class);
+        mockedStaticDBManager.when(() -> DatabaseConnectionManager.getReadConnection(any())).thenReturn(mockConnection);
+        dashboardDAO = new DashboardDAO(mockTicketDAO);
+        lenient().when(mockConnection.prepareStatement(DashboardDAO.DEPARTURES_SQL)).thenReturn(mockDeparturesStatement);
+        lenient().when(mockConnection.prepareStatement(DashboardDAO.EXPIRING_BOOKINGS_SQL)).thenReturn(mockExpiringStatement);
+        lenient().when(mockConnection.prepareStatement(DashboardDAO.SALES_TODAY_SQL)).thenReturn(mockSalesStatement);
+        lenient().when(mockDeparturesStatement.executeQuery()).thenReturn(mockDeparturesResultSet);
+        lenient().when(mockExpiringStatement.executeQuery()).thenReturn(mockExpiringResultSet);
+        lenient().when(mockSalesStatement.executeQuery()).thenReturn(mockSalesResultSet);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedStaticDBManager.close();
+    }
+
+    @Test
+    void loadSnapshot_collectsAggregatesOnOneConnection() throws SQLException {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 10, 14, 30);
+        LocalDateTime departure = LocalDateTime.of(2024, 5, 10, 16, 0);
+        when(mockDeparturesResultSet.next()).thenReturn(true, false);
+        when(mockDeparturesResultSet.getLong("id")).thenReturn(7L);
+        when(mockDeparturesResultSet.getTimestamp("departure_date_time")).thenReturn(Timestamp.valueOf(departure));
+        when(mockDeparturesResultSet.getString("status")).thenReturn("PLANNED");
+        when(mockDeparturesResultSet.getString("departure_city")).thenReturn("Київ");
+        when(mockDeparturesResultSet.getString("destination_city")).thenReturn("Львів");
+        when(mockDeparturesResultSet.getInt("total_seats")).thenReturn(40);
+        when(mockDeparturesResultSet.getInt("booked_count")).thenReturn(6);
+        when(mockDeparturesResultSet.getInt("sold_count")).thenReturn(24);
+        when(mockExpiringResultSet.next()).thenReturn(true);
+        when(mockExpiringResultSet.getInt(1)).thenReturn(3);
+        when(mockSalesResultSet.next()).thenReturn(true);
+        when(mockSalesResultSet.getInt("tickets_sold")).thenReturn(12);
+        when(mockSalesResultSet.getBigDecimal("total_amount")).thenReturn(new BigDecimal("3600.00"));
+        Map<TicketStatus, Integer> counts = new EnumMap<>(TicketStatus.class);
+        counts.put(TicketStatus.BOOKED, 9);
+        when(mockTicketDAO.getTicketCountsByStatus()).thenReturn(counts);
+
+        DashboardSnapshot snapshot = dashboardDAO.loadSnapshot(now, 30);
+
+        assertEquals(1, snapshot.getDepartures().size());
+        DashboardSnapshot.Departure row = snapshot.getDepartures().get(0);
+        assertEquals("Київ -> Львів", row.getRouteDescription());
+        assertEquals(FlightStatus.PLANNED, row.getStatus());
+        assertEquals(30, row.getOccupiedSeats());
+        assertEquals(0.75, row.getLoadFactor(), 1e-9);
+        assertEquals(3, snapshot.getExpiringBookings());
+        assertEquals(12, snapshot.getTicketsSoldToday());
+        assertEquals(new BigDecimal("3600.00"), snapshot.getSalesToday());
+        assertEquals(Integer.valueOf(9), snapshot.getTicketCountsByStatus().get(TicketStatus.BOOKED));
+
+        verify(mockDeparturesStatement).setTimestamp(1, Timestamp.valueOf(LocalDateTime.of(2024, 5, 10, 0, 0)));
+        verify(mockDeparturesStatement).setTimestamp(2, Timestamp.valueOf(LocalDateTime.of(2024, 5, 11, 0, 0)));
+        verify(mockExpiringStatement).setTimestamp(1, Timestamp.valueOf(now));
+        verify(mockExpiringStatement).setTimestamp(2, Timestamp.valueOf(now.plusMinutes(30)));
+        // Бронювання, що спливають у вікні, створено не раніше ніж за добу (відсікання секцій).
+        verify(mockExpiringStatement).setTimestamp(3, Timestamp.valueOf(now.minusHours(24)));
+        verify(mockExpiringStatement).setTimestamp(4, Timestamp.valueOf(now.plusMinutes(30)));
+        verify(mockSalesStatement).setDate(1, Date.valueOf(now.toLocalDate()));
+        mockedStaticDBManager.verify(() -> DatabaseConnectionManager.getReadConnection(any()), times(1));
+        verify(mockConnection).close();
+    }
+
+    @Test
+    void loadSnapshot_sqlException_isRethrown() throws SQLException {
+        SQLException failure = new SQLException("DB down");
+        when(mockDeparturesResultSet.next()).thenReturn(false);
+        when(mockExpiringStatement.executeQuery()).thenThrow(failure);
+
+        SQLException thrown = assertThrows(SQLException.class, () -> dashboardDAO.loadSnapshot(LocalDateTime.now(), 30));
+
+        assertSame(failure, thrown);
+        verify(mockConnection).close();
+        verify(mockTicketDAO, never()).getTicketCountsByStatus();
+    }
+
+    @Test
+    void constructor_nullTicketDao_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new DashboardDAO(null));
+    }
+}
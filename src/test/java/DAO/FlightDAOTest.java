@@ -1,6 +1,8 @@
 package DAO;
 
 import DB.DatabaseConnectionManager;
+import Events.EventBus;
+import Events.FlightChanged;
 import Models.Enums.FlightStatus;
 import Models.Flight;
 import Models.Route;
@@ -39,12 +41,17 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -89,7 +96,8 @@ class FlightDAOTest {
     private Flight testFlight1, testFlight2;
 
     private static class ListAppender extends AbstractAppender {
-        private final List<LogEvent> events = new ArrayList<>();
+        // Шина подій логує з власного потоку, тому список має бути потокобезпечним.
+        private final List<LogEvent> events = new CopyOnWriteArrayList<>();
         ListAppender(String name) { super(name, null, PatternLayout.createDefaultLayout(), true, Property.EMPTY_ARRAY); }
         @Override public void append(LogEvent event) { events.add(event.toImmutable()); }
         public List<LogEvent> getEvents() { return events; }
@@ -136,6 +144,7 @@ class FlightDAOTest {
     void setUp() throws SQLException {
         listAppender.clearEvents();
         mockedDbManager.when(DatabaseConnectionManager::getConnection).thenReturn(mockConnection);
+        mockedDbManager.when(() -> DatabaseConnectionManager.getReadConnection(any())).thenReturn(mockConnection);
 
 
         flightDAO = new FlightDAO(mockRouteDAO);
@@ -185,7 +194,7 @@ class FlightDAOTest {
         when(mockResultSet.getBigDecimal("price_per_seat")).thenReturn(testFlight1.getPricePerSeat());
         when(mockResultSet.getString("status")).thenReturn(testFlight1.getStatus().name());
 
-        when(mockRouteDAO.getRouteById(testFlight1.getRoute().getId())).thenReturn(Optional.of(testRoute1));
+        when(mockRouteDAO.getRoutesByIds(any())).thenReturn(Map.of(testFlight1.getRoute().getId(), testRoute1));
 
         List<Flight> flights = flightDAO.getAllFlights();
 
@@ -195,7 +204,8 @@ class FlightDAOTest {
         assertEquals(testFlight1.getId(), retrievedFlight.getId());
         assertEquals(testFlight1.getRoute().getId(), retrievedFlight.getRoute().getId());
         assertTrue(listAppender.containsMessage(Level.INFO, "Успішно отримано 1 рейсів."), "Log message for successful retrieval of 1 flight not found.");
-        verify(mockRouteDAO).getRouteById(testFlight1.getRoute().getId());
+        verify(mockRouteDAO).getRoutesByIds(Set.of(testFlight1.getRoute().getId()));
+        verify(mockRouteDAO, never()).getRouteById(anyLong());
     }
 
     @Test
@@ -228,16 +238,17 @@ class FlightDAOTest {
                 .thenReturn(testFlight1.getStatus().name())
                 .thenReturn(testFlight2.getStatus().name());
 
-        when(mockRouteDAO.getRouteById(testFlight1.getRoute().getId())).thenReturn(Optional.of(testRoute1));
-        when(mockRouteDAO.getRouteById(testFlight2.getRoute().getId())).thenReturn(Optional.of(testRoute2));
+        when(mockRouteDAO.getRoutesByIds(any())).thenReturn(Map.of(
+                testFlight1.getRoute().getId(), testRoute1,
+                testFlight2.getRoute().getId(), testRoute2));
 
         List<Flight> flights = flightDAO.getAllFlights();
 
         assertNotNull(flights);
         assertEquals(2, flights.size());
         assertTrue(listAppender.containsMessage(Level.INFO, "Успішно отримано 2 рейсів."), "Log message for successful retrieval of 2 flights not found.");
-        verify(mockRouteDAO).getRouteById(testFlight1.getRoute().getId());
-        verify(mockRouteDAO).getRouteById(testFlight2.getRoute().getId());
+        verify(mockRouteDAO).getRoutesByIds(Set.of(testFlight1.getRoute().getId(), testFlight2.getRoute().getId()));
+        verify(mockRouteDAO, never()).getRouteById(anyLong());
     }
 
     @Test
@@ -267,7 +278,7 @@ class FlightDAOTest {
         when(mockResultSet.getBigDecimal("price_per_seat")).thenReturn(testFlight1.getPricePerSeat());
         when(mockResultSet.getString("status")).thenReturn(testFlight1.getStatus().name());
 
-        when(mockRouteDAO.getRouteById(testFlight1.getRoute().getId())).thenReturn(Optional.empty());
+        when(mockRouteDAO.getRoutesByIds(any())).thenReturn(Collections.emptyMap());
 
         SQLException exception = assertThrows(SQLException.class, () -> flightDAO.getAllFlights());
         assertTrue(exception.getMessage().contains("Маршрут ID " + testFlight1.getRoute().getId() + " не знайдено для рейсу ID: " + testFlight1.getId()));
@@ -283,7 +294,6 @@ class FlightDAOTest {
         when(mockResultSet.getLong("id")).thenReturn(testFlight1.getId());
         when(mockResultSet.getLong("route_id")).thenReturn(testFlight1.getRoute().getId());
         when(mockResultSet.getString("status")).thenReturn("INVALID_STATUS");
-        when(mockRouteDAO.getRouteById(testFlight1.getRoute().getId())).thenReturn(Optional.of(testRoute1));
         when(mockResultSet.getTimestamp("departure_date_time")).thenReturn(Timestamp.valueOf(testFlight1.getDepartureDateTime()));
         when(mockResultSet.getTimestamp("arrival_date_time")).thenReturn(Timestamp.valueOf(testFlight1.getArrivalDateTime()));
         when(mockResultSet.getInt("total_seats")).thenReturn(testFlight1.getTotalSeats());
@@ -304,7 +314,6 @@ class FlightDAOTest {
         when(mockResultSet.getLong("id")).thenReturn(testFlight1.getId());
         when(mockResultSet.getLong("route_id")).thenReturn(testFlight1.getRoute().getId());
         when(mockResultSet.getString("status")).thenReturn(null);
-        when(mockRouteDAO.getRouteById(testFlight1.getRoute().getId())).thenReturn(Optional.of(testRoute1));
         when(mockResultSet.getTimestamp("departure_date_time")).thenReturn(Timestamp.valueOf(testFlight1.getDepartureDateTime()));
         when(mockResultSet.getTimestamp("arrival_date_time")).thenReturn(Timestamp.valueOf(testFlight1.getArrivalDateTime()));
         when(mockResultSet.getInt("total_seats")).thenReturn(testFlight1.getTotalSeats());
@@ -402,11 +411,13 @@ class FlightDAOTest {
 
 
     @Test
-    void updateFlight_success_returnsTrue() throws SQLException {
+    void updateFlight_success_returnsUpdatedAndIncrementsVersion() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        testFlight1.setVersion(3L);
 
-        assertTrue(flightDAO.updateFlight(testFlight1));
+        assertEquals(UpdateResult.UPDATED, flightDAO.updateFlight(testFlight1));
+        assertEquals(4L, testFlight1.getVersion());
         assertTrue(listAppender.containsMessage(Level.INFO, "Рейс з ID " + testFlight1.getId() + " успішно оновлено."));
 
         verify(mockPreparedStatement).setLong(eq(1), eq(testFlight1.getRoute().getId()));
@@ -417,17 +428,36 @@ class FlightDAOTest {
         verify(mockPreparedStatement).setBigDecimal(eq(6), eq(testFlight1.getPricePerSeat()));
         verify(mockPreparedStatement).setString(eq(7), eq(testFlight1.getStatus().name()));
         verify(mockPreparedStatement).setLong(eq(8), eq(testFlight1.getId()));
+        verify(mockPreparedStatement).setLong(eq(9), eq(3L));
     }
 
     @Test
-    void updateFlight_failure_executeUpdateReturnsZero_returnsFalse() throws SQLException {
+    void updateFlight_failure_executeUpdateReturnsZero_returnsNotFound() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
         when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
 
-        assertFalse(flightDAO.updateFlight(testFlight1));
+        assertEquals(UpdateResult.NOT_FOUND, flightDAO.updateFlight(testFlight1));
         assertFalse(listAppender.containsMessage(Level.WARN, "Рейс з ID " + testFlight1.getId() + " не знайдено або не було оновлено."));
     }
 
+    @Test
+    void updateFlight_staleVersion_returnsConflict() throws SQLException {
+        PreparedStatement checkStatement = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(startsWith("UPDATE"))).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement("SELECT 1 FROM flights WHERE id = ?")).thenReturn(checkStatement);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        when(checkStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        testFlight1.setVersion(2L);
+
+        assertEquals(UpdateResult.CONFLICT, flightDAO.updateFlight(testFlight1));
+        assertEquals(2L, testFlight1.getVersion());
+        assertTrue(listAppender.containsMessage(Level.WARN, "Рейс з ID " + testFlight1.getId() + " змінено іншим користувачем (версія 2 застаріла)."));
+        verify(checkStatement).setLong(1, testFlight1.getId());
+    }
+
     @Test
     void updateFlight_failure_sqlException_throwsSQLException() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenThrow(new SQLException("DB Update Error"));
@@ -450,6 +480,22 @@ class FlightDAOTest {
         verify(mockPreparedStatement).setLong(2, testFlight1.getId());
     }
 
+    @Test
+    void updateFlightStatus_success_publishesFlightChangedEvent() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        List<FlightChanged> received = new CopyOnWriteArrayList<>();
+
+        try (EventBus.Subscription ignored = EventBus.getInstance().subscribe(FlightChanged.class, received::add)) {
+            assertTrue(flightDAO.updateFlightStatus(testFlight1.getId(), FlightStatus.CANCELLED));
+            assertTrue(EventBus.getInstance().awaitDelivery(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, received.size());
+        assertEquals(testFlight1.getId(), received.get(0).getFlightId());
+        assertEquals(FlightChanged.Kind.STATUS_CHANGED, received.get(0).getKind());
+    }
+
     @Test
     void updateFlightStatus_failure_executeUpdateReturnsZero_returnsFalse() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
@@ -479,6 +525,43 @@ class FlightDAOTest {
         assertEquals(15, flightDAO.getOccupiedSeatsCount(testFlight1.getId()));
         assertTrue(listAppender.containsMessage(Level.INFO, "Кількість зайнятих місць для рейсу ID " + testFlight1.getId() + ": 15"));
         verify(mockPreparedStatement).setLong(1, testFlight1.getId());
+        verify(mockConnection).prepareStatement("SELECT booked_count + sold_count FROM flights WHERE id = ?");
+    }
+
+    @Test
+    void findOccupancyDrift_returnsFlightsWithMismatchedCounters() throws SQLException {
+        LocalDateTime from = LocalDateTime.of(2024, 5, 1, 0, 0);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getLong("id")).thenReturn(testFlight1.getId());
+        when(mockResultSet.getInt("booked_count")).thenReturn(3);
+        when(mockResultSet.getInt("actual_booked")).thenReturn(2);
+
+        List<Long> drifted = flightDAO.findOccupancyDrift(from);
+
+        assertEquals(List.of(testFlight1.getId()), drifted);
+        verify(mockPreparedStatement).setTimestamp(1, Timestamp.valueOf(from));
+        assertTrue(listAppender.containsMessage(Level.WARN, "Розбіжність лічильників зайнятості рейсу ID " + testFlight1.getId() + ": заброньовано 3 (фактично 2)"));
+    }
+
+    @Test
+    void recountOccupancy_batchesOneUpdatePerFlight() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeBatch()).thenReturn(new int[]{1, 1});
+
+        assertEquals(2, flightDAO.recountOccupancy(List.of(7L, 8L)));
+
+        verify(mockPreparedStatement, times(2)).addBatch();
+        verify(mockPreparedStatement).setLong(3, 7L);
+        verify(mockPreparedStatement).setLong(3, 8L);
+        verify(mockPreparedStatement).executeBatch();
+    }
+
+    @Test
+    void recountOccupancy_emptyList_doesNotQuery() throws SQLException {
+        assertEquals(0, flightDAO.recountOccupancy(Collections.emptyList()));
+        verify(mockConnection, never()).prepareStatement(anyString());
     }
 
     @Test
@@ -525,6 +608,8 @@ class FlightDAOTest {
         when(mockResultSet.getString("bus_model")).thenReturn(testFlight1.getBusModel());
         when(mockResultSet.getBigDecimal("price_per_seat")).thenReturn(testFlight1.getPricePerSeat());
         when(mockResultSet.getString("status")).thenReturn(testFlight1.getStatus().name());
+        when(mockResultSet.getInt("booked_count")).thenReturn(4);
+        when(mockResultSet.getInt("sold_count")).thenReturn(11);
 
         when(mockRouteDAO.getRouteById(testFlight1.getRoute().getId())).thenReturn(Optional.of(testRoute1));
 
@@ -532,6 +617,8 @@ class FlightDAOTest {
 
         assertTrue(result.isPresent());
         assertEquals(testFlight1.getId(), result.get().getId());
+        assertEquals(4, result.get().getBookedCount());
+        assertEquals(15, result.get().getOccupiedSeats());
         assertTrue(listAppender.containsMessage(Level.INFO, "Рейс з ID " + testFlight1.getId() + " знайдено."));
         verify(mockPreparedStatement).setLong(1, testFlight1.getId());
         verify(mockRouteDAO).getRouteById(testFlight1.getRoute().getId());
@@ -632,7 +719,7 @@ class FlightDAOTest {
         when(mockResultSet.getBigDecimal("price_per_seat")).thenReturn(testFlight1.getPricePerSeat());
         when(mockResultSet.getString("status")).thenReturn(testFlight1.getStatus().name());
 
-        when(mockRouteDAO.getRouteById(testFlight1.getRoute().getId())).thenReturn(Optional.of(testRoute1));
+        when(mockRouteDAO.getRoutesByIds(any())).thenReturn(Map.of(testFlight1.getRoute().getId(), testRoute1));
 
         List<Flight> flights = flightDAO.getFlightsByDate(date);
 
@@ -640,8 +727,8 @@ class FlightDAOTest {
         assertEquals(1, flights.size());
         assertEquals(testFlight1.getId(), flights.get(0).getId());
         assertTrue(listAppender.containsMessage(Level.INFO, "Успішно отримано 1 рейсів на дату " + date));
-        verify(mockPreparedStatement).setDate(eq(1), dateCaptor.capture());
-        assertEquals(java.sql.Date.valueOf(date), dateCaptor.getValue());
+        verify(mockPreparedStatement).setTimestamp(1, Timestamp.valueOf(date.atStartOfDay()));
+        verify(mockPreparedStatement).setTimestamp(2, Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
     }
 
     @Test
@@ -674,7 +761,7 @@ class FlightDAOTest {
         when(mockResultSet.getBigDecimal("price_per_seat")).thenReturn(testFlight1.getPricePerSeat());
 
 
-        when(mockRouteDAO.getRouteById(testFlight1.getRoute().getId())).thenReturn(Optional.empty());
+        when(mockRouteDAO.getRoutesByIds(any())).thenReturn(Collections.emptyMap());
 
         SQLException exception = assertThrows(SQLException.class, () -> flightDAO.getFlightsByDate(date));
         assertTrue(exception.getMessage().contains("Маршрут ID " + testFlight1.getRoute().getId() + " не знайдено для рейсу ID: " + testFlight1.getId()));
@@ -692,4 +779,139 @@ class FlightDAOTest {
         assertEquals("DB Date Query Error", exception.getMessage());
         assertFalse(listAppender.containsMessageWithException(Level.ERROR, "Помилка при отриманні рейсів на дату " + date, SQLException.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getFlightsByIds_emptyIds_returnsEmptyMapWithoutQuery() throws SQLException {
+        assertTrue(flightDAO.getFlightsByIds(Collections.emptyList()).isEmpty());
+        verifyNoInteractions(mockConnection, mockRouteDAO);
+    }
+
+    @Test
+    void getFlightsByIds_success_loadsFlightsAndRoutesInBatches() throws SQLException {
+        when(mockConnection.prepareStatement(contains("WHERE id IN (?, ?)"))).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getLong("id")).thenReturn(testFlight1.getId()).thenReturn(testFlight2.getId());
+        when(mockResultSet.getLong("route_id")).thenReturn(testFlight1.getRoute().getId()).thenReturn(testFlight2.getRoute().getId());
+        when(mockResultSet.getTimestamp("departure_date_time"))
+                .thenReturn(Timestamp.valueOf(testFlight1.getDepartureDateTime()))
+                .thenReturn(Timestamp.valueOf(testFlight2.getDepartureDateTime()));
+        when(mockResultSet.getTimestamp("arrival_date_time"))
+                .thenReturn(Timestamp.valueOf(testFlight1.getArrivalDateTime()))
+                .thenReturn(Timestamp.valueOf(testFlight2.getArrivalDateTime()));
+        when(mockResultSet.getInt("total_seats")).thenReturn(testFlight1.getTotalSeats()).thenReturn(testFlight2.getTotalSeats());
+        when(mockResultSet.getBigDecimal("price_per_seat")).thenReturn(testFlight1.getPricePerSeat()).thenReturn(testFlight2.getPricePerSeat());
+        when(mockResultSet.getString("status")).thenReturn(testFlight1.getStatus().name()).thenReturn(testFlight2.getStatus().name());
+        when(mockRouteDAO.getRoutesByIds(any())).thenReturn(Map.of(
+                testFlight1.getRoute().getId(), testRoute1,
+                testFlight2.getRoute().getId(), testRoute2));
+
+        Map<Long, Flight> flights = flightDAO.getFlightsByIds(List.of(testFlight1.getId(), testFlight2.getId(), testFlight1.getId()));
+
+        assertEquals(2, flights.size());
+        assertEquals(testRoute2, flights.get(testFlight2.getId()).getRoute());
+        verify(mockPreparedStatement).setLong(1, testFlight1.getId());
+        verify(mockPreparedStatement).setLong(2, testFlight2.getId());
+        verify(mockRouteDAO, times(1)).getRoutesByIds(any());
+        verify(mockRouteDAO, never()).getRouteById(anyLong());
+    }
+
+
+    @Test
+    void addFlights_success_batchInsertCommitsAndSetsIds() throws SQLException {
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeBatch()).thenReturn(new int[]{1, 1});
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getLong(1)).thenReturn(201L, 202L);
+
+        Flight f1 = new Flight(0L, testRoute1, LocalDateTime.of(2024, 6, 3, 8, 0), LocalDateTime.of(2024, 6, 3, 10, 0),
+                40, FlightStatus.PLANNED, "BatchBus", BigDecimal.TEN);
+        Flight f2 = new Flight(0L, testRoute1, LocalDateTime.of(2024, 6, 5, 8, 0), LocalDateTime.of(2024, 6, 5, 10, 0),
+                40, FlightStatus.PLANNED, "BatchBus", BigDecimal.TEN);
+
+        assertEquals(2, flightDAO.addFlights(List.of(f1, f2)));
+        assertEquals(201L, f1.getId());
+        assertEquals(202L, f2.getId());
+        verify(mockPreparedStatement, times(2)).addBatch();
+        verify(mockPreparedStatement, never()).executeUpdate();
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).commit();
+        verify(mockConnection, never()).rollback();
+        verify(mockConnection).setAutoCommit(true);
+        assertTrue(listAppender.containsMessage(Level.INFO, "Успішно пакетно додано 2 рейсів."));
+    }
+
+    @Test
+    void addFlights_emptyList_returnsZeroWithoutConnection() throws SQLException {
+        assertEquals(0, flightDAO.addFlights(Collections.emptyList()));
+        verify(mockConnection, never()).prepareStatement(anyString(), anyInt());
+        assertTrue(listAppender.containsMessage(Level.INFO, "Список рейсів для пакетного додавання порожній."));
+    }
+
+    @Test
+    void addFlights_failure_executeFailedRow_rollsBackAndResetsIds() throws SQLException {
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeBatch()).thenReturn(new int[]{1, Statement.EXECUTE_FAILED});
+
+        Flight f1 = new Flight(0L, testRoute1, LocalDateTime.of(2024, 6, 3, 8, 0), LocalDateTime.of(2024, 6, 3, 10, 0),
+                40, FlightStatus.PLANNED, "BatchBus", BigDecimal.TEN);
+        Flight f2 = new Flight(0L, testRoute1, LocalDateTime.of(2024, 6, 5, 8, 0), LocalDateTime.of(2024, 6, 5, 10, 0),
+                40, FlightStatus.PLANNED, "BatchBus", BigDecimal.TEN);
+
+        assertThrows(SQLException.class, () -> flightDAO.addFlights(List.of(f1, f2)));
+        assertEquals(0L, f1.getId());
+        assertEquals(0L, f2.getId());
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockConnection).setAutoCommit(true);
+        assertTrue(listAppender.containsMessageWithException(Level.ERROR, "Помилка при пакетному додаванні рейсів", SQLException.class));
+    }
+
+    @Test
+    void addFlights_failure_missingGeneratedKeys_rollsBack() throws SQLException {
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeBatch()).thenReturn(new int[]{1, 1});
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getLong(1)).thenReturn(301L);
+
+        Flight f1 = new Flight(0L, testRoute1, LocalDateTime.of(2024, 6, 3, 8, 0), LocalDateTime.of(2024, 6, 3, 10, 0),
+                40, FlightStatus.PLANNED, "BatchBus", BigDecimal.TEN);
+        Flight f2 = new Flight(0L, testRoute1, LocalDateTime.of(2024, 6, 5, 8, 0), LocalDateTime.of(2024, 6, 5, 10, 0),
+                40, FlightStatus.PLANNED, "BatchBus", BigDecimal.TEN);
+
+        SQLException exception = assertThrows(SQLException.class, () -> flightDAO.addFlights(List.of(f1, f2)));
+        assertEquals("Не вдалося отримати згенеровані ID для всіх доданих рейсів.", exception.getMessage());
+        assertEquals(0L, f1.getId());
+        verify(mockConnection).rollback();
+    }
+
+    @Test
+    void getDepartureTimesForRoute_success_returnsExistingDepartures() throws SQLException {
+        LocalDateTime from = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 6, 30, 23, 59);
+        LocalDateTime existing = LocalDateTime.of(2024, 6, 3, 8, 0);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getTimestamp("departure_date_time")).thenReturn(Timestamp.valueOf(existing));
+
+        Set<LocalDateTime> result = flightDAO.getDepartureTimesForRoute(testRoute1.getId(), from, to);
+
+        assertEquals(Set.of(existing), result);
+        verify(mockPreparedStatement).setLong(1, testRoute1.getId());
+        verify(mockPreparedStatement).setTimestamp(2, Timestamp.valueOf(from));
+        verify(mockPreparedStatement).setTimestamp(3, Timestamp.valueOf(to));
+    }
+
+    @Test
+    void getDepartureTimesForRoute_failure_sqlException_throwsSQLException() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenThrow(new SQLException("DB Conflict Query Error"));
+
+        SQLException exception = assertThrows(SQLException.class, () -> flightDAO.getDepartureTimesForRoute(1L,
+                LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 6, 30, 0, 0)));
+        assertEquals("DB Conflict Query Error", exception.getMessage());
+        assertTrue(listAppender.containsMessageWithException(Level.ERROR, "Помилка при отриманні часу відправлення рейсів маршруту ID 1", SQLException.class));
+    }
+}
@@ -1,6 +1,8 @@
 package DAO;
 
 import DB.DatabaseConnectionManager;
+import Events.EventBus;
+import Events.PassengerUpdated;
 import Models.Enums.BenefitType;
 import Models.Passenger;
 import org.apache.logging.log4j.Level;
@@ -17,11 +19,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -51,7 +59,8 @@ class PassengerDAOTest {
     private Passenger testPassenger2;
 
     private static class ListAppender extends AbstractAppender {
-        private final List<LogEvent> events = new ArrayList<>();
+        // Шина подій логує з власного потоку, тому список має бути потокобезпечним.
+        private final List<LogEvent> events = new CopyOnWriteArrayList<>();
         ListAppender(String name) { super(name, null, PatternLayout.createDefaultLayout(), true, Property.EMPTY_ARRAY); }
         @Override public void append(LogEvent event) { events.add(event.toImmutable()); }
         public List<LogEvent> getEvents() { return events; }
@@ -88,6 +97,7 @@ class PassengerDAOTest {
         listAppender.clearEvents();
 
         mockedDbManager.when(DatabaseConnectionManager::getConnection).thenReturn(mockConnection);
+        mockedDbManager.when(() -> DatabaseConnectionManager.getReadConnection(any())).thenReturn(mockConnection);
 
 
         lenient().doNothing().when(mockResultSet).close();
@@ -218,6 +228,127 @@ class PassengerDAOTest {
 
 
 
+    @Test
+    void upsertPassenger_singleStatement_returnsGeneratedOrExistingId() throws SQLException {
+        PreparedStatement selectStatement = mock(PreparedStatement.class);
+        ResultSet generatedKeys = mock(ResultSet.class);
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(startsWith("SELECT"))).thenReturn(selectStatement);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(generatedKeys);
+        when(generatedKeys.next()).thenReturn(true);
+        when(generatedKeys.getLong(1)).thenReturn(testPassenger1.getId());
+        when(selectStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        mockPassengerResultSetRow(testPassenger1);
+
+        long id = passengerDAO.upsertPassenger(testPassenger1);
+
+        assertEquals(testPassenger1.getId(), id);
+        verify(selectStatement).setLong(1, testPassenger1.getId());
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mockConnection).prepareStatement(sqlCaptor.capture(), eq(Statement.RETURN_GENERATED_KEYS));
+        assertTrue(sqlCaptor.getValue().contains("ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)"));
+        verify(passengerDAO, never()).findByDocument(anyString(), anyString());
+        verify(mockConnection, times(1)).prepareStatement(anyString(), anyInt());
+    }
+
+    @Test
+    void upsertPassenger_existingPassenger_publishesStoredRowInsteadOfInput() throws SQLException {
+        PreparedStatement selectStatement = mock(PreparedStatement.class);
+        ResultSet generatedKeys = mock(ResultSet.class);
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(startsWith("SELECT"))).thenReturn(selectStatement);
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(generatedKeys);
+        when(generatedKeys.next()).thenReturn(true);
+        when(generatedKeys.getLong(1)).thenReturn(testPassenger1.getId());
+        when(selectStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        mockPassengerResultSetRow(testPassenger1);
+        // Той самий документ, але інші дані: ON DUPLICATE KEY UPDATE залишає збережений рядок без змін.
+        Passenger input = new Passenger(0L, "Інше Ім'я", testPassenger1.getDocumentNumber(), testPassenger1.getDocumentType(),
+                "+380000000000", null, BenefitType.NONE);
+        List<PassengerUpdated> received = new CopyOnWriteArrayList<>();
+
+        try (EventBus.Subscription ignored = EventBus.getInstance().subscribe(PassengerUpdated.class, received::add)) {
+            assertEquals(testPassenger1.getId(), passengerDAO.upsertPassenger(input));
+            assertTrue(EventBus.getInstance().awaitDelivery(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, received.size());
+        assertEquals(testPassenger1.getFullName(), received.get(0).getPassenger().getFullName());
+        assertEquals(testPassenger1.getPhoneNumber(), received.get(0).getPassenger().getPhoneNumber());
+    }
+
+    @Test
+    void upsertPassenger_noGeneratedKey_throwsSQLException() throws SQLException {
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
+
+        SQLException ex = assertThrows(SQLException.class, () -> passengerDAO.upsertPassenger(testPassenger1));
+        assertEquals("Не вдалося отримати ID пасажира після upsert.", ex.getMessage());
+    }
+
+    @Test
+    void upsertPassengers_batchInOneTransaction_returnsIdsInInputOrder() throws SQLException {
+        PreparedStatement selectStatement = mock(PreparedStatement.class);
+        ResultSet selectResult = mock(ResultSet.class);
+        when(mockConnection.prepareStatement(startsWith("INSERT"))).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(startsWith("SELECT"))).thenReturn(selectStatement);
+        when(mockPreparedStatement.executeBatch()).thenReturn(new int[]{1, 1});
+        when(selectStatement.executeQuery()).thenReturn(selectResult);
+        when(selectResult.next()).thenReturn(true, true, false);
+        // Порядок результатів SELECT не збігається з порядком вхідного списку, регістр документа - теж.
+        when(selectResult.getLong("id")).thenReturn(2L, 1L);
+        when(selectResult.getString("document_type")).thenReturn(testPassenger2.getDocumentType(), testPassenger1.getDocumentType());
+        when(selectResult.getString("document_number")).thenReturn(testPassenger2.getDocumentNumber(), testPassenger1.getDocumentNumber().toLowerCase());
+        when(selectResult.getString("full_name")).thenReturn(testPassenger2.getFullName(), testPassenger1.getFullName());
+        when(selectResult.getString("benefit_type")).thenReturn(testPassenger2.getBenefitType().name(), testPassenger1.getBenefitType().name());
+        List<PassengerUpdated> received = new CopyOnWriteArrayList<>();
+
+        Passenger duplicateOfFirst = new Passenger(0L, "Іван Дублікат", testPassenger1.getDocumentNumber(), testPassenger1.getDocumentType(),
+                null, null, BenefitType.NONE);
+        List<Long> ids;
+        try (EventBus.Subscription ignored = EventBus.getInstance().subscribe(PassengerUpdated.class, received::add)) {
+            ids = passengerDAO.upsertPassengers(List.of(testPassenger1, testPassenger2, duplicateOfFirst));
+            assertTrue(EventBus.getInstance().awaitDelivery(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(List.of(1L, 2L, 1L), ids);
+        // Події містять збережені дані по одній на пасажира, а не вхідні ("Іван Дублікат").
+        assertEquals(2, received.size());
+        assertTrue(received.stream().noneMatch(event -> "Іван Дублікат".equals(event.getPassenger().getFullName())));
+        verify(mockPreparedStatement, times(2)).addBatch();
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).commit();
+        verify(mockConnection, never()).rollback();
+        verify(selectStatement).setString(1, testPassenger1.getDocumentType());
+        verify(selectStatement).setString(4, testPassenger2.getDocumentNumber());
+    }
+
+    @Test
+    void upsertPassengers_idNotResolved_rollsBackAndThrows() throws SQLException {
+        PreparedStatement selectStatement = mock(PreparedStatement.class);
+        ResultSet selectResult = mock(ResultSet.class);
+        when(mockConnection.prepareStatement(startsWith("INSERT"))).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(startsWith("SELECT"))).thenReturn(selectStatement);
+        when(mockPreparedStatement.executeBatch()).thenReturn(new int[]{1});
+        when(selectStatement.executeQuery()).thenReturn(selectResult);
+        when(selectResult.next()).thenReturn(false);
+
+        assertThrows(SQLException.class, () -> passengerDAO.upsertPassengers(List.of(testPassenger1)));
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockConnection).setAutoCommit(true);
+    }
+
+    @Test
+    void upsertPassengers_emptyList_returnsEmptyWithoutConnection() throws SQLException {
+        assertTrue(passengerDAO.upsertPassengers(new ArrayList<>()).isEmpty());
+        verify(mockConnection, never()).prepareStatement(anyString());
+    }
+
     @Test
     void findByDocument_passengerExists_returnsOptionalOfPassenger() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
@@ -296,6 +427,32 @@ class PassengerDAOTest {
         assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при пошуку пасажира за ID " + passengerId));
     }
 
+    @Test
+    void findByIds_emptyIds_returnsEmptyMapWithoutQuery() throws SQLException {
+        assertTrue(passengerDAO.findByIds(Collections.emptyList()).isEmpty());
+        verifyNoInteractions(mockConnection);
+    }
+
+    @Test
+    void findByIds_passengersExist_returnsMapFromSingleQuery() throws SQLException {
+        when(mockConnection.prepareStatement(contains("WHERE id IN (?, ?)"))).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getLong("id")).thenReturn(testPassenger1.getId(), testPassenger2.getId());
+        when(mockResultSet.getString("full_name")).thenReturn(testPassenger1.getFullName(), testPassenger2.getFullName());
+        when(mockResultSet.getString("document_number")).thenReturn(testPassenger1.getDocumentNumber(), testPassenger2.getDocumentNumber());
+        when(mockResultSet.getString("document_type")).thenReturn(testPassenger1.getDocumentType(), testPassenger2.getDocumentType());
+        when(mockResultSet.getString("benefit_type")).thenReturn(testPassenger1.getBenefitType().name(), testPassenger2.getBenefitType().name());
+
+        Map<Long, Passenger> result = passengerDAO.findByIds(Arrays.asList(testPassenger1.getId(), testPassenger2.getId(), testPassenger1.getId()));
+
+        assertEquals(2, result.size());
+        assertEquals(testPassenger2.getFullName(), result.get(testPassenger2.getId()).getFullName());
+        verify(mockConnection, times(1)).prepareStatement(anyString());
+        verify(mockPreparedStatement).setLong(1, testPassenger1.getId());
+        verify(mockPreparedStatement).setLong(2, testPassenger2.getId());
+    }
+
 
 
     @Test
@@ -348,11 +505,99 @@ class PassengerDAOTest {
 
 
     @Test
-    void updatePassenger_success_returnsTrue() throws SQLException {
+    void searchPassengers_nonEmptyQuery_usesIndexedPrefixUnionWithPagination() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getLong("id")).thenReturn(testPassenger1.getId());
+        when(mockResultSet.getString("full_name")).thenReturn(testPassenger1.getFullName());
+        when(mockResultSet.getString("document_number")).thenReturn(testPassenger1.getDocumentNumber());
+        when(mockResultSet.getString("document_type")).thenReturn(testPassenger1.getDocumentType());
+        when(mockResultSet.getString("benefit_type")).thenReturn(testPassenger1.getBenefitType().name());
+
+        List<Passenger> passengers = passengerDAO.searchPassengers("  Ів_ан%  ", 50, 50);
+
+        assertEquals(1, passengers.size());
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mockConnection).prepareStatement(sqlCaptor.capture());
+        assertTrue(sqlCaptor.getValue().contains("UNION"));
+        assertTrue(sqlCaptor.getValue().contains("LIMIT ? OFFSET ?"));
+        // Кожна гілка UNION та зовнішній запит впорядковують рядки перед LIMIT.
+        assertEquals(5, sqlCaptor.getValue().split("ORDER BY full_name, id LIMIT", -1).length - 1);
+        verify(mockPreparedStatement, times(4)).setString(anyInt(), eq("Ів\\_ан\\%%"));
+        verify(mockPreparedStatement, times(4)).setInt(anyInt(), eq(100));
+        verify(mockPreparedStatement).setInt(9, 50);
+        verify(mockPreparedStatement).setInt(10, 50);
+        assertTrue(listAppender.containsMessage(Level.INFO, "знайдено 1 пасажирів"));
+    }
+
+    @Test
+    void searchPassengers_emptyQuery_returnsFirstPageOrderedByName() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
+
+        List<Passenger> passengers = passengerDAO.searchPassengers(null, 0, 50);
+
+        assertTrue(passengers.isEmpty());
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mockConnection).prepareStatement(sqlCaptor.capture());
+        assertFalse(sqlCaptor.getValue().contains("UNION"));
+        verify(mockPreparedStatement).setInt(1, 50);
+        verify(mockPreparedStatement).setInt(2, 0);
+        verify(mockPreparedStatement, never()).setString(anyInt(), anyString());
+    }
+
+    @Test
+    void searchPassengers_invalidPagination_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> passengerDAO.searchPassengers("a", -1, 50));
+        assertThrows(IllegalArgumentException.class, () -> passengerDAO.searchPassengers("a", 0, 0));
+    }
+
+    @Test
+    void searchPassengers_sqlException_throwsSQLException() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenThrow(new SQLException("Search failed"));
+
+        SQLException ex = assertThrows(SQLException.class, () -> passengerDAO.searchPassengers("Іван", 0, 50));
+        assertEquals("Search failed", ex.getMessage());
+        assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при пошуку пасажирів за запитом 'Іван'"));
+    }
+
+    @Test
+    void getPassengersPage_success_usesKeysetPagination() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getLong("id")).thenReturn(testPassenger2.getId());
+        when(mockResultSet.getString("full_name")).thenReturn(testPassenger2.getFullName());
+        when(mockResultSet.getString("document_number")).thenReturn(testPassenger2.getDocumentNumber());
+        when(mockResultSet.getString("document_type")).thenReturn(testPassenger2.getDocumentType());
+        when(mockResultSet.getString("benefit_type")).thenReturn(testPassenger2.getBenefitType().name());
+
+        List<Passenger> page = passengerDAO.getPassengersPage(1L, 500);
+
+        assertEquals(1, page.size());
+        verify(mockPreparedStatement).setLong(1, 1L);
+        verify(mockPreparedStatement).setInt(2, 500);
+    }
+
+    @Test
+    void getPassengersPage_sqlException_throwsSQLException() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenThrow(new SQLException("Page failed"));
+
+        assertThrows(SQLException.class, () -> passengerDAO.getPassengersPage(0L, 500));
+        assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при завантаженні сторінки пасажирів після ID 0."));
+    }
+
+    @Test
+    void updatePassenger_success_returnsUpdatedAndIncrementsVersion() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        testPassenger1.setVersion(5L);
 
-        assertTrue(passengerDAO.updatePassenger(testPassenger1));
+        assertEquals(UpdateResult.UPDATED, passengerDAO.updatePassenger(testPassenger1));
+        assertEquals(6L, testPassenger1.getVersion());
+        verify(mockPreparedStatement).setLong(8, 5L);
         assertTrue(listAppender.containsMessage(Level.INFO, "Пасажира з ID " + testPassenger1.getId() + " успішно оновлено."));
         verify(mockPreparedStatement).setString(1, testPassenger1.getFullName());
         verify(mockPreparedStatement).setString(6, testPassenger1.getBenefitType().name());
@@ -360,14 +605,28 @@ class PassengerDAOTest {
     }
 
     @Test
-    void updatePassenger_passengerNotFoundOrNotUpdated_returnsFalse() throws SQLException {
+    void updatePassenger_passengerNotFound_returnsNotFound() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
         when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
 
-        assertFalse(passengerDAO.updatePassenger(testPassenger1));
+        assertEquals(UpdateResult.NOT_FOUND, passengerDAO.updatePassenger(testPassenger1));
         assertTrue(listAppender.containsMessage(Level.WARN, "Пасажира з ID " + testPassenger1.getId() + " не знайдено або не було оновлено."));
     }
 
+    @Test
+    void updatePassenger_staleVersion_returnsConflict() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+
+        assertEquals(UpdateResult.CONFLICT, passengerDAO.updatePassenger(testPassenger1));
+        assertEquals(0L, testPassenger1.getVersion());
+        verify(mockConnection).prepareStatement("SELECT 1 FROM passengers WHERE id = ?");
+    }
+
     @Test
     void updatePassenger_sqlException_throwsSQLException() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenThrow(new SQLException("DB Update Error"));
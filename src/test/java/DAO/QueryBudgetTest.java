@@ -0,0 +1,188 @@
+package DAO;
+
+import DB.EmbeddedDatabase;
+import Models.Flight;
+import Models.Route;
+import Models.Ticket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Бюджети запитів DAO на вбудованій БД: кількість запитів не повинна залежати від кількості рядків
+ * (захист від повернення N+1).
+ */
+class QueryBudgetTest {
+
+    private static final int ROUTES = 5;
+    private static final int FLIGHTS = 20;
+    private static final int PASSENGERS = 200;
+    private static final int TICKETS = 1_000;
+    private static final LocalDate FLIGHT_DATE = LocalDate.of(2024, 5, 10);
+
+    private EmbeddedDatabase db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = EmbeddedDatabase.start();
+        seed(db.connection());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.close();
+    }
+
+    /**
+     * Маршрути з двома проміжними зупинками, рейси на {@link #FLIGHT_DATE}, пасажири та квитки,
+     * рівномірно розподілені між рейсами.
+     */
+    private static void seed(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO stops (id, name, city) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= ROUTES * 4; i++) {
+                ps.setLong(1, i);
+                ps.setString(2, "Зупинка " + i);
+                ps.setString(3, "Місто " + i);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement route = conn.prepareStatement("INSERT INTO routes (id, departure_stop_id, destination_stop_id) VALUES (?, ?, ?)");
+             PreparedStatement intermediate = conn.prepareStatement("INSERT INTO route_intermediate_stops (route_id, stop_id, stop_order) VALUES (?, ?, ?)")) {
+            for (int r = 1; r <= ROUTES; r++) {
+                int firstStop = (r - 1) * 4 + 1;
+                route.setLong(1, r);
+                route.setLong(2, firstStop);
+                route.setLong(3, firstStop + 3);
+                route.addBatch();
+                for (int order = 1; order <= 2; order++) {
+                    intermediate.setLong(1, r);
+                    intermediate.setLong(2, firstStop + order);
+                    intermediate.setInt(3, order);
+                    intermediate.addBatch();
+                }
+            }
+            route.executeBatch();
+            intermediate.executeBatch();
+        }
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO flights (id, route_id, departure_date_time, arrival_date_time, " +
+                "total_seats, bus_model, price_per_seat, status) VALUES (?, ?, ?, ?, ?, ?, ?, 'PLANNED')")) {
+            for (int f = 1; f <= FLIGHTS; f++) {
+                LocalDateTime departure = FLIGHT_DATE.atTime(6, 0).plusMinutes(30L * f);
+                ps.setLong(1, f);
+                ps.setLong(2, (f - 1) % ROUTES + 1);
+                ps.setTimestamp(3, Timestamp.valueOf(departure));
+                ps.setTimestamp(4, Timestamp.valueOf(departure.plusHours(3)));
+                ps.setInt(5, 60);
+                ps.setString(6, "Bus");
+                ps.setBigDecimal(7, new BigDecimal("250.00"));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO passengers (id, full_name, document_number, document_type, " +
+                "phone_number, email, benefit_type) VALUES (?, ?, ?, 'Паспорт', NULL, NULL, 'NONE')")) {
+            for (int p = 1; p <= PASSENGERS; p++) {
+                ps.setLong(1, p);
+                ps.setString(2, "Пасажир " + p);
+                ps.setString(3, "DOC" + p);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO tickets (flight_id, passenger_id, seat_number, booking_date_time, " +
+                "price_paid, status) VALUES (?, ?, ?, ?, ?, 'BOOKED')")) {
+            for (int t = 0; t < TICKETS; t++) {
+                ps.setLong(1, t % FLIGHTS + 1);
+                ps.setLong(2, t % PASSENGERS + 1);
+                ps.setString(3, String.valueOf(t / FLIGHTS + 1));
+                ps.setTimestamp(4, Timestamp.valueOf(FLIGHT_DATE.minusDays(1).atStartOfDay().plusSeconds(t)));
+                ps.setBigDecimal(5, new BigDecimal("250.00"));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO daily_route_sales (sale_date, route_id, benefit_type, tickets_sold, total_amount) " +
+                "VALUES (?, ?, 'NONE', 4, 1000.00)")) {
+            for (int day = 0; day < 30; day++) {
+                for (int r = 1; r <= ROUTES; r++) {
+                    ps.setDate(1, java.sql.Date.valueOf(FLIGHT_DATE.minusDays(day)));
+                    ps.setLong(2, r);
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @Test
+    void getAllTickets_thousandTickets_executesAtMostFiveStatements() throws SQLException {
+        TicketDAO ticketDAO = new TicketDAO();
+
+        List<Ticket> tickets = db.assertMaxStatements(5, "TicketDAO.getAllTickets",
+                () -> ticketDAO.getAllTickets(null));
+
+        assertEquals(TICKETS, tickets.size());
+        Ticket ticket = tickets.get(0);
+        assertNotNull(ticket.getPassenger().getFullName());
+        assertEquals(2, ticket.getFlight().getRoute().getIntermediateStops().size());
+    }
+
+    @Test
+    void getAllFlights_executesAtMostThreeStatements() throws SQLException {
+        FlightDAO flightDAO = new FlightDAO();
+
+        List<Flight> flights = db.assertMaxStatements(3, "FlightDAO.getAllFlights", flightDAO::getAllFlights);
+
+        assertEquals(FLIGHTS, flights.size());
+        assertEquals(FLIGHT_DATE.atTime(6, 0).plusMinutes(30L * FLIGHTS), flights.get(0).getDepartureDateTime());
+    }
+
+    @Test
+    void getFlightsByDate_executesAtMostThreeStatements() throws SQLException {
+        FlightDAO flightDAO = new FlightDAO();
+
+        List<Flight> flights = db.assertMaxStatements(3, "FlightDAO.getFlightsByDate",
+                () -> flightDAO.getFlightsByDate(FLIGHT_DATE));
+
+        assertEquals(FLIGHTS, flights.size());
+        assertTrue(flightDAO.getFlightsByDate(FLIGHT_DATE.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void getAllRoutes_executesAtMostTwoStatements() throws SQLException {
+        RouteDAO routeDAO = new RouteDAO();
+
+        List<Route> routes = db.assertMaxStatements(2, "RouteDAO.getAllRoutes", routeDAO::getAllRoutes);
+
+        assertEquals(ROUTES, routes.size());
+        Route first = routes.get(0);
+        assertEquals("Зупинка 1", first.getDepartureStop().getName());
+        assertEquals("Зупинка 4", first.getDestinationStop().getName());
+        assertEquals("Зупинка 2", first.getIntermediateStops().get(0).getName());
+        assertEquals("Зупинка 3", first.getIntermediateStops().get(1).getName());
+    }
+
+    @Test
+    void getSalesByRouteForPeriod_executesAtMostThreeStatements() throws SQLException {
+        TicketDAO ticketDAO = new TicketDAO();
+
+        Map<String, Map<String, Object>> sales = db.assertMaxStatements(3, "TicketDAO.getSalesByRouteForPeriod",
+                () -> ticketDAO.getSalesByRouteForPeriod(FLIGHT_DATE.minusDays(29), FLIGHT_DATE));
+
+        assertEquals(ROUTES, sales.size());
+        sales.values().forEach(data -> assertEquals(120, data.get("ticketCount")));
+    }
+}
@@ -87,7 +87,13 @@ class RouteDAOTest {
     private Stop stop1, stop2, stop3, stop4, stop5;
     private Route routeKyivLviv, routeKyivOdesa;
 
-    private final String SQL_GET_ALL_ROUTES = "SELECT id, departure_stop_id, destination_stop_id FROM routes ORDER BY id";
+    private final String SQL_ROUTES_WITH_STOPS = "SELECT r.id, r.departure_stop_id, r.destination_stop_id, " +
+            "ds.name AS dep_stop_name, ds.city AS dep_stop_city, ts.name AS dest_stop_name, ts.city AS dest_stop_city " +
+            "FROM routes r LEFT JOIN stops ds ON r.departure_stop_id = ds.id LEFT JOIN stops ts ON r.destination_stop_id = ts.id";
+    private final String SQL_ALL_INTERMEDIATE_STOPS = "SELECT ris.route_id, ris.stop_id, s.name, s.city " +
+            "FROM route_intermediate_stops ris LEFT JOIN stops s ON ris.stop_id = s.id";
+    private final String SQL_GET_ALL_ROUTES = SQL_ROUTES_WITH_STOPS + " ORDER BY r.id";
+    private final String SQL_GET_ALL_INTERMEDIATE_STOPS = SQL_ALL_INTERMEDIATE_STOPS + " ORDER BY ris.route_id, ris.stop_order";
     private final String SQL_GET_ROUTE_BY_ID = "SELECT id, departure_stop_id, destination_stop_id FROM routes WHERE id = ?";
     private final String SQL_INSERT_ROUTE = "INSERT INTO routes (departure_stop_id, destination_stop_id) VALUES (?, ?)";
     private final String SQL_GET_INTERMEDIATE_STOPS = "SELECT stop_id FROM route_intermediate_stops WHERE route_id = ? ORDER BY stop_order";
@@ -134,8 +140,8 @@ class RouteDAOTest {
         lenient().when(mockConnection.prepareStatement(eq(SQL_GET_ROUTE_BY_ID))).thenReturn(mockPsRoutes);
         lenient().when(mockPsRoutes.executeQuery()).thenReturn(mockRsRoutes);
 
-        lenient().when(mockConnection.createStatement()).thenReturn(mockStatement);
-        lenient().when(mockStatement.executeQuery(eq(SQL_GET_ALL_ROUTES))).thenReturn(mockRsRoutes);
+        lenient().when(mockConnection.prepareStatement(eq(SQL_GET_ALL_ROUTES))).thenReturn(mockPsRoutes);
+        lenient().when(mockConnection.prepareStatement(eq(SQL_GET_ALL_INTERMEDIATE_STOPS))).thenReturn(mockPsIntermediateStops);
 
         lenient().when(mockConnection.prepareStatement(eq(SQL_INSERT_ROUTE), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPsRoutes);
         lenient().when(mockPsRoutes.getGeneratedKeys()).thenReturn(mockGeneratedKeys);
@@ -505,23 +511,23 @@ class RouteDAOTest {
         when(mockRsRoutes.next()).thenReturn(false);
         List<Route> routes = routeDAO.getAllRoutes();
         assertTrue(routes.isEmpty());
-        verify(mockConnection, never()).prepareStatement(eq(SQL_GET_INTERMEDIATE_STOPS));
+        verify(mockConnection, never()).prepareStatement(eq(SQL_GET_ALL_INTERMEDIATE_STOPS));
         assertTrue(listAppender.containsMessage(Level.INFO, "Спроба отримати всі маршрути."));
         assertTrue(listAppender.containsMessage(Level.INFO, "Успішно отримано 0 маршрутів."));
     }
 
     @Test
-    @DisplayName("[GAR] Повинен кидати SQLException, якщо connection.createStatement кидає виняток")
-    void getAllRoutes_sqlExceptionOnCreateStatement_throwsSQLException() throws SQLException {
-        when(mockConnection.createStatement()).thenThrow(new SQLException("DB Error on createStatement"));
+    @DisplayName("[GAR] Повинен кидати SQLException, якщо connection.prepareStatement кидає виняток")
+    void getAllRoutes_sqlExceptionOnPrepareStatement_throwsSQLException() throws SQLException {
+        when(mockConnection.prepareStatement(eq(SQL_GET_ALL_ROUTES))).thenThrow(new SQLException("DB Error on prepareStatement"));
         assertThrows(SQLException.class, () -> routeDAO.getAllRoutes());
         assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при отриманні всіх маршрутів."));
     }
 
     @Test
-    @DisplayName("[GAR] Повинен кидати SQLException, якщо statement.executeQuery кидає виняток")
+    @DisplayName("[GAR] Повинен кидати SQLException, якщо executeQuery кидає виняток")
     void getAllRoutes_sqlExceptionOnStatementExecuteQuery_throwsSQLException() throws SQLException {
-        when(mockStatement.executeQuery(anyString())).thenThrow(new SQLException("DB Error on executeQuery"));
+        when(mockPsRoutes.executeQuery()).thenThrow(new SQLException("DB Error on executeQuery"));
         assertThrows(SQLException.class, () -> routeDAO.getAllRoutes());
         assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при отриманні всіх маршрутів."));
     }
@@ -543,59 +549,68 @@ class RouteDAOTest {
         assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при отриманні всіх маршрутів."));
     }
 
+    private void stubRouteRows(Route first, Route... others) throws SQLException {
+        Boolean[] nextValues = new Boolean[others.length + 1];
+        Arrays.fill(nextValues, true);
+        nextValues[others.length] = false;
+        when(mockRsRoutes.next()).thenReturn(true, nextValues);
+
+        Long[] ids = new Long[others.length];
+        Long[] departureIds = new Long[others.length];
+        Long[] destinationIds = new Long[others.length];
+        String[] departureNames = new String[others.length];
+        String[] departureCities = new String[others.length];
+        String[] destinationNames = new String[others.length];
+        String[] destinationCities = new String[others.length];
+        for (int i = 0; i < others.length; i++) {
+            ids[i] = others[i].getId();
+            departureIds[i] = others[i].getDepartureStop().getId();
+            destinationIds[i] = others[i].getDestinationStop().getId();
+            departureNames[i] = others[i].getDepartureStop().getName();
+            departureCities[i] = others[i].getDepartureStop().getCity();
+            destinationNames[i] = others[i].getDestinationStop().getName();
+            destinationCities[i] = others[i].getDestinationStop().getCity();
+        }
+        lenient().when(mockRsRoutes.getLong("id")).thenReturn(first.getId(), ids);
+        lenient().when(mockRsRoutes.getLong("departure_stop_id")).thenReturn(first.getDepartureStop().getId(), departureIds);
+        lenient().when(mockRsRoutes.getLong("destination_stop_id")).thenReturn(first.getDestinationStop().getId(), destinationIds);
+        lenient().when(mockRsRoutes.getString("dep_stop_name")).thenReturn(first.getDepartureStop().getName(), departureNames);
+        lenient().when(mockRsRoutes.getString("dep_stop_city")).thenReturn(first.getDepartureStop().getCity(), departureCities);
+        lenient().when(mockRsRoutes.getString("dest_stop_name")).thenReturn(first.getDestinationStop().getName(), destinationNames);
+        lenient().when(mockRsRoutes.getString("dest_stop_city")).thenReturn(first.getDestinationStop().getCity(), destinationCities);
+    }
+
     @Test
-    @DisplayName("[GAR] Повинен успішно отримати один маршрут з проміжними зупинками")
+    @DisplayName("[GAR] Повинен успішно отримати один маршрут з проміжними зупинками двома запитами")
     void getAllRoutes_success_oneRouteWithIntermediateStops() throws SQLException {
-        when(mockRsRoutes.next()).thenReturn(true, false);
-        when(mockRsRoutes.getLong("id")).thenReturn(routeKyivLviv.getId());
-        when(mockRsRoutes.getLong("departure_stop_id")).thenReturn(stop1.getId());
-        when(mockRsRoutes.getLong("destination_stop_id")).thenReturn(stop4.getId());
-
-        when(mockRsStopGetById.next())
-                .thenReturn(true).thenReturn(true).thenReturn(true).thenReturn(true);
-        when(mockRsStopGetById.getLong("id"))
-                .thenReturn(stop1.getId()).thenReturn(stop4.getId()).thenReturn(stop2.getId()).thenReturn(stop3.getId());
-        when(mockRsStopGetById.getString("name"))
-                .thenReturn(stop1.getName()).thenReturn(stop4.getName()).thenReturn(stop2.getName()).thenReturn(stop3.getName());
-        when(mockRsStopGetById.getString("city"))
-                .thenReturn(stop1.getCity()).thenReturn(stop4.getCity()).thenReturn(stop2.getCity()).thenReturn(stop3.getCity());
-
+        stubRouteRows(routeKyivLviv);
 
         when(mockRsIntermediateStops.next()).thenReturn(true, true, false);
+        when(mockRsIntermediateStops.getLong("route_id")).thenReturn(routeKyivLviv.getId());
         when(mockRsIntermediateStops.getLong("stop_id")).thenReturn(stop2.getId(), stop3.getId());
+        when(mockRsIntermediateStops.getString("name")).thenReturn(stop2.getName(), stop3.getName());
+        when(mockRsIntermediateStops.getString("city")).thenReturn(stop2.getCity(), stop3.getCity());
 
         List<Route> routes = routeDAO.getAllRoutes();
 
         assertEquals(1, routes.size());
         Route actualRoute = routes.get(0);
         assertEquals(routeKyivLviv.getId(), actualRoute.getId());
-        assertEquals(stop1.getId(), actualRoute.getDepartureStop().getId());
-        assertEquals(stop4.getId(), actualRoute.getDestinationStop().getId());
-        assertEquals(2, actualRoute.getIntermediateStops().size());
+        assertEquals(stop1, actualRoute.getDepartureStop());
+        assertEquals(stop4, actualRoute.getDestinationStop());
+        assertEquals(Arrays.asList(stop2, stop3), actualRoute.getIntermediateStops());
 
-        verify(mockStatement).executeQuery(SQL_GET_ALL_ROUTES);
-        verify(mockPsIntermediateStops).setLong(1, routeKyivLviv.getId());
-        verify(mockConnection, times(4)).prepareStatement(eq(SQL_GET_STOP_BY_ID_IN_STOPDAO));
+        verify(mockConnection).prepareStatement(SQL_GET_ALL_ROUTES);
+        verify(mockConnection).prepareStatement(SQL_GET_ALL_INTERMEDIATE_STOPS);
+        verify(mockConnection, never()).prepareStatement(eq(SQL_GET_STOP_BY_ID_IN_STOPDAO));
+        verify(mockConnection, never()).prepareStatement(eq(SQL_GET_INTERMEDIATE_STOPS));
         assertTrue(listAppender.containsMessage(Level.INFO, "Успішно отримано 1 маршрутів."));
     }
 
     @Test
     @DisplayName("[GAR] Повинен успішно отримати один маршрут без проміжних зупинок")
     void getAllRoutes_success_oneRouteNoIntermediateStops() throws SQLException {
-        when(mockRsRoutes.next()).thenReturn(true, false);
-        when(mockRsRoutes.getLong("id")).thenReturn(routeKyivOdesa.getId());
-        when(mockRsRoutes.getLong("departure_stop_id")).thenReturn(stop1.getId());
-        when(mockRsRoutes.getLong("destination_stop_id")).thenReturn(stop5.getId());
-
-        when(mockRsStopGetById.next())
-                .thenReturn(true).thenReturn(true);
-        when(mockRsStopGetById.getLong("id"))
-                .thenReturn(stop1.getId()).thenReturn(stop5.getId());
-        when(mockRsStopGetById.getString("name"))
-                .thenReturn(stop1.getName()).thenReturn(stop5.getName());
-        when(mockRsStopGetById.getString("city"))
-                .thenReturn(stop1.getCity()).thenReturn(stop5.getCity());
-
+        stubRouteRows(routeKyivOdesa);
         when(mockRsIntermediateStops.next()).thenReturn(false);
 
         List<Route> routes = routeDAO.getAllRoutes();
@@ -603,54 +618,47 @@ class RouteDAOTest {
         assertEquals(1, routes.size());
         Route actualRoute = routes.get(0);
         assertEquals(routeKyivOdesa.getId(), actualRoute.getId());
-        assertEquals(stop1.getId(), actualRoute.getDepartureStop().getId());
-        assertEquals(stop5.getId(), actualRoute.getDestinationStop().getId());
+        assertEquals(stop1, actualRoute.getDepartureStop());
+        assertEquals(stop5, actualRoute.getDestinationStop());
         assertTrue(actualRoute.getIntermediateStops().isEmpty());
-        verify(mockConnection, times(2)).prepareStatement(eq(SQL_GET_STOP_BY_ID_IN_STOPDAO));
-        assertTrue(listAppender.containsMessage(Level.DEBUG, "Знайдено 0 проміжних зупинок для маршруту ID: " + routeKyivOdesa.getId()));
+        verify(mockConnection, never()).prepareStatement(eq(SQL_GET_STOP_BY_ID_IN_STOPDAO));
     }
 
     @Test
     @DisplayName("[GAR] Повинен успішно отримати декілька маршрутів (з/без проміжних зупинок)")
     void getAllRoutes_success_multipleRoutes_mixedIntermediateStops() throws SQLException {
-        when(mockRsRoutes.next()).thenReturn(true, true, false);
-        when(mockRsRoutes.getLong("id"))
-                .thenReturn(routeKyivLviv.getId())
-                .thenReturn(routeKyivOdesa.getId());
-        when(mockRsRoutes.getLong("departure_stop_id"))
-                .thenReturn(stop1.getId())
-                .thenReturn(stop1.getId());
-        when(mockRsRoutes.getLong("destination_stop_id"))
-                .thenReturn(stop4.getId())
-                .thenReturn(stop5.getId());
+        stubRouteRows(routeKyivLviv, routeKyivOdesa);
 
+        when(mockRsIntermediateStops.next()).thenReturn(true, true, false);
+        when(mockRsIntermediateStops.getLong("route_id")).thenReturn(routeKyivLviv.getId());
+        when(mockRsIntermediateStops.getLong("stop_id")).thenReturn(stop2.getId(), stop3.getId());
+        when(mockRsIntermediateStops.getString("name")).thenReturn(stop2.getName(), stop3.getName());
+        when(mockRsIntermediateStops.getString("city")).thenReturn(stop2.getCity(), stop3.getCity());
 
-        when(mockRsStopGetById.next())
-                .thenReturn(true).thenReturn(true).thenReturn(true).thenReturn(true)
-                .thenReturn(true).thenReturn(true);
-        when(mockRsStopGetById.getLong("id"))
-                .thenReturn(stop1.getId()).thenReturn(stop4.getId()).thenReturn(stop2.getId()).thenReturn(stop3.getId())
-                .thenReturn(stop1.getId()).thenReturn(stop5.getId());
-        when(mockRsStopGetById.getString("name"))
-                .thenReturn(stop1.getName()).thenReturn(stop4.getName()).thenReturn(stop2.getName()).thenReturn(stop3.getName())
-                .thenReturn(stop1.getName()).thenReturn(stop5.getName());
-        when(mockRsStopGetById.getString("city"))
-                .thenReturn(stop1.getCity()).thenReturn(stop4.getCity()).thenReturn(stop2.getCity()).thenReturn(stop3.getCity())
-                .thenReturn(stop1.getCity()).thenReturn(stop5.getCity());
+        List<Route> routes = routeDAO.getAllRoutes();
+
+        assertEquals(2, routes.size());
+        assertEquals(2, routes.get(0).getIntermediateStops().size());
+        assertTrue(routes.get(1).getIntermediateStops().isEmpty());
+        verify(mockConnection, times(1)).prepareStatement(SQL_GET_ALL_INTERMEDIATE_STOPS);
+        assertTrue(listAppender.containsMessage(Level.INFO, "Успішно отримано 2 маршрутів."));
+    }
 
+    @Test
+    @DisplayName("[GAR] Пропускає проміжну зупинку, якої немає в таблиці зупинок, з попередженням")
+    void getAllRoutes_intermediateStopMissing_skipsStopAndLogsWarning() throws SQLException {
+        stubRouteRows(routeKyivLviv);
 
-        when(mockRsIntermediateStops.next())
-                .thenReturn(true, true, false)
-                .thenReturn(false);
-        when(mockRsIntermediateStops.getLong("stop_id"))
-                .thenReturn(stop2.getId())
-                .thenReturn(stop3.getId());
+        when(mockRsIntermediateStops.next()).thenReturn(true, true, false);
+        when(mockRsIntermediateStops.getLong("route_id")).thenReturn(routeKyivLviv.getId());
+        when(mockRsIntermediateStops.getLong("stop_id")).thenReturn(stop2.getId(), 997L);
+        when(mockRsIntermediateStops.getString("name")).thenReturn(stop2.getName(), (String) null);
+        when(mockRsIntermediateStops.getString("city")).thenReturn(stop2.getCity());
 
         List<Route> routes = routeDAO.getAllRoutes();
 
-        assertEquals(2, routes.size());
-
-        assertTrue(listAppender.containsMessage(Level.INFO, "Успішно отримано 2 маршрутів."));
+        assertEquals(Collections.singletonList(stop2), routes.get(0).getIntermediateStops());
+        assertTrue(listAppender.containsMessage(Level.WARN, "Проміжна зупинка з ID 997 для маршруту ID " + routeKyivLviv.getId() + " не знайдена в таблиці зупинок, але на неї є посилання."));
     }
 
     @Test
@@ -661,13 +669,11 @@ class RouteDAOTest {
         when(mockRsRoutes.next()).thenReturn(true, false);
         when(mockRsRoutes.getLong("id")).thenReturn(routeId);
         when(mockRsRoutes.getLong("departure_stop_id")).thenReturn(missingDepartureStopId);
-        when(mockRsRoutes.getLong("destination_stop_id")).thenReturn(stop5.getId());
+        when(mockRsRoutes.getString("dep_stop_name")).thenReturn(null);
 
-        when(mockRsStopGetById.next()).thenReturn(false);
         SQLException exception = assertThrows(SQLException.class, () -> routeDAO.getAllRoutes());
         String expectedErrorMsg = "Зупинка відправлення ID " + missingDepartureStopId + " не знайдена для маршруту ID: " + routeId;
         assertEquals(expectedErrorMsg, exception.getMessage());
-        verify(mockPsStopGetById).setLong(1, missingDepartureStopId);
         assertTrue(listAppender.containsMessage(Level.ERROR, expectedErrorMsg));
         assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при отриманні всіх маршрутів."));
     }
@@ -681,49 +687,56 @@ class RouteDAOTest {
         when(mockRsRoutes.getLong("id")).thenReturn(routeId);
         when(mockRsRoutes.getLong("departure_stop_id")).thenReturn(stop1.getId());
         when(mockRsRoutes.getLong("destination_stop_id")).thenReturn(missingDestinationStopId);
-
-        when(mockRsStopGetById.next())
-                .thenReturn(true)
-                .thenReturn(false);
-        when(mockRsStopGetById.getLong("id")).thenReturn(stop1.getId());
-        when(mockRsStopGetById.getString("name")).thenReturn(stop1.getName());
-        when(mockRsStopGetById.getString("city")).thenReturn(stop1.getCity());
-
+        when(mockRsRoutes.getString("dep_stop_name")).thenReturn(stop1.getName());
+        when(mockRsRoutes.getString("dep_stop_city")).thenReturn(stop1.getCity());
+        when(mockRsRoutes.getString("dest_stop_name")).thenReturn(null);
 
         SQLException exception = assertThrows(SQLException.class, () -> routeDAO.getAllRoutes());
         String expectedErrorMsg = "Зупинка призначення ID " + missingDestinationStopId + " не знайдена для маршруту ID: " + routeId;
         assertEquals(expectedErrorMsg, exception.getMessage());
-        verify(mockPsStopGetById).setLong(1, missingDestinationStopId);
         assertTrue(listAppender.containsMessage(Level.ERROR, expectedErrorMsg));
         assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при отриманні всіх маршрутів."));
     }
 
     @Test
-    @DisplayName("[GAR] Кидає SQLException, якщо getIntermediateStopsForRoute кидає виняток")
-    void getAllRoutes_getIntermediateStopsForRouteThrowsSQLException_throwsSQLException() throws SQLException {
-        when(mockRsRoutes.next()).thenReturn(true, false);
-        when(mockRsRoutes.getLong("id")).thenReturn(routeKyivLviv.getId());
-        when(mockRsRoutes.getLong("departure_stop_id")).thenReturn(stop1.getId());
-        when(mockRsRoutes.getLong("destination_stop_id")).thenReturn(stop4.getId());
-
-        when(mockRsStopGetById.next())
-                .thenReturn(true).thenReturn(true);
-        when(mockRsStopGetById.getLong("id"))
-                .thenReturn(stop1.getId()).thenReturn(stop4.getId());
-        when(mockRsStopGetById.getString("name"))
-                .thenReturn(stop1.getName()).thenReturn(stop4.getName());
-        when(mockRsStopGetById.getString("city"))
-                .thenReturn(stop1.getCity()).thenReturn(stop4.getCity());
-
+    @DisplayName("[GAR] Кидає SQLException, якщо запит проміжних зупинок кидає виняток")
+    void getAllRoutes_intermediateStopsQueryThrowsSQLException_throwsSQLException() throws SQLException {
+        stubRouteRows(routeKyivLviv);
 
         SQLException intermediateException = new SQLException("DB error during intermediate stop fetch");
-        when(mockConnection.prepareStatement(eq(SQL_GET_INTERMEDIATE_STOPS))).thenThrow(intermediateException);
+        when(mockConnection.prepareStatement(eq(SQL_GET_ALL_INTERMEDIATE_STOPS))).thenThrow(intermediateException);
 
         SQLException actualException = assertThrows(SQLException.class, () -> routeDAO.getAllRoutes());
         assertEquals(intermediateException.getMessage(), actualException.getMessage());
         assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при отриманні всіх маршрутів."));
     }
 
+    @Test
+    @DisplayName("[GRBI] Повертає порожню мапу без запиту до БД для порожнього списку ID")
+    void getRoutesByIds_emptyIds_returnsEmptyMapWithoutQuery() throws SQLException {
+        assertTrue(routeDAO.getRoutesByIds(Collections.emptyList()).isEmpty());
+        verifyNoInteractions(mockConnection);
+    }
+
+    @Test
+    @DisplayName("[GRBI] Завантажує маршрути за списком ID одним запитом маршрутів і одним запитом зупинок")
+    void getRoutesByIds_success_bindsDistinctIdsAndReturnsMap() throws SQLException {
+        String routesSql = SQL_ROUTES_WITH_STOPS + " WHERE r.id IN (?, ?) ORDER BY r.id";
+        String intermediateSql = SQL_ALL_INTERMEDIATE_STOPS + " WHERE ris.route_id IN (?) ORDER BY ris.route_id, ris.stop_order";
+        when(mockConnection.prepareStatement(routesSql)).thenReturn(mockPsRoutes);
+        when(mockConnection.prepareStatement(intermediateSql)).thenReturn(mockPsIntermediateStops);
+        stubRouteRows(routeKyivOdesa);
+        when(mockRsIntermediateStops.next()).thenReturn(false);
+
+        Map<Long, Route> routes = routeDAO.getRoutesByIds(Arrays.asList(routeKyivOdesa.getId(), 555L, routeKyivOdesa.getId()));
+
+        assertEquals(1, routes.size());
+        assertEquals(stop5, routes.get(routeKyivOdesa.getId()).getDestinationStop());
+        verify(mockPsRoutes).setLong(1, routeKyivOdesa.getId());
+        verify(mockPsRoutes).setLong(2, 555L);
+        verify(mockPsIntermediateStops).setLong(1, routeKyivOdesa.getId());
+    }
+
 
 
 
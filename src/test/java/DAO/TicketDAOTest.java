@@ -1,6 +1,8 @@
 package DAO;
 
 import DB.DatabaseConnectionManager;
+import Events.EventBus;
+import Events.TicketStatusChanged;
 import Models.Enums.BenefitType;
 import Models.Enums.FlightStatus;
 import Models.Enums.TicketStatus;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.InOrder;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -26,6 +29,8 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -67,7 +72,8 @@ class TicketDAOTest {
 
 
     private static class ListAppender extends AbstractAppender {
-        private final List<LogEvent> events = new ArrayList<>();
+        // Шина подій логує з власного потоку, тому список має бути потокобезпечним.
+        private final List<LogEvent> events = new CopyOnWriteArrayList<>();
         ListAppender(String name) { super(name, null, PatternLayout.createDefaultLayout(), true, Property.EMPTY_ARRAY); }
         @Override public void append(LogEvent event) { events.add(event.toImmutable()); }
         public List<LogEvent> getEvents() { return events; }
@@ -103,7 +109,9 @@ class TicketDAOTest {
     @BeforeEach
     void setUp() throws SQLException {
         listAppender.clearEvents();
+        TicketStatusCounters.getInstance().clear();
         mockedDbManager.when(DatabaseConnectionManager::getConnection).thenReturn(mockConnection);
+        mockedDbManager.when(() -> DatabaseConnectionManager.getReadConnection(any())).thenReturn(mockConnection);
 
 
         lenient().doNothing().when(mockResultSet).close();
@@ -203,6 +211,7 @@ class TicketDAOTest {
         assertTrue(ticketDAO.addTicket(testTicket1));
         assertEquals(generatedId, testTicket1.getId());
         assertTrue(listAppender.containsMessage(Level.INFO, "Квиток успішно додано. ID нового квитка: " + generatedId));
+        assertEquals(1, TicketStatusCounters.getInstance().get(TicketStatus.BOOKED));
         verify(mockPreparedStatement).setLong(1, testTicket1.getFlight().getId());
         verify(mockPreparedStatement).setLong(2, testTicket1.getPassenger().getId());
         verify(mockPreparedStatement).setString(3, testTicket1.getSeatNumber());
@@ -276,50 +285,236 @@ class TicketDAOTest {
     }
 
 
+    @Test
+    void addTicketsBatch_noConflicts_insertsAllInOneTransaction() throws SQLException {
+        PreparedStatement lockStatement = mock(PreparedStatement.class);
+        ResultSet lockResult = mock(ResultSet.class);
+        ResultSet generatedKeys = mock(ResultSet.class);
+        testTicket1.setId(0L);
+        testTicket2.setId(0L);
+        when(mockConnection.prepareStatement(contains("FOR UPDATE"))).thenReturn(lockStatement);
+        when(lockStatement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(false);
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeBatch()).thenReturn(new int[]{1, 1});
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(generatedKeys);
+        when(generatedKeys.next()).thenReturn(true, true, false);
+        when(generatedKeys.getLong(1)).thenReturn(501L, 502L);
+
+        TicketDAO.BatchBookingResult result = ticketDAO.addTicketsBatch(List.of(testTicket1, testTicket2));
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getBookedCount());
+        assertEquals(501L, testTicket1.getId());
+        assertEquals(502L, testTicket2.getId());
+        verify(lockStatement).setLong(1, testFlight.getId());
+        verify(lockStatement).setString(2, "A1");
+        verify(lockStatement).setString(3, "B2");
+        verify(mockPreparedStatement, times(2)).addBatch();
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).commit();
+        verify(mockConnection).setAutoCommit(true);
+    }
+
+    @Test
+    void addTicketsBatch_seatAlreadyTaken_rollsBackAndReportsConflicts() throws SQLException {
+        PreparedStatement lockStatement = mock(PreparedStatement.class);
+        ResultSet lockResult = mock(ResultSet.class);
+        testTicket1.setId(0L);
+        testTicket2.setId(0L);
+        when(mockConnection.prepareStatement(contains("FOR UPDATE"))).thenReturn(lockStatement);
+        when(lockStatement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true, false);
+        when(lockResult.getString("seat_number")).thenReturn("B2");
+
+        TicketDAO.BatchBookingResult result = ticketDAO.addTicketsBatch(List.of(testTicket1, testTicket2));
+
+        assertFalse(result.isSuccess());
+        assertEquals(0, result.getBookedCount());
+        assertEquals(Set.of("B2"), result.getConflictingSeats(testFlight.getId()));
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockConnection, never()).prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS));
+        assertTrue(listAppender.containsMessage(Level.WARN, "Групове бронювання відхилено: місця вже зайняті"));
+    }
+
+    @Test
+    void addTicketsBatch_duplicateSeatInRequest_rejectedWithoutConnection() throws SQLException {
+        Ticket duplicate = new Ticket(0L, testFlight, testPassenger, "A1", LocalDateTime.now(), BigDecimal.valueOf(250), TicketStatus.BOOKED);
+
+        TicketDAO.BatchBookingResult result = ticketDAO.addTicketsBatch(List.of(testTicket1, duplicate));
+
+        assertFalse(result.isSuccess());
+        assertEquals(Set.of("A1"), result.getConflictingSeats(testFlight.getId()));
+        verify(mockConnection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void addTicketsBatch_uniqueViolationDuringInsert_reportsConflictsAndResetsIds() throws SQLException {
+        PreparedStatement lockStatement = mock(PreparedStatement.class);
+        PreparedStatement recheckStatement = mock(PreparedStatement.class);
+        ResultSet lockResult = mock(ResultSet.class);
+        ResultSet recheckResult = mock(ResultSet.class);
+        testTicket1.setId(0L);
+        when(mockConnection.prepareStatement(contains("FOR UPDATE"))).thenReturn(lockStatement);
+        when(mockConnection.prepareStatement(argThat((String sql) -> sql.startsWith("SELECT") && !sql.contains("FOR UPDATE")))).thenReturn(recheckStatement);
+        when(lockStatement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(false);
+        when(recheckStatement.executeQuery()).thenReturn(recheckResult);
+        when(recheckResult.next()).thenReturn(true, false);
+        when(recheckResult.getString("seat_number")).thenReturn("A1");
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeBatch()).thenThrow(new BatchUpdateException("Duplicate entry '1-A1' for key 'ticket_seats.uq_ticket_seats_flight_seat'", "23000", new int[0]));
+
+        TicketDAO.BatchBookingResult result = ticketDAO.addTicketsBatch(List.of(testTicket1));
+
+        assertFalse(result.isSuccess());
+        assertEquals(Set.of("A1"), result.getConflictingSeats(testFlight.getId()));
+        assertEquals(0L, testTicket1.getId());
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+    }
+
+    @Test
+    void addTicketsBatch_otherSqlException_rollsBackAndThrows() throws SQLException {
+        PreparedStatement lockStatement = mock(PreparedStatement.class);
+        ResultSet lockResult = mock(ResultSet.class);
+        when(mockConnection.prepareStatement(contains("FOR UPDATE"))).thenReturn(lockStatement);
+        when(lockStatement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(false);
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+        SQLException otherEx = new SQLException("Інша помилка SQL", "XXXXX");
+        when(mockPreparedStatement.executeBatch()).thenThrow(otherEx);
+
+        SQLException thrown = assertThrows(SQLException.class, () -> ticketDAO.addTicketsBatch(List.of(testTicket1)));
+        assertSame(otherEx, thrown);
+        verify(mockConnection).rollback();
+        verify(mockConnection).setAutoCommit(true);
+        verify(mockConnection).close();
+    }
+
     @Test
     void updateTicketStatus_toSold_success_returnsTrue() throws SQLException {
         long ticketId = testTicket1.getId();
         LocalDateTime purchaseTime = LocalDateTime.now();
+        PreparedStatement rollupStatement = mock(PreparedStatement.class);
+        PreparedStatement flightIdStatement = mock(PreparedStatement.class);
+        ResultSet flightIdResult = mock(ResultSet.class);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(DailyRouteSalesDAO.APPLY_TICKET_SQL)).thenReturn(rollupStatement);
+        when(mockConnection.prepareStatement(TicketDAO.FLIGHT_ID_SQL)).thenReturn(flightIdStatement);
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(rollupStatement.executeUpdate()).thenReturn(1);
+        when(flightIdStatement.executeQuery()).thenReturn(flightIdResult);
+        when(flightIdResult.next()).thenReturn(true);
+        when(flightIdResult.getLong("flight_id")).thenReturn(testFlight.getId());
+        List<TicketStatusChanged> received = new CopyOnWriteArrayList<>();
+
+        try (EventBus.Subscription ignored = EventBus.getInstance().subscribe(TicketStatusChanged.class, received::add)) {
+            assertEquals(UpdateResult.UPDATED, ticketDAO.updateTicketStatus(ticketId, TicketStatus.SOLD, purchaseTime));
+            assertTrue(EventBus.getInstance().awaitDelivery(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, received.size());
+        assertEquals(testFlight.getId(), received.get(0).getFlightId());
+        verify(flightIdStatement).setLong(1, ticketId);
 
-        assertTrue(ticketDAO.updateTicketStatus(ticketId, TicketStatus.SOLD, purchaseTime));
+        InOrder inOrder = inOrder(mockConnection, rollupStatement);
+        inOrder.verify(mockConnection).setAutoCommit(false);
+        inOrder.verify(rollupStatement).setInt(1, 1);
+        inOrder.verify(rollupStatement).executeUpdate();
+        inOrder.verify(mockConnection).commit();
+        verify(rollupStatement).setLong(3, ticketId);
 
         verify(mockPreparedStatement).setString(1, TicketStatus.SOLD.name());
         verify(mockPreparedStatement).setTimestamp(2, Timestamp.valueOf(purchaseTime));
         verify(mockPreparedStatement).setLong(3, ticketId);
+        verify(mockPreparedStatement).setString(4, TicketStatus.BOOKED.name());
+        verify(mockConnection).prepareStatement(endsWith("WHERE id = ? AND status IN (?)"));
+        verify(mockPreparedStatement, never()).executeQuery();
+        assertEquals(-1, TicketStatusCounters.getInstance().get(TicketStatus.BOOKED));
+        assertEquals(1, TicketStatusCounters.getInstance().get(TicketStatus.SOLD));
         assertFalse(listAppender.containsMessage(Level.INFO, "Статус квитка ID " + ticketId + " успішно оновлено на SOLD."));
     }
 
     @Test
     void updateTicketStatus_toCancelled_success_returnsTrue() throws SQLException {
         long ticketId = testTicket1.getId();
+        PreparedStatement rollupStatement = mock(PreparedStatement.class);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(DailyRouteSalesDAO.APPLY_TICKET_SQL)).thenReturn(rollupStatement);
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getString("status")).thenReturn(TicketStatus.SOLD.name());
+        when(mockResultSet.getLong("flight_id")).thenReturn(testFlight.getId());
+        List<TicketStatusChanged> received = new CopyOnWriteArrayList<>();
+
+        try (EventBus.Subscription ignored = EventBus.getInstance().subscribe(TicketStatusChanged.class, received::add)) {
+            assertEquals(UpdateResult.UPDATED, ticketDAO.updateTicketStatus(ticketId, TicketStatus.CANCELLED, null));
+            assertTrue(EventBus.getInstance().awaitDelivery(5, TimeUnit.SECONDS));
+        }
+
+        verify(mockConnection).prepareStatement("SELECT status, flight_id, purchase_date_time FROM tickets WHERE id = ? FOR UPDATE");
+        verify(mockConnection, never()).prepareStatement(TicketDAO.FLIGHT_ID_SQL);
+        assertEquals(1, received.size());
+        assertEquals(testFlight.getId(), received.get(0).getFlightId());
+        verify(mockPreparedStatement).setLong(1, ticketId);
+        assertEquals(-1, TicketStatusCounters.getInstance().get(TicketStatus.SOLD));
+        assertEquals(1, TicketStatusCounters.getInstance().get(TicketStatus.CANCELLED));
 
-        assertTrue(ticketDAO.updateTicketStatus(ticketId, TicketStatus.CANCELLED, null));
+        verify(rollupStatement).setInt(1, -1);
+        verify(rollupStatement).setInt(2, -1);
+        verify(rollupStatement).setLong(3, ticketId);
+        verify(mockConnection).commit();
 
         verify(mockPreparedStatement).setString(1, TicketStatus.CANCELLED.name());
         verify(mockPreparedStatement).setLong(2, ticketId);
+        verify(mockPreparedStatement).setString(3, TicketStatus.BOOKED.name());
+        verify(mockPreparedStatement).setString(4, TicketStatus.SOLD.name());
         assertFalse(listAppender.containsMessage(Level.INFO, "Статус квитка ID " + ticketId + " успішно оновлено на CANCELLED."));
     }
 
 
     @Test
-    void updateTicketStatus_notFound_returnsFalse() throws SQLException {
+    void updateTicketStatus_notFound_returnsNotFound() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
         when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
 
-        assertFalse(ticketDAO.updateTicketStatus(testTicket1.getId(), TicketStatus.SOLD, LocalDateTime.now()));
+        assertEquals(UpdateResult.NOT_FOUND, ticketDAO.updateTicketStatus(testTicket1.getId(), TicketStatus.SOLD, LocalDateTime.now()));
         assertTrue(listAppender.containsMessage(Level.WARN, "Квиток з ID " + testTicket1.getId() + " не знайдено або статус не було оновлено."));
     }
 
+    @Test
+    void updateTicketStatus_sellCancelledTicket_returnsConflict() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getString("status")).thenReturn(TicketStatus.CANCELLED.name());
+
+        assertEquals(UpdateResult.CONFLICT, ticketDAO.updateTicketStatus(testTicket1.getId(), TicketStatus.SOLD, LocalDateTime.now()));
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).prepareStatement(DailyRouteSalesDAO.APPLY_TICKET_SQL);
+        verify(mockConnection, never()).commit();
+        assertTrue(listAppender.containsMessage(Level.WARN, "Квиток ID " + testTicket1.getId() + " має статус CANCELLED, з якого неможливо перейти в Проданий. Статус не оновлено."));
+    }
+
+    @Test
+    void updateTicketStatus_toBooked_isRejectedWithoutQuery() throws SQLException {
+        assertThrows(IllegalArgumentException.class, () -> ticketDAO.updateTicketStatus(testTicket1.getId(), TicketStatus.BOOKED, null));
+        verify(mockConnection, never()).prepareStatement(anyString());
+    }
+
     @Test
     void updateTicketStatus_sqlException_throwsSQLException() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenThrow(new SQLException("DB Update Status Error"));
 
         SQLException ex = assertThrows(SQLException.class, () -> ticketDAO.updateTicketStatus(testTicket1.getId(), TicketStatus.SOLD, LocalDateTime.now()));
         assertEquals("DB Update Status Error", ex.getMessage());
+        verify(mockConnection).rollback();
+        verify(mockConnection).setAutoCommit(true);
         assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка при оновленні статусу квитка ID " + testTicket1.getId()));
     }
 
@@ -402,6 +597,7 @@ class TicketDAOTest {
         assertNull(resultTicket2.getBookingExpiryDateTime());
 
         verify(mockPreparedStatement).setLong(1, passengerId);
+        verify(mockPreparedStatement).setLong(2, passengerId);
     }
 
     @Test
@@ -467,6 +663,8 @@ class TicketDAOTest {
             String[] statuses = new String[tickets.length];
             Timestamp[] purchases = new Timestamp[tickets.length];
             Timestamp[] expiries = new Timestamp[tickets.length];
+            Map<Long, Flight> flights = new HashMap<>();
+            Map<Long, Passenger> passengers = new HashMap<>();
 
             for (int i = 0; i < tickets.length; i++) {
                 Ticket t = tickets[i];
@@ -482,9 +680,11 @@ class TicketDAOTest {
                 expiries[i] = t.getBookingExpiryDateTime() != null ? Timestamp.valueOf(t.getBookingExpiryDateTime()) : null;
 
 
-                when(mockFlightDAO.getFlightById(fIds[i])).thenReturn(Optional.of(t.getFlight()));
-                when(mockPassengerDAO.findById(pIds[i])).thenReturn(Optional.of(t.getPassenger()));
+                flights.put(fIds[i], t.getFlight());
+                passengers.put(pIds[i], t.getPassenger());
             }
+            when(mockFlightDAO.getFlightsByIds(any())).thenReturn(flights);
+            when(mockPassengerDAO.findByIds(any())).thenReturn(passengers);
 
             when(rs.getLong("id")).thenReturn(ids[0], java.util.Arrays.copyOfRange(ids, 1, ids.length));
             when(rs.getLong("flight_id")).thenReturn(fIds[0], java.util.Arrays.copyOfRange(fIds, 1, fIds.length));
@@ -515,6 +715,10 @@ class TicketDAOTest {
         assertTrue(listAppender.containsMessage(Level.INFO, "Успішно отримано 2 квитків. Фільтр за статусом: немає"));
         verify(mockPreparedStatement, never()).setObject(anyInt(), any());
         verify(mockPreparedStatement).executeQuery();
+        verify(mockFlightDAO, times(1)).getFlightsByIds(any());
+        verify(mockPassengerDAO, times(1)).findByIds(any());
+        verify(mockFlightDAO, never()).getFlightById(anyLong());
+        verify(mockPassengerDAO, never()).findById(anyLong());
     }
 
     @Test
@@ -577,8 +781,8 @@ class TicketDAOTest {
         when(mockResultSet.getTimestamp("booking_expiry_date_time")).thenReturn(Timestamp.valueOf(testTicket1.getBookingExpiryDateTime()));
 
 
-        when(mockFlightDAO.getFlightById(testTicket1.getFlight().getId())).thenReturn(Optional.empty());
-        when(mockPassengerDAO.findById(testTicket1.getPassenger().getId())).thenReturn(Optional.of(testPassenger));
+        when(mockFlightDAO.getFlightsByIds(any())).thenReturn(Collections.emptyMap());
+        when(mockPassengerDAO.findByIds(any())).thenReturn(Map.of(testTicket1.getPassenger().getId(), testPassenger));
 
         SQLException ex = assertThrows(SQLException.class, () -> ticketDAO.getAllTickets(null));
         assertTrue(ex.getMessage().contains("Рейс ID " + testTicket1.getFlight().getId() + " не знайдено для квитка ID: " + testTicket1.getId()));
@@ -603,8 +807,8 @@ class TicketDAOTest {
         when(mockResultSet.getTimestamp("booking_expiry_date_time")).thenReturn(Timestamp.valueOf(testTicket1.getBookingExpiryDateTime()));
 
 
-        when(mockFlightDAO.getFlightById(testTicket1.getFlight().getId())).thenReturn(Optional.of(testFlight));
-        when(mockPassengerDAO.findById(testTicket1.getPassenger().getId())).thenReturn(Optional.empty());
+        when(mockFlightDAO.getFlightsByIds(any())).thenReturn(Map.of(testTicket1.getFlight().getId(), testFlight));
+        when(mockPassengerDAO.findByIds(any())).thenReturn(Collections.emptyMap());
 
         SQLException ex = assertThrows(SQLException.class, () -> ticketDAO.getAllTickets(null));
         assertTrue(ex.getMessage().contains("Пасажира ID " + testTicket1.getPassenger().getId() + " не знайдено для квитка ID: " + testTicket1.getId()));
@@ -626,7 +830,7 @@ class TicketDAOTest {
         when(mockResultSet.getBigDecimal("total_amount")).thenReturn(BigDecimal.valueOf(1000));
         when(mockResultSet.getInt("tickets_sold")).thenReturn(5);
 
-        when(mockRouteDAO.getRouteById(routeId)).thenReturn(Optional.of(testRoute));
+        when(mockRouteDAO.getRoutesByIds(Set.of(routeId))).thenReturn(Map.of(routeId, testRoute));
 
         Map<String, Map<String, Object>> salesData = ticketDAO.getSalesByRouteForPeriod(startDate, endDate);
 
@@ -638,6 +842,7 @@ class TicketDAOTest {
         assertEquals(5, routeData.get("ticketCount"));
         verify(mockPreparedStatement).setDate(1, Date.valueOf(startDate));
         verify(mockPreparedStatement).setDate(2, Date.valueOf(endDate));
+        verify(mockConnection).prepareStatement(contains("FROM daily_route_sales WHERE sale_date BETWEEN ? AND ?"));
     }
 
 
@@ -654,7 +859,7 @@ class TicketDAOTest {
         when(mockResultSet.getBigDecimal("total_amount")).thenReturn(BigDecimal.valueOf(1000));
         when(mockResultSet.getInt("tickets_sold")).thenReturn(5);
 
-        when(mockRouteDAO.getRouteById(unknownRouteId)).thenReturn(Optional.empty());
+        when(mockRouteDAO.getRoutesByIds(any())).thenReturn(Collections.emptyMap());
 
         Map<String, Map<String, Object>> salesData = ticketDAO.getSalesByRouteForPeriod(startDate, endDate);
 
@@ -664,6 +869,23 @@ class TicketDAOTest {
     }
 
 
+    @Test
+    void mergeSalesData_addsAmountsAndCountsOfSameRoute() {
+        Map<String, Map<String, Object>> january = new HashMap<>();
+        january.put("Київ - Львів", new HashMap<>(Map.of("totalSales", new BigDecimal("100.50"), "ticketCount", 2)));
+        Map<String, Map<String, Object>> february = new HashMap<>();
+        february.put("Київ - Львів", new HashMap<>(Map.of("totalSales", new BigDecimal("50.00"), "ticketCount", 1)));
+        february.put("Одеса - Харків", new HashMap<>(Map.of("totalSales", new BigDecimal("80.00"), "ticketCount", 1)));
+
+        Map<String, Map<String, Object>> merged = TicketDAO.mergeSalesData(january, february);
+
+        assertEquals(2, merged.size());
+        assertEquals(new BigDecimal("150.50"), merged.get("Київ - Львів").get("totalSales"));
+        assertEquals(3, merged.get("Київ - Львів").get("ticketCount"));
+        assertEquals(new BigDecimal("80.00"), merged.get("Одеса - Харків").get("totalSales"));
+        assertEquals(new BigDecimal("100.50"), january.get("Київ - Львів").get("totalSales"));
+    }
+
     @Test
     void getTicketCountsByStatus_success_returnsCounts() throws SQLException {
         when(mockConnection.createStatement()).thenReturn(mockStatement);
@@ -686,6 +908,41 @@ class TicketDAOTest {
         assertTrue(listAppender.containsMessage(Level.INFO, "Кількість квитків за статусами отримана"));
     }
 
+    @Test
+    void getTicketCountsByStatus_afterSeeding_readsCountersWithoutQuery() throws SQLException {
+        when(mockConnection.createStatement()).thenReturn(mockStatement);
+        when(mockStatement.executeQuery(anyString())).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getString("status")).thenReturn(TicketStatus.BOOKED.name());
+        when(mockResultSet.getInt("count")).thenReturn(4);
+
+        ticketDAO.getTicketCountsByStatus();
+        TicketStatusCounters.getInstance().recordCreated(TicketStatus.BOOKED);
+        Map<TicketStatus, Integer> counts = ticketDAO.getTicketCountsByStatus();
+
+        assertEquals(Integer.valueOf(5), counts.get(TicketStatus.BOOKED));
+        verify(mockStatement, times(1)).executeQuery(anyString());
+    }
+
+    @Test
+    void getTicketCountsByStatus_notSeededDuringLocalUpdate_returnsDatabaseCounts() throws SQLException {
+        when(mockConnection.createStatement()).thenReturn(mockStatement);
+        when(mockStatement.executeQuery(anyString())).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getString("status")).thenReturn(TicketStatus.SOLD.name());
+        when(mockResultSet.getInt("count")).thenReturn(7);
+
+        Map<TicketStatus, Integer> counts;
+        try (TicketStatusCounters.LocalUpdate update = TicketStatusCounters.getInstance().beginLocalUpdate()) {
+            TicketStatusCounters.getInstance().recordCreated(TicketStatus.BOOKED);
+            counts = ticketDAO.getTicketCountsByStatus();
+        }
+
+        assertEquals(Integer.valueOf(7), counts.get(TicketStatus.SOLD));
+        assertEquals(Integer.valueOf(0), counts.get(TicketStatus.BOOKED));
+        assertFalse(TicketStatusCounters.getInstance().isSeeded());
+    }
+
     @Test
     void getTicketCountsByStatus_unknownStatusInDb_logsWarning() throws SQLException {
         when(mockConnection.createStatement()).thenReturn(mockStatement);
@@ -0,0 +1,37 @@
+package DAO;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketPartitionDAOTest {
+
+    @Test
+    void parseUpperBound_readsRangeColumnsDescriptions() {
+        assertEquals(LocalDate.of(2026, 1, 1), TicketPartitionDAO.parseUpperBound("'2026-01-01'"));
+        assertEquals(LocalDate.of(2026, 2, 1), TicketPartitionDAO.parseUpperBound("'2026-02-01 00:00:00'"));
+        assertNull(TicketPartitionDAO.parseUpperBound("MAXVALUE"));
+    }
+
+    @Test
+    void buildAddPartitionsSql_splitsFuturePartitionIntoMonths() {
+        String sql = TicketPartitionDAO.buildAddPartitionsSql(List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12)));
+
+        assertEquals("ALTER TABLE tickets REORGANIZE PARTITION p_future INTO (" +
+                "PARTITION p202611 VALUES LESS THAN ('2026-12-01'), " +
+                "PARTITION p202612 VALUES LESS THAN ('2027-01-01'), " +
+                "PARTITION p_future VALUES LESS THAN (MAXVALUE))", sql);
+    }
+
+    @Test
+    void dropPartition_invalidName_throwsWithoutQuery() {
+        TicketPartitionDAO dao = new TicketPartitionDAO();
+
+        assertThrows(IllegalArgumentException.class, () -> dao.dropPartition(null, "p202601; DROP TABLE tickets"));
+        assertThrows(IllegalArgumentException.class, () -> dao.isPartitionEmpty(null, null));
+    }
+}
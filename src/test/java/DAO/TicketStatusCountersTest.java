@@ -0,0 +1,97 @@
+package DAO;
+
+import Models.Enums.TicketStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketStatusCountersTest {
+
+    private TicketStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new TicketStatusCounters();
+    }
+
+    @Test
+    void recordTransition_movesCountBetweenStatuses() {
+        counters.recordCreated(TicketStatus.BOOKED);
+        counters.recordCreated(TicketStatus.BOOKED);
+
+        counters.recordTransition(TicketStatus.BOOKED, TicketStatus.SOLD);
+
+        assertEquals(1, counters.get(TicketStatus.BOOKED));
+        assertEquals(1, counters.get(TicketStatus.SOLD));
+    }
+
+    @Test
+    void recordTransition_unknownSource_onlyIncrementsTarget() {
+        counters.recordTransition(null, TicketStatus.CANCELLED);
+
+        assertEquals(1, counters.get(TicketStatus.CANCELLED));
+        assertEquals(0, counters.get(TicketStatus.BOOKED));
+    }
+
+    @Test
+    void reconcile_firstCall_seedsCountersFromDatabase() {
+        assertFalse(counters.isSeeded());
+
+        long drift = counters.reconcile(counters.reconcileEpoch(), Map.of(TicketStatus.BOOKED, 7, TicketStatus.SOLD, 3));
+
+        assertTrue(counters.isSeeded());
+        assertEquals(10, drift);
+        Map<TicketStatus, Integer> map = counters.toMap();
+        assertEquals(Integer.valueOf(7), map.get(TicketStatus.BOOKED));
+        assertEquals(Integer.valueOf(3), map.get(TicketStatus.SOLD));
+        assertEquals(Integer.valueOf(0), map.get(TicketStatus.USED));
+    }
+
+    @Test
+    void reconcile_localChangeCompletedDuringQuery_isDiscardedUntilNextRun() {
+        counters.reconcile(counters.reconcileEpoch(), Map.of(TicketStatus.BOOKED, 5));
+        long epoch = counters.reconcileEpoch();
+
+        // Квиток продано локально, поки виконувався запит; невідомо, чи побачив запит цей продаж.
+        try (TicketStatusCounters.LocalUpdate ignored = counters.beginLocalUpdate()) {
+            counters.recordTransition(TicketStatus.BOOKED, TicketStatus.SOLD);
+        }
+        assertEquals(-1, counters.reconcile(epoch, Map.of(TicketStatus.BOOKED, 4, TicketStatus.SOLD, 1)));
+        assertEquals(4, counters.get(TicketStatus.BOOKED));
+        assertEquals(1, counters.get(TicketStatus.SOLD));
+
+        // Наступне звіряння без локальних змін приймає значення бази (інше робоче місце додало два бронювання).
+        assertEquals(2, counters.reconcile(counters.reconcileEpoch(), Map.of(TicketStatus.BOOKED, 6, TicketStatus.SOLD, 1)));
+        assertEquals(6, counters.get(TicketStatus.BOOKED));
+        assertEquals(1, counters.get(TicketStatus.SOLD));
+    }
+
+    @Test
+    void reconcile_localChangeInProgress_isSkipped() {
+        counters.recordCreated(TicketStatus.BOOKED);
+        TicketStatusCounters.LocalUpdate update = counters.beginLocalUpdate();
+
+        assertEquals(-1, counters.reconcileEpoch());
+        long epoch = 0;
+        assertEquals(-1, counters.reconcile(epoch, Map.of(TicketStatus.BOOKED, 9)));
+        assertFalse(counters.isSeeded());
+
+        update.close();
+        update.close();
+        assertTrue(counters.reconcileEpoch() >= 0);
+        assertEquals(1, counters.get(TicketStatus.BOOKED));
+    }
+
+    @Test
+    void clear_resetsCountersAndSeededFlag() {
+        counters.reconcile(counters.reconcileEpoch(), Map.of(TicketStatus.USED, 2));
+
+        counters.clear();
+
+        assertFalse(counters.isSeeded());
+        assertEquals(0, counters.get(TicketStatus.USED));
+    }
+}
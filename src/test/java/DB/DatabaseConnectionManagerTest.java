@@ -17,12 +17,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class DatabaseConnectionManagerTest {
@@ -81,6 +87,7 @@ class DatabaseConnectionManagerTest {
 
         if (mockedDatabaseConfig != null) mockedDatabaseConfig.close();
         if (mockedDriverManager != null) mockedDriverManager.close();
+        QueryMetrics.setEnabled(true);
 
     }
 
@@ -92,7 +99,8 @@ class DatabaseConnectionManagerTest {
 
         mockedDatabaseConfig.reset();
         mockedDriverManager.reset();
-
+        DatabaseConnectionManager.resetReadRouting();
+        QueryMetrics.setEnabled(false);
 
     }
 
@@ -210,4 +218,104 @@ class DatabaseConnectionManagerTest {
         assertSame(sqlEx, thrown);
         assertTrue(listAppender.containsMessage(Level.ERROR, "Помилка підключення до бази даних: URL='" + testUrl + "', Користувач='" + testUser + "'. Помилка: " + sqlEx.getMessage()));
     }
-}
\ No newline at end of file
+
+    private void stubPrimary(String url) {
+        mockedDatabaseConfig.when(DatabaseConfig::getDbUrl).thenReturn(url);
+        mockedDatabaseConfig.when(DatabaseConfig::getDbUsername).thenReturn("user");
+        mockedDatabaseConfig.when(DatabaseConfig::getDbPassword).thenReturn("pass");
+        mockedDriverManager.when(() -> DriverManager.getConnection(url, "user", "pass")).thenReturn(mockConnection);
+    }
+
+    private void stubReplica(String url) {
+        mockedDatabaseConfig.when(DatabaseConfig::getReplicaUrl).thenReturn(url);
+        mockedDatabaseConfig.when(DatabaseConfig::getReplicaUsername).thenReturn("reader");
+        mockedDatabaseConfig.when(DatabaseConfig::getReplicaPassword).thenReturn("secret");
+    }
+
+    @Test
+    void getReadConnection_noReplicaConfigured_returnsPrimary() throws SQLException {
+        stubPrimary("jdbc:mysql://primary/db");
+        mockedDatabaseConfig.when(DatabaseConfig::getReplicaUrl).thenReturn(null);
+
+        Connection conn = DatabaseConnectionManager.getReadConnection(Duration.ofMinutes(5));
+
+        assertSame(mockConnection, conn);
+        mockedDriverManager.verify(() -> DriverManager.getConnection("jdbc:mysql://primary/db", "user", "pass"));
+    }
+
+    @Test
+    void getReadConnection_replicaWithinTolerance_returnsReadOnlyReplica() throws SQLException {
+        String replicaUrl = "jdbc:mysql://replica/db";
+        stubReplica(replicaUrl);
+        Connection replica = mock(Connection.class);
+        Statement stmt = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        mockedDriverManager.when(() -> DriverManager.getConnection(replicaUrl, "reader", "secret")).thenReturn(replica);
+        when(replica.createStatement()).thenReturn(stmt);
+        when(stmt.executeQuery("SHOW REPLICA STATUS")).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong("Seconds_Behind_Source")).thenReturn(3L);
+        when(rs.wasNull()).thenReturn(false);
+
+        Connection conn = DatabaseConnectionManager.getReadConnection(Duration.ofSeconds(30));
+
+        assertSame(replica, conn);
+        verify(replica).setReadOnly(true);
+        verify(replica, never()).close();
+    }
+
+    @Test
+    void getReadConnection_replicaLagsTooMuch_returnsPrimary() throws SQLException {
+        String replicaUrl = "jdbc:mysql://replica/db";
+        stubPrimary("jdbc:mysql://primary/db");
+        stubReplica(replicaUrl);
+        Connection replica = mock(Connection.class);
+        Statement stmt = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        mockedDriverManager.when(() -> DriverManager.getConnection(replicaUrl, "reader", "secret")).thenReturn(replica);
+        when(replica.createStatement()).thenReturn(stmt);
+        when(stmt.executeQuery("SHOW REPLICA STATUS")).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong("Seconds_Behind_Source")).thenReturn(120L);
+        when(rs.wasNull()).thenReturn(false);
+
+        Connection conn = DatabaseConnectionManager.getReadConnection(Duration.ofSeconds(30));
+
+        assertSame(mockConnection, conn);
+        verify(replica).close();
+        assertTrue(listAppender.containsMessage(Level.INFO, "Відставання репліки (120 с) перевищує допустиме (30 с)"));
+    }
+
+    @Test
+    void getReadConnection_replicaUnavailable_fallsBackToPrimaryAndSkipsReplicaOnNextCall() throws SQLException {
+        String replicaUrl = "jdbc:mysql://replica/db";
+        stubPrimary("jdbc:mysql://primary/db");
+        stubReplica(replicaUrl);
+        // Конструктор SQLException звертається до DriverManager, тому виняток створюється до стабування.
+        SQLException refused = new SQLException("Connection refused");
+        mockedDriverManager.when(() -> DriverManager.getConnection(replicaUrl, "reader", "secret")).thenThrow(refused);
+
+        assertSame(mockConnection, DatabaseConnectionManager.getReadConnection(Duration.ofSeconds(30)));
+        assertSame(mockConnection, DatabaseConnectionManager.getReadConnection(Duration.ofSeconds(30)));
+
+        assertTrue(listAppender.containsMessage(Level.WARN, "Репліка '" + replicaUrl + "' недоступна"));
+        mockedDriverManager.verify(() -> DriverManager.getConnection(replicaUrl, "reader", "secret"));
+    }
+
+    @Test
+    void getReadConnection_metricsEnabled_instrumentsFallbackConnectionOnce() throws SQLException {
+        stubPrimary("jdbc:mysql://primary/db");
+        QueryMetrics.setEnabled(true);
+        QueryMetrics.reset();
+        try {
+            Connection conn = DatabaseConnectionManager.getReadConnection(Duration.ofSeconds(30));
+            conn.close();
+
+            assertTrue(java.lang.reflect.Proxy.isProxyClass(conn.getClass()));
+            verify(mockConnection, Mockito.atLeastOnce()).close();
+            assertEquals(1, QueryMetrics.snapshot().stream().mapToLong(QueryMetrics.MethodStats.Snapshot::getCalls).sum());
+        } finally {
+            QueryMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package DB;
+
+import Config.DatabaseConfig;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Вбудована БД H2 (режим сумісності з MySQL) для тестів DAO, яким потрібні реальні запити,
+ * зокрема для перевірки кількості запитів на виклик (захист від повернення N+1).
+ * <p>
+ * Схема створюється міграціями {@code db/migration/V*.sql} ({@link MigrationRunner#loadMigrations()});
+ * тригери, перенесення даних ({@code UPDATE}), секціонування ({@code PARTITION BY}) та динамічний SQL
+ * ({@code SET @...}, {@code PREPARE}/{@code EXECUTE}/{@code DEALLOCATE}) пропускаються, оскільки H2 не
+ * підтримує тригери, секціонування та змінні сеансу MySQL, а БД порожня (тому зовнішні ключі tickets,
+ * які V10 видаляє динамічним SQL, у H2 залишаються).
+ * Поки БД відкрита, {@link DatabaseConfig} повертає її URL, тож DAO працюють через
+ * звичайний {@link DatabaseConnectionManager} з інструментуванням {@link QueryMetrics}.
+ * Тест має закрити БД (try-with-resources або {@code @AfterEach}).
+ * </p>
+ */
+public final class EmbeddedDatabase implements AutoCloseable {
+
+    /** Виклик DAO, кількість запитів якого перевіряється. */
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+    private static final Pattern ALTER_TABLE_PREFIX = Pattern.compile("ALTER TABLE \\w+\\s+", Pattern.CASE_INSENSITIVE);
+
+    private final String url;
+    private final Connection connection;
+    private final MockedStatic<DatabaseConfig> mockedConfig;
+
+    private EmbeddedDatabase(String url, Connection connection, MockedStatic<DatabaseConfig> mockedConfig) {
+        this.url = url;
+        this.connection = connection;
+        this.mockedConfig = mockedConfig;
+    }
+
+    /**
+     * Створює нову порожню БД зі схемою з міграцій і спрямовує на неї {@link DatabaseConnectionManager}.
+     * @return Відкрита БД.
+     * @throws SQLException якщо не вдалося створити схему.
+     */
+    public static EmbeddedDatabase start() throws SQLException {
+        String url = "jdbc:h2:mem:bus_station_" + DATABASE_COUNTER.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        Connection connection = DriverManager.getConnection(url, "sa", "");
+        try {
+            applyMigrations(connection);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+
+        MockedStatic<DatabaseConfig> mockedConfig = Mockito.mockStatic(DatabaseConfig.class, Mockito.CALLS_REAL_METHODS);
+        mockedConfig.when(DatabaseConfig::getDbUrl).thenReturn(url);
+        mockedConfig.when(DatabaseConfig::getDbUsername).thenReturn("sa");
+        mockedConfig.when(DatabaseConfig::getDbPassword).thenReturn("");
+        mockedConfig.when(DatabaseConfig::getReplicaUrl).thenReturn(null);
+        DatabaseConnectionManager.resetReadRouting();
+        QueryMetrics.setEnabled(true);
+        return new EmbeddedDatabase(url, connection, mockedConfig);
+    }
+
+    private static void applyMigrations(Connection connection) throws SQLException {
+        for (MigrationRunner.Migration migration : h2Migrations()) {
+            for (String sql : migration.getStatements()) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute(sql);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Міграції з classpath, перетворені для H2: без операторів, яких H2 не підтримує, та з
+     *         розбитими {@code ALTER TABLE} ({@link #toH2(String)}).
+     */
+    public static List<MigrationRunner.Migration> h2Migrations() {
+        List<MigrationRunner.Migration> migrations = new ArrayList<>();
+        for (MigrationRunner.Migration migration : MigrationRunner.loadMigrations()) {
+            List<String> statements = new ArrayList<>();
+            for (String sql : migration.getStatements()) {
+                String keyword = sql.toUpperCase(Locale.ROOT);
+                if (keyword.startsWith("CREATE TRIGGER") || keyword.startsWith("DROP TRIGGER") || keyword.startsWith("UPDATE")
+                        || keyword.contains("PARTITION BY") || keyword.startsWith("SET @") || keyword.startsWith("PREPARE ")
+                        || keyword.startsWith("EXECUTE ") || keyword.startsWith("DEALLOCATE ")) {
+                    continue;
+                }
+                statements.addAll(toH2(sql));
+            }
+            migrations.add(new MigrationRunner.Migration(migration.getVersion(), migration.getDescription(), statements));
+        }
+        return migrations;
+    }
+
+    /**
+     * Розбиває {@code ALTER TABLE t ADD COLUMN a ..., ADD COLUMN b ...} (так само {@code DROP ...}) на окремі оператори:
+     * H2 не підтримує кілька змін в одному ALTER TABLE.
+     */
+    private static List<String> toH2(String sql) {
+        Matcher matcher = ALTER_TABLE_PREFIX.matcher(sql);
+        if (!matcher.lookingAt()) {
+            return List.of(sql);
+        }
+        List<String> statements = new ArrayList<>();
+        for (String clause : sql.substring(matcher.end()).split(",\\s*(?=(ADD|DROP)\\s)")) {
+            statements.add(matcher.group() + clause.trim());
+        }
+        return statements;
+    }
+
+    /**
+     * @return З'єднання з БД без інструментування — для підготовки тестових даних.
+     */
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Виконує SQL для підготовки тестових даних.
+     * @param sql Оператор SQL.
+     * @throws SQLException якщо оператор не виконано.
+     */
+    public void execute(String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    /**
+     * Виконує виклик DAO та перевіряє, що він виконав не більше {@code maxStatements} запитів.
+     * Повідомлення про порушення містить методи DAO, що виконали найбільше запитів.
+     * @param maxStatements Бюджет запитів.
+     * @param description Опис виклику для повідомлення.
+     * @param call Виклик DAO.
+     * @return Результат виклику.
+     * @throws SQLException якщо виклик завершився помилкою.
+     */
+    public <T> T assertMaxStatements(int maxStatements, String description, SqlCall<T> call) throws SQLException {
+        long start = System.nanoTime();
+        T result;
+        QueryMetrics.ActionScope scope = QueryMetrics.beginAction(description);
+        try {
+            result = call.call();
+        } finally {
+            scope.close();
+        }
+        if (scope.getStatements() > maxStatements) {
+            fail("Перевищено бюджет запитів (" + maxStatements + "): " + scope.summary(System.nanoTime() - start));
+        }
+        return result;
+    }
+
+    /**
+     * Закриває БД і відновлює {@link DatabaseConfig}.
+     */
+    @Override
+    public void close() throws SQLException {
+        mockedConfig.close();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
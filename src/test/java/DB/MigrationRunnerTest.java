@@ -0,0 +1,186 @@
+package DB;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigrationRunnerTest {
+
+    private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:migration_" + DATABASE_COUNTER.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    private static MigrationRunner.Migration migration(int version, String... statements) {
+        return new MigrationRunner.Migration(version, "test " + version, List.of(statements));
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void migrate_emptyDatabase_appliesAllInOrderAndRecordsVersions() throws SQLException {
+        MigrationRunner runner = new MigrationRunner(List.of(
+                migration(2, "ALTER TABLE t ADD COLUMN b INT"),
+                migration(1, "CREATE TABLE t (a INT)")));
+
+        assertEquals(2, runner.migrate(conn));
+        assertEquals(0, runner.migrate(conn));
+
+        assertEquals(2, count("SELECT MAX(version) FROM schema_version"));
+        assertEquals(0, count("SELECT COUNT(b) FROM t"));
+    }
+
+    @Test
+    void migrate_failingStatement_stopsAndKeepsPreviousVersions() throws SQLException {
+        MigrationRunner runner = new MigrationRunner(List.of(
+                migration(1, "CREATE TABLE t (a INT)"),
+                migration(2, "ALTER TABLE missing ADD COLUMN b INT"),
+                migration(3, "CREATE TABLE u (a INT)")));
+
+        SQLException exception = assertThrows(SQLException.class, () -> runner.migrate(conn));
+
+        assertTrue(exception.getMessage().startsWith("Не вдалося застосувати міграцію схеми V2"), exception.getMessage());
+        assertEquals(1, count("SELECT MAX(version) FROM schema_version"));
+    }
+
+    @Test
+    void migrate_afterStatementFailure_resumesFromFailedStatement() throws SQLException {
+        MigrationRunner.Migration partial = migration(1,
+                "CREATE TABLE t (a INT)",
+                "SET @month_start = 1",
+                "INSERT INTO missing VALUES (1)",
+                "CREATE TABLE u (a INT)");
+
+        assertThrows(SQLException.class, () -> new MigrationRunner(List.of(partial)).migrate(conn));
+        assertEquals(1, count("SELECT statements_applied FROM schema_version_progress WHERE version = 1"));
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE missing (a INT)");
+        }
+        // Повторне виконання CREATE TABLE t завершилося б помилкою "вже існує".
+        assertEquals(1, new MigrationRunner(List.of(partial)).migrate(conn));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM missing"));
+        assertEquals(0, count("SELECT COUNT(*) FROM u"));
+        assertEquals(1, count("SELECT MAX(version) FROM schema_version"));
+        assertEquals(0, count("SELECT COUNT(*) FROM schema_version_progress"));
+    }
+
+    @Test
+    void isSessionStatement_recognisesSessionVariablesAndPreparedStatements() {
+        assertTrue(MigrationRunner.isSessionStatement("SET @month_start = DATE_FORMAT(CURRENT_DATE, '%Y-%m-01')"));
+        assertTrue(MigrationRunner.isSessionStatement("PREPARE partition_tickets FROM @partition_sql"));
+        assertTrue(MigrationRunner.isSessionStatement("deallocate prepare partition_tickets"));
+        assertFalse(MigrationRunner.isSessionStatement("EXECUTE partition_tickets"));
+        assertFalse(MigrationRunner.isSessionStatement("CREATE TABLE settings (a INT)"));
+    }
+
+    private void applyManually(List<MigrationRunner.Migration> migrations, int upToVersion) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (MigrationRunner.Migration migration : migrations) {
+                if (migration.getVersion() <= upToVersion) {
+                    for (String sql : migration.getStatements()) {
+                        stmt.execute(sql);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void migrate_baselineOnlySchemaWithoutVersionTable_appliesRealScriptsFromV2() throws SQLException {
+        List<MigrationRunner.Migration> migrations = EmbeddedDatabase.h2Migrations();
+        applyManually(migrations, 1);
+
+        assertEquals(1, MigrationRunner.detectLegacyVersion(conn));
+        assertEquals(migrations.size() - 1, new MigrationRunner(migrations).migrate(conn));
+
+        assertEquals(migrations.size(), count("SELECT COUNT(*) FROM schema_version"));
+        assertEquals(List.of(), MigrationRunner.verifyIndexes(conn));
+        assertEquals(0, count("SELECT COUNT(booked_count) FROM flights"));
+    }
+
+    @Test
+    void migrate_schemaUpToV3WithoutVersionTable_resumesFromV4() throws SQLException {
+        List<MigrationRunner.Migration> migrations = EmbeddedDatabase.h2Migrations();
+        applyManually(migrations, 3);
+
+        assertEquals(3, MigrationRunner.detectLegacyVersion(conn));
+        assertEquals(migrations.size() - 3, new MigrationRunner(migrations).migrate(conn));
+
+        assertEquals(migrations.get(migrations.size() - 1).getVersion(), count("SELECT MAX(version) FROM schema_version"));
+        assertEquals(List.of(), MigrationRunner.verifyIndexes(conn));
+    }
+
+    @Test
+    void detectLegacyVersion_allLegacyScriptsApplied_stopsAtBaselineVersion() throws SQLException {
+        applyManually(EmbeddedDatabase.h2Migrations(), MigrationRunner.LEGACY_BASELINE_VERSION + 1);
+
+        assertEquals(MigrationRunner.LEGACY_BASELINE_VERSION, MigrationRunner.detectLegacyVersion(conn));
+    }
+
+    @Test
+    void verifyIndexes_reportsMissingLeftmostPrefixes() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE route_intermediate_stops (route_id BIGINT, stop_id BIGINT, stop_order INT, PRIMARY KEY (route_id, stop_order))");
+            stmt.execute("CREATE TABLE flights (id BIGINT PRIMARY KEY, route_id BIGINT, departure_date_time TIMESTAMP)");
+            stmt.execute("CREATE INDEX idx_flights_departure_route ON flights (departure_date_time, route_id)");
+        }
+
+        List<String> missing = MigrationRunner.verifyIndexes(conn);
+
+        assertFalse(missing.contains("route_intermediate_stops(route_id, stop_order)"));
+        assertFalse(missing.contains("flights(departure_date_time)"));
+        assertTrue(missing.contains("flights(route_id, departure_date_time)"));
+        assertTrue(missing.contains("tickets(flight_id, status)"));
+    }
+
+    @Test
+    void verifyIndexes_migrationScripts_createEveryExpectedIndex() throws SQLException {
+        try (EmbeddedDatabase db = EmbeddedDatabase.start()) {
+            assertEquals(List.of(), MigrationRunner.verifyIndexes(db.connection()));
+        }
+    }
+
+    @Test
+    void loadMigrations_readsClasspathScriptsInVersionOrder() {
+        List<MigrationRunner.Migration> migrations = MigrationRunner.loadMigrations();
+
+        assertEquals(1, migrations.get(0).getVersion());
+        assertEquals("baseline schema", migrations.get(0).getDescription());
+        for (int i = 1; i < migrations.size(); i++) {
+            assertTrue(migrations.get(i - 1).getVersion() < migrations.get(i).getVersion());
+        }
+        MigrationRunner.Migration indexes = migrations.get(7);
+        assertEquals(3, indexes.getStatements().size());
+        assertTrue(indexes.getStatements().get(0).startsWith("CREATE INDEX idx_tickets_flight_status"));
+        MigrationRunner.Migration archive = migrations.get(8);
+        assertEquals("archive tables", archive.getDescription());
+        assertTrue(archive.getStatements().get(0).startsWith("CREATE TABLE IF NOT EXISTS flights_archive"));
+    }
+}
@@ -0,0 +1,151 @@
+package DB;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueryMetricsTest {
+
+    @BeforeEach
+    void setUp() {
+        QueryMetrics.setEnabled(true);
+        QueryMetrics.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryMetrics.reset();
+    }
+
+    private static Connection connectionReturningRows(int rows) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        // Перший виклик next() повертає true, якщо є рядки; далі — решта рядків і false.
+        Boolean[] rest = new Boolean[rows];
+        Arrays.fill(rest, true);
+        if (rows > 0) {
+            rest[rows - 1] = false;
+        }
+        when(rs.next()).thenReturn(rows > 0, rest);
+        return connection;
+    }
+
+    private static void readAll(Connection conn) throws SQLException {
+        try (conn; PreparedStatement pstmt = conn.prepareStatement("SELECT 1"); ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                // Читаємо всі рядки.
+            }
+        }
+    }
+
+    @Test
+    void instrument_countsConnectionStatementRowsAndLatency() throws SQLException {
+        Connection raw = connectionReturningRows(2);
+
+        readAll(QueryMetrics.instrument(raw));
+
+        List<QueryMetrics.MethodStats.Snapshot> snapshot = QueryMetrics.snapshot();
+        assertEquals(1, snapshot.size());
+        QueryMetrics.MethodStats.Snapshot stats = snapshot.get(0);
+        assertEquals(1, stats.getCalls());
+        assertEquals(1, stats.getStatements());
+        assertEquals(2, stats.getRowsRead());
+        assertEquals(1, Arrays.stream(stats.getHistogram()).sum());
+        verify(raw).close();
+    }
+
+    @Test
+    void instrument_disabled_returnsDriverConnection() {
+        QueryMetrics.setEnabled(false);
+        Connection raw = mock(Connection.class);
+
+        assertSame(raw, QueryMetrics.instrument(raw));
+        assertTrue(QueryMetrics.snapshot().isEmpty());
+    }
+
+    @Test
+    void instrument_executeUpdate_countsAffectedRows() throws SQLException {
+        Connection raw = mock(Connection.class);
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        when(raw.prepareStatement("UPDATE t SET x = 1")).thenReturn(pstmt);
+        when(pstmt.executeUpdate()).thenReturn(3);
+        when(pstmt.executeBatch()).thenReturn(new int[]{1, 1, PreparedStatement.SUCCESS_NO_INFO});
+
+        try (Connection conn = QueryMetrics.instrument(raw);
+             PreparedStatement stmt = conn.prepareStatement("UPDATE t SET x = 1")) {
+            stmt.executeUpdate();
+            stmt.executeBatch();
+            assertSame(conn, stmt.getConnection());
+        }
+
+        QueryMetrics.MethodStats.Snapshot stats = QueryMetrics.snapshot().get(0);
+        assertEquals(2, stats.getStatements());
+        assertEquals(5, stats.getRowsAffected());
+    }
+
+    @Test
+    void beginAction_collectsQueriesFromThreadAndAttachedWorkers() throws Exception {
+        QueryMetrics.ActionScope action;
+        try (QueryMetrics.ActionScope scope = QueryMetrics.beginAction("Пошук рейсів")) {
+            action = scope;
+            readAll(QueryMetrics.instrument(connectionReturningRows(1)));
+            CompletableFuture.runAsync(() -> {
+                try (QueryMetrics.Attachment ignored = QueryMetrics.attach(scope)) {
+                    readAll(QueryMetrics.instrument(connectionReturningRows(3)));
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }).get();
+            assertSame(scope, QueryMetrics.currentAction());
+        }
+
+        assertNull(QueryMetrics.currentAction());
+        assertEquals(2, action.getConnections());
+        assertEquals(2, action.getStatements());
+        assertEquals(4, action.getRows());
+        String summary = action.summary(2_100_000_000L);
+        assertTrue(summary.startsWith("Пошук рейсів: 1 дія, 2 запити, 2 з'єдн., 4 рядк., 2,1 с."), summary);
+        assertTrue(summary.contains("Найбільше запитів: "), summary);
+    }
+
+    @Test
+    void beginAction_nested_restoresOuterScopeOnClose() {
+        try (QueryMetrics.ActionScope outer = QueryMetrics.beginAction("Зовнішня")) {
+            try (QueryMetrics.ActionScope inner = QueryMetrics.beginAction("Внутрішня")) {
+                assertSame(inner, QueryMetrics.currentAction());
+            }
+            assertSame(outer, QueryMetrics.currentAction());
+        }
+        assertNull(QueryMetrics.currentAction());
+    }
+
+    @Test
+    void snapshot_percentileUsesHistogramBucketUpperBound() {
+        // 8 викликів до 1 мс, 1 — 50..100 мс, 1 — понад 5 с (максимум 7 с).
+        QueryMetrics.MethodStats.Snapshot stats = new QueryMetrics.MethodStats.Snapshot("TicketDAO.getAllTickets",
+                10, 10, 0, 0, 7_100_000_000L, 7_000_000_000L, 7_000_000_000L, new long[]{8, 0, 0, 0, 1, 0, 0, 0, 1});
+
+        assertEquals(1.0, stats.getPercentileMillis(50));
+        assertEquals(100.0, stats.getPercentileMillis(90));
+        assertEquals(7000.0, stats.getPercentileMillis(99));
+        assertEquals(710.0, stats.getAverageMillis(), 0.001);
+        assertEquals(0, QueryMetrics.bucketIndex(500_000L));
+        assertEquals(QueryMetrics.HISTOGRAM_BOUNDS_MS.length, QueryMetrics.bucketIndex(6_000_000_000L));
+    }
+}
@@ -0,0 +1,162 @@
+package DB;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlowQueryLogTest {
+
+    private static final String SQL = "SELECT id FROM flights\n    WHERE route_id = ? AND status = ?";
+
+    private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+    private final AbstractAppender appender = new AbstractAppender("SlowQueryLogTestAppender", null, null, true, Property.EMPTY_ARRAY) {
+        @Override
+        public void append(LogEvent event) {
+            messages.add(event.getMessage().getFormattedMessage());
+        }
+    };
+    private Logger slowLogger;
+    private long previousThreshold;
+
+    @BeforeEach
+    void setUp() {
+        previousThreshold = SlowQueryLog.getThresholdMillis();
+        QueryMetrics.setEnabled(true);
+        appender.start();
+        slowLogger = (Logger) LogManager.getLogger(SlowQueryLog.LOGGER_NAME);
+        slowLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowLogger.removeAppender(appender);
+        appender.stop();
+        SlowQueryLog.setThresholdMillis(previousThreshold);
+        QueryMetrics.reset();
+    }
+
+    private static Connection connectionWithQueryTaking(long millis) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.prepareStatement(SQL)).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(millis);
+            return rs;
+        });
+        when(rs.next()).thenReturn(true, true, false);
+        return connection;
+    }
+
+    private static void runQuery(Connection raw) throws SQLException {
+        try (Connection conn = QueryMetrics.instrument(raw);
+             PreparedStatement pstmt = conn.prepareStatement(SQL)) {
+            pstmt.setLong(1, 7L);
+            pstmt.setString(2, "PLANNED");
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    // Читаємо всі рядки.
+                }
+            }
+        }
+    }
+
+    @Test
+    void slowStatement_isLoggedWithSqlParametersRowsAndMethodAfterResultSetClose() throws SQLException {
+        SlowQueryLog.setThresholdMillis(10);
+
+        runQuery(connectionWithQueryTaking(30));
+
+        assertEquals(1, messages.size(), messages.toString());
+        String message = messages.get(0);
+        assertTrue(message.contains(", прочитано рядків: 2, дія: -"), message);
+        assertTrue(message.contains("| SELECT id FROM flights WHERE route_id = ? AND status = ? | параметри: [1=7, 2='PLANNED']"), message);
+    }
+
+    @Test
+    void reExecutedStatement_logsEverySlowExecution() throws SQLException {
+        SlowQueryLog.setThresholdMillis(10);
+        Connection raw = mock(Connection.class);
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(raw.prepareStatement(SQL)).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(30);
+            return rs;
+        }).thenAnswer(invocation -> {
+            Thread.sleep(30);
+            return rs;
+        }).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false, true, true, false, true, false);
+
+        try (Connection conn = QueryMetrics.instrument(raw);
+             PreparedStatement statement = conn.prepareStatement(SQL)) {
+            for (long routeId = 1; routeId <= 3; routeId++) {
+                statement.setLong(1, routeId);
+                statement.setString(2, "PLANNED");
+                // Результати не закриваються явно: їх закриває наступне виконання оператора.
+                ResultSet result = statement.executeQuery();
+                while (result.next()) {
+                    // Читаємо всі рядки.
+                }
+            }
+        }
+
+        // Окрім записів запитів, журнал може містити результати асинхронного EXPLAIN.
+        List<String> logged;
+        synchronized (messages) {
+            logged = messages.stream().filter(message -> message.contains(" | параметри: ")).collect(Collectors.toList());
+        }
+        assertEquals(2, logged.size(), logged.toString());
+        assertTrue(logged.get(0).contains(", прочитано рядків: 1, ") && logged.get(0).contains("[1=1, 2='PLANNED']"), logged.get(0));
+        assertTrue(logged.get(1).contains(", прочитано рядків: 2, ") && logged.get(1).contains("[1=2, 2='PLANNED']"), logged.get(1));
+    }
+
+    @Test
+    void fastStatementOrDisabledLog_isNotLogged() throws SQLException {
+        SlowQueryLog.setThresholdMillis(5_000);
+        runQuery(connectionWithQueryTaking(0));
+
+        SlowQueryLog.setThresholdMillis(0);
+        runQuery(connectionWithQueryTaking(20));
+
+        assertTrue(messages.isEmpty(), messages.toString());
+    }
+
+    @Test
+    void explain_usesBoundParametersAndFormatsPlanRows() throws SQLException {
+        TreeMap<Integer, Object> parameters = new TreeMap<>();
+        parameters.put(1, 7L);
+        parameters.put(2, "PLANNED");
+        SlowQueryLog.SlowQuery query = new SlowQueryLog.SlowQuery(SQL, parameters, "FlightDAO.getAllFlights", null, 0, -1);
+
+        try (EmbeddedDatabase db = EmbeddedDatabase.start()) {
+            List<String> plan = SlowQueryLog.explain(db.connection(), query);
+
+            assertEquals(1, plan.size());
+            assertTrue(plan.get(0).startsWith("plan="), plan.get(0));
+            assertTrue(plan.get(0).toLowerCase().contains("flights"), plan.get(0));
+        }
+        assertTrue(SlowQueryLog.isSelect("  select 1"));
+        assertFalse(SlowQueryLog.isSelect("UPDATE flights SET status = ?"));
+    }
+}
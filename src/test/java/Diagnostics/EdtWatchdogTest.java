@@ -0,0 +1,94 @@
+package Diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdtWatchdogTest {
+
+    private EdtWatchdog watchdog;
+
+    @BeforeEach
+    void setUp() {
+        watchdog = new EdtWatchdog(50, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        watchdog.stop();
+    }
+
+    private static void blockingQuery() {
+        try {
+            Thread.sleep(400);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void start_blockedDispatchThread_recordsStallByCallSiteWithAction() throws Exception {
+        // Ініціалізація класів обгортки та події JFR не повинна потрапити у вимірювання.
+        EventQueue.invokeAndWait(() -> UiActions.traced("warm-up", e -> {
+        }).actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "warm-up")));
+        watchdog.start();
+        Thread.sleep(50);
+
+        EventQueue.invokeAndWait(() -> UiActions.traced("FlightsPanel.loadFlightsData", e -> blockingQuery())
+                .actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "test")));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (watchdog.getStallCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(1, watchdog.getStallCount());
+        List<EdtWatchdog.CallSiteStall> report = watchdog.report();
+        assertEquals(1, report.size());
+        EdtWatchdog.CallSiteStall stall = report.get(0);
+        assertEquals("EdtWatchdogTest.blockingQuery", stall.getCallSite());
+        assertEquals("FlightsPanel.loadFlightsData", stall.getLastAction());
+        assertTrue(stall.getMaxMillis() >= 50, "max " + stall.getMaxMillis());
+        assertTrue(stall.getLastStack().contains("Thread.sleep"), stall.getLastStack());
+        assertTrue(watchdog.formatReport().get(0).startsWith("EdtWatchdogTest.blockingQuery: 1 завис."));
+
+        watchdog.reset();
+        assertTrue(watchdog.report().isEmpty());
+        assertEquals(0, watchdog.getMaxStallMillis());
+    }
+
+    @Test
+    void callSite_skipsPlatformAndUiActionsFrames() {
+        StackTraceElement[] stack = {
+                new StackTraceElement("java.lang.Thread", "sleep", "Thread.java", 1),
+                new StackTraceElement("com.mysql.cj.NativeSession", "execSQL", "NativeSession.java", 1),
+                new StackTraceElement("com.mysql.cj.jdbc.ClientPreparedStatement", "executeQuery", "ClientPreparedStatement.java", 1),
+                new StackTraceElement("jdk.internal.reflect.DirectMethodHandleAccessor", "invoke", "DirectMethodHandleAccessor.java", 1),
+                new StackTraceElement("java.lang.reflect.Method", "invoke", "Method.java", 1),
+                new StackTraceElement("DB.QueryMetrics$StatementHandler", "invoke", "QueryMetrics.java", 1),
+                new StackTraceElement("jdk.proxy2.$Proxy12", "executeQuery", null, -1),
+                new StackTraceElement("DAO.FlightDAO", "getAllFlights", "FlightDAO.java", 1),
+                new StackTraceElement("UI.Panel.FlightsPanel", "loadFlightsData", "FlightsPanel.java", 1)
+        };
+        StackTraceElement[] connecting = {
+                new StackTraceElement("com.mysql.cj.jdbc.ConnectionImpl", "createNewIO", "ConnectionImpl.java", 1),
+                new StackTraceElement("java.sql.DriverManager", "getConnection", "DriverManager.java", 1),
+                new StackTraceElement("DB.DatabaseConnectionManager", "openReadConnection", "DatabaseConnectionManager.java", 1),
+                new StackTraceElement("DB.DatabaseConnectionManager", "getReadConnection", "DatabaseConnectionManager.java", 1),
+                new StackTraceElement("DAO.FlightDAO", "getFlightsByDate", "FlightDAO.java", 1)
+        };
+        StackTraceElement[] platformOnly = {
+                new StackTraceElement("Diagnostics.UiActions", "lambda$traced$0", "UiActions.java", 1),
+                new StackTraceElement("java.awt.EventQueue", "dispatchEvent", "EventQueue.java", 1)
+        };
+
+        assertEquals("FlightDAO.getAllFlights", EdtWatchdog.callSite(stack));
+        assertEquals("FlightDAO.getFlightsByDate", EdtWatchdog.callSite(connecting));
+        assertEquals("Diagnostics.UiActions.lambda$traced$0", EdtWatchdog.callSite(platformOnly));
+    }
+}
@@ -0,0 +1,88 @@
+package Diagnostics;
+
+import DAO.StopDAO;
+import DB.EmbeddedDatabase;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.event.ActionEvent;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        FlightRecorderService.stop();
+    }
+
+    private static List<RecordedEvent> events(Path file, String name) throws Exception {
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> name.equals(event.getEventType().getName()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void dump_containsDaoConnectionAndUiActionEvents() throws Exception {
+        assertTrue(FlightRecorderService.start());
+        assertTrue(FlightRecorderService.start());
+        try (EmbeddedDatabase db = EmbeddedDatabase.start()) {
+            db.execute("INSERT INTO stops (id, name, city) VALUES (7, 'Автовокзал', 'Київ')");
+            StopDAO stopDAO = new StopDAO();
+            UiActions.traced("FlightsPanel.addNewRouteAction", e -> {
+                assertEquals("FlightsPanel.addNewRouteAction", UiActions.currentAction());
+                try {
+                    assertTrue(stopDAO.getStopById(7).isPresent());
+                } catch (Exception ex) {
+                    fail(ex);
+                }
+            }).actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "test"));
+        }
+        assertNull(UiActions.currentAction());
+
+        Path file = tempDir.resolve("recording.jfr");
+        FlightRecorderService.dump(file);
+
+        RecordedEvent daoCall = events(file, "BusStation.DaoCall").stream()
+                .filter(event -> "StopDAO.getStopById".equals(event.getString("method")))
+                .findFirst().orElseThrow();
+        assertEquals("1=7", daoCall.getString("parameters"));
+        assertEquals(1, daoCall.getLong("statements"));
+        assertEquals(1, daoCall.getLong("rowsRead"));
+        assertTrue(events(file, "BusStation.ConnectionAcquired").stream()
+                .anyMatch(event -> "StopDAO.getStopById".equals(event.getString("method")) && event.getBoolean("success")));
+        assertTrue(events(file, "BusStation.UiAction").stream()
+                .anyMatch(event -> "FlightsPanel.addNewRouteAction".equals(event.getString("action")) && event.getString("error") == null));
+    }
+
+    @Test
+    void traced_failingHandler_recordsErrorAndRethrows() throws Exception {
+        assertTrue(FlightRecorderService.start());
+
+        assertThrows(IllegalStateException.class, () -> UiActions.traced("ReportsPanel.generateReportAction", e -> {
+            throw new IllegalStateException("test");
+        }).actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "test")));
+
+        Path file = tempDir.resolve("failed.jfr");
+        FlightRecorderService.dump(file);
+        assertTrue(events(file, "BusStation.UiAction").stream()
+                .anyMatch(event -> IllegalStateException.class.getName().equals(event.getString("error"))));
+    }
+
+    @Test
+    void dump_notRunning_throwsIllegalStateException() {
+        FlightRecorderService.stop();
+
+        assertFalse(FlightRecorderService.isRunning());
+        assertThrows(IllegalStateException.class, () -> FlightRecorderService.dump(tempDir.resolve("none.jfr")));
+    }
+}
@@ -224,7 +224,7 @@ class BookingDialogTest {
         bookingDialog.getTxtEmail().setText("test@example.com");
         bookingDialog.getCmbBenefitType().setSelectedItem(BenefitType.NONE);
 
-        when(mockPassengerDAO.addOrGetPassenger(any(Passenger.class))).thenReturn(1L);
+        when(mockPassengerDAO.upsertPassenger(any(Passenger.class))).thenReturn(1L);
         when(mockTicketDAO.addTicket(any(Ticket.class))).thenAnswer(invocation -> {
             Ticket ticket = invocation.getArgument(0);
             ticket.setId(100L);
@@ -240,7 +240,7 @@ class BookingDialogTest {
             fail("Помилка при виконанні дії кнопки: " + e.getMessage(), e);
         }
 
-        verify(mockPassengerDAO).addOrGetPassenger(passengerCaptor.capture());
+        verify(mockPassengerDAO).upsertPassenger(passengerCaptor.capture());
         Passenger capturedPassenger = passengerCaptor.getValue();
         assertEquals("Тест Тестенко", capturedPassenger.getFullName());
         assertEquals(1L, capturedPassenger.getId());
@@ -271,7 +271,7 @@ class BookingDialogTest {
             fail("Помилка при виконанні дії кнопки: " + e.getMessage(), e);
         }
 
-        verify(mockPassengerDAO, never()).addOrGetPassenger(any(Passenger.class));
+        verify(mockPassengerDAO, never()).upsertPassenger(any(Passenger.class));
         verify(mockTicketDAO, never()).addTicket(any(Ticket.class));
         assertFalse(bookingDialog.isBookingConfirmed());
         assertTrue(bookingDialog.isDisplayable(), "Діалог не мав закриватися при помилці валідації");
@@ -287,7 +287,7 @@ class BookingDialogTest {
         bookingDialog.getTxtDocumentNumber().setText("АА123456");
         bookingDialog.getTxtPhoneNumber().setText("0991234567");
 
-        when(mockPassengerDAO.addOrGetPassenger(any(Passenger.class))).thenThrow(new SQLException("DB error passenger"));
+        when(mockPassengerDAO.upsertPassenger(any(Passenger.class))).thenThrow(new SQLException("DB error passenger"));
 
         ActionEvent confirmEvent = new ActionEvent(bookingDialog.getBtnConfirmBooking(), ActionEvent.ACTION_PERFORMED, "confirm");
         try {
@@ -312,7 +312,7 @@ class BookingDialogTest {
         bookingDialog.getTxtDocumentNumber().setText("АА123456");
         bookingDialog.getTxtPhoneNumber().setText("0991234567");
 
-        when(mockPassengerDAO.addOrGetPassenger(any(Passenger.class))).thenReturn(1L);
+        when(mockPassengerDAO.upsertPassenger(any(Passenger.class))).thenReturn(1L);
         when(mockTicketDAO.addTicket(any(Ticket.class))).thenReturn(false);
 
         ActionEvent confirmEvent = new ActionEvent(bookingDialog.getBtnConfirmBooking(), ActionEvent.ACTION_PERFORMED, "confirm");
@@ -337,7 +337,7 @@ class BookingDialogTest {
         bookingDialog.getTxtDocumentNumber().setText("АА123456");
         bookingDialog.getTxtPhoneNumber().setText("0991234567");
 
-        when(mockPassengerDAO.addOrGetPassenger(any(Passenger.class))).thenReturn(1L);
+        when(mockPassengerDAO.upsertPassenger(any(Passenger.class))).thenReturn(1L);
         when(mockTicketDAO.addTicket(any(Ticket.class))).thenThrow(new SQLException("DB error ticket"));
 
         ActionEvent confirmEvent = new ActionEvent(bookingDialog.getBtnConfirmBooking(), ActionEvent.ACTION_PERFORMED, "confirm");
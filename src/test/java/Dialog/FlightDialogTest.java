@@ -2,6 +2,7 @@ package Dialog;
 
 import DAO.FlightDAO;
 import DAO.RouteDAO;
+import DAO.UpdateResult;
 import Models.Enums.FlightStatus;
 import Models.Flight;
 import Models.Route;
@@ -234,7 +235,7 @@ class FlightDialogTest {
     void saveFlightAction_editFlight_success() throws SQLException {
         initializeDialog(flightToEdit);
         fillValidEditFlightData();
-        when(mockFlightDAO.updateFlight(any(Flight.class))).thenReturn(true);
+        when(mockFlightDAO.updateFlight(any(Flight.class))).thenReturn(UpdateResult.UPDATED);
 
         clickSaveButton();
 
@@ -337,11 +338,11 @@ class FlightDialogTest {
     }
 
     @Test
-    @DisplayName("Збереження: помилка DAO при оновленні (updateFlight повертає false)")
+    @DisplayName("Збереження: помилка DAO при оновленні (updateFlight повертає NOT_FOUND)")
     void saveFlightAction_editFlight_daoUpdateFails() throws SQLException {
         initializeDialog(flightToEdit);
         fillValidEditFlightData();
-        when(mockFlightDAO.updateFlight(any(Flight.class))).thenReturn(false);
+        when(mockFlightDAO.updateFlight(any(Flight.class))).thenReturn(UpdateResult.NOT_FOUND);
 
         clickSaveButton();
 
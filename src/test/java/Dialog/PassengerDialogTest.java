@@ -1,6 +1,7 @@
 package Dialog;
 
 import DAO.PassengerDAO;
+import DAO.UpdateResult;
 import Models.Enums.BenefitType;
 import Models.Passenger;
 import UI.Dialog.PassengerDialog;
@@ -146,7 +147,7 @@ class PassengerDialogTest {
         passengerDialog.getTxtEmail().setText(newEmail);
         passengerDialog.getCmbBenefitType().setSelectedItem(newBenefit);
 
-        when(mockPassengerDAO.updatePassenger(any(Passenger.class))).thenReturn(true);
+        when(mockPassengerDAO.updatePassenger(any(Passenger.class))).thenReturn(UpdateResult.UPDATED);
 
         clickSaveButton();
 
@@ -198,7 +199,7 @@ class PassengerDialogTest {
         initializeDialog(testPassenger);
         passengerDialog.getTxtEmail().setText("");
 
-        when(mockPassengerDAO.updatePassenger(any(Passenger.class))).thenReturn(true);
+        when(mockPassengerDAO.updatePassenger(any(Passenger.class))).thenReturn(UpdateResult.UPDATED);
         clickSaveButton();
 
         assertTrue(passengerDialog.isSaved());
@@ -207,7 +208,7 @@ class PassengerDialogTest {
     }
 
     @Test
-    @DisplayName("Збереження: помилка DAO (updatePassenger повертає false)")
+    @DisplayName("Збереження: помилка DAO (updatePassenger повертає NOT_FOUND)")
     void savePassengerAction_daoUpdateFails() throws SQLException {
         initializeDialog(testPassenger);
 
@@ -216,7 +217,7 @@ class PassengerDialogTest {
         passengerDialog.getTxtDocumentNumber().setText("ББ543210");
         passengerDialog.getTxtPhoneNumber().setText("0661122333");
 
-        when(mockPassengerDAO.updatePassenger(any(Passenger.class))).thenReturn(false);
+        when(mockPassengerDAO.updatePassenger(any(Passenger.class))).thenReturn(UpdateResult.NOT_FOUND);
 
         clickSaveButton();
 
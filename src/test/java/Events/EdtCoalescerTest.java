@@ -0,0 +1,51 @@
+package Events;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdtCoalescerTest {
+
+    @Test
+    void add_burstOfKeys_deliveredAsSingleBatchOnEdt() throws Exception {
+        List<Set<Long>> batches = new ArrayList<>();
+        List<Boolean> onEdt = new ArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        EdtCoalescer<Long> coalescer = new EdtCoalescer<>(100, batch -> {
+            batches.add(new LinkedHashSet<>(batch));
+            onEdt.add(SwingUtilities.isEventDispatchThread());
+            delivered.countDown();
+        });
+
+        for (long id = 1; id <= 100; id++) {
+            coalescer.add(id % 10);
+        }
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(1, batches.size());
+        assertEquals(10, batches.get(0).size());
+        assertEquals(List.of(true), onEdt);
+    }
+
+    @Test
+    void stop_discardsPendingKeys() throws Exception {
+        List<Set<String>> batches = new ArrayList<>();
+        EdtCoalescer<String> coalescer = new EdtCoalescer<>(50, batches::add);
+
+        coalescer.add("a");
+        coalescer.stop();
+        Thread.sleep(150);
+        SwingUtilities.invokeAndWait(coalescer::flush);
+
+        assertTrue(batches.isEmpty());
+    }
+}
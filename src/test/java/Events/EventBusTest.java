@@ -0,0 +1,74 @@
+package Events;
+
+import Models.Enums.BenefitType;
+import Models.Enums.TicketStatus;
+import Models.Passenger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventBusTest {
+
+    private EventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new EventBus();
+    }
+
+    @Test
+    void publish_deliversAsynchronouslyToSubscribersOfMatchingTypeInOrder() {
+        List<Long> flightIds = new CopyOnWriteArrayList<>();
+        List<EntityChangeEvent> allEvents = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        eventBus.subscribe(FlightChanged.class, e -> {
+            flightIds.add(e.getFlightId());
+            threads.add(Thread.currentThread().getName());
+        });
+        eventBus.subscribe(EntityChangeEvent.class, allEvents::add);
+
+        eventBus.publish(new FlightChanged(1L, FlightChanged.Kind.CREATED));
+        eventBus.publish(new RouteAdded(5L));
+        eventBus.publish(new FlightChanged(2L, FlightChanged.Kind.STATUS_CHANGED));
+
+        assertTrue(eventBus.awaitDelivery(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L), flightIds);
+        assertEquals(3, allEvents.size());
+        assertTrue(threads.stream().allMatch("entity-event-bus"::equals));
+    }
+
+    @Test
+    void subscriptionClose_stopsDelivery() {
+        List<TicketStatusChanged> received = new CopyOnWriteArrayList<>();
+        EventBus.Subscription subscription = eventBus.subscribe(TicketStatusChanged.class, received::add);
+
+        eventBus.publish(new TicketStatusChanged(10L, 1L, TicketStatus.BOOKED, true));
+        assertTrue(eventBus.awaitDelivery(5, TimeUnit.SECONDS));
+        subscription.close();
+        eventBus.publish(new TicketStatusChanged(10L, 1L, TicketStatus.SOLD, false));
+        assertTrue(eventBus.awaitDelivery(5, TimeUnit.SECONDS));
+
+        assertEquals(1, received.size());
+        assertTrue(received.get(0).isCreated());
+    }
+
+    @Test
+    void failingSubscriber_doesNotAffectOtherSubscribers() {
+        List<PassengerUpdated> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe(PassengerUpdated.class, e -> { throw new IllegalStateException("test"); });
+        eventBus.subscribe(PassengerUpdated.class, received::add);
+
+        Passenger passenger = new Passenger(3L, "Іван Петренко", "АА123456", "Паспорт", "0501234567", null, BenefitType.NONE);
+        eventBus.publish(new PassengerUpdated(passenger));
+        passenger.setFullName("Змінено після публікації");
+
+        assertTrue(eventBus.awaitDelivery(5, TimeUnit.SECONDS));
+        assertEquals(1, received.size());
+        assertEquals("Іван Петренко", received.get(0).getPassenger().getFullName());
+    }
+}
@@ -1,5 +1,7 @@
 import DB.DatabaseConnectionManager;
+import DB.MigrationRunner;
 import UI.MainFrame;
+import UI.Panel.DashboardPanel;
 import UI.Panel.FlightsPanel;
 import UI.Panel.PassengersPanel;
 import UI.Panel.ReportsPanel;
@@ -62,7 +64,8 @@ class MainFrameTest {
         try (MockedConstruction<FlightsPanel> flightsMock = Mockito.mockConstruction(FlightsPanel.class);
              MockedConstruction<TicketsPanel> ticketsMock = Mockito.mockConstruction(TicketsPanel.class);
              MockedConstruction<PassengersPanel> passengersMock = Mockito.mockConstruction(PassengersPanel.class);
-             MockedConstruction<ReportsPanel> reportsMock = Mockito.mockConstruction(ReportsPanel.class)) {
+             MockedConstruction<ReportsPanel> reportsMock = Mockito.mockConstruction(ReportsPanel.class);
+             MockedConstruction<DashboardPanel> dashboardMock = Mockito.mockConstruction(DashboardPanel.class)) {
 
 
             if (SwingUtilities.isEventDispatchThread()) {
@@ -90,23 +93,26 @@ class MainFrameTest {
         assertTrue(components.length > 0 && components[0] instanceof JTabbedPane, "MainFrame має містити JTabbedPane");
 
         JTabbedPane tabbedPane = (JTabbedPane) components[0];
-        assertEquals(4, tabbedPane.getTabCount(), "Має бути 4 вкладки");
+        assertEquals(5, tabbedPane.getTabCount(), "Має бути 5 вкладок");
 
         boolean flightsTabFound = false;
         boolean ticketsTabFound = false;
         boolean passengersTabFound = false;
         boolean reportsTabFound = false;
+        boolean dashboardTabFound = false;
         for (int i = 0; i < tabbedPane.getTabCount(); i++) {
             String title = tabbedPane.getTitleAt(i);
             if ("Управління рейсами".equals(title)) flightsTabFound = true;
             if ("Квитки".equals(title)) ticketsTabFound = true;
             if ("Пасажири".equals(title)) passengersTabFound = true;
             if ("Звітність".equals(title)) reportsTabFound = true;
+            if ("Моніторинг".equals(title)) dashboardTabFound = true;
         }
         assertTrue(flightsTabFound, "Вкладка 'Управління рейсами' не знайдена");
         assertTrue(ticketsTabFound, "Вкладка 'Квитки' не знайдена");
         assertTrue(passengersTabFound, "Вкладка 'Пасажири' не знайдена");
         assertTrue(reportsTabFound, "Вкладка 'Звітність' не знайдена");
+        assertTrue(dashboardTabFound, "Вкладка 'Моніторинг' не знайдена");
     }
     @Test
     @DisplayName("createIcon: іконку не знайдено")
@@ -150,12 +156,28 @@ class MainFrameTest {
     @Test
     @DisplayName("checkDatabaseConnection: успішне підключення")
     void checkDatabaseConnection_success() throws SQLException {
-        try (MockedStatic<DatabaseConnectionManager> dbManagerMock = Mockito.mockStatic(DatabaseConnectionManager.class)) {
+        try (MockedStatic<DatabaseConnectionManager> dbManagerMock = Mockito.mockStatic(DatabaseConnectionManager.class);
+             MockedConstruction<MigrationRunner> migrationRunnerMock = Mockito.mockConstruction(MigrationRunner.class)) {
             dbManagerMock.when(DatabaseConnectionManager::getConnection).thenReturn(mockConnection);
             when(mockConnection.isClosed()).thenReturn(false);
 
             assertTrue(MainFrame.checkDatabaseConnection());
             dbManagerMock.verify(DatabaseConnectionManager::getConnection);
+            assertEquals(1, migrationRunnerMock.constructed().size());
+            verify(migrationRunnerMock.constructed().get(0)).migrate(mockConnection);
+        }
+    }
+
+    @Test
+    @DisplayName("checkDatabaseConnection: помилка міграції схеми")
+    void checkDatabaseConnection_migrationFails_returnsFalse() throws SQLException {
+        try (MockedStatic<DatabaseConnectionManager> dbManagerMock = Mockito.mockStatic(DatabaseConnectionManager.class);
+             MockedConstruction<MigrationRunner> migrationRunnerMock = Mockito.mockConstruction(MigrationRunner.class,
+                     (mock, context) -> when(mock.migrate(any())).thenThrow(new SQLException("Не вдалося застосувати міграцію схеми V8")))) {
+            dbManagerMock.when(DatabaseConnectionManager::getConnection).thenReturn(mockConnection);
+            when(mockConnection.isClosed()).thenReturn(false);
+
+            assertFalse(MainFrame.checkDatabaseConnection());
         }
     }
 
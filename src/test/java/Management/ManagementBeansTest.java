@@ -0,0 +1,86 @@
+package Management;
+
+import DAO.PassengerDAO;
+import DAO.StopDAO;
+import DB.EmbeddedDatabase;
+import DB.QueryMetrics;
+import Services.PassengerLookupIndex;
+import Services.ReportResultCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ManagementBeansTest {
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @BeforeEach
+    void setUp() {
+        ManagementBeans.unregisterAll();
+        QueryMetrics.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ManagementBeans.unregisterAll();
+        QueryMetrics.reset();
+    }
+
+    @Test
+    void registerAll_registersBeansOnce() throws Exception {
+        assertEquals(5, ManagementBeans.registerAll());
+        assertEquals(0, ManagementBeans.registerAll());
+
+        assertEquals(QueryMetrics.getOpenConnections(), server.getAttribute(ManagementBeans.objectName("Database"), "OpenConnections"));
+        assertEquals(0, server.getAttribute(ManagementBeans.objectName("BackgroundTasks"), "ReportChunksQueued"));
+        assertNotNull(server.getAttribute(ManagementBeans.objectName("Caches"), "ReportCacheHitRatio"));
+        assertNotNull(server.getAttribute(ManagementBeans.objectName("EdtWatchdog"), "StallsByCallSite"));
+    }
+
+    @Test
+    void daoMetrics_exposesMethodPercentilesAndDumpsSlowQueries() throws Exception {
+        ManagementBeans.registerAll();
+        try (EmbeddedDatabase db = EmbeddedDatabase.start()) {
+            db.execute("INSERT INTO stops (id, name, city) VALUES (1, 'Центральний', 'Київ')");
+            new StopDAO().getAllStops();
+        }
+
+        CompositeData[] methods = (CompositeData[]) server.getAttribute(ManagementBeans.objectName("DaoMetrics"), "Methods");
+        assertEquals(1, methods.length);
+        assertEquals("StopDAO.getAllStops", methods[0].get("method"));
+        assertEquals(1L, methods[0].get("calls"));
+        assertEquals(1L, methods[0].get("rowsRead"));
+        assertTrue((Double) methods[0].get("p95Millis") >= (Double) methods[0].get("p50Millis"));
+
+        String[] lines = (String[]) server.invoke(ManagementBeans.objectName("DaoMetrics"), "dumpSlowQueries",
+                new Object[]{5}, new String[]{int.class.getName()});
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].startsWith("StopDAO.getAllStops: 1 викл., 1 запит."), lines[0]);
+    }
+
+    @Test
+    void clearCaches_invalidatesReportCacheAndReloadsPassengerIndex() throws Exception {
+        PassengerDAO passengerDAO = mock(PassengerDAO.class);
+        when(passengerDAO.getPassengersPage(anyLong(), anyInt())).thenReturn(Collections.emptyList());
+        ReportResultCache.getInstance().put("test-key", 0, "value");
+        try {
+            new CachesMonitor(passengerDAO).clearCaches();
+
+            assertNull(ReportResultCache.getInstance().get("test-key", 0, String.class));
+            verify(passengerDAO, timeout(5_000)).getPassengersPage(eq(0L), anyInt());
+        } finally {
+            PassengerLookupIndex.getInstance().clear();
+        }
+    }
+}
@@ -384,4 +384,28 @@ class BookingsTableModelTest {
         assertTrue(findLogMessage(Level.ERROR, "Помилка при отриманні значення для комірки [0, 3], квиток ID 601"));
         assertTrue(getLogEvents().stream().anyMatch(e -> e.getThrown() != null && e.getThrown().getMessage().contains("Test exception in getFullName")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateTicketStatus_existingTicket_updatesRowInPlace() {
+        model = new BookingsTableModel(sampleTickets);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        assertTrue(model.updateTicketStatus(201L, TicketStatus.SOLD));
+
+        assertEquals(TicketStatus.SOLD, ticket1.getStatus());
+        assertEquals(1, events.size());
+        assertEquals(1, events.get(0).getFirstRow());
+        assertFalse(model.updateTicketStatus(999L, TicketStatus.SOLD));
+    }
+
+    @Test
+    void removeTicket_existingTicket_removesRow() {
+        model = new BookingsTableModel(sampleTickets);
+
+        assertTrue(model.removeTicket(202L));
+        assertEquals(2, model.getRowCount());
+        assertFalse(model.removeTicket(202L));
+    }
+
+}
@@ -0,0 +1,67 @@
+package Model;
+
+import Models.DashboardSnapshot;
+import Models.Enums.FlightStatus;
+import UI.Model.DeparturesTableModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeparturesTableModelTest {
+
+    private DeparturesTableModel model;
+    private List<TableModelEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        model = new DeparturesTableModel();
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+    }
+
+    private static DashboardSnapshot.Departure departure(long id, int occupied) {
+        return new DashboardSnapshot.Departure(id, LocalDateTime.of(2024, 5, 10, 8, 15), "Київ -> Львів",
+                FlightStatus.PLANNED, 40, occupied);
+    }
+
+    @Test
+    void getValueAt_formatsRow() {
+        model.setDepartures(List.of(departure(1L, 10)));
+
+        assertEquals("08:15", model.getValueAt(0, 0));
+        assertEquals("Київ -> Львів", model.getValueAt(0, 1));
+        assertEquals(FlightStatus.PLANNED.getDisplayName(), model.getValueAt(0, 2));
+        assertEquals(40, model.getValueAt(0, 3));
+        assertEquals(10, model.getValueAt(0, 4));
+        assertEquals(25.0, model.getValueAt(0, 5));
+        assertEquals(Double.class, model.getColumnClass(5));
+    }
+
+    @Test
+    void setDepartures_unchangedData_firesNoEvents() {
+        model.setDepartures(List.of(departure(1L, 10), departure(2L, 5)));
+        events.clear();
+
+        assertEquals(0, model.setDepartures(List.of(departure(1L, 10), departure(2L, 5))));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void setDepartures_oneRowChanged_updatesOnlyThatRow() {
+        model.setDepartures(List.of(departure(1L, 10), departure(2L, 5)));
+        events.clear();
+
+        assertEquals(1, model.setDepartures(List.of(departure(1L, 10), departure(2L, 6))));
+
+        assertEquals(1, events.size());
+        assertEquals(1, events.get(0).getFirstRow());
+        assertEquals(1, events.get(0).getLastRow());
+        assertEquals(6, model.getValueAt(1, 4));
+    }
+}
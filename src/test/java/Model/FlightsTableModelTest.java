@@ -257,7 +257,7 @@ class FlightsTableModelTest {
     @Test
     void getColumnCount_returnsCorrectCount() {
         model = new FlightsTableModel(Collections.emptyList());
-        assertEquals(8, model.getColumnCount());
+        assertEquals(9, model.getColumnCount());
     }
 
     @ParameterizedTest
@@ -269,7 +269,8 @@ class FlightsTableModelTest {
             "4, Місць",
             "5, Автобус",
             "6, Ціна",
-            "7, Статус"
+            "7, Статус",
+            "8, 'Завантаженість, %'"
     })
     void getColumnName_validIndex_returnsCorrectName(int index, String expectedName) {
         model = new FlightsTableModel(Collections.emptyList());
@@ -277,7 +278,7 @@ class FlightsTableModelTest {
     }
 
     @ParameterizedTest
-    @ValueSource(ints = {-1, 8})
+    @ValueSource(ints = {-1, 9})
     void getColumnName_invalidIndex_returnsEmptyStringAndLogsWarn(int invalidIndex) {
         model = new FlightsTableModel(Collections.emptyList());
         assertEquals("", model.getColumnName(invalidIndex));
@@ -293,7 +294,8 @@ class FlightsTableModelTest {
             "4, java.lang.Integer",
             "5, java.lang.String",
             "6, java.math.BigDecimal",
-            "7, java.lang.String"
+            "7, java.lang.String",
+            "8, java.lang.Double"
     })
     void getColumnClass_returnsCorrectClass(int index, String expectedClassName) throws ClassNotFoundException {
         model = new FlightsTableModel(Collections.emptyList());
@@ -324,8 +326,8 @@ class FlightsTableModelTest {
         model = new FlightsTableModel(sampleFlights);
         assertEquals("НЕВІДОМИЙ СТОВПЕЦЬ", model.getValueAt(0, -1));
         assertTrue(findLogMessage(Level.WARN, "Запит значення для невідомого індексу стовпця для рейсів: -1 (рядок 0)"));
-        assertEquals("НЕВІДОМИЙ СТОВПЕЦЬ", model.getValueAt(0, 8));
-        assertTrue(findLogMessage(Level.WARN, "Запит значення для невідомого індексу стовпця для рейсів: 8 (рядок 0)"));
+        assertEquals("НЕВІДОМИЙ СТОВПЕЦЬ", model.getValueAt(0, 9));
+        assertTrue(findLogMessage(Level.WARN, "Запит значення для невідомого індексу стовпця для рейсів: 9 (рядок 0)"));
     }
 
     @Test
@@ -340,12 +342,22 @@ class FlightsTableModelTest {
         assertEquals("Mercedes", model.getValueAt(0, 5));
         assertEquals(new BigDecimal("500.00"), model.getValueAt(0, 6));
         assertEquals(FlightStatus.PLANNED.getDisplayName(), model.getValueAt(0, 7));
+        assertEquals(0.0, model.getValueAt(0, 8));
 
 
         assertEquals(102L, model.getValueAt(1, 0));
         assertEquals("Київ -> Умань -> Одеса", model.getValueAt(1, 1));
     }
 
+    @Test
+    void getValueAt_loadColumn_usesFlightOccupancyCounters() {
+        flight1.setBookedCount(3);
+        flight1.setSoldCount(9);
+        model = new FlightsTableModel(sampleFlights);
+
+        assertEquals(24.0, model.getValueAt(0, 8));
+    }
+
 
 
     @Test
@@ -364,4 +376,36 @@ class FlightsTableModelTest {
         assertTrue(findLogMessage(Level.ERROR, "Помилка при отриманні значення для комірки рейсів [0, 1], рейс ID 301"));
         assertTrue(getLogEvents().stream().anyMatch(e -> e.getThrown() != null && e.getThrown().getMessage().contains("Test exception in route")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void upsertFlight_existingFlight_replacesOnlyThatRow() {
+        model = new FlightsTableModel(sampleFlights);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+        Flight updated = new Flight(102L, route2, flight2.getDepartureDateTime(), flight2.getArrivalDateTime(), 45, FlightStatus.CANCELLED, "Neoplan", new BigDecimal("650.50"));
+
+        assertTrue(model.upsertFlight(updated, false));
+
+        assertEquals(2, model.getRowCount());
+        assertSame(updated, model.getFlightAt(1));
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.UPDATE, events.get(0).getType());
+        assertEquals(1, events.get(0).getFirstRow());
+        assertEquals(1, events.get(0).getLastRow());
+    }
+
+    @Test
+    void upsertFlight_missingFlight_addsOnlyWhenRequested() {
+        model = new FlightsTableModel(new ArrayList<>(List.of(flight1)));
+
+        assertFalse(model.upsertFlight(flight2, false));
+        assertEquals(1, model.getRowCount());
+        assertFalse(model.containsFlight(102L));
+
+        assertTrue(model.upsertFlight(flight2, true));
+        assertEquals(2, model.getRowCount());
+        assertTrue(model.containsFlight(102L));
+        assertFalse(model.upsertFlight(null, true));
+    }
+
+}
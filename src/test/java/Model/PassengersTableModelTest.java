@@ -375,4 +375,17 @@ class PassengersTableModelTest {
         assertTrue(findLogMessage(Level.ERROR, "Помилка при отриманні значення для комірки пасажирів [0, 1], пасажир ID 999"));
         assertTrue(getLogEvents().stream().anyMatch(e -> e.getThrown() != null && e.getThrown().getMessage().contains("Test exception in getFullName")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void updatePassenger_displayedPassenger_replacesRow() {
+        model = new PassengersTableModel(samplePassengers);
+        Passenger renamed = new Passenger(2L, "Сидоренко Марія Петрівна", "КК987654", "Студентський квиток",
+                "0679998877", "maria.s@example.com", BenefitType.STUDENT);
+
+        assertTrue(model.updatePassenger(renamed));
+        assertSame(renamed, model.getPassengerAt(1));
+        assertFalse(model.updatePassenger(passengerWithNulls));
+        assertFalse(model.updatePassenger(null));
+    }
+
+}
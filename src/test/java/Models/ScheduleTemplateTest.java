@@ -0,0 +1,76 @@
+package Models;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleTemplateTest {
+
+    private Route route;
+    private final LocalTime departure = LocalTime.of(8, 30);
+    private final Duration duration = Duration.ofHours(3);
+    private final LocalDate seasonStart = LocalDate.of(2024, 6, 1);
+    private final LocalDate seasonEnd = LocalDate.of(2024, 8, 31);
+
+    @BeforeEach
+    void setUp() {
+        route = new Route(1L, new Stop(1L, "Київ", "Центральний"), new Stop(2L, "Львів", "Стрийський"), Collections.emptyList());
+    }
+
+    @Test
+    void constructor_validData_createsImmutableTemplate() {
+        Set<DayOfWeek> days = EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+        ScheduleTemplate template = new ScheduleTemplate(route, departure, duration, days, seasonStart, seasonEnd,
+                "Neoplan", 50, new BigDecimal("450.00"));
+
+        days.add(DayOfWeek.SUNDAY);
+        assertEquals(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), template.getDaysOfWeek());
+        assertThrows(UnsupportedOperationException.class, () -> template.getDaysOfWeek().add(DayOfWeek.TUESDAY));
+        assertEquals(route, template.getRoute());
+        assertEquals(departure, template.getDepartureTime());
+        assertEquals(duration, template.getTravelDuration());
+        assertEquals(50, template.getTotalSeats());
+    }
+
+    @Test
+    void constructor_nullRoute_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleTemplate(null, departure, duration,
+                EnumSet.of(DayOfWeek.MONDAY), seasonStart, seasonEnd, null, 50, BigDecimal.TEN));
+    }
+
+    @Test
+    void constructor_emptyDays_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleTemplate(route, departure, duration,
+                EnumSet.noneOf(DayOfWeek.class), seasonStart, seasonEnd, null, 50, BigDecimal.TEN));
+    }
+
+    @Test
+    void constructor_seasonEndBeforeStart_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleTemplate(route, departure, duration,
+                EnumSet.of(DayOfWeek.MONDAY), seasonEnd, seasonStart, null, 50, BigDecimal.TEN));
+    }
+
+    @Test
+    void constructor_nonPositiveDuration_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleTemplate(route, departure, Duration.ZERO,
+                EnumSet.of(DayOfWeek.MONDAY), seasonStart, seasonEnd, null, 50, BigDecimal.TEN));
+    }
+
+    @Test
+    void constructor_invalidSeatsOrPrice_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleTemplate(route, departure, duration,
+                EnumSet.of(DayOfWeek.MONDAY), seasonStart, seasonEnd, null, 0, BigDecimal.TEN));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleTemplate(route, departure, duration,
+                EnumSet.of(DayOfWeek.MONDAY), seasonStart, seasonEnd, null, 50, new BigDecimal("-1")));
+    }
+}
@@ -1,6 +1,7 @@
 package Panel;
 
 import DAO.TicketDAO;
+import DAO.UpdateResult;
 import Models.Enums.BenefitType;
 import Models.Enums.FlightStatus;
 import Models.Enums.TicketStatus;
@@ -209,7 +210,7 @@ class BookingsManagementPanelTest {
         bookingsPanel.bookingsTable.setRowSelectionInterval(0, 0);
         assertTrue(bookingsPanel.btnSellTicket.isEnabled());
 
-        when(mockTicketDAO.updateTicketStatus(eq(ticket1BookedFuture.getId()), eq(TicketStatus.SOLD), any(LocalDateTime.class))).thenReturn(true);
+        when(mockTicketDAO.updateTicketStatus(eq(ticket1BookedFuture.getId()), eq(TicketStatus.SOLD), any(LocalDateTime.class))).thenReturn(UpdateResult.UPDATED);
         when(mockTicketDAO.getAllTickets((TicketStatus) bookingsPanel.cmbStatusFilter.getSelectedItem())).thenReturn(Collections.emptyList());
 
         bookingsPanel.btnSellTicket.doClick();
@@ -242,7 +243,7 @@ class BookingsManagementPanelTest {
         bookingsPanel.bookingsTableModel.setTickets(Collections.singletonList(ticket1BookedFuture));
         bookingsPanel.bookingsTable.setRowSelectionInterval(0, 0);
 
-        when(mockTicketDAO.updateTicketStatus(eq(ticket1BookedFuture.getId()), eq(TicketStatus.SOLD), any(LocalDateTime.class))).thenReturn(false);
+        when(mockTicketDAO.updateTicketStatus(eq(ticket1BookedFuture.getId()), eq(TicketStatus.SOLD), any(LocalDateTime.class))).thenReturn(UpdateResult.NOT_FOUND);
 
         bookingsPanel.btnSellTicket.doClick();
 
@@ -289,7 +290,7 @@ class BookingsManagementPanelTest {
         bookingsPanel.bookingsTable.setRowSelectionInterval(0, 0);
         assertTrue(bookingsPanel.btnCancelBookingTicket.isEnabled());
 
-        when(mockTicketDAO.updateTicketStatus(eq(ticket1BookedFuture.getId()), eq(TicketStatus.CANCELLED), eq(null))).thenReturn(true);
+        when(mockTicketDAO.updateTicketStatus(eq(ticket1BookedFuture.getId()), eq(TicketStatus.CANCELLED), eq(null))).thenReturn(UpdateResult.UPDATED);
         when(mockTicketDAO.getAllTickets((TicketStatus) bookingsPanel.cmbStatusFilter.getSelectedItem())).thenReturn(Collections.emptyList());
 
         bookingsPanel.btnCancelBookingTicket.doClick();
@@ -310,7 +311,7 @@ class BookingsManagementPanelTest {
 
         assertTrue(bookingsPanel.btnCancelBookingTicket.isEnabled(), "Cancel button should be enabled for a sold ticket on a future, planned flight.");
 
-        when(mockTicketDAO.updateTicketStatus(eq(ticket2SoldFuture.getId()), eq(TicketStatus.CANCELLED), eq(null))).thenReturn(true);
+        when(mockTicketDAO.updateTicketStatus(eq(ticket2SoldFuture.getId()), eq(TicketStatus.CANCELLED), eq(null))).thenReturn(UpdateResult.UPDATED);
         when(mockTicketDAO.getAllTickets((TicketStatus) bookingsPanel.cmbStatusFilter.getSelectedItem())).thenReturn(Collections.emptyList());
 
         bookingsPanel.btnCancelBookingTicket.doClick();
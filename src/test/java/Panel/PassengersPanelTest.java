@@ -67,7 +67,7 @@ public class PassengersPanelTest extends AssertJSwingJUnitTestCase {
 
         try {
 
-            when(mockPassengerDAO.getAllPassengers()).thenReturn(Arrays.asList(passenger1, passenger2));
+            when(mockPassengerDAO.searchPassengers("", 0, 50)).thenReturn(Arrays.asList(passenger1, passenger2));
 
             when(mockTicketDAO.getTicketsByPassengerId(passenger1.getId())).thenReturn(Arrays.asList(ticket1_p1, ticket2_p1));
             when(mockTicketDAO.getTicketsByPassengerId(passenger2.getId())).thenReturn(Collections.singletonList(ticket3_p2));
@@ -102,7 +102,7 @@ public class PassengersPanelTest extends AssertJSwingJUnitTestCase {
         JTableFixture historyTable = window.table("historyTable");
         historyTable.requireRowCount(0);
 
-        verify(mockPassengerDAO, times(1)).getAllPassengers();
+        verify(mockPassengerDAO, times(1)).searchPassengers("", 0, 50);
     }
 
     @Test
@@ -151,7 +151,7 @@ public class PassengersPanelTest extends AssertJSwingJUnitTestCase {
         passengersTable.requireRowCount(2);
 
 
-        when(mockPassengerDAO.getAllPassengers()).thenReturn(Collections.singletonList(newPassenger));
+        when(mockPassengerDAO.searchPassengers("", 0, 50)).thenReturn(Collections.singletonList(newPassenger));
 
         window.button("btnRefreshPassengers").click();
 
@@ -159,7 +159,7 @@ public class PassengersPanelTest extends AssertJSwingJUnitTestCase {
         passengersTable.requireCellValue(TableCell.row(0).column(1), newPassenger.getFullName());
 
 
-        verify(mockPassengerDAO, times(2)).getAllPassengers();
+        verify(mockPassengerDAO, times(2)).searchPassengers("", 0, 50);
     }
 
     @Test
@@ -223,7 +223,7 @@ public class PassengersPanelTest extends AssertJSwingJUnitTestCase {
     @Test
     public void testLoadPassengersData_HandlesSQLException() throws SQLException {
 
-        when(mockPassengerDAO.getAllPassengers()).thenThrow(new SQLException("Test DB error loading passengers"));
+        when(mockPassengerDAO.searchPassengers("", 0, 50)).thenThrow(new SQLException("Test DB error loading passengers"));
 
         window.button("btnRefreshPassengers").click();
 
@@ -234,7 +234,7 @@ public class PassengersPanelTest extends AssertJSwingJUnitTestCase {
         assertThat(messageText).contains("Test DB error loading passengers");
         optionPane.okButton().click();
 
-        verify(mockPassengerDAO, times(2)).getAllPassengers();
+        verify(mockPassengerDAO, times(2)).searchPassengers("", 0, 50);
     }
 
     @Test
@@ -6,6 +6,7 @@ import Models.Enums.FlightStatus;
 import Models.Enums.TicketStatus;
 import Models.Flight;
 import Models.Route;
+import Services.ReportResultCache;
 import UI.Panel.ReportsPanel;
 import org.assertj.swing.data.TableCell;
 import org.assertj.swing.edt.GuiActionRunner;
@@ -32,7 +33,10 @@ import java.util.regex.Pattern;
 import static UI.Panel.ReportsPanel.TABLE_DATE_TIME_FORMATTER;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ReportsPanelTest extends AssertJSwingJUnitTestCase {
@@ -67,6 +71,7 @@ public class ReportsPanelTest extends AssertJSwingJUnitTestCase {
 
         mockTicketDAO = mock(TicketDAO.class);
         mockFlightDAO = mock(FlightDAO.class);
+        ReportResultCache.getInstance().clear();
 
         ReportsPanel panel = GuiActionRunner.execute(() -> new ReportsPanel(mockTicketDAO, mockFlightDAO));
 
@@ -290,8 +295,9 @@ public class ReportsPanelTest extends AssertJSwingJUnitTestCase {
 
         List<Flight> flights = Arrays.asList(flight1, flight2);
         when(mockFlightDAO.getFlightsByDate(LocalDate.parse(reportDateStr))).thenReturn(flights);
-        when(mockFlightDAO.getOccupiedSeatsCount(101L)).thenReturn(25); // 50% load
-        when(mockFlightDAO.getOccupiedSeatsCount(102L)).thenReturn(30); // 100% load
+        flight1.setBookedCount(5);
+        flight1.setSoldCount(20); // 50% load
+        flight2.setSoldCount(30); // 100% load
 
         window.button("btnGenerateReport").click();
         Pause.pause(500);
@@ -373,7 +379,7 @@ public class ReportsPanelTest extends AssertJSwingJUnitTestCase {
     }
 
     @Test
-    public void testGenerateFlightLoadReport_GetOccupiedSeatsSQLException() throws SQLException {
+    public void testGenerateFlightLoadReport_UsesFlightCountersWithoutPerFlightQueries() throws SQLException {
         window.comboBox("cmbReportType").selectItem(REPORT_TYPE_LOAD);
         String reportDateStr = "2023-09-01";
         window.textBox("txtReportDate").setText(reportDateStr);
@@ -382,11 +388,12 @@ public class ReportsPanelTest extends AssertJSwingJUnitTestCase {
         Flight flight1 = new Flight(201L, route1, LocalDateTime.of(2023, 9, 1, 14, 0), LocalDateTime.of(2023, 9, 1, 16, 0), 40, FlightStatus.PLANNED, "Setra", new BigDecimal("150"));
 
         when(mockFlightDAO.getFlightsByDate(LocalDate.parse(reportDateStr))).thenReturn(Collections.singletonList(flight1));
-        when(mockFlightDAO.getOccupiedSeatsCount(201L)).thenThrow(new SQLException("DB error fetching occupied seats"));
 
         window.button("btnGenerateReport").click();
         Pause.pause(200);
 
+        verify(mockFlightDAO, never()).getOccupiedSeatsCount(anyLong());
+
         JTableFixture table = window.table("reportTable");
         table.requireRowCount(1);
         table.cell(TableCell.row(0).column(LOAD_COL_ID)).requireValue(String.valueOf(flight1.getId()));
@@ -0,0 +1,132 @@
+package Services;
+
+import DAO.ChangeLogDAO;
+import DAO.PassengerDAO;
+import Events.EntityChangeEvent;
+import Events.EventBus;
+import Events.FlightChanged;
+import Events.PassengerUpdated;
+import Events.TicketStatusChanged;
+import Models.ChangeLogEntry;
+import Models.Enums.BenefitType;
+import Models.Enums.TicketStatus;
+import Models.Passenger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeLogPollerTest {
+
+    @Mock
+    private ChangeLogDAO mockChangeLogDAO;
+    @Mock
+    private PassengerDAO mockPassengerDAO;
+    @Mock
+    private EventBus mockEventBus;
+
+    private ChangeLogPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        poller = new ChangeLogPoller(mockChangeLogDAO, mockPassengerDAO, mockEventBus, 1000, 0);
+    }
+
+    private static ChangeLogEntry entry(long seq, ChangeLogEntry.EntityType type, long entityId, String changeType,
+                                        long flightId, String status) {
+        return new ChangeLogEntry(seq, type, entityId, changeType, flightId, status, null);
+    }
+
+    @Test
+    void firstPoll_onlyRemembersLatestSequence() throws SQLException {
+        when(mockChangeLogDAO.getLatestSequence()).thenReturn(50L);
+
+        assertEquals(0, poller.pollOnce());
+
+        assertEquals(50L, poller.getLastSequence());
+        verify(mockChangeLogDAO, never()).getChangesAfter(anyLong(), any(), anyInt());
+        verifyNoInteractions(mockEventBus);
+    }
+
+    @Test
+    void poll_passengerEntries_loadsPassengersWithOneQuery() throws SQLException {
+        when(mockChangeLogDAO.getLatestSequence()).thenReturn(10L);
+        Passenger first = new Passenger(7L, "Іван Петренко", "АА123456", "Паспорт", null, null, BenefitType.NONE);
+        Passenger second = new Passenger(8L, "Олена Коваль", "ВВ654321", "Паспорт", null, null, BenefitType.NONE);
+        when(mockPassengerDAO.findByIds(Set.of(7L, 8L, 9L))).thenReturn(Map.of(7L, first, 8L, second));
+        when(mockChangeLogDAO.getChangesAfter(eq(10L), any(), eq(ChangeLogPoller.BATCH_SIZE))).thenReturn(List.of(
+                entry(11, ChangeLogEntry.EntityType.PASSENGER, 7L, "CREATED", 0L, null),
+                entry(12, ChangeLogEntry.EntityType.PASSENGER, 8L, "UPDATED", 0L, null),
+                entry(13, ChangeLogEntry.EntityType.PASSENGER, 7L, "UPDATED", 0L, null),
+                entry(14, ChangeLogEntry.EntityType.PASSENGER, 9L, "UPDATED", 0L, null)));
+
+        poller.pollOnce();
+        assertEquals(4, poller.pollOnce());
+
+        verify(mockPassengerDAO).findByIds(anyCollection());
+        verify(mockPassengerDAO, never()).findById(anyLong());
+        // Пасажира 9 вже немає в БД - подія для нього не публікується.
+        verify(mockEventBus, times(3)).publish(any(PassengerUpdated.class));
+    }
+
+    @Test
+    void poll_publishesEventsAndAdvancesSequence() throws SQLException {
+        when(mockChangeLogDAO.getLatestSequence()).thenReturn(10L);
+        Passenger passenger = new Passenger(7L, "Іван Петренко", "АА123456", "Паспорт", null, null, BenefitType.NONE);
+        when(mockPassengerDAO.findByIds(Set.of(7L))).thenReturn(Map.of(7L, passenger));
+        when(mockChangeLogDAO.getChangesAfter(eq(10L), any(), eq(ChangeLogPoller.BATCH_SIZE))).thenReturn(List.of(
+                entry(11, ChangeLogEntry.EntityType.FLIGHT, 3L, "STATUS_CHANGED", 3L, "CANCELLED"),
+                entry(12, ChangeLogEntry.EntityType.TICKET, 100L, "CREATED", 3L, "BOOKED"),
+                entry(13, ChangeLogEntry.EntityType.PASSENGER, 7L, "UPDATED", 0L, null)));
+
+        poller.pollOnce();
+        assertEquals(3, poller.pollOnce());
+
+        ArgumentCaptor<EntityChangeEvent> captor = ArgumentCaptor.forClass(EntityChangeEvent.class);
+        verify(mockEventBus, times(3)).publish(captor.capture());
+        FlightChanged flight = (FlightChanged) captor.getAllValues().get(0);
+        assertEquals(3L, flight.getFlightId());
+        assertEquals(FlightChanged.Kind.STATUS_CHANGED, flight.getKind());
+        TicketStatusChanged ticket = (TicketStatusChanged) captor.getAllValues().get(1);
+        assertEquals(100L, ticket.getTicketId());
+        assertEquals(3L, ticket.getFlightId());
+        assertEquals(TicketStatus.BOOKED, ticket.getNewStatus());
+        assertTrue(ticket.isCreated());
+        assertEquals(7L, ((PassengerUpdated) captor.getAllValues().get(2)).getPassengerId());
+        assertEquals(13L, poller.getLastSequence());
+        assertEquals(0, poller.getPendingGapCount());
+    }
+
+    @Test
+    void poll_sequenceGap_isRequeriedUntilLateCommitArrives() throws SQLException {
+        when(mockChangeLogDAO.getLatestSequence()).thenReturn(10L);
+        when(mockChangeLogDAO.getChangesAfter(anyLong(), any(), anyInt()))
+                .thenReturn(List.of(entry(13, ChangeLogEntry.EntityType.ROUTE, 2L, "CREATED", 0L, null)))
+                .thenReturn(List.of(entry(11, ChangeLogEntry.EntityType.FLIGHT, 4L, "CREATED", 4L, "PLANNED")));
+
+        poller.pollOnce();
+        poller.pollOnce();
+        assertEquals(13L, poller.getLastSequence());
+        assertEquals(2, poller.getPendingGapCount());
+
+        poller.pollOnce();
+        assertEquals(13L, poller.getLastSequence());
+        assertEquals(1, poller.getPendingGapCount());
+
+        verify(mockChangeLogDAO).getChangesAfter(eq(10L), any(), anyInt());
+        verify(mockChangeLogDAO).getChangesAfter(eq(13L), any(), anyInt());
+        verify(mockEventBus, times(2)).publish(any());
+    }
+}
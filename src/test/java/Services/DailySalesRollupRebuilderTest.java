@@ -0,0 +1,58 @@
+package Services;
+
+import DAO.DailyRouteSalesDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailySalesRollupRebuilderTest {
+
+    @Mock
+    private DailyRouteSalesDAO mockDailyRouteSalesDAO;
+
+    private DailySalesRollupRebuilder rebuilder;
+
+    @BeforeEach
+    void setUp() {
+        rebuilder = new DailySalesRollupRebuilder(mockDailyRouteSalesDAO);
+    }
+
+    @Test
+    void rebuild_splitsRangeIntoCalendarMonths() throws SQLException {
+        when(mockDailyRouteSalesDAO.rebuild(any(LocalDate.class), any(LocalDate.class))).thenReturn(10);
+
+        int rows = rebuilder.rebuild(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 3, 5));
+
+        assertEquals(30, rows);
+        InOrder inOrder = inOrder(mockDailyRouteSalesDAO);
+        inOrder.verify(mockDailyRouteSalesDAO).rebuild(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 31));
+        inOrder.verify(mockDailyRouteSalesDAO).rebuild(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        inOrder.verify(mockDailyRouteSalesDAO).rebuild(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 5));
+        verifyNoMoreInteractions(mockDailyRouteSalesDAO);
+    }
+
+    @Test
+    void rebuildAll_noSales_doesNothing() throws SQLException {
+        when(mockDailyRouteSalesDAO.getFirstSaleDate()).thenReturn(Optional.empty());
+
+        assertEquals(0, rebuilder.rebuildAll(LocalDate.of(2024, 6, 1)));
+        verify(mockDailyRouteSalesDAO, never()).rebuild(any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void constructor_nullDao_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new DailySalesRollupRebuilder(null));
+    }
+}
@@ -0,0 +1,52 @@
+package Services;
+
+import DAO.ArchiveDAO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightArchiverTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private ArchiveDAO mockArchiveDAO;
+
+    @Test
+    void archive_repeatsFullBatchesUntilPartialBatch() throws SQLException {
+        when(mockArchiveDAO.archiveBatch(CUTOFF, 10)).thenReturn(10, 10, 3);
+        FlightArchiver archiver = new FlightArchiver(mockArchiveDAO, 180, 10, 0, 24);
+
+        assertEquals(23, archiver.archive(CUTOFF));
+
+        verify(mockArchiveDAO, times(3)).archiveBatch(CUTOFF, 10);
+    }
+
+    @Test
+    void archive_nothingToArchive_runsOneBatch() throws SQLException {
+        when(mockArchiveDAO.archiveBatch(CUTOFF, 10)).thenReturn(0);
+        FlightArchiver archiver = new FlightArchiver(mockArchiveDAO, 180, 10, 0, 24);
+
+        assertEquals(0, archiver.archive(CUTOFF));
+
+        verify(mockArchiveDAO, times(1)).archiveBatch(CUTOFF, 10);
+    }
+
+    @Test
+    void archive_batchFails_propagatesAfterCommittedBatches() throws SQLException {
+        when(mockArchiveDAO.archiveBatch(CUTOFF, 10)).thenReturn(10).thenThrow(new SQLException("Lock wait timeout"));
+        FlightArchiver archiver = new FlightArchiver(mockArchiveDAO, 180, 10, 0, 24);
+
+        assertThrows(SQLException.class, () -> archiver.archive(CUTOFF));
+
+        verify(mockArchiveDAO, times(2)).archiveBatch(CUTOFF, 10);
+    }
+}
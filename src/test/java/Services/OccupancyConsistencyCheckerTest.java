@@ -0,0 +1,71 @@
+package Services;
+
+import DAO.FlightDAO;
+import Events.EventBus;
+import Events.FlightChanged;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyConsistencyCheckerTest {
+
+    @Mock
+    private FlightDAO mockFlightDAO;
+    @Mock
+    private EventBus mockEventBus;
+
+    private OccupancyConsistencyChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        checker = new OccupancyConsistencyChecker(mockFlightDAO, mockEventBus, 60);
+    }
+
+    @Test
+    void checkAndRepair_noDrift_doesNotRecount() throws SQLException {
+        LocalDate from = LocalDate.of(2024, 5, 1);
+        when(mockFlightDAO.findOccupancyDrift(from.atStartOfDay())).thenReturn(Collections.emptyList());
+
+        assertEquals(0, checker.checkAndRepair(from));
+
+        verify(mockFlightDAO, never()).recountOccupancy(anyCollection());
+        verifyNoInteractions(mockEventBus);
+    }
+
+    @Test
+    void checkAndRepair_driftFound_recountsAndPublishesFlightChanges() throws SQLException {
+        LocalDate from = LocalDate.of(2024, 5, 1);
+        List<Long> drifted = List.of(11L, 12L);
+        when(mockFlightDAO.findOccupancyDrift(from.atStartOfDay())).thenReturn(drifted);
+        when(mockFlightDAO.recountOccupancy(drifted)).thenReturn(2);
+
+        assertEquals(2, checker.checkAndRepair(from));
+
+        ArgumentCaptor<FlightChanged> captor = ArgumentCaptor.forClass(FlightChanged.class);
+        verify(mockEventBus, times(2)).publish(captor.capture());
+        assertEquals(11L, captor.getAllValues().get(0).getFlightId());
+        assertEquals(FlightChanged.Kind.UPDATED, captor.getAllValues().get(1).getKind());
+    }
+
+    @Test
+    void checkAndRepair_sqlException_isRethrown() throws SQLException {
+        when(mockFlightDAO.findOccupancyDrift(any())).thenThrow(new SQLException("DB down"));
+
+        assertThrows(SQLException.class, () -> checker.checkAndRepair(LocalDate.of(2024, 5, 1)));
+        verifyNoInteractions(mockEventBus);
+    }
+}
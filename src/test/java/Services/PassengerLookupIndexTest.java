@@ -0,0 +1,95 @@
+package Services;
+
+import DAO.PassengerDAO;
+import Models.Enums.BenefitType;
+import Models.Passenger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PassengerLookupIndexTest {
+
+    @Mock
+    private PassengerDAO mockPassengerDAO;
+
+    private PassengerLookupIndex index;
+    private Passenger ivan;
+    private Passenger maria;
+
+    @BeforeEach
+    void setUp() {
+        index = new PassengerLookupIndex();
+        ivan = new Passenger(1L, "Іван Петренко", "АА 123456", "Паспорт", "+38 (050) 123-45-67", "ivan@example.com", BenefitType.NONE);
+        maria = new Passenger(2L, "Марія Коваленко", "ВВ654321", "ID-картка", "0978765432", null, BenefitType.STUDENT);
+    }
+
+    @Test
+    void suggest_matchesNormalisedDocumentPhoneAndNamePrefixes() {
+        index.put(ivan);
+        index.put(maria);
+
+        assertEquals(List.of(1L), ids(index.suggest("аа1234", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("38050", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("097", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("  іВАН  пет", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("Ковал", 10)));
+        assertTrue(index.suggest("Х", 10).isEmpty());
+        assertTrue(index.suggest("Сидоренко", 10).isEmpty());
+    }
+
+    @Test
+    void put_existingPassenger_replacesOldKeys() {
+        index.put(ivan);
+        ivan.setFullName("Іван Сидоренко");
+        index.put(ivan);
+
+        assertEquals(1, index.size());
+        assertTrue(index.suggest("Петренко", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.suggest("Сидор", 10)));
+    }
+
+    @Test
+    void suggest_respectsLimit() {
+        for (long id = 1; id <= 20; id++) {
+            index.put(new Passenger(id, "Олена Шевченко " + id, "КК" + id, "Паспорт", null, null, BenefitType.NONE));
+        }
+        assertEquals(5, index.suggest("Олена", 5).size());
+    }
+
+    @Test
+    void remove_dropsPassengerFromAllKeys() {
+        index.put(ivan);
+        index.remove(ivan.getId());
+
+        assertEquals(0, index.size());
+        assertTrue(index.suggest("Іван", 10).isEmpty());
+        assertTrue(index.suggest("АА12", 10).isEmpty());
+    }
+
+    @Test
+    void loadIncrementally_readsPagesUsingKeysetPagination() throws SQLException {
+        when(mockPassengerDAO.getPassengersPage(0L, 1)).thenReturn(List.of(ivan));
+        when(mockPassengerDAO.getPassengersPage(1L, 1)).thenReturn(List.of(maria));
+        when(mockPassengerDAO.getPassengersPage(2L, 1)).thenReturn(Collections.emptyList());
+
+        index.loadIncrementally(mockPassengerDAO, 1);
+
+        assertTrue(index.isLoaded());
+        assertEquals(2, index.size());
+        verify(mockPassengerDAO, times(3)).getPassengersPage(anyLong(), eq(1));
+    }
+
+    private static List<Long> ids(List<Passenger> passengers) {
+        return passengers.stream().map(Passenger::getId).collect(java.util.stream.Collectors.toList());
+    }
+}
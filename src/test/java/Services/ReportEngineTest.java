@@ -0,0 +1,126 @@
+package Services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportEngineTest {
+
+    private ReportEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ReportEngine(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void splitByMonth_splitsOnCalendarMonthBoundaries() {
+        List<ReportEngine.DateChunk> chunks = ReportEngine.splitByMonth(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 3, 5));
+
+        assertEquals(3, chunks.size());
+        assertEquals(LocalDate.of(2024, 1, 20), chunks.get(0).getFrom());
+        assertEquals(LocalDate.of(2024, 1, 31), chunks.get(0).getTo());
+        assertEquals(LocalDate.of(2024, 2, 29), chunks.get(1).getTo());
+        assertEquals(LocalDate.of(2024, 3, 1), chunks.get(2).getFrom());
+        assertEquals(LocalDate.of(2024, 3, 5), chunks.get(2).getTo());
+    }
+
+    @Test
+    void splitByMonth_startAfterEnd_returnsEmptyList() {
+        assertTrue(ReportEngine.splitByMonth(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)).isEmpty());
+    }
+
+    @Test
+    void run_mergesAllChunksAndReportsProgress() throws Exception {
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+
+        int total = engine.run(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30), 0,
+                (from, to) -> to.getDayOfMonth(), Integer::sum,
+                (merged, completed, chunks) -> progress.add(completed));
+
+        assertEquals(31 + 29 + 31 + 30, total);
+        assertEquals(List.of(1, 2, 3, 4), progress);
+    }
+
+    @Test
+    void run_limitsConcurrentChunksToParallelism() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        engine.run(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 30), 0, (from, to) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return 1;
+        }, Integer::sum, null);
+
+        assertTrue(maxRunning.get() <= 2, "Одночасно виконувалося " + maxRunning.get() + " частин");
+    }
+
+    @Test
+    void run_chunkFails_rethrowsSqlException() {
+        SQLException failure = new SQLException("DB error");
+
+        SQLException thrown = assertThrows(SQLException.class, () -> engine.run(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), 0,
+                (from, to) -> {
+                    if (from.getMonthValue() == 2) {
+                        throw failure;
+                    }
+                    return 1;
+                }, Integer::sum, null));
+
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    void run_callingThreadInterrupted_cancelsRunningChunks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch chunkInterrupted = new CountDownLatch(1);
+        AtomicReference<Throwable> result = new AtomicReference<>();
+
+        Thread caller = new Thread(() -> {
+            try {
+                engine.run(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 0, (from, to) -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        chunkInterrupted.countDown();
+                    }
+                    return 0;
+                }, Integer::sum, null);
+            } catch (Exception e) {
+                result.set(e);
+            }
+        });
+        caller.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        caller.interrupt();
+        caller.join(5_000);
+
+        assertInstanceOf(InterruptedException.class, result.get());
+        assertTrue(chunkInterrupted.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,129 @@
+package Services;
+
+import Events.TicketStatusChanged;
+import Models.Enums.TicketStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportResultCacheTest {
+
+    private ReportResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReportResultCache(2);
+    }
+
+    @Test
+    void get_sameVersion_returnsStoredValue() {
+        String key = ReportResultCache.key("SALES_BY_ROUTE", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        long version = cache.salesVersion(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        cache.put(key, version, "result");
+
+        assertEquals("result", cache.get(key, version, String.class));
+        assertNull(cache.get(key, version, Integer.class));
+    }
+
+    @Test
+    void put_resultsReadFromReplica_areNotCached() {
+        ReportResultCache replicaCache = new ReportResultCache(2, true);
+        String key = ReportResultCache.key("FLIGHT_LOAD", LocalDate.of(2024, 1, 1));
+        long version = replicaCache.occupancyVersion();
+        replicaCache.put(key, version, "result");
+
+        assertNull(replicaCache.get(key, version, String.class));
+    }
+
+    @Test
+    void saleInCoveredMonth_invalidatesOnlyReportsCoveringThatMonth() {
+        LocalDate janStart = LocalDate.of(2024, 1, 1);
+        LocalDate janEnd = LocalDate.of(2024, 1, 31);
+        LocalDate marStart = LocalDate.of(2024, 3, 1);
+        LocalDate marEnd = LocalDate.of(2024, 3, 31);
+        long januaryBefore = cache.salesVersion(janStart, janEnd);
+        long marchBefore = cache.salesVersion(marStart, marEnd);
+
+        cache.onTicketChanged(new TicketStatusChanged(1L, 0, TicketStatus.CANCELLED, false, LocalDate.of(2024, 3, 10)));
+
+        assertEquals(januaryBefore, cache.salesVersion(janStart, janEnd));
+        assertNotEquals(marchBefore, cache.salesVersion(marStart, marEnd));
+        assertNotEquals(marchBefore, cache.salesVersion(janStart, marEnd));
+    }
+
+    @Test
+    void booking_changesOccupancyVersionButNotSales() {
+        LocalDate today = LocalDate.now();
+        long salesBefore = cache.salesVersion(today, today);
+        long occupancyBefore = cache.occupancyVersion();
+
+        cache.onTicketChanged(new TicketStatusChanged(1L, 5L, TicketStatus.BOOKED, true));
+
+        assertEquals(salesBefore, cache.salesVersion(today, today));
+        assertNotEquals(occupancyBefore, cache.occupancyVersion());
+    }
+
+    @Test
+    void saleWithoutDate_invalidatesCurrentMonth() {
+        LocalDate today = LocalDate.now();
+        long before = cache.salesVersion(today, today);
+
+        cache.onTicketChanged(new TicketStatusChanged(1L, 5L, TicketStatus.SOLD, false));
+
+        assertNotEquals(before, cache.salesVersion(today, today));
+    }
+
+    @Test
+    void cancellationFromAnotherWorkstation_invalidatesClosedMonths() {
+        LocalDate janStart = LocalDate.of(2024, 1, 1);
+        LocalDate janEnd = LocalDate.of(2024, 1, 31);
+        String key = ReportResultCache.key("SALES_BY_ROUTE", janStart, janEnd);
+        cache.put(key, cache.salesVersion(janStart, janEnd), "january");
+
+        // Подія ChangeLogPoller не містить дати покупки квитка.
+        cache.onTicketChanged(new TicketStatusChanged(1L, 5L, TicketStatus.CANCELLED, false));
+
+        assertNull(cache.get(key, cache.salesVersion(janStart, janEnd), String.class));
+    }
+
+    @Test
+    void put_overCapacity_evictsLeastRecentlyUsed() {
+        cache.put("a", 0, "A");
+        cache.put("b", 0, "B");
+        cache.get("a", 0, String.class);
+
+        cache.put("c", 0, "C");
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get("a", 0, String.class));
+        assertNull(cache.get("b", 0, String.class));
+        assertEquals("C", cache.get("c", 0, String.class));
+    }
+
+    @Test
+    void get_staleVersion_returnsNullAndDropsEntry() {
+        cache.put("a", 0, "A");
+
+        assertNull(cache.get("a", 1, String.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_countsHitsAndMisses_invalidateAllKeepsVersions() {
+        cache.put("a", 3, "A");
+
+        cache.get("a", 3, String.class);
+        cache.get("b", 3, String.class);
+        cache.invalidateAll();
+        cache.get("a", 3, String.class);
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.size());
+        cache.put("a", 3, "A");
+        assertEquals("A", cache.get("a", 3, String.class));
+    }
+}
@@ -0,0 +1,112 @@
+package Services;
+
+import DAO.FlightDAO;
+import Models.Enums.FlightStatus;
+import Models.Flight;
+import Models.Route;
+import Models.ScheduleTemplate;
+import Models.Stop;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleGeneratorTest {
+
+    @Mock
+    private FlightDAO mockFlightDAO;
+
+    private ScheduleGenerator generator;
+    private ScheduleTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        generator = new ScheduleGenerator(mockFlightDAO);
+        Route route = new Route(5L, new Stop(1L, "Київ", "Центральний"), new Stop(2L, "Житомир", "АС-1"), Collections.emptyList());
+        // 2024-06-03 - понеділок; сезон охоплює два тижні.
+        template = new ScheduleTemplate(route, LocalTime.of(7, 15), Duration.ofMinutes(150),
+                EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 16),
+                "Setra", 45, new BigDecimal("200.00"));
+    }
+
+    @Test
+    void constructor_nullDao_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleGenerator(null));
+    }
+
+    @Test
+    void expand_createsFlightsOnlyForSelectedWeekdays() {
+        List<Flight> flights = generator.expand(template);
+
+        assertEquals(4, flights.size());
+        assertEquals(LocalDateTime.of(2024, 6, 3, 7, 15), flights.get(0).getDepartureDateTime());
+        assertEquals(LocalDateTime.of(2024, 6, 3, 9, 45), flights.get(0).getArrivalDateTime());
+        assertEquals(LocalDateTime.of(2024, 6, 12, 7, 15), flights.get(3).getDepartureDateTime());
+        for (Flight flight : flights) {
+            assertEquals(0L, flight.getId());
+            assertEquals(FlightStatus.PLANNED, flight.getStatus());
+            assertEquals(45, flight.getTotalSeats());
+            assertEquals("Setra", flight.getBusModel());
+        }
+        verifyNoInteractions(mockFlightDAO);
+    }
+
+    @Test
+    void generate_skipsConflictsAndInsertsRestInOneBatch() throws SQLException {
+        LocalDateTime conflict = LocalDateTime.of(2024, 6, 5, 7, 15);
+        when(mockFlightDAO.getDepartureTimesForRoute(5L, LocalDateTime.of(2024, 6, 3, 7, 15), LocalDateTime.of(2024, 6, 12, 7, 15)))
+                .thenReturn(Set.of(conflict));
+        when(mockFlightDAO.addFlights(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        ScheduleGenerator.GenerationResult result = generator.generate(template);
+
+        assertEquals(3, result.getCreatedFlights().size());
+        assertEquals(List.of(conflict), result.getSkippedConflicts());
+        assertTrue(result.getCreatedFlights().stream().noneMatch(f -> f.getDepartureDateTime().equals(conflict)));
+        verify(mockFlightDAO, times(1)).getDepartureTimesForRoute(anyLong(), any(), any());
+        verify(mockFlightDAO, times(1)).addFlights(result.getCreatedFlights());
+    }
+
+    @Test
+    void generate_allConflicting_doesNotCallBatchInsert() throws SQLException {
+        Set<LocalDateTime> existing = Set.of(
+                LocalDateTime.of(2024, 6, 3, 7, 15), LocalDateTime.of(2024, 6, 5, 7, 15),
+                LocalDateTime.of(2024, 6, 10, 7, 15), LocalDateTime.of(2024, 6, 12, 7, 15));
+        when(mockFlightDAO.getDepartureTimesForRoute(anyLong(), any(), any())).thenReturn(existing);
+
+        ScheduleGenerator.GenerationResult result = generator.generate(template);
+
+        assertTrue(result.getCreatedFlights().isEmpty());
+        assertEquals(4, result.getSkippedConflicts().size());
+        verify(mockFlightDAO, never()).addFlights(anyList());
+    }
+
+    @Test
+    void generate_batchInsertFails_propagatesSQLException() throws SQLException {
+        when(mockFlightDAO.getDepartureTimesForRoute(anyLong(), any(), any())).thenReturn(Collections.emptySet());
+        when(mockFlightDAO.addFlights(anyList())).thenThrow(new SQLException("Batch failed"));
+
+        SQLException ex = assertThrows(SQLException.class, () -> generator.generate(template));
+        assertEquals("Batch failed", ex.getMessage());
+    }
+}
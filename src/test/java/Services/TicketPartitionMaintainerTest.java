@@ -0,0 +1,132 @@
+package Services;
+
+import DAO.TicketPartitionDAO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketPartitionMaintainerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Mock
+    private TicketPartitionDAO mockPartitionDAO;
+    @Mock
+    private Connection mockConnection;
+
+    private static TicketPartitionDAO.Partition partition(String name, LocalDate upperBound) {
+        return new TicketPartitionDAO.Partition(name, upperBound);
+    }
+
+    private void lockAcquired() throws SQLException {
+        when(mockPartitionDAO.runLocked(any())).thenAnswer(invocation ->
+                invocation.<TicketPartitionDAO.LockedWork>getArgument(0).run(mockConnection));
+    }
+
+    @Test
+    void maintain_addsMonthsUpToAheadAndDropsEmptyExpiredPartitions() throws SQLException {
+        lockAcquired();
+        when(mockPartitionDAO.getPartitions(mockConnection)).thenReturn(List.of(
+                partition("p_history", LocalDate.of(2025, 9, 1)),
+                partition("p202509", LocalDate.of(2025, 10, 1)),
+                partition("p202510", LocalDate.of(2025, 11, 1)),
+                partition("p202610", LocalDate.of(2026, 11, 1)),
+                partition("p_future", null)));
+        when(mockPartitionDAO.isPartitionEmpty(mockConnection, "p_future")).thenReturn(true);
+        when(mockPartitionDAO.isPartitionEmpty(mockConnection, "p_history")).thenReturn(true);
+        when(mockPartitionDAO.isPartitionEmpty(mockConnection, "p202509")).thenReturn(false);
+        TicketPartitionMaintainer maintainer = new TicketPartitionMaintainer(mockPartitionDAO, 2, 12, 24);
+
+        assertEquals(3, maintainer.maintain(TODAY));
+
+        verify(mockPartitionDAO).addMonthlyPartitions(mockConnection, List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12)));
+        verify(mockPartitionDAO).dropPartition(mockConnection, "p_history");
+        // Секція зі ще не архівованими квитками залишається; межа p202510 новіша за строк зберігання.
+        verify(mockPartitionDAO, never()).dropPartition(mockConnection, "p202509");
+        verify(mockPartitionDAO, never()).isPartitionEmpty(mockConnection, "p202510");
+    }
+
+    @Test
+    void maintain_partitionsUpToDate_changesNothing() throws SQLException {
+        lockAcquired();
+        when(mockPartitionDAO.getPartitions(mockConnection)).thenReturn(List.of(
+                partition("p202610", LocalDate.of(2026, 11, 1)),
+                partition("p202611", LocalDate.of(2026, 12, 1)),
+                partition("p_future", null)));
+        TicketPartitionMaintainer maintainer = new TicketPartitionMaintainer(mockPartitionDAO, 1, 12, 24);
+
+        assertEquals(0, maintainer.maintain(TODAY));
+
+        verify(mockPartitionDAO, never()).addMonthlyPartitions(any(), anyList());
+        verify(mockPartitionDAO, never()).dropPartition(any(), anyString());
+    }
+
+    @Test
+    void maintain_tableNotPartitioned_doesNothing() throws SQLException {
+        lockAcquired();
+        when(mockPartitionDAO.getPartitions(mockConnection)).thenReturn(Collections.emptyList());
+        TicketPartitionMaintainer maintainer = new TicketPartitionMaintainer(mockPartitionDAO, 3, 12, 24);
+
+        assertEquals(0, maintainer.maintain(TODAY));
+
+        verify(mockPartitionDAO, never()).addMonthlyPartitions(any(), anyList());
+    }
+
+    @Test
+    void maintain_noMaxValuePartition_doesNotAddPartitions() throws SQLException {
+        lockAcquired();
+        when(mockPartitionDAO.getPartitions(mockConnection)).thenReturn(List.of(partition("p202609", LocalDate.of(2026, 10, 1))));
+        TicketPartitionMaintainer maintainer = new TicketPartitionMaintainer(mockPartitionDAO, 3, 12, 24);
+
+        assertEquals(0, maintainer.maintain(TODAY));
+
+        verify(mockPartitionDAO, never()).addMonthlyPartitions(any(), anyList());
+    }
+
+    @Test
+    void maintain_futurePartitionHasTickets_doesNotReorganizeIt() throws SQLException {
+        lockAcquired();
+        when(mockPartitionDAO.getPartitions(mockConnection)).thenReturn(List.of(
+                partition("p202610", LocalDate.of(2026, 11, 1)),
+                partition("p_future", null)));
+        when(mockPartitionDAO.isPartitionEmpty(mockConnection, "p_future")).thenReturn(false);
+        TicketPartitionMaintainer maintainer = new TicketPartitionMaintainer(mockPartitionDAO, 1, 12, 24);
+
+        assertEquals(0, maintainer.maintain(TODAY));
+
+        verify(mockPartitionDAO, never()).addMonthlyPartitions(any(), anyList());
+    }
+
+    @Test
+    void maintain_lockHeldByAnotherWorkstation_skipsCheck() throws SQLException {
+        when(mockPartitionDAO.runLocked(any())).thenReturn(-1);
+        TicketPartitionMaintainer maintainer = new TicketPartitionMaintainer(mockPartitionDAO, 3, 12, 24);
+
+        assertEquals(0, maintainer.maintain(TODAY));
+
+        verify(mockPartitionDAO, never()).getPartitions(any());
+    }
+
+    @Test
+    void monthsToAdd_afterMigrationBaseline_coversCurrentAndAheadMonths() {
+        List<YearMonth> months = TicketPartitionMaintainer.monthsToAdd(List.of(
+                partition("p_history", LocalDate.of(2026, 1, 1)), partition("p_future", null)), LocalDate.of(2026, 3, 5), 1);
+
+        assertEquals(List.of(YearMonth.of(2026, 1), YearMonth.of(2026, 2), YearMonth.of(2026, 3), YearMonth.of(2026, 4)), months);
+    }
+}
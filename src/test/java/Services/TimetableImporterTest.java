@@ -0,0 +1,166 @@
+package Services;
+
+import DAO.FlightDAO;
+import DAO.RouteDAO;
+import DAO.StopDAO;
+import Models.Enums.FlightStatus;
+import Models.Flight;
+import Models.Route;
+import Models.Stop;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TimetableImporterTest {
+
+    private static final String HEADER = "route;departure;arrival;total_seats;bus_model;price_per_seat\n";
+
+    @Mock
+    private FlightDAO mockFlightDAO;
+    @Mock
+    private RouteDAO mockRouteDAO;
+    @Mock
+    private StopDAO mockStopDAO;
+
+    private Route kyivLviv;
+    private Route kyivOdesa;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Stop kyiv = new Stop(1L, "Центральний автовокзал", "Київ");
+        Stop lviv = new Stop(2L, "Стрийський", "Львів");
+        Stop odesa = new Stop(3L, "Привоз", "Одеса");
+        kyivLviv = new Route(10L, kyiv, lviv, Collections.emptyList());
+        kyivOdesa = new Route(11L, kyiv, odesa, Collections.emptyList());
+        when(mockStopDAO.getAllStops()).thenReturn(List.of(kyiv, lviv, odesa));
+        when(mockRouteDAO.getAllRoutes()).thenReturn(List.of(kyivLviv, kyivOdesa));
+        when(mockFlightDAO.getDepartureTimesForRoute(anyLong(), any(), any())).thenReturn(Collections.emptySet());
+        when(mockFlightDAO.addFlights(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+    }
+
+    @Test
+    void constructor_invalidArguments_throwIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TimetableImporter(null, mockRouteDAO, mockStopDAO, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TimetableImporter(mockFlightDAO, mockRouteDAO, mockStopDAO, 0));
+    }
+
+    @Test
+    void importFromCsv_validRows_resolvesRoutesByCitiesAndStopNames() throws Exception {
+        String csv = HEADER +
+                "Київ -> Львів;2024-07-01 08:00;2024-07-01 14:00;50;Neoplan;450.00\n" +
+                "\"Центральний автовокзал -> Привоз\";2024-07-01 09:00;2024-07-01 17:00;40;;520,50\n";
+        TimetableImporter importer = new TimetableImporter(mockFlightDAO, mockRouteDAO, mockStopDAO, 100);
+
+        TimetableImporter.ImportReport report = importer.importFromCsv(new StringReader(csv));
+
+        assertEquals(2, report.getTotalRows());
+        assertEquals(2, report.getImportedCount());
+        assertTrue(report.getErrors().isEmpty());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Flight>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockFlightDAO).addFlights(captor.capture());
+        List<Flight> inserted = captor.getValue();
+        assertEquals(kyivLviv, inserted.get(0).getRoute());
+        assertEquals(kyivOdesa, inserted.get(1).getRoute());
+        assertEquals(new BigDecimal("520.50"), inserted.get(1).getPricePerSeat());
+        assertEquals(FlightStatus.PLANNED, inserted.get(1).getStatus());
+    }
+
+    @Test
+    void importFromCsv_invalidRows_reportedWithLineNumbers() throws Exception {
+        String csv = HEADER +
+                "Київ -> Львів;2024-07-01 08:00;2024-07-01 14:00;50;Neoplan;450\n" +
+                "Київ -> Харків;2024-07-01 08:00;2024-07-01 14:00;50;Neoplan;450\n" +
+                "Київ -> Львів;2024-07-02 08:00;2024-07-02 07:00;50;Neoplan;450\n" +
+                "Київ -> Одеса;01.07.2024 08:00;2024-07-01 14:00;50;Neoplan;450\n" +
+                "Київ -> Одеса;2024-07-01 08:00;2024-07-01 14:00;багато;Neoplan;450\n" +
+                "Київ -> Львів;2024-07-01 08:00;2024-07-01 14:00;50;Neoplan;450\n";
+        TimetableImporter importer = new TimetableImporter(mockFlightDAO, mockRouteDAO, mockStopDAO, 100);
+
+        TimetableImporter.ImportReport report = importer.importFromCsv(new StringReader(csv));
+
+        assertEquals(6, report.getTotalRows());
+        assertEquals(1, report.getImportedCount());
+        List<Integer> lines = new ArrayList<>();
+        report.getErrors().forEach(e -> lines.add(e.getLineNumber()));
+        assertEquals(List.of(3, 4, 5, 6, 7), lines);
+        assertTrue(report.getErrors().get(0).getMessage().contains("Невідома зупинка 'Харків'"));
+        assertTrue(report.getErrors().get(4).getMessage().contains("Дублікат"));
+    }
+
+    @Test
+    void importFromCsv_existingFlight_reportedAsConflict() throws Exception {
+        when(mockFlightDAO.getDepartureTimesForRoute(eq(10L), any(), any()))
+                .thenReturn(Set.of(LocalDateTime.of(2024, 7, 1, 8, 0)));
+        String csv = HEADER +
+                "Київ -> Львів;2024-07-01 08:00;2024-07-01 14:00;50;Neoplan;450\n" +
+                "Київ -> Львів;2024-07-02 08:00;2024-07-02 14:00;50;Neoplan;450\n";
+        TimetableImporter importer = new TimetableImporter(mockFlightDAO, mockRouteDAO, mockStopDAO, 100);
+
+        TimetableImporter.ImportReport report = importer.importFromCsv(new StringReader(csv));
+
+        assertEquals(1, report.getImportedCount());
+        assertEquals(1, report.getErrors().size());
+        assertEquals(2, report.getErrors().get(0).getLineNumber());
+        verify(mockFlightDAO, times(1)).getDepartureTimesForRoute(anyLong(), any(), any());
+    }
+
+    @Test
+    void importFromCsv_insertsInConfiguredChunks_failedChunkReportedPerRow() throws Exception {
+        when(mockFlightDAO.addFlights(anyList()))
+                .thenReturn(2)
+                .thenThrow(new SQLException("Deadlock"))
+                .thenReturn(1);
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int day = 1; day <= 5; day++) {
+            csv.append(String.format("Київ -> Львів;2024-07-%02d 08:00;2024-07-%02d 14:00;50;Neoplan;450%n", day, day));
+        }
+        TimetableImporter importer = new TimetableImporter(mockFlightDAO, mockRouteDAO, mockStopDAO, 2);
+
+        TimetableImporter.ImportReport report = importer.importFromCsv(new StringReader(csv.toString()));
+
+        verify(mockFlightDAO, times(3)).addFlights(anyList());
+        assertEquals(3, report.getImportedCount());
+        assertEquals(2, report.getErrors().size());
+        assertEquals(4, report.getErrors().get(0).getLineNumber());
+        assertEquals(5, report.getErrors().get(1).getLineNumber());
+        assertTrue(report.getErrors().get(0).getMessage().contains("Deadlock"));
+    }
+
+    @Test
+    void importFromCsv_missingRequiredColumn_throwsIOException() {
+        TimetableImporter importer = new TimetableImporter(mockFlightDAO, mockRouteDAO, mockStopDAO, 100);
+
+        IOException ex = assertThrows(IOException.class,
+                () -> importer.importFromCsv(new StringReader("route,departure,arrival\nКиїв -> Львів,2024-07-01 08:00,2024-07-01 14:00\n")));
+        assertTrue(ex.getMessage().contains("total_seats"));
+    }
+
+    @Test
+    void parseCsvLine_handlesQuotesAndEscapedQuotes() {
+        assertEquals(List.of("a", "b,c", "d\"e", ""), TimetableImporter.parseCsvLine("a,\"b,c\",\"d\"\"e\",", ','));
+    }
+}